@@ -0,0 +1,136 @@
+package net.mguenther.gen.benchmark;
+
+import net.mguenther.gen.Gen;
+import net.mguenther.gen.IntRange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CombinatorsBenchmark {
+
+    private Gen<Integer> mapGen;
+    private Gen<Integer> flatMapGen;
+    private Gen<Integer> suchThatGen;
+    private Gen<Integer> suchThatLambdaRangeGen;
+    private Gen<Integer> suchThatIntRangeGen;
+    private Gen<List<Integer>> listOfGen;
+    private Gen<List<Integer>> listOfNGen;
+    private Gen<List<Integer>> nonEmptyListOfGen;
+    private Gen<String> oneOfGen;
+    private Gen<String> selectGen;
+    private Gen<String> weightedGen;
+    private Gen<String> nestedWeightedGen;
+    private Gen<String> frequencyGen;
+    private Gen<String> weightedOneOfGen;
+
+    @Setup
+    public void setUp() {
+        final Random sourceOfRandomness = new Random(1L);
+        final Gen<Integer> intGen = Gen.choose(0, 1_000, sourceOfRandomness);
+        mapGen = intGen.map(n -> n + 1).map(n -> n * 2).map(n -> n - 1);
+        flatMapGen = intGen.flatMap(x -> Gen.choose(0, 1_000).flatMap(y -> Gen.choose(0, 1_000).map(z -> x + y + z)));
+        suchThatGen = intGen.suchThat(n -> n % 10 == 0);
+        suchThatLambdaRangeGen = Gen.choose(0, 1_000_000, sourceOfRandomness).suchThat(n -> n > 999_000);
+        suchThatIntRangeGen = Gen.choose(0, 1_000_000, sourceOfRandomness).suchThat(IntRange.greaterThan(999_000));
+        listOfGen = Gen.listOf(intGen, 100);
+        listOfNGen = Gen.listOfN(intGen, 100);
+        nonEmptyListOfGen = Gen.nonEmptyListOf(intGen, 100);
+        oneOfGen = Gen.oneOf(Arrays.asList("a", "b", "c", "d", "e"), sourceOfRandomness);
+        selectGen = Gen.select(Arrays.asList(Gen.constant("a"), Gen.alphaNumString(8), Gen.numString(8)), sourceOfRandomness);
+        weightedGen = Gen.weighted(0.3, Gen.constant("a"), Gen.constant("b"), sourceOfRandomness);
+        nestedWeightedGen = Gen.weighted(0.1, Gen.constant("a"),
+                Gen.weighted(2.0 / 9.0, Gen.constant("b"),
+                        Gen.weighted(3.0 / 7.0, Gen.constant("c"), Gen.constant("d"), sourceOfRandomness), sourceOfRandomness), sourceOfRandomness);
+        frequencyGen = Gen.frequency(new double[] { 1.0, 2.0, 3.0, 4.0 },
+                Arrays.asList(Gen.constant("a"), Gen.constant("b"), Gen.constant("c"), Gen.constant("d")), sourceOfRandomness);
+        weightedOneOfGen = Gen.weightedOneOf(Arrays.asList("a", "b", "c", "d"), new double[] { 1.0, 2.0, 3.0, 4.0 }, sourceOfRandomness);
+    }
+
+    @Benchmark
+    public Integer map() {
+        return mapGen.sample();
+    }
+
+    @Benchmark
+    public Integer flatMap() {
+        return flatMapGen.sample();
+    }
+
+    @Benchmark
+    public Integer suchThat() {
+        return suchThatGen.sample();
+    }
+
+    @Benchmark
+    public Integer suchThatLambdaRange() {
+        return suchThatLambdaRangeGen.sample();
+    }
+
+    @Benchmark
+    public Integer suchThatIntRange() {
+        return suchThatIntRangeGen.sample();
+    }
+
+    @Benchmark
+    public List<Integer> listOf() {
+        return listOfGen.sample();
+    }
+
+    @Benchmark
+    public List<Integer> listOfN() {
+        return listOfNGen.sample();
+    }
+
+    @Benchmark
+    public List<Integer> nonEmptyListOf() {
+        return nonEmptyListOfGen.sample();
+    }
+
+    @Benchmark
+    public String oneOf() {
+        return oneOfGen.sample();
+    }
+
+    @Benchmark
+    public String select() {
+        return selectGen.sample();
+    }
+
+    @Benchmark
+    public String weighted() {
+        return weightedGen.sample();
+    }
+
+    @Benchmark
+    public String nestedWeighted() {
+        return nestedWeightedGen.sample();
+    }
+
+    @Benchmark
+    public String frequency() {
+        return frequencyGen.sample();
+    }
+
+    @Benchmark
+    public String weightedOneOf() {
+        return weightedOneOfGen.sample();
+    }
+}
@@ -0,0 +1,88 @@
+package net.mguenther.gen.benchmark;
+
+import net.mguenther.gen.Gen;
+import net.mguenther.gen.IntGen;
+import net.mguenther.gen.RandomSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class NumericFactoriesBenchmark {
+
+    private Gen<Integer> nonNegativeIntegerGen;
+    private Gen<Integer> chooseIntegerGen;
+    private Gen<Integer> evenGen;
+    private Gen<Integer> oddGen;
+    private Gen<Double> normalizedDoubleGen;
+    private Gen<Double> chooseDoubleGen;
+    private IntGen chooseIntGen;
+    private Gen<Integer> chooseIntegerXoshiroGen;
+
+    @Setup
+    public void setUp() {
+        nonNegativeIntegerGen = Gen.nonNegativeInteger(new Random(1L));
+        chooseIntegerGen = Gen.choose(0, 1_000, new Random(1L));
+        evenGen = Gen.even(0, 1_000, new Random(1L));
+        oddGen = Gen.odd(0, 1_000, new Random(1L));
+        normalizedDoubleGen = Gen.normalizedDouble(new Random(1L));
+        chooseDoubleGen = Gen.choose(0.0, 1_000.0, new Random(1L));
+        chooseIntGen = IntGen.choose(0, 1_000, RandomSource.xoshiro256(1L));
+        chooseIntegerXoshiroGen = Gen.choose(0, 1_000, RandomSource.xoshiro256(1L));
+    }
+
+    @Benchmark
+    public Integer nonNegativeInteger() {
+        return nonNegativeIntegerGen.sample();
+    }
+
+    @Benchmark
+    public Integer chooseInteger() {
+        return chooseIntegerGen.sample();
+    }
+
+    @Benchmark
+    public Integer chooseIntegerUsingXoshiro() {
+        return chooseIntegerXoshiroGen.sample();
+    }
+
+    @Benchmark
+    public int chooseIntUsingXoshiro() {
+        return chooseIntGen.nextInt();
+    }
+
+    @Benchmark
+    public Integer even() {
+        return evenGen.sample();
+    }
+
+    @Benchmark
+    public Integer odd() {
+        return oddGen.sample();
+    }
+
+    @Benchmark
+    public Double normalizedDouble() {
+        return normalizedDoubleGen.sample();
+    }
+
+    @Benchmark
+    public Double chooseDouble() {
+        return chooseDoubleGen.sample();
+    }
+}
@@ -0,0 +1,62 @@
+package net.mguenther.gen.benchmark;
+
+import net.mguenther.gen.Gen;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class StringFactoriesBenchmark {
+
+    @Param({"8", "1024"})
+    private int length;
+
+    private Gen<String> asciiStringGen;
+    private Gen<String> alphaNumStringGen;
+    private Gen<String> numStringGen;
+    private Gen<String> fromAlphabetStringGen;
+
+    @Setup
+    public void setUp() {
+        asciiStringGen = Gen.asciiString(length, new Random(1L));
+        alphaNumStringGen = Gen.alphaNumString(length, new Random(1L));
+        numStringGen = Gen.numString(length, new Random(1L));
+        fromAlphabetStringGen = Gen.fromAlphabetString(length, "ACGT", new Random(1L));
+    }
+
+    @Benchmark
+    public String asciiString() {
+        return asciiStringGen.sample();
+    }
+
+    @Benchmark
+    public String alphaNumString() {
+        return alphaNumStringGen.sample();
+    }
+
+    @Benchmark
+    public String numString() {
+        return numStringGen.sample();
+    }
+
+    @Benchmark
+    public String fromAlphabetString() {
+        return fromAlphabetStringGen.sample();
+    }
+}
@@ -0,0 +1,70 @@
+package net.mguenther.gen.benchmark;
+
+import examples.User;
+import examples.UserGenZ;
+import net.mguenther.gen.ColumnarBatch;
+import net.mguenther.gen.Gen;
+import net.mguenther.gen.TableGen;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TableGenBenchmark {
+
+    private static final int ROWS_PER_BATCH = 1_024;
+
+    private static final String ALPHANUMERICAL_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+
+    private Gen<User> userGen;
+    private TableGen userTableGen;
+    private ColumnarBatch batch;
+    private long firstRow;
+
+    @Setup
+    public void setUp() {
+        userGen = UserGenZ.userGen();
+        userTableGen = TableGen.empty()
+                .withFixedStringColumn("firstName", 8, ALPHANUMERICAL_ALPHABET)
+                .withFixedStringColumn("lastName", 8, ALPHANUMERICAL_ALPHABET)
+                .withStringColumn("host", Gen.oneOf("mguenther.com", "google.de", "spiegel.at"))
+                .withFixedStringColumn("hashedPassword", 14, ALPHANUMERICAL_ALPHABET);
+        batch = userTableGen.allocate(ROWS_PER_BATCH);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_BATCH)
+    public List<User> userRows() {
+        final List<User> users = new ArrayList<>(ROWS_PER_BATCH);
+        for (int i = 0; i < ROWS_PER_BATCH; i++) {
+            users.add(userGen.sampleAt(1L, firstRow + i));
+        }
+        firstRow += ROWS_PER_BATCH;
+        return users;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_BATCH)
+    public ColumnarBatch userColumns() {
+        final ColumnarBatch filledBatch = userTableGen.fill(batch, 1L, firstRow, ROWS_PER_BATCH);
+        firstRow += ROWS_PER_BATCH;
+        return filledBatch;
+    }
+}
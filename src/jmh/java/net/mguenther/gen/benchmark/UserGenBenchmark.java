@@ -0,0 +1,100 @@
+package net.mguenther.gen.benchmark;
+
+import examples.User;
+import examples.UserGen;
+import examples.UserGenR;
+import examples.UserGenZ;
+import net.mguenther.gen.BufferedGen;
+import net.mguenther.gen.Gen;
+import net.mguenther.gen.GenMetricsRegistry;
+import net.mguenther.gen.RandomSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UserGenBenchmark {
+
+    private Gen<User> userGen;
+    private Gen<User> userGenR;
+    private Gen<User> userGenZ;
+    private Gen<User> instrumentedUserGen;
+    private Gen<User> disabledInstrumentedUserGen;
+    private BufferedGen<User> bufferedUserGen;
+    private RandomSource sourceOfRandomness;
+    private long index;
+
+    @Setup
+    public void setUp() {
+        userGen = UserGen.userGen();
+        userGenR = UserGenR.userGen(new Random(1L));
+        userGenZ = UserGenZ.userGen();
+        sourceOfRandomness = RandomSource.xoshiro256(1L);
+        bufferedUserGen = UserGen.userGen().buffered(1_024);
+        instrumentedUserGen = UserGen.userGen().named("user").instrumented(new GenMetricsRegistry());
+        final GenMetricsRegistry disabledRegistry = new GenMetricsRegistry();
+        disabledRegistry.disable();
+        disabledInstrumentedUserGen = UserGen.userGen().named("user").instrumented(disabledRegistry);
+    }
+
+    @TearDown
+    public void tearDown() {
+        bufferedUserGen.close();
+    }
+
+    @Benchmark
+    public User userGen() {
+        return userGen.sample();
+    }
+
+    @Benchmark
+    public User userGenUsingExplicitSource() {
+        return userGen.sample(sourceOfRandomness);
+    }
+
+    @Benchmark
+    public User instrumentedUserGen() {
+        return instrumentedUserGen.sample();
+    }
+
+    @Benchmark
+    public User disabledInstrumentedUserGen() {
+        return disabledInstrumentedUserGen.sample();
+    }
+
+    @Benchmark
+    public User userGenR() {
+        return userGenR.sample();
+    }
+
+    @Benchmark
+    public User userGenZ() {
+        return userGenZ.sample();
+    }
+
+    @Benchmark
+    public User userGenZAt() {
+        return userGenZ.sampleAt(1L, index++);
+    }
+
+    @Benchmark
+    public User bufferedUserGen() {
+        return bufferedUserGen.sample();
+    }
+}
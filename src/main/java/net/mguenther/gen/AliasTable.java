@@ -0,0 +1,79 @@
+package net.mguenther.gen;
+
+/**
+ * Implements Vose's alias method for sampling from a discrete distribution over the indices
+ * {0, ..., n-1}. The table is precomputed in O(n) time upon construction. Afterwards, every index
+ * is drawn in O(1) time using a single variate: its integral part selects a column of the table,
+ * while its fractional part decides between the column itself and its alias.
+ */
+final class AliasTable {
+
+    private final double[] probabilities;
+
+    private final int[] aliases;
+
+    AliasTable(final double[] weights) {
+        if (weights.length == 0) throw new IllegalArgumentException("The given weights cannot be empty.");
+        double sum = 0.0;
+        for (double weight : weights) {
+            if (!(weight >= 0.0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("The given weights must be finite and larger than or equal to 0.0.");
+            }
+            sum += weight;
+        }
+        if (sum <= 0.0) throw new IllegalArgumentException("At least one of the given weights must be larger than 0.0.");
+        if (Double.isInfinite(sum)) throw new IllegalArgumentException("The sum of the given weights must be finite.");
+
+        final int n = weights.length;
+        final double[] scaled = new double[n];
+        final int[] small = new int[n];
+        final int[] large = new int[n];
+        int numberOfSmall = 0;
+        int numberOfLarge = 0;
+        for (int i = 0; i < n; i++) {
+            // divide first, so that large weights do not overflow
+            scaled[i] = weights[i] / sum * n;
+            if (scaled[i] < 1.0) {
+                small[numberOfSmall++] = i;
+            } else {
+                large[numberOfLarge++] = i;
+            }
+        }
+
+        probabilities = new double[n];
+        aliases = new int[n];
+        while (numberOfSmall > 0 && numberOfLarge > 0) {
+            final int l = small[--numberOfSmall];
+            final int g = large[--numberOfLarge];
+            probabilities[l] = scaled[l];
+            aliases[l] = g;
+            scaled[g] = (scaled[g] + scaled[l]) - 1.0;
+            if (scaled[g] < 1.0) {
+                small[numberOfSmall++] = g;
+            } else {
+                large[numberOfLarge++] = g;
+            }
+        }
+        // whatever remains is subject to rounding errors and is meant to have a probability of 1.0
+        while (numberOfLarge > 0) {
+            final int g = large[--numberOfLarge];
+            probabilities[g] = 1.0;
+            aliases[g] = g;
+        }
+        while (numberOfSmall > 0) {
+            final int l = small[--numberOfSmall];
+            probabilities[l] = 1.0;
+            aliases[l] = l;
+        }
+    }
+
+    int size() {
+        return probabilities.length;
+    }
+
+    int nextIndex(final RandomSource sourceOfRandomness) {
+        final double variate = sourceOfRandomness.nextDouble() * probabilities.length;
+        final int column = Math.min((int) variate, probabilities.length - 1);
+        return variate - column < probabilities[column] ? column : aliases[column];
+    }
+}
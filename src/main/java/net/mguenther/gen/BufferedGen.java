@@ -0,0 +1,273 @@
+package net.mguenther.gen;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * A generator that pre-generates the samples of another generator on a background thread into a
+ * bounded, lock-free ring buffer. Sampling from a {@code BufferedGen} takes the next sample from
+ * that buffer, which takes the cost of expensive generators off the hot path of the caller. The
+ * background thread generates the samples using the source of randomness of the underlying
+ * generator, thus a single consumer observes the very same samples as it would observe by sampling
+ * from the underlying generator directly.
+ *
+ * If the buffer is full, the background thread waits until there is space again. If the buffer is
+ * empty, the consumer waits until the background thread provides a sample. The {@link WaitStrategy}
+ * determines how both sides wait.
+ *
+ * Samples that are obtained using an explicitly given source of randomness (cf. {@link Gen#sample(RandomSource)})
+ * bypass the buffer and are generated by the underlying generator on the calling thread. For the
+ * same reason, a {@link Gen#stream()} over a {@code BufferedGen} should be consumed sequentially.
+ *
+ * A {@code BufferedGen} can be sampled from multiple threads concurrently. It owns a background
+ * thread, thus it should be closed once it is no longer needed. As a safety net, the background
+ * thread also stops once neither the {@code BufferedGen} nor any generator derived from it is
+ * reachable anymore, and it backs off while the buffer stays full. Do not sample from the underlying
+ * generator directly as long as the {@code BufferedGen} is open, since the background thread uses
+ * its source of randomness.
+ *
+ * @param <T>
+ *     parameterized type of generated samples
+ */
+public final class BufferedGen<T> extends Gen<T> implements AutoCloseable {
+
+    /**
+     * Determines how the background thread waits if the buffer is full and how a consumer waits if
+     * the buffer is empty.
+     */
+    public enum WaitStrategy {
+        /**
+         * Spins in a tight loop. Offers the lowest latency, but occupies a core while waiting. Use this
+         * only if there are enough cores for the background thread and all consumers, otherwise
+         * spinning consumers starve the background thread.
+         */
+        BUSY_SPIN {
+            @Override
+            void idle(final int attempt) {
+            }
+        },
+        /**
+         * Yields the processor to other threads while waiting.
+         */
+        YIELD {
+            @Override
+            void idle(final int attempt) {
+                Thread.yield();
+            }
+        },
+        /**
+         * Parks the waiting thread for a short period of time. Saves processing power at the expense
+         * of latency. The background thread doubles the period with every attempt up to about 10
+         * milliseconds while the buffer stays full, and is woken up as soon as a consumer takes a sample.
+         */
+        PARK {
+            @Override
+            void idle(final int attempt) {
+                LockSupport.parkNanos(PARK_NANOS << Math.min(attempt, MAX_BACK_OFF_SHIFT));
+            }
+        };
+
+        private static final long PARK_NANOS = 10_000L;
+
+        private static final int MAX_BACK_OFF_SHIFT = 10;
+
+        /**
+         * @param attempt
+         *      the number of times the calling thread has already waited for the same condition;
+         *      consumers always pass 0
+         */
+        abstract void idle(int attempt);
+    }
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger(0);
+
+    private static final ThreadFactory DEFAULT_THREAD_FACTORY = runnable -> {
+        final Thread thread = new Thread(runnable, "gen-prefetcher-" + THREAD_COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    };
+
+    private final Prefetcher<T> prefetcher;
+
+    private final Thread producer;
+
+    private BufferedGen(final Gen<T> gen,
+                        final Function<RandomSource, T> sampleFn,
+                        final Prefetcher<T> prefetcher,
+                        final ThreadFactory threadFactory) {
+        super(sampleFn, gen.sourceOfRandomness());
+        this.prefetcher = prefetcher;
+        this.producer = threadFactory.newThread(prefetcher);
+        this.producer.start();
+    }
+
+    static <T> BufferedGen<T> of(final Gen<T> gen,
+                                 final int capacity,
+                                 final WaitStrategy waitStrategy,
+                                 final ThreadFactory threadFactory) {
+        if (capacity <= 0) throw new IllegalArgumentException("The requested capacity must be positive.");
+        final Prefetcher<T> prefetcher = new Prefetcher<>(gen, capacity, waitStrategy);
+        // every generator that is able to take samples from the buffer - the BufferedGen itself as
+        // well as any generator derived from it - holds on to this function, so the background thread
+        // only refers to it weakly and stops once it has been collected
+        final Function<RandomSource, T> sampleFn = r -> r == gen.sourceOfRandomness() ? prefetcher.take() : gen.sample(r);
+        prefetcher.consumer = new WeakReference<>(sampleFn);
+        return new BufferedGen<>(gen, sampleFn, prefetcher, threadFactory == null ? DEFAULT_THREAD_FACTORY : threadFactory);
+    }
+
+    /**
+     * @return
+     *      the number of samples that are currently buffered
+     */
+    public int buffered() {
+        return prefetcher.size();
+    }
+
+    /**
+     * Stops the background thread and waits until it has finished the sample it is currently
+     * generating. Sampling from a closed {@code BufferedGen} fails with an {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        prefetcher.closed = true;
+        LockSupport.unpark(producer);
+        if (producer == Thread.currentThread()) return;
+        try {
+            producer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A bounded ring buffer with a single producer and any number of consumers. Every slot carries a
+     * sequence number that tells whether the slot is ready to be written (sequence == position) or
+     * ready to be read (sequence == position + 1), so that neither side needs to take a lock.
+     */
+    private static final class Prefetcher<T> implements Runnable {
+
+        private static final Object NULL = new Object();
+
+        private final Gen<T> gen;
+
+        private final WaitStrategy waitStrategy;
+
+        private final AtomicReferenceArray<Object> slots;
+
+        private final AtomicLongArray sequences;
+
+        private final int mask;
+
+        private final AtomicLong head = new AtomicLong(0L);
+
+        private volatile long tail = 0L;
+
+        private volatile boolean closed = false;
+
+        private volatile Throwable failure;
+
+        private volatile WeakReference<Function<RandomSource, T>> consumer;
+
+        private volatile Thread producer;
+
+        private volatile boolean producerWaiting = false;
+
+        Prefetcher(final Gen<T> gen, final int capacity, final WaitStrategy waitStrategy) {
+            final int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+            this.gen = gen;
+            this.waitStrategy = waitStrategy;
+            this.slots = new AtomicReferenceArray<>(size);
+            this.sequences = new AtomicLongArray(size);
+            this.mask = size - 1;
+            for (int i = 0; i < size; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        @Override
+        public void run() {
+            producer = Thread.currentThread();
+            while (!closed && consumer.get() != null) {
+                final T sample;
+                try {
+                    sample = gen.sample();
+                } catch (Throwable t) {
+                    failure = t;
+                    return;
+                }
+                final Object value = sample == null ? NULL : sample;
+                for (int attempt = 0; !offer(value); attempt++) {
+                    if (closed || consumer.get() == null) return;
+                    // announce the wait before checking once more, so that a consumer that takes a
+                    // sample in between either makes room for this offer or unparks the producer;
+                    // this relies on the volatile write of producerWaiting here and the volatile
+                    // write of the sequence that frees a slot in poll(), each followed by a
+                    // volatile read of the respective other
+                    producerWaiting = true;
+                    if (!offer(value)) {
+                        waitStrategy.idle(attempt);
+                        producerWaiting = false;
+                        continue;
+                    }
+                    producerWaiting = false;
+                    break;
+                }
+            }
+        }
+
+        private boolean offer(final Object value) {
+            final long position = tail;
+            final int index = (int) position & mask;
+            if (sequences.get(index) != position) return false;
+            slots.lazySet(index, value);
+            sequences.lazySet(index, position + 1);
+            tail = position + 1;
+            return true;
+        }
+
+        private Object poll() {
+            while (true) {
+                final long position = head.get();
+                final int index = (int) position & mask;
+                final long difference = sequences.get(index) - (position + 1);
+                if (difference < 0) return null;
+                if (difference == 0 && head.compareAndSet(position, position + 1)) {
+                    final Object value = slots.get(index);
+                    slots.lazySet(index, null);
+                    // a volatile store rather than a lazy one: it must not be reordered with the
+                    // subsequent load of producerWaiting in take(), otherwise the consumer may miss
+                    // a producer that is about to park while the producer misses the free slot
+                    sequences.set(index, position + mask + 1);
+                    return value;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        T take() {
+            while (true) {
+                if (closed) throw new IllegalStateException("The buffered generator has already been closed.");
+                Object value = poll();
+                if (value == null && failure != null) {
+                    value = poll();
+                    if (value == null) throw new IllegalStateException("The background thread was unable to generate a sample.", failure);
+                }
+                if (value != null) {
+                    if (producerWaiting) LockSupport.unpark(producer);
+                    return value == NULL ? null : (T) value;
+                }
+                waitStrategy.idle(0);
+            }
+        }
+
+        int size() {
+            return (int) Math.max(0L, Math.min(tail - head.get(), mask + 1L));
+        }
+    }
+}
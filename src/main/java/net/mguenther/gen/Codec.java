@@ -0,0 +1,73 @@
+package net.mguenther.gen;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A {@code Codec} turns samples into bytes and back. It is used to persist the samples of a
+ * {@link Gen}erator, for instance in a {@link Corpus}. Encoded samples are read straight from a
+ * {@link java.nio.ByteBuffer} that is positioned at the start of the sample and limited to its
+ * length, so decoding does not need to copy any bytes other than those that the decoded sample
+ * itself retains.
+ *
+ * The static factory methods of this interface provide codecs for common types, which can be used
+ * as building blocks for codecs of composite samples.
+ *
+ * @param <T>
+ *      parameterized type of the samples
+ */
+public interface Codec<T> {
+
+    /**
+     * @param value
+     *      the sample to encode
+     * @param out
+     *      the output to write the encoded sample to
+     * @throws IOException
+     *      in case the encoded sample cannot be written
+     */
+    void encode(T value, DataOutput out) throws IOException;
+
+    /**
+     * @param in
+     *      the buffer to read the encoded sample from; it is positioned at the start of the sample,
+     *      and reading advances its position past the sample
+     * @return
+     *      the decoded sample
+     */
+    T decode(ByteBuffer in);
+
+    /**
+     * @return
+     *      a {@code Codec} that encodes an {@code int} value using four bytes
+     */
+    static Codec<Integer> integers() {
+        return Codecs.INTEGERS;
+    }
+
+    /**
+     * @return
+     *      a {@code Codec} that encodes a {@code long} value using eight bytes
+     */
+    static Codec<Long> longs() {
+        return Codecs.LONGS;
+    }
+
+    /**
+     * @return
+     *      a {@code Codec} that encodes a {@code double} value using eight bytes
+     */
+    static Codec<Double> doubles() {
+        return Codecs.DOUBLES;
+    }
+
+    /**
+     * @return
+     *      a {@code Codec} that encodes a {@link String} as its length in bytes followed by its UTF-8
+     *      representation
+     */
+    static Codec<String> strings() {
+        return Codecs.STRINGS;
+    }
+}
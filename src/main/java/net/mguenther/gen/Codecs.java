@@ -0,0 +1,99 @@
+package net.mguenther.gen;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Provides the built-in implementations of {@link Codec}.
+ */
+final class Codecs {
+
+    static final Codec<Integer> INTEGERS = new IntegerCodec();
+
+    static final Codec<Long> LONGS = new LongCodec();
+
+    static final Codec<Double> DOUBLES = new DoubleCodec();
+
+    static final Codec<String> STRINGS = new StringCodec();
+
+    private Codecs() {
+    }
+
+    private static final class IntegerCodec implements Codec<Integer> {
+
+        private IntegerCodec() {
+        }
+
+        @Override
+        public void encode(final Integer value, final DataOutput out) throws IOException {
+            out.writeInt(value);
+        }
+
+        @Override
+        public Integer decode(final ByteBuffer in) {
+            return in.getInt();
+        }
+    }
+
+    private static final class LongCodec implements Codec<Long> {
+
+        private LongCodec() {
+        }
+
+        @Override
+        public void encode(final Long value, final DataOutput out) throws IOException {
+            out.writeLong(value);
+        }
+
+        @Override
+        public Long decode(final ByteBuffer in) {
+            return in.getLong();
+        }
+    }
+
+    private static final class DoubleCodec implements Codec<Double> {
+
+        private DoubleCodec() {
+        }
+
+        @Override
+        public void encode(final Double value, final DataOutput out) throws IOException {
+            out.writeDouble(value);
+        }
+
+        @Override
+        public Double decode(final ByteBuffer in) {
+            return in.getDouble();
+        }
+    }
+
+    private static final class StringCodec implements Codec<String> {
+
+        private StringCodec() {
+        }
+
+        @Override
+        public void encode(final String value, final DataOutput out) throws IOException {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        @Override
+        public String decode(final ByteBuffer in) {
+            final int length = in.getInt();
+            final String value;
+            if (in.hasArray()) {
+                value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            } else {
+                final byte[] bytes = new byte[length];
+                in.duplicate().get(bytes);
+                value = new String(bytes, StandardCharsets.UTF_8);
+            }
+            in.position(in.position() + length);
+            return value;
+        }
+    }
+}
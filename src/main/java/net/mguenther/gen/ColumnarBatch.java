@@ -0,0 +1,298 @@
+package net.mguenther.gen;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A batch of rows that a {@link TableGen} has generated, stored column by column in off-heap
+ * {@link java.nio.ByteBuffer}s. All values are stored in little-endian byte order:
+ *
+ * <ul>
+ *     <li>{@code int}, {@code long} and {@code double} columns store one value of four, eight and
+ *     eight bytes per row, respectively.</li>
+ *     <li>Fixed-length string columns store {@code length} ASCII characters per row, one byte per
+ *     character.</li>
+ *     <li>Variable-length string columns store the UTF-8 representations of all values back to back.
+ *     Their {@link ColumnarBatch#offsets(String)} hold {@code numberOfRows + 1} {@code int} values:
+ *     the value of row i spans the bytes from offset i (inclusive) to offset i + 1 (exclusive).</li>
+ * </ul>
+ *
+ * The buffers returned by {@link ColumnarBatch#values(String)} and {@link ColumnarBatch#offsets(String)}
+ * are read-only views that can be handed over to a {@link java.nio.channels.WritableByteChannel}
+ * as they are. A batch is reused by {@link TableGen#fill(ColumnarBatch, long, long, int)}, which
+ * overwrites its contents. Instances of this class are not thread-safe.
+ */
+public final class ColumnarBatch {
+
+    private final List<String> columnNames;
+
+    private final Map<String, ColumnData> columnsByName;
+
+    private final ColumnData[] columns;
+
+    private final int capacity;
+
+    private long firstRow;
+
+    private int numberOfRows;
+
+    ColumnarBatch(final ColumnData[] columns, final int capacity) {
+        final List<String> names = new ArrayList<>(columns.length);
+        final Map<String, ColumnData> byName = new HashMap<>();
+        for (ColumnData column : columns) {
+            names.add(column.name);
+            byName.put(column.name, column);
+        }
+        this.columnNames = Collections.unmodifiableList(names);
+        this.columnsByName = byName;
+        this.columns = columns;
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return
+     *      the names of the columns of this batch, in the order of their definition
+     */
+    public List<String> columnNames() {
+        return columnNames;
+    }
+
+    /**
+     * @return
+     *      the maximum number of rows that this batch is able to hold
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return
+     *      the index of the first row of this batch within the table
+     */
+    public long firstRow() {
+        return firstRow;
+    }
+
+    /**
+     * @return
+     *      the number of rows that this batch currently holds
+     */
+    public int numberOfRows() {
+        return numberOfRows;
+    }
+
+    /**
+     * @param column
+     *      the name of the column
+     * @throws IllegalArgumentException
+     *      in case there is no such column
+     * @return
+     *      a read-only view of the values of the given column, positioned at the first value and
+     *      limited to the values of the rows that this batch currently holds
+     */
+    public ByteBuffer values(final String column) {
+        final ColumnData data = column(column);
+        final ByteBuffer view = data.values.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+        view.limit(data.kind == Kind.STRING ? data.offsets.getInt(numberOfRows * Integer.BYTES) : numberOfRows * data.width);
+        view.position(0);
+        return view;
+    }
+
+    /**
+     * @param column
+     *      the name of a variable-length string column
+     * @throws IllegalArgumentException
+     *      in case there is no such column or the column is not a variable-length string column
+     * @return
+     *      a read-only view of the {@code numberOfRows + 1} offsets of the given column
+     */
+    public ByteBuffer offsets(final String column) {
+        final ColumnData data = column(column, Kind.STRING);
+        final ByteBuffer view = data.offsets.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+        view.limit((numberOfRows + 1) * Integer.BYTES);
+        view.position(0);
+        return view;
+    }
+
+    /**
+     * @param column
+     *      the name of an {@code int} column
+     * @param row
+     *      the position of the row within this batch
+     * @throws IllegalArgumentException
+     *      in case there is no such column or the column does not hold {@code int} values
+     * @throws IndexOutOfBoundsException
+     *      in case this batch does not hold the given row
+     * @return
+     *      the value of the given column in the given row
+     */
+    public int getInt(final String column, final int row) {
+        return column(column, Kind.INT).values.getInt(checkRow(row) * Integer.BYTES);
+    }
+
+    /**
+     * @param column
+     *      the name of a {@code long} column
+     * @param row
+     *      the position of the row within this batch
+     * @throws IllegalArgumentException
+     *      in case there is no such column or the column does not hold {@code long} values
+     * @throws IndexOutOfBoundsException
+     *      in case this batch does not hold the given row
+     * @return
+     *      the value of the given column in the given row
+     */
+    public long getLong(final String column, final int row) {
+        return column(column, Kind.LONG).values.getLong(checkRow(row) * Long.BYTES);
+    }
+
+    /**
+     * @param column
+     *      the name of a {@code double} column
+     * @param row
+     *      the position of the row within this batch
+     * @throws IllegalArgumentException
+     *      in case there is no such column or the column does not hold {@code double} values
+     * @throws IndexOutOfBoundsException
+     *      in case this batch does not hold the given row
+     * @return
+     *      the value of the given column in the given row
+     */
+    public double getDouble(final String column, final int row) {
+        return column(column, Kind.DOUBLE).values.getDouble(checkRow(row) * Double.BYTES);
+    }
+
+    /**
+     * Decodes the value of a string column into a {@link java.lang.String}. This allocates on the
+     * heap, so prefer {@link ColumnarBatch#values(String)} on hot paths.
+     *
+     * @param column
+     *      the name of a fixed-length or variable-length string column
+     * @param row
+     *      the position of the row within this batch
+     * @throws IllegalArgumentException
+     *      in case there is no such column or the column does not hold strings
+     * @throws IndexOutOfBoundsException
+     *      in case this batch does not hold the given row
+     * @return
+     *      the value of the given column in the given row
+     */
+    public String getString(final String column, final int row) {
+        final ColumnData data = column(column);
+        checkRow(row);
+        final int from;
+        final int to;
+        if (data.kind == Kind.FIXED_STRING) {
+            from = row * data.width;
+            to = from + data.width;
+        } else if (data.kind == Kind.STRING) {
+            from = data.offsets.getInt(row * Integer.BYTES);
+            to = data.offsets.getInt((row + 1) * Integer.BYTES);
+        } else {
+            throw new IllegalArgumentException("The column " + column + " does not hold strings.");
+        }
+        final byte[] bytes = new byte[to - from];
+        final ByteBuffer view = data.values.duplicate();
+        view.position(from);
+        view.get(bytes);
+        return new String(bytes, data.kind == Kind.FIXED_STRING ? StandardCharsets.US_ASCII : StandardCharsets.UTF_8);
+    }
+
+    private ColumnData column(final String column) {
+        final ColumnData data = columnsByName.get(column);
+        if (data == null) throw new IllegalArgumentException("There is no column named " + column + ".");
+        return data;
+    }
+
+    private ColumnData column(final String column, final Kind kind) {
+        final ColumnData data = column(column);
+        if (data.kind != kind) throw new IllegalArgumentException("The column " + column + " does not hold " + kind.description + ".");
+        return data;
+    }
+
+    private int checkRow(final int row) {
+        if (row < 0 || row >= numberOfRows) throw new IndexOutOfBoundsException("There is no row " + row + " in a batch of " + numberOfRows + " row(s).");
+        return row;
+    }
+
+    ColumnData[] columns() {
+        return columns;
+    }
+
+    void reset(final long firstRow) {
+        this.firstRow = firstRow;
+        this.numberOfRows = 0;
+        for (ColumnData column : columns) {
+            column.values.clear();
+            if (column.offsets != null) column.offsets.clear();
+        }
+    }
+
+    void completed(final int numberOfRows) {
+        this.numberOfRows = numberOfRows;
+    }
+
+    enum Kind {
+
+        INT("int values"),
+        LONG("long values"),
+        DOUBLE("double values"),
+        FIXED_STRING("fixed-length strings"),
+        STRING("variable-length strings");
+
+        private final String description;
+
+        Kind(final String description) {
+            this.description = description;
+        }
+    }
+
+    /**
+     * The off-heap buffers of a single column. Values are appended at the position of the buffers.
+     */
+    static final class ColumnData {
+
+        final String name;
+
+        final Kind kind;
+
+        // the number of bytes per row, or -1 for variable-length columns
+        final int width;
+
+        ByteBuffer values;
+
+        final ByteBuffer offsets;
+
+        ColumnData(final String name, final Kind kind, final int width, final int capacity, final int valuesCapacity) {
+            this.name = name;
+            this.kind = kind;
+            this.width = width;
+            this.values = allocate(valuesCapacity);
+            this.offsets = kind == Kind.STRING ? allocate((capacity + 1) * Integer.BYTES) : null;
+        }
+
+        /**
+         * Ensures that the values buffer is able to take the given number of bytes, replacing it by a
+         * larger buffer if necessary.
+         */
+        void ensureRemaining(final int length) {
+            if (values.remaining() >= length) return;
+            final long required = (long) values.position() + length;
+            if (required > Integer.MAX_VALUE) throw new IllegalStateException("The values of column " + name + " exceed the capacity of a single buffer.");
+            final ByteBuffer larger = allocate((int) Math.min(Integer.MAX_VALUE, Math.max(required, 2L * values.capacity())));
+            values.flip();
+            larger.put(values);
+            values = larger;
+        }
+
+        private static ByteBuffer allocate(final int capacity) {
+            return ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package net.mguenther.gen;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * A {@code Corpus} is a persistent, memory-mapped dataset of samples. The i-th element of a corpus
+ * is the sample that the generator produces at position i for the seed of the corpus (cf.
+ * {@link Gen#sampleAt(long, long)}). Opening a corpus generates and encodes its samples into a file
+ * only once; subsequent runs map that file into memory and decode samples straight from the mapping
+ * on access. Thus, a large deterministic dataset takes no time to set up after it has been
+ * generated for the first time, and its samples do not occupy the heap until they are accessed.
+ *
+ * A corpus file is identified by a name, which is supposed to identify the generator, and the seed.
+ * Along with the samples, the file stores a fingerprint of the encoded samples at the first few
+ * positions. If the definition of the generator or the codec changes in a way that alters any of
+ * these samples, the fingerprint no longer matches and the corpus is regenerated. Changes that only
+ * affect later samples go unnoticed, so use a different name for a generator that has been changed
+ * in such a way.
+ *
+ * A corpus is an immutable {@link java.util.List} that can be shared between threads.
+ *
+ * @param <T>
+ *      parameterized type of the samples
+ */
+public final class Corpus<T> extends AbstractList<T> implements RandomAccess {
+
+    private static final int MAGIC = 0x47454e43; // "GENC"
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_LENGTH = 48;
+
+    private static final int NUMBER_OF_FINGERPRINTED_SAMPLES = 16;
+
+    // must be a multiple of Long.BYTES, so that no offset spans two segments
+    private static final long SEGMENT_SIZE = 1L << 30;
+
+    private static final int WRITE_BUFFER_CAPACITY = 1 << 20;
+
+    private final Path path;
+
+    private final long seed;
+
+    private final int size;
+
+    private final boolean cached;
+
+    private final Codec<T> codec;
+
+    private final MappedRegion offsets;
+
+    private final MappedRegion data;
+
+    private Corpus(final Path path,
+                   final long seed,
+                   final int size,
+                   final boolean cached,
+                   final Codec<T> codec,
+                   final MappedRegion offsets,
+                   final MappedRegion data) {
+        this.path = path;
+        this.seed = seed;
+        this.size = size;
+        this.cached = cached;
+        this.codec = codec;
+        this.offsets = offsets;
+        this.data = data;
+    }
+
+    /**
+     * Opens the corpus of the given name and seed in the given directory. If the directory does not
+     * contain a matching corpus yet, or if the fingerprint of the existing corpus does not match the
+     * given generator and codec anymore, the corpus is generated first. A corpus is written to a
+     * temporary file that replaces the existing one only after it has been written completely, so
+     * an aborted run never leaves a partial corpus behind.
+     *
+     * @param directory
+     *      the directory that holds corpus files; it is created if it does not exist
+     * @param name
+     *      identifies the generator
+     * @param gen
+     *      the generator to draw samples from
+     * @param codec
+     *      the codec that encodes and decodes samples
+     * @param seed
+     *      the seed from which the sources of randomness for the individual samples are derived
+     * @param size
+     *      the number of samples
+     * @param <T>
+     *      parameterized type of the samples
+     * @throws IllegalArgumentException
+     *      in case the given name is empty or the given size is negative
+     * @throws IOException
+     *      in case the corpus cannot be read or written
+     * @return
+     *      the corpus
+     */
+    public static <T> Corpus<T> open(final Path directory,
+                                     final String name,
+                                     final Gen<T> gen,
+                                     final Codec<T> codec,
+                                     final long seed,
+                                     final int size) throws IOException {
+        if (name == null || name.isEmpty()) throw new IllegalArgumentException("The given name may not be empty.");
+        if (size < 0) throw new IllegalArgumentException("The requested size of the corpus cannot be negative.");
+        final Path path = directory.resolve(name + "-" + Long.toHexString(seed) + ".corpus");
+        final long fingerprint = fingerprint(gen, codec, seed, size);
+        if (Files.isRegularFile(path)) {
+            final Corpus<T> corpus = map(path, codec, seed, size, fingerprint, true);
+            if (corpus != null) return corpus;
+        }
+        Files.createDirectories(directory);
+        write(path, name, gen, codec, seed, size, fingerprint);
+        final Corpus<T> corpus = map(path, codec, seed, size, fingerprint, false);
+        if (corpus == null) throw new IOException("The corpus " + path + " has been modified while it was being opened.");
+        return corpus;
+    }
+
+    /**
+     * @return
+     *      the file that holds this corpus
+     */
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * @return
+     *      the seed of this corpus
+     */
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * @return
+     *      {@code true} if this corpus has been read from an existing file, {@code false} if it has
+     *      been generated when it was opened
+     */
+    public boolean isCached() {
+        return cached;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public T get(final int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("There is no sample " + index + " in a corpus of size " + size + ".");
+        final long from = offsets.getLong((long) index * Long.BYTES);
+        final long to = offsets.getLong((index + 1L) * Long.BYTES);
+        return codec.decode(data.slice(from, (int) (to - from)));
+    }
+
+    private static <T> long fingerprint(final Gen<T> gen, final Codec<T> codec, final long seed, final int size) throws IOException {
+        final EncodingBuffer encoded = new EncodingBuffer();
+        long fingerprint = 0xcbf29ce484222325L; // FNV-1a
+        for (int i = 0; i < Math.min(size, NUMBER_OF_FINGERPRINTED_SAMPLES); i++) {
+            encoded.reset();
+            codec.encode(gen.sampleAt(seed, i), encoded.out);
+            for (int b = 0; b < encoded.size(); b++) {
+                fingerprint = (fingerprint ^ (encoded.bytes()[b] & 0xff)) * 0x100000001b3L;
+            }
+        }
+        return fingerprint;
+    }
+
+    private static <T> Corpus<T> map(final Path path,
+                                     final Codec<T> codec,
+                                     final long seed,
+                                     final int size,
+                                     final long fingerprint,
+                                     final boolean cached) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_LENGTH) return null;
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+            readFully(channel, header, 0L);
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) return null;
+            if (header.getLong() != seed || header.getLong() != size || header.getLong() != fingerprint) return null;
+            final int maxEncodedLength = header.getInt();
+            header.getInt();
+            final long dataLength = header.getLong();
+            final long offsetsLength = (size + 1L) * Long.BYTES;
+            if (channel.size() != HEADER_LENGTH + offsetsLength + dataLength) return null;
+            // the mapping remains valid after the channel has been closed
+            return new Corpus<>(path, seed, size, cached, codec,
+                    MappedRegion.map(channel, HEADER_LENGTH, offsetsLength, 0),
+                    MappedRegion.map(channel, HEADER_LENGTH + offsetsLength, dataLength, maxEncodedLength));
+        }
+    }
+
+    private static <T> void write(final Path path,
+                                  final String name,
+                                  final Gen<T> gen,
+                                  final Codec<T> codec,
+                                  final long seed,
+                                  final int size,
+                                  final long fingerprint) throws IOException {
+        final Path temporaryFile = Files.createTempFile(path.getParent(), name, ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+                // the offsets precede the samples, so both are written in a single pass at their own positions
+                final ByteBuffer offsetsBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_CAPACITY);
+                final ByteBuffer dataBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_CAPACITY);
+                long offsetsPosition = HEADER_LENGTH;
+                long dataPosition = HEADER_LENGTH + (size + 1L) * Long.BYTES;
+                long offset = 0L;
+                int maxEncodedLength = 0;
+                final EncodingBuffer encoded = new EncodingBuffer();
+                for (int i = 0; i <= size; i++) {
+                    if (offsetsBuffer.remaining() < Long.BYTES) offsetsPosition = flush(channel, offsetsBuffer, offsetsPosition);
+                    offsetsBuffer.putLong(offset);
+                    if (i == size) break;
+                    encoded.reset();
+                    codec.encode(gen.sampleAt(seed, i), encoded.out);
+                    final int length = encoded.size();
+                    if (length > dataBuffer.remaining()) dataPosition = flush(channel, dataBuffer, dataPosition);
+                    if (length > dataBuffer.remaining()) {
+                        dataPosition += writeFully(channel, ByteBuffer.wrap(encoded.bytes(), 0, length), dataPosition);
+                    } else {
+                        dataBuffer.put(encoded.bytes(), 0, length);
+                    }
+                    offset += length;
+                    maxEncodedLength = Math.max(maxEncodedLength, length);
+                }
+                flush(channel, offsetsBuffer, offsetsPosition);
+                flush(channel, dataBuffer, dataPosition);
+                final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+                header.putInt(MAGIC).putInt(VERSION).putLong(seed).putLong(size).putLong(fingerprint)
+                        .putInt(maxEncodedLength).putInt(0).putLong(offset);
+                header.flip();
+                writeFully(channel, header, 0L);
+            }
+            try {
+                Files.move(temporaryFile, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporaryFile);
+            throw e;
+        }
+    }
+
+    private static long flush(final FileChannel channel, final ByteBuffer buffer, final long position) throws IOException {
+        buffer.flip();
+        final long newPosition = position + writeFully(channel, buffer, position);
+        buffer.clear();
+        return newPosition;
+    }
+
+    private static int writeFully(final FileChannel channel, final ByteBuffer buffer, final long position) throws IOException {
+        int written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, position + written);
+        }
+        return written;
+    }
+
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, final long position) throws IOException {
+        int read = 0;
+        while (buffer.hasRemaining()) {
+            final int n = channel.read(buffer, position + read);
+            if (n < 0) throw new IOException("Unexpected end of the corpus file.");
+            read += n;
+        }
+    }
+
+    /**
+     * A region of a file that is mapped into memory using segments of at most 1 GiB, since a single
+     * {@link java.nio.MappedByteBuffer} cannot exceed 2 GiB. Consecutive segments overlap by the
+     * length of the largest element, so that every element can be read from a single segment.
+     */
+    private static final class MappedRegion {
+
+        private final ByteBuffer[] segments;
+
+        private MappedRegion(final ByteBuffer[] segments) {
+            this.segments = segments;
+        }
+
+        private static MappedRegion map(final FileChannel channel, final long position, final long length, final int overlap) throws IOException {
+            final ByteBuffer[] segments = new ByteBuffer[(int) ((length + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+            for (int s = 0; s < segments.length; s++) {
+                final long start = s * SEGMENT_SIZE;
+                final long end = Math.min(length, start + SEGMENT_SIZE + overlap);
+                segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, position + start, end - start);
+            }
+            return new MappedRegion(segments);
+        }
+
+        private long getLong(final long position) {
+            return segments[(int) (position / SEGMENT_SIZE)].getLong((int) (position % SEGMENT_SIZE));
+        }
+
+        private ByteBuffer slice(final long position, final int length) {
+            // an empty element may lie past the last segment, if there is any segment at all
+            if (length == 0) return ByteBuffer.allocate(0);
+            // a duplicate shares the mapping, but has a position and a limit of its own
+            final ByteBuffer slice = segments[(int) (position / SEGMENT_SIZE)].duplicate();
+            final int start = (int) (position % SEGMENT_SIZE);
+            slice.limit(start + length);
+            slice.position(start);
+            return slice;
+        }
+    }
+
+    /**
+     * Collects the encoding of a single sample and exposes it without copying.
+     */
+    private static final class EncodingBuffer extends ByteArrayOutputStream {
+
+        private final DataOutputStream out = new DataOutputStream(this);
+
+        private byte[] bytes() {
+            return buf;
+        }
+    }
+}
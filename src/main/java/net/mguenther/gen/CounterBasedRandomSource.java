@@ -0,0 +1,40 @@
+package net.mguenther.gen;
+
+import java.util.Random;
+
+/**
+ * A counter-based {@link RandomSource}: the n-th value is the SplitMix64 mix of the key and the
+ * counter n, so it does not depend on any of the values that precede it. The whole state is a key
+ * and a counter, which makes this source cheap to create - which is what sampling at an arbitrary
+ * index needs (cf. {@link Gen#sampleAt(long, long)}). Instances of this class are not thread-safe.
+ */
+final class CounterBasedRandomSource implements RandomSource {
+
+    private final long key;
+
+    private long counter;
+
+    private Random view;
+
+    CounterBasedRandomSource(final long key) {
+        this.key = key;
+    }
+
+    @Override
+    public long nextLong() {
+        return SplitMix64.mix64(key + (++counter) * SplitMix64.GOLDEN_GAMMA);
+    }
+
+    @Override
+    public RandomSource split() {
+        return new CounterBasedRandomSource(SplitMix64.mix64(nextLong()));
+    }
+
+    @Override
+    public Random asRandom() {
+        if (view == null) {
+            view = new RandomSourceView(this);
+        }
+        return view;
+    }
+}
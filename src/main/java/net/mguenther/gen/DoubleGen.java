@@ -0,0 +1,265 @@
+package net.mguenther.gen;
+
+import java.nio.DoubleBuffer;
+import java.util.Random;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A generator for primitive {@code double} values. In contrast to a {@code Gen<Double>}, sampling
+ * from a {@code DoubleGen} and transforming its samples using {@link DoubleGen#map(DoubleUnaryOperator)}
+ * or {@link DoubleGen#filter(DoublePredicate)} does not box the sampled values. Use {@link DoubleGen#boxed()}
+ * to combine a {@code DoubleGen} with other {@link Gen}erators.
+ */
+public class DoubleGen {
+
+    private final ToDoubleFunction<RandomSource> valueGenerator;
+
+    private final RandomSource sourceOfRandomness;
+
+    public DoubleGen(final ToDoubleFunction<RandomSource> valueGenerator,
+                     final RandomSource sourceOfRandomness) {
+        this.valueGenerator = valueGenerator;
+        this.sourceOfRandomness = sourceOfRandomness;
+    }
+
+    public double nextDouble() {
+        return valueGenerator.applyAsDouble(sourceOfRandomness);
+    }
+
+    /**
+     * Produces a sample using the given source of randomness instead of the source of randomness
+     * that {@code this} generator was constructed with (cf. {@link Gen#sample(RandomSource)}).
+     *
+     * @param sourceOfRandomness
+     *      the source of randomness to draw from
+     * @return
+     *      a sample obtained from the given source of randomness
+     */
+    public double nextDouble(final RandomSource sourceOfRandomness) {
+        return valueGenerator.applyAsDouble(sourceOfRandomness);
+    }
+
+    /**
+     * Fills the given array with samples of {@code this} generator.
+     *
+     * @param values
+     *      the array to fill
+     * @return
+     *      the given array
+     */
+    public double[] fill(final double[] values) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = valueGenerator.applyAsDouble(sourceOfRandomness);
+        }
+        return values;
+    }
+
+    /**
+     * Fills the remaining elements of the given buffer with samples of {@code this} generator. Upon
+     * return, the position of the buffer is equal to its limit.
+     *
+     * @param buffer
+     *      the buffer to fill
+     * @return
+     *      the given buffer
+     */
+    public DoubleBuffer fill(final DoubleBuffer buffer) {
+        while (buffer.hasRemaining()) {
+            buffer.put(valueGenerator.applyAsDouble(sourceOfRandomness));
+        }
+        return buffer;
+    }
+
+    /**
+     * @param n
+     *      the number of samples to produce
+     * @throws IllegalArgumentException
+     *      in case the given number of samples is negative
+     * @return
+     *      an array that holds {@code n} samples of {@code this} generator
+     */
+    public double[] nextDoubles(final int n) {
+        if (n < 0) throw new IllegalArgumentException("The requested number of samples cannot be negative.");
+        return fill(new double[n]);
+    }
+
+    /**
+     * Constructs a sequential {@link java.util.stream.DoubleStream} of samples that draws from the source of
+     * randomness of {@code this} generator (cf. {@link Gen#stream()}). Every part of a parallel stream
+     * that is split off draws from its own source of randomness, which is derived from the source of
+     * the part it has been split from.
+     *
+     * @return
+     *      a practically infinite {@link java.util.stream.DoubleStream} of samples
+     */
+    public DoubleStream doubleStream() {
+        return StreamSupport.doubleStream(new SampleSpliterator.OfDoubles(valueGenerator, sourceOfRandomness, 0L, 0L, Long.MAX_VALUE), false);
+    }
+
+    /**
+     * Constructs a sequential {@link java.util.stream.DoubleStream} of samples. The i-th element of the stream
+     * is generated using its own source of randomness, which is derived from the given {@code seed}
+     * and i (cf. {@link Gen#stream(long)}). Thus, the stream can be turned into a parallel stream, but
+     * still produces the same elements in the same order for a given {@code seed}.
+     *
+     * @param seed
+     *      the seed from which the sources of randomness for the individual samples are derived
+     * @return
+     *      a practically infinite {@link java.util.stream.DoubleStream} of samples
+     */
+    public DoubleStream doubleStream(final long seed) {
+        return StreamSupport.doubleStream(new SampleSpliterator.OfDoubles(valueGenerator, null, seed, 0L, Long.MAX_VALUE), false);
+    }
+
+    /**
+     * Constructs a new generator that wraps {@code this} generator and applies the given {@code mappingFn}
+     * when producing samples. Retains the source of randomness of {@code this} generator.
+     *
+     * @param mappingFn
+     *      mapping function that transforms samples of {@code this} generator
+     * @return
+     *      a new generator that wraps {@code this} generator and applies the given {@code mappingFn}
+     *      when producing samples
+     */
+    public DoubleGen map(final DoubleUnaryOperator mappingFn) {
+        return new DoubleGen(r -> mappingFn.applyAsDouble(valueGenerator.applyAsDouble(r)), sourceOfRandomness);
+    }
+
+    /**
+     * Constructs a new generator that automatically discards samples that do not satisfy the
+     * given {@link java.util.function.DoublePredicate}. To prevent infinite-loops, this method limits
+     * the number of samples to a default of 100000 (cf. {@link Gen#suchThat(java.util.function.Predicate)}).
+     *
+     * @param predicate
+     *      samples need to satisfy this predicate, otherwise they are discarded by the
+     *      generator
+     * @throws IllegalStateException
+     *      in case the maximum number of samples have been reached and no sample was found
+     *      that satisfied the predicate
+     * @return
+     *      a new generator that discards samples if they do not satisfy the given predicate
+     */
+    public DoubleGen filter(final DoublePredicate predicate) {
+        return filter(predicate, Gen.DEFAULT_LIMIT_FOR_SUCH_THAT);
+    }
+
+    /**
+     * Constructs a new generator that automatically discards samples that do not satisfy the
+     * given {@link java.util.function.DoublePredicate}.
+     *
+     * @param predicate
+     *      samples need to satisfy this predicate, otherwise they are discarded by the
+     *      generator
+     * @param maxNumberOfSamples
+     *      the maximum number of samples generated and tested against the given predicate
+     *      until this generator gives up
+     * @throws IllegalStateException
+     *      in case the maximum number of samples have been reached and no sample was found
+     *      that satisfied the predicate
+     * @return
+     *      a new generator that discards samples if they do not satisfy the given predicate
+     */
+    public DoubleGen filter(final DoublePredicate predicate, final int maxNumberOfSamples) {
+        final ToDoubleFunction<RandomSource> filterFn = r -> {
+            for (int i = 0; i < maxNumberOfSamples; i++) {
+                final double candidate = valueGenerator.applyAsDouble(r);
+                if (predicate.test(candidate)) return candidate;
+            }
+            throw new IllegalStateException("Tried " + maxNumberOfSamples + " sample(s), but was unable to find one that satisfies the given predicate.");
+        };
+        return new DoubleGen(filterFn, sourceOfRandomness);
+    }
+
+    /**
+     * @param mappingFn
+     *      mapping function that transforms samples of {@code this} generator
+     * @param <T>
+     *      parameterized type of generated samples
+     * @return
+     *      a new {@link Gen} that applies the given {@code mappingFn} to the samples of {@code this}
+     *      generator; retains the source of randomness of {@code this} generator
+     */
+    public <T> Gen<T> mapToObj(final DoubleFunction<? extends T> mappingFn) {
+        return new Gen<>(r -> mappingFn.apply(valueGenerator.applyAsDouble(r)), sourceOfRandomness);
+    }
+
+    /**
+     * @return
+     *      a {@link Gen} that produces the samples of {@code this} generator as {@link Double}s;
+     *      retains the source of randomness of {@code this} generator
+     */
+    public Gen<Double> boxed() {
+        return new Gen<>(valueGenerator::applyAsDouble, sourceOfRandomness);
+    }
+
+    /**
+     * Constructs a generator that generates {@code double} values that are within the
+     * interval [0.0; 1.0).
+     *
+     * @return
+     *      a {@code DoubleGen}erator that generates {@code double}s within the interval [0.0; 1.0)
+     */
+    public static DoubleGen normalized() {
+        return normalized(RandomSource.of(new Random()));
+    }
+
+    /**
+     * Constructs a generator that generates {@code double} values that are within the
+     * interval [0.0; 1.0).
+     *
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @return
+     *      a {@code DoubleGen}erator that generates {@code double}s within the interval [0.0; 1.0)
+     */
+    public static DoubleGen normalized(final RandomSource sourceOfRandomness) {
+        return new DoubleGen(DoubleGen::normalizedDouble, sourceOfRandomness);
+    }
+
+    private static double normalizedDouble(final RandomSource r) {
+        final int i = r.nextInt();
+        final int n = i < 0 ? -(i + 1) : i;
+        return n / ((double) Integer.MAX_VALUE + 1);
+    }
+
+    /**
+     * Constructs a generator that generates {@code double}s. The generated {@code double}s are within the
+     * interval [start; stopExclusive).
+     *
+     * @param start
+     *      lower bound of the interval from which {@code double}s are generated
+     * @param stopExclusive
+     *      upper bound (exclusive) of the interval from which {@code double}s are generated
+     * @return
+     *      a {@code DoubleGen}erator that generates {@code double}s that are within the interval [start; stopExclusive)
+     */
+    public static DoubleGen choose(final double start,
+                                   final double stopExclusive) {
+        return choose(start, stopExclusive, RandomSource.of(new Random()));
+    }
+
+    /**
+     * Constructs a generator that generates {@code double}s. The generated {@code double}s are within the
+     * interval [start; stopExclusive).
+     *
+     * @param start
+     *      lower bound of the interval from which {@code double}s are generated
+     * @param stopExclusive
+     *      upper bound (exclusive) of the interval from which {@code double}s are generated
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @return
+     *      a {@code DoubleGen}erator that generates {@code double}s that are within the interval [start; stopExclusive)
+     */
+    public static DoubleGen choose(final double start,
+                                   final double stopExclusive,
+                                   final RandomSource sourceOfRandomness) {
+        final double range = stopExclusive - start;
+        return new DoubleGen(r -> start + normalizedDouble(r) * range, sourceOfRandomness);
+    }
+}
@@ -0,0 +1,86 @@
+package net.mguenther.gen;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * An {@code Encoder} writes a sample as a record of an export (cf. {@link Exporter}). The static
+ * factory methods of this interface provide encoders for common formats.
+ *
+ * @param <T>
+ *      parameterized type of the samples
+ */
+@FunctionalInterface
+public interface Encoder<T> {
+
+    /**
+     * @param value
+     *      the sample to encode
+     * @param out
+     *      the output to write the record to
+     * @throws IOException
+     *      in case the record cannot be written
+     */
+    void encode(T value, DataOutput out) throws IOException;
+
+    /**
+     * @param codec
+     *      the codec that encodes the samples
+     * @param <T>
+     *      parameterized type of the samples
+     * @return
+     *      an {@code Encoder} that writes samples in the compact binary format of the given
+     *      {@link Codec}, one after another
+     */
+    static <T> Encoder<T> binary(final Codec<T> codec) {
+        if (codec == null) throw new IllegalArgumentException("The given codec may not be null.");
+        return codec::encode;
+    }
+
+    /**
+     * Constructs an {@code Encoder} that writes a sample as a line of comma-separated values, which
+     * is terminated by a line feed. Every column is obtained by applying the respective function to
+     * the sample and converting the result using {@link String#valueOf(Object)}; {@code null} yields
+     * an empty column. Columns that contain commas, double quotes or line breaks are enclosed in
+     * double quotes as specified by RFC 4180.
+     *
+     * @param columns
+     *      functions that extract the columns of a record from the sample
+     * @param <T>
+     *      parameterized type of the samples
+     * @throws IllegalArgumentException
+     *      in case no column is given
+     * @return
+     *      an {@code Encoder} that writes samples as CSV records
+     */
+    @SafeVarargs
+    static <T> Encoder<T> csv(final Function<? super T, ?>... columns) {
+        if (columns.length == 0) throw new IllegalArgumentException("The given columns may not be empty.");
+        return new Encoders.CsvEncoder<T>(Arrays.asList(columns.clone()));
+    }
+
+    /**
+     * Constructs an {@code Encoder} that writes a sample as a JSON object on a line of its own (JSON
+     * Lines). Every field is obtained by applying the respective function to the sample. Finite numbers
+     * and booleans are written as JSON numbers and booleans, {@code null} as JSON null, and everything
+     * else as a JSON string using {@link String#valueOf(Object)}.
+     *
+     * @param fields
+     *      functions that extract the fields of a record from the sample, keyed by the name of the
+     *      field; the fields are written in the iteration order of the map, so use a
+     *      {@link java.util.LinkedHashMap} to retain the order of insertion
+     * @param <T>
+     *      parameterized type of the samples
+     * @throws IllegalArgumentException
+     *      in case no field is given
+     * @return
+     *      an {@code Encoder} that writes samples as JSON Lines
+     */
+    static <T> Encoder<T> jsonLines(final Map<String, ? extends Function<? super T, ?>> fields) {
+        if (fields.isEmpty()) throw new IllegalArgumentException("The given fields may not be empty.");
+        return new Encoders.JsonLinesEncoder<>(fields);
+    }
+}
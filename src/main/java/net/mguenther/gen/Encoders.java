@@ -0,0 +1,138 @@
+package net.mguenther.gen;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Provides the built-in text implementations of {@link Encoder}. Both encoders assemble a record
+ * in a {@link java.lang.StringBuilder} that is reused per thread and write its UTF-8 representation
+ * at once.
+ */
+final class Encoders {
+
+    private static final ThreadLocal<StringBuilder> RECORD = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private Encoders() {
+    }
+
+    private static StringBuilder record() {
+        final StringBuilder record = RECORD.get();
+        record.setLength(0);
+        return record;
+    }
+
+    private static void write(final StringBuilder record, final DataOutput out) throws IOException {
+        out.write(record.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static final class CsvEncoder<T> implements Encoder<T> {
+
+        private final List<Function<? super T, ?>> columns;
+
+        CsvEncoder(final List<Function<? super T, ?>> columns) {
+            this.columns = new ArrayList<>(columns);
+        }
+
+        @Override
+        public void encode(final T value, final DataOutput out) throws IOException {
+            final StringBuilder record = record();
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) record.append(',');
+                final Object column = columns.get(i).apply(value);
+                if (column != null) appendColumn(record, String.valueOf(column));
+            }
+            write(record.append('\n'), out);
+        }
+
+        private static void appendColumn(final StringBuilder record, final String column) {
+            boolean needsQuotes = false;
+            for (int i = 0; i < column.length() && !needsQuotes; i++) {
+                final char c = column.charAt(i);
+                needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!needsQuotes) {
+                record.append(column);
+                return;
+            }
+            record.append('"');
+            for (int i = 0; i < column.length(); i++) {
+                final char c = column.charAt(i);
+                if (c == '"') record.append('"');
+                record.append(c);
+            }
+            record.append('"');
+        }
+    }
+
+    static final class JsonLinesEncoder<T> implements Encoder<T> {
+
+        private final String[] names;
+
+        private final List<Function<? super T, ?>> fields;
+
+        JsonLinesEncoder(final Map<String, ? extends Function<? super T, ?>> fields) {
+            this.names = new String[fields.size()];
+            this.fields = new ArrayList<>(fields.size());
+            int i = 0;
+            for (Map.Entry<String, ? extends Function<? super T, ?>> field : fields.entrySet()) {
+                // the names never change, so they are quoted once and for all
+                final StringBuilder name = new StringBuilder();
+                appendString(name, field.getKey());
+                this.names[i++] = name.append(':').toString();
+                this.fields.add(field.getValue());
+            }
+        }
+
+        @Override
+        public void encode(final T value, final DataOutput out) throws IOException {
+            final StringBuilder record = record().append('{');
+            for (int i = 0; i < names.length; i++) {
+                if (i > 0) record.append(',');
+                record.append(names[i]);
+                appendValue(record, fields.get(i).apply(value));
+            }
+            write(record.append("}\n"), out);
+        }
+
+        private static void appendValue(final StringBuilder record, final Object value) {
+            if (value == null) {
+                record.append("null");
+            } else if (value instanceof Boolean || value instanceof Integer || value instanceof Long
+                    || value instanceof Short || value instanceof Byte) {
+                record.append(value);
+            } else if ((value instanceof Double || value instanceof Float) && Double.isFinite(((Number) value).doubleValue())) {
+                record.append(value);
+            } else {
+                appendString(record, String.valueOf(value));
+            }
+        }
+
+        private static void appendString(final StringBuilder record, final String value) {
+            record.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                final char c = value.charAt(i);
+                switch (c) {
+                    case '"': record.append("\\\""); break;
+                    case '\\': record.append("\\\\"); break;
+                    case '\n': record.append("\\n"); break;
+                    case '\r': record.append("\\r"); break;
+                    case '\t': record.append("\\t"); break;
+                    case '\b': record.append("\\b"); break;
+                    case '\f': record.append("\\f"); break;
+                    default:
+                        if (c < 0x20) {
+                            record.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            record.append(c);
+                        }
+                }
+            }
+            record.append('"');
+        }
+    }
+}
@@ -0,0 +1,489 @@
+package net.mguenther.gen;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams the samples of a {@link Gen}erator through an {@link Encoder} into a file or any other
+ * {@link java.nio.channels.WritableByteChannel}. The i-th record is the encoded sample at position i
+ * for the seed of the export (cf. {@link Gen#sampleAt(long, long)}), so the output only depends on
+ * the seed and the number of samples - not on the degree of parallelism.
+ *
+ * The samples are divided into chunks of consecutive indices, which are distributed round-robin to a
+ * number of worker threads. Every worker encodes its chunks into a few direct buffers of its own, while
+ * the calling thread writes the filled buffers to the channel in the order of the chunks. A worker
+ * that runs ahead of the writer waits until one of its buffers has been written. Thus, an export
+ * takes a constant amount of memory, regardless of the number of samples.
+ *
+ * The generator and the encoder must be safe to call from multiple threads. Instances of this class
+ * are immutable. Use {@link Exporter#of(Gen, Encoder)} as a starting point.
+ *
+ * @param <T>
+ *      parameterized type of the samples
+ */
+public final class Exporter<T> {
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private static final int MIN_BUFFER_SIZE = 1 << 10;
+
+    private static final int SAMPLES_PER_CHUNK = 4_096;
+
+    private static final int BUFFERS_PER_WORKER = 2;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger(0);
+
+    private static final ThreadFactory DEFAULT_THREAD_FACTORY = runnable -> {
+        final Thread thread = new Thread(runnable, "gen-exporter-" + THREAD_COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    };
+
+    private final Gen<T> gen;
+
+    private final Encoder<? super T> encoder;
+
+    private final byte[] header;
+
+    private final int parallelism;
+
+    private final int bufferSize;
+
+    private final ThreadFactory threadFactory;
+
+    private Exporter(final Gen<T> gen,
+                     final Encoder<? super T> encoder,
+                     final byte[] header,
+                     final int parallelism,
+                     final int bufferSize,
+                     final ThreadFactory threadFactory) {
+        this.gen = gen;
+        this.encoder = encoder;
+        this.header = header;
+        this.parallelism = parallelism;
+        this.bufferSize = bufferSize;
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * @param gen
+     *      the generator to draw samples from
+     * @param encoder
+     *      the encoder that turns samples into records
+     * @param <T>
+     *      parameterized type of the samples
+     * @return
+     *      an {@code Exporter} that uses one worker thread per available processor and direct buffers
+     *      of 1 MiB
+     */
+    public static <T> Exporter<T> of(final Gen<T> gen, final Encoder<? super T> encoder) {
+        if (gen == null) throw new IllegalArgumentException("The given generator may not be null.");
+        if (encoder == null) throw new IllegalArgumentException("The given encoder may not be null.");
+        return new Exporter<>(gen, encoder, new byte[0], Runtime.getRuntime().availableProcessors(), DEFAULT_BUFFER_SIZE, DEFAULT_THREAD_FACTORY);
+    }
+
+    /**
+     * @param header
+     *      the text to write before the first record, e.g. the header line of a CSV file including its
+     *      line feed
+     * @return
+     *      a copy of this {@code Exporter} that writes the UTF-8 representation of the given header
+     *      before the first record
+     */
+    public Exporter<T> withHeader(final String header) {
+        if (header == null) throw new IllegalArgumentException("The given header may not be null.");
+        return new Exporter<>(gen, encoder, header.getBytes(StandardCharsets.UTF_8), parallelism, bufferSize, threadFactory);
+    }
+
+    /**
+     * @param parallelism
+     *      the number of worker threads that encode samples
+     * @throws IllegalArgumentException
+     *      in case the given parallelism is not positive
+     * @return
+     *      a copy of this {@code Exporter} that uses the given number of worker threads
+     */
+    public Exporter<T> withParallelism(final int parallelism) {
+        if (parallelism <= 0) throw new IllegalArgumentException("The requested parallelism must be positive.");
+        return new Exporter<>(gen, encoder, header, parallelism, bufferSize, threadFactory);
+    }
+
+    /**
+     * @return
+     *      a copy of this {@code Exporter} that encodes and writes samples on the calling thread
+     */
+    public Exporter<T> sequential() {
+        return withParallelism(1);
+    }
+
+    /**
+     * @param bufferSize
+     *      the size of the direct buffers in bytes
+     * @throws IllegalArgumentException
+     *      in case the given size is less than 1 KiB
+     * @return
+     *      a copy of this {@code Exporter} that uses direct buffers of the given size
+     */
+    public Exporter<T> withBufferSize(final int bufferSize) {
+        if (bufferSize < MIN_BUFFER_SIZE) throw new IllegalArgumentException("The requested buffer size must be at least " + MIN_BUFFER_SIZE + " bytes.");
+        return new Exporter<>(gen, encoder, header, parallelism, bufferSize, threadFactory);
+    }
+
+    /**
+     * @param threadFactory
+     *      the {@link java.util.concurrent.ThreadFactory} to obtain worker threads from
+     * @return
+     *      a copy of this {@code Exporter} that obtains its worker threads from the given factory
+     */
+    public Exporter<T> withThreadFactory(final ThreadFactory threadFactory) {
+        if (threadFactory == null) throw new IllegalArgumentException("The given thread factory may not be null.");
+        return new Exporter<>(gen, encoder, header, parallelism, bufferSize, threadFactory);
+    }
+
+    /**
+     * Exports the given number of samples into the given file, replacing its contents.
+     *
+     * @param path
+     *      the file to write to
+     * @param numberOfSamples
+     *      the number of samples to export
+     * @param seed
+     *      the seed from which the sources of randomness for the individual samples are derived
+     * @throws IllegalArgumentException
+     *      in case the given number of samples is negative
+     * @throws IOException
+     *      in case the file cannot be written
+     * @return
+     *      the number of bytes written
+     */
+    public long writeTo(final Path path, final long numberOfSamples, final long seed) throws IOException {
+        if (numberOfSamples < 0) throw new IllegalArgumentException("The requested number of samples cannot be negative.");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            return writeTo(channel, numberOfSamples, seed);
+        }
+    }
+
+    /**
+     * Exports the given number of samples into the given channel. The channel is not closed.
+     *
+     * @param channel
+     *      the channel to write to
+     * @param numberOfSamples
+     *      the number of samples to export
+     * @param seed
+     *      the seed from which the sources of randomness for the individual samples are derived
+     * @throws IllegalArgumentException
+     *      in case the given number of samples is negative
+     * @throws IOException
+     *      in case the channel cannot be written or the encoder fails
+     * @return
+     *      the number of bytes written
+     */
+    public long writeTo(final WritableByteChannel channel, final long numberOfSamples, final long seed) throws IOException {
+        if (numberOfSamples < 0) throw new IllegalArgumentException("The requested number of samples cannot be negative.");
+        long written = writeFully(channel, ByteBuffer.wrap(header));
+        final long numberOfChunks = (numberOfSamples + SAMPLES_PER_CHUNK - 1) / SAMPLES_PER_CHUNK;
+        final int numberOfWorkers = (int) Math.min(parallelism, numberOfChunks);
+        if (numberOfWorkers <= 1) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize);
+            final long[] writtenByOutput = new long[1];
+            final ChunkOutput out = new ChunkOutput() {
+                @Override
+                ByteBuffer acquire() {
+                    return buffer;
+                }
+
+                @Override
+                void emit(final ByteBuffer filled, final boolean lastOfChunk) throws IOException {
+                    filled.flip();
+                    writtenByOutput[0] += writeFully(channel, filled);
+                    filled.clear();
+                }
+            };
+            for (long i = 0; i < numberOfSamples; i++) {
+                encoder.encode(gen.sampleAt(seed, i), out);
+            }
+            out.complete();
+            return written + writtenByOutput[0];
+        }
+        final List<Worker> workers = new ArrayList<>(numberOfWorkers);
+        final Thread[] threads = new Thread[numberOfWorkers];
+        try {
+            for (int w = 0; w < numberOfWorkers; w++) {
+                workers.add(new Worker(w, numberOfWorkers, numberOfChunks, numberOfSamples, seed));
+                threads[w] = threadFactory.newThread(workers.get(w));
+                threads[w].start();
+            }
+            for (long chunk = 0; chunk < numberOfChunks; chunk++) {
+                final Worker worker = workers.get((int) (chunk % numberOfWorkers));
+                Segment segment;
+                do {
+                    segment = worker.ready.take();
+                    if (segment.failure != null) throw rethrow(segment.failure);
+                    segment.buffer.flip();
+                    written += writeFully(channel, segment.buffer);
+                    segment.buffer.clear();
+                    worker.free.add(segment.buffer);
+                } while (!segment.lastOfChunk);
+            }
+            return written;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("The export has been interrupted.");
+        } finally {
+            // workers that are still running are not needed anymore, which is the case if the export failed
+            for (Thread thread : threads) {
+                if (thread != null) thread.interrupt();
+            }
+            for (Thread thread : threads) {
+                if (thread != null) joinUninterruptibly(thread);
+            }
+        }
+    }
+
+    private static IOException rethrow(final Throwable failure) {
+        if (failure instanceof IOException) return (IOException) failure;
+        if (failure instanceof RuntimeException) throw (RuntimeException) failure;
+        if (failure instanceof Error) throw (Error) failure;
+        return new IOException(failure);
+    }
+
+    private static void joinUninterruptibly(final Thread thread) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                thread.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private static long writeFully(final WritableByteChannel channel, final ByteBuffer buffer) throws IOException {
+        long written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer);
+        }
+        return written;
+    }
+
+    /**
+     * Encodes the chunks w, w + n, w + 2n, ... of an export with n workers.
+     */
+    private final class Worker implements Runnable {
+
+        private final BlockingQueue<ByteBuffer> free = new ArrayBlockingQueue<>(BUFFERS_PER_WORKER);
+
+        // has room for every buffer of this worker plus a failure
+        private final BlockingQueue<Segment> ready = new ArrayBlockingQueue<>(BUFFERS_PER_WORKER + 1);
+
+        private final int index;
+
+        private final int numberOfWorkers;
+
+        private final long numberOfChunks;
+
+        private final long numberOfSamples;
+
+        private final long seed;
+
+        // set once the writer has interrupted this worker while it waited for a free buffer
+        private boolean cancelled = false;
+
+        private Worker(final int index, final int numberOfWorkers, final long numberOfChunks, final long numberOfSamples, final long seed) {
+            this.index = index;
+            this.numberOfWorkers = numberOfWorkers;
+            this.numberOfChunks = numberOfChunks;
+            this.numberOfSamples = numberOfSamples;
+            this.seed = seed;
+            for (int i = 0; i < BUFFERS_PER_WORKER; i++) {
+                free.add(ByteBuffer.allocateDirect(bufferSize));
+            }
+        }
+
+        @Override
+        public void run() {
+            final ChunkOutput out = new ChunkOutput() {
+                @Override
+                ByteBuffer acquire() throws IOException {
+                    try {
+                        return free.take();
+                    } catch (InterruptedException e) {
+                        cancelled = true;
+                        throw new InterruptedIOException("The export has been cancelled.");
+                    }
+                }
+
+                @Override
+                void emit(final ByteBuffer filled, final boolean lastOfChunk) {
+                    ready.add(new Segment(filled, lastOfChunk, null));
+                }
+            };
+            try {
+                for (long chunk = index; chunk < numberOfChunks; chunk += numberOfWorkers) {
+                    final long to = Math.min(numberOfSamples, (chunk + 1) * SAMPLES_PER_CHUNK);
+                    for (long i = chunk * SAMPLES_PER_CHUNK; i < to; i++) {
+                        encoder.encode(gen.sampleAt(seed, i), out);
+                    }
+                    out.complete();
+                }
+            } catch (Throwable e) {
+                // nobody waits for the failure if the writer has cancelled the export, whereas any
+                // other failure - including an InterruptedIOException of the encoder - must be posted
+                if (!cancelled) ready.add(new Segment(null, true, e));
+            }
+        }
+    }
+
+    private static final class Segment {
+
+        private final ByteBuffer buffer;
+
+        private final boolean lastOfChunk;
+
+        private final Throwable failure;
+
+        private Segment(final ByteBuffer buffer, final boolean lastOfChunk, final Throwable failure) {
+            this.buffer = buffer;
+            this.lastOfChunk = lastOfChunk;
+            this.failure = failure;
+        }
+    }
+
+    /**
+     * A {@link java.io.DataOutput} that writes into direct buffers. Whenever the current buffer is
+     * full, it is emitted and replaced by a buffer that is acquired anew. Primitive values are never
+     * split across buffers.
+     */
+    private abstract static class ChunkOutput implements DataOutput {
+
+        private ByteBuffer buffer;
+
+        abstract ByteBuffer acquire() throws IOException;
+
+        abstract void emit(ByteBuffer filled, boolean lastOfChunk) throws IOException;
+
+        /**
+         * Emits the current buffer as the last buffer of a chunk, even if it is empty.
+         */
+        private void complete() throws IOException {
+            if (buffer == null) buffer = acquire();
+            final ByteBuffer filled = buffer;
+            buffer = null;
+            emit(filled, true);
+        }
+
+        private ByteBuffer ensureRemaining(final int length) throws IOException {
+            if (buffer != null && buffer.remaining() >= length) return buffer;
+            if (buffer != null) {
+                final ByteBuffer filled = buffer;
+                buffer = null;
+                emit(filled, false);
+            }
+            buffer = acquire();
+            return buffer;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            ensureRemaining(1).put((byte) b);
+        }
+
+        @Override
+        public void write(final byte[] b) throws IOException {
+            write(b, 0, b.length);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            int position = off;
+            int remaining = len;
+            while (remaining > 0) {
+                final ByteBuffer target = ensureRemaining(1);
+                final int n = Math.min(remaining, target.remaining());
+                target.put(b, position, n);
+                position += n;
+                remaining -= n;
+            }
+        }
+
+        @Override
+        public void writeBoolean(final boolean v) throws IOException {
+            write(v ? 1 : 0);
+        }
+
+        @Override
+        public void writeByte(final int v) throws IOException {
+            write(v);
+        }
+
+        @Override
+        public void writeShort(final int v) throws IOException {
+            ensureRemaining(Short.BYTES).putShort((short) v);
+        }
+
+        @Override
+        public void writeChar(final int v) throws IOException {
+            ensureRemaining(Character.BYTES).putChar((char) v);
+        }
+
+        @Override
+        public void writeInt(final int v) throws IOException {
+            ensureRemaining(Integer.BYTES).putInt(v);
+        }
+
+        @Override
+        public void writeLong(final long v) throws IOException {
+            ensureRemaining(Long.BYTES).putLong(v);
+        }
+
+        @Override
+        public void writeFloat(final float v) throws IOException {
+            ensureRemaining(Float.BYTES).putFloat(v);
+        }
+
+        @Override
+        public void writeDouble(final double v) throws IOException {
+            ensureRemaining(Double.BYTES).putDouble(v);
+        }
+
+        @Override
+        public void writeBytes(final String s) throws IOException {
+            for (int i = 0; i < s.length(); i++) {
+                write(s.charAt(i));
+            }
+        }
+
+        @Override
+        public void writeChars(final String s) throws IOException {
+            for (int i = 0; i < s.length(); i++) {
+                writeChar(s.charAt(i));
+            }
+        }
+
+        @Override
+        public void writeUTF(final String s) throws IOException {
+            // modified UTF-8 is rarely used, so the encoding is left to DataOutputStream
+            final ByteArrayOutputStream encoded = new ByteArrayOutputStream(s.length() + 2);
+            new DataOutputStream(encoded).writeUTF(s);
+            write(encoded.toByteArray());
+        }
+    }
+}
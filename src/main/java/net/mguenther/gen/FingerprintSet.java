@@ -0,0 +1,257 @@
+package net.mguenther.gen;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+/**
+ * A set of 64-bit fingerprints that backs generators of unique values (cf. {@link Gen#unique()}).
+ * Fingerprints are stored in an open-addressing hash table using linear probing, either in a
+ * {@code long[]} on the heap or in a direct {@link java.nio.ByteBuffer} off the heap. The table is
+ * kept at most half full and doubles in size when it would exceed that load, so once a set has grown
+ * beyond its initial capacity, a fingerprint takes 16 to 32 bytes, regardless of the size of the
+ * value it has been derived from. No object is allocated per fingerprint.
+ *
+ * An on-heap set takes at most 2^29 fingerprints, an off-heap set at most 2^26 fingerprints, which
+ * occupy a buffer of 1 GiB.
+ *
+ * Since two distinct values may share a fingerprint, a set of fingerprints may consider a value as
+ * already seen although it is not. For values with a good 64-bit fingerprint (cf.
+ * {@link FingerprintSet#fingerprint(Object)}), this is highly unlikely: the chance of a single
+ * collision among 100 million fingerprints is about 0.03%. The reverse does not happen - equal values
+ * always have the same fingerprint - so a generator of unique values never produces a duplicate.
+ *
+ * Instances of this class are thread-safe.
+ */
+public final class FingerprintSet {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 1 << 10;
+
+    // an off-heap table is limited by the capacity of a single ByteBuffer, whose size in bytes
+    // (eight per slot) must not exceed Integer.MAX_VALUE
+    static final int MAX_OFF_HEAP_SLOTS = 1 << 27;
+
+    static final int MAX_ON_HEAP_SLOTS = 1 << 30;
+
+    private final boolean offHeap;
+
+    private final int maxNumberOfSlots;
+
+    private long[] heapSlots;
+
+    private ByteBuffer offHeapSlots;
+
+    private int numberOfSlots;
+
+    private long size;
+
+    // 0 marks a free slot, so the fingerprint 0 is tracked separately
+    private boolean containsZero;
+
+    FingerprintSet(final boolean offHeap, final int expectedSize, final int maxNumberOfSlots) {
+        if (expectedSize < 0) throw new IllegalArgumentException("The expected size cannot be negative.");
+        if (expectedSize > maxNumberOfSlots / 2) throw new IllegalArgumentException("The expected size cannot exceed " + maxNumberOfSlots / 2 + ".");
+        this.offHeap = offHeap;
+        this.maxNumberOfSlots = maxNumberOfSlots;
+        allocate(slotsFor(expectedSize));
+    }
+
+    /**
+     * @return
+     *      an empty {@code FingerprintSet} that keeps its fingerprints on the heap
+     */
+    public static FingerprintSet onHeap() {
+        return onHeap(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize
+     *      the number of fingerprints that the set is able to take without growing
+     * @throws IllegalArgumentException
+     *      in case the expected size is negative or exceeds 2^29
+     * @return
+     *      an empty {@code FingerprintSet} that keeps its fingerprints on the heap
+     */
+    public static FingerprintSet onHeap(final int expectedSize) {
+        return new FingerprintSet(false, expectedSize, MAX_ON_HEAP_SLOTS);
+    }
+
+    /**
+     * @return
+     *      an empty {@code FingerprintSet} that keeps its fingerprints in a direct buffer off the heap
+     */
+    public static FingerprintSet offHeap() {
+        return offHeap(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize
+     *      the number of fingerprints that the set is able to take without growing
+     * @throws IllegalArgumentException
+     *      in case the expected size is negative or exceeds 2^26
+     * @return
+     *      an empty {@code FingerprintSet} that keeps its fingerprints in a direct buffer off the heap
+     */
+    public static FingerprintSet offHeap(final int expectedSize) {
+        return new FingerprintSet(true, expectedSize, MAX_OFF_HEAP_SLOTS);
+    }
+
+    /**
+     * @param fingerprint
+     *      the fingerprint to add
+     * @throws IllegalStateException
+     *      in case the fingerprint is new, but the set is full; the fingerprint is not added then
+     * @return
+     *      {@code true} if the fingerprint has not been contained in this set before
+     */
+    public synchronized boolean add(final long fingerprint) {
+        if (fingerprint == 0L) {
+            if (containsZero) return false;
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int slot = slotOf(fingerprint);
+        if (get(slot) == fingerprint) return false;
+        // keep the load factor at or below 1/2, so that probe sequences remain short and the table
+        // always has free slots, which terminate every probe sequence
+        if ((size + 1) * 2 > numberOfSlots) {
+            if (numberOfSlots >= maxNumberOfSlots) {
+                throw new IllegalStateException("The fingerprint set is full: it cannot take more than " + maxNumberOfSlots / 2 + " fingerprints.");
+            }
+            grow();
+            slot = slotOf(fingerprint);
+        }
+        set(slot, fingerprint);
+        size++;
+        return true;
+    }
+
+    /**
+     * @param fingerprint
+     *      the fingerprint to look up
+     * @return
+     *      {@code true} if the fingerprint is contained in this set
+     */
+    public synchronized boolean contains(final long fingerprint) {
+        if (fingerprint == 0L) return containsZero;
+        return get(slotOf(fingerprint)) == fingerprint;
+    }
+
+    /**
+     * @return
+     *      the number of fingerprints in this set
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Removes all fingerprints from this set, retaining its capacity.
+     */
+    public synchronized void clear() {
+        for (int slot = 0; slot < numberOfSlots; slot++) {
+            set(slot, 0L);
+        }
+        containsZero = false;
+        size = 0L;
+    }
+
+    /**
+     * Computes a 64-bit fingerprint of the given value. Integral numbers, characters and booleans are
+     * mapped to distinct fingerprints, as are floating-point numbers with distinct bit patterns.
+     * Strings are hashed using all 16 bits of each character, and lists are hashed element by element.
+     * Any other value is fingerprinted by its {@link Object#hashCode()}, which only provides 32 bits
+     * of entropy; provide a fingerprint function of your own for such values if you need many of
+     * them (cf. {@link Gen#unique(java.util.function.ToLongFunction, FingerprintSet, RejectionPolicy, RejectionStatistics)}).
+     *
+     * @param value
+     *      the value to fingerprint; may be {@code null}
+     * @return
+     *      the fingerprint of the given value
+     */
+    public static long fingerprint(final Object value) {
+        if (value == null) return 0L;
+        if (value instanceof String) {
+            final String s = (String) value;
+            long h = 0xcbf29ce484222325L ^ s.length(); // FNV-1a
+            for (int i = 0; i < s.length(); i++) {
+                h = (h ^ s.charAt(i)) * 0x100000001b3L;
+            }
+            return SplitMix64.mix64(h);
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return SplitMix64.mix64(((Number) value).longValue());
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return SplitMix64.mix64(Double.doubleToLongBits(((Number) value).doubleValue()));
+        }
+        if (value instanceof Character) {
+            return SplitMix64.mix64((Character) value);
+        }
+        if (value instanceof Boolean) {
+            return SplitMix64.mix64((Boolean) value ? 1L : 2L);
+        }
+        if (value instanceof List) {
+            long h = 1L;
+            for (Object element : (List<?>) value) {
+                h = SplitMix64.mix64(h * SplitMix64.GOLDEN_GAMMA + fingerprint(element));
+            }
+            return h;
+        }
+        return SplitMix64.mix64(value.hashCode());
+    }
+
+    // yields the slot that holds the given fingerprint, or the free slot that ends its probe sequence
+    private int slotOf(final long fingerprint) {
+        final int mask = numberOfSlots - 1;
+        int slot = (int) SplitMix64.mix64(fingerprint) & mask;
+        for (long existing = get(slot); existing != fingerprint && existing != 0L; existing = get(slot)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private long get(final int slot) {
+        return offHeap ? offHeapSlots.getLong(slot << 3) : heapSlots[slot];
+    }
+
+    private void set(final int slot, final long fingerprint) {
+        if (offHeap) {
+            offHeapSlots.putLong(slot << 3, fingerprint);
+        } else {
+            heapSlots[slot] = fingerprint;
+        }
+    }
+
+    private int slotsFor(final long expectedSize) {
+        long slots = Math.min(16, maxNumberOfSlots);
+        while (slots < expectedSize * 2 && slots < maxNumberOfSlots) {
+            slots <<= 1;
+        }
+        return (int) slots;
+    }
+
+    // numberOfSlots changes only once the new storage has been allocated, so that a failed
+    // allocation leaves the set intact
+    private void allocate(final int slots) {
+        if (offHeap) {
+            offHeapSlots = ByteBuffer.allocateDirect(slots << 3).order(ByteOrder.nativeOrder());
+        } else {
+            heapSlots = new long[slots];
+        }
+        numberOfSlots = slots;
+    }
+
+    private void grow() {
+        final long[] previousHeapSlots = heapSlots;
+        final ByteBuffer previousOffHeapSlots = offHeapSlots;
+        final int previousNumberOfSlots = numberOfSlots;
+        allocate(numberOfSlots << 1);
+        for (int i = 0; i < previousNumberOfSlots; i++) {
+            final long fingerprint = offHeap ? previousOffHeapSlots.getLong(i << 3) : previousHeapSlots[i];
+            if (fingerprint == 0L) continue;
+            set(slotOf(fingerprint), fingerprint);
+        }
+    }
+}
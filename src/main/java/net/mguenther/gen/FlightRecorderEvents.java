@@ -0,0 +1,256 @@
+package net.mguenther.gen;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Emits Java Flight Recorder events for the sampling of named generators (cf. {@link Gen#named(String)}),
+ * for the retry loops of {@link Gen#suchThat(java.util.function.Predicate)} and {@link Gen#unique()},
+ * and for bulk operations such as {@link Gen#listOfN(Gen, int)} and the string factories. Every event
+ * carries its duration and thread, so generation cost can be correlated with the rest of an
+ * application in standard JFR tooling.
+ *
+ * Since this library targets Java 8, the events are defined at runtime using {@code jdk.jfr.EventFactory},
+ * which is looked up reflectively. If the JFR API is absent, no event is ever emitted. Otherwise,
+ * nothing but a listener is registered with the recorder up front, so that a JVM that never records
+ * does not pay for starting up JFR. Once the recorder has been initialized - which it is as soon as
+ * the first recording has been created - the types of events are defined upon their first use. From
+ * then on, a generator checks whether the type of an event is enabled, which it is only while a
+ * recording is running, and if so commits the event once it exceeds a threshold of 20 microseconds.
+ * Both can be changed in the settings of a recording, e.g. {@code net.mguenther.gen.Sample#threshold=0 ms}.
+ *
+ * <ul>
+ *     <li>{@code net.mguenther.gen.Sample}: a sample of a named generator; fields {@code name}</li>
+ *     <li>{@code net.mguenther.gen.SuchThat}: the search for a sample that satisfies a predicate;
+ *     fields {@code name}, {@code retries} and {@code exhausted}</li>
+ *     <li>{@code net.mguenther.gen.BulkSample}: a list or string sample; fields {@code operation}
+ *     and {@code size}</li>
+ * </ul>
+ */
+final class FlightRecorderEvents {
+
+    private static final String DEFAULT_THRESHOLD = "20 us";
+
+    private static final boolean AVAILABLE;
+
+    // set by the listener once the recorder has been initialized; until then, no event kind is defined
+    private static volatile boolean recorderInitialized = false;
+
+    static final EventKind SAMPLE = new EventKind("net.mguenther.gen.Sample", "Gen Sample",
+            "A sample of a named generator.",
+            new Class<?>[] { String.class }, new String[] { "name" });
+
+    static final EventKind SUCH_THAT = new EventKind("net.mguenther.gen.SuchThat", "Gen SuchThat",
+            "The search for a sample that satisfies the predicate of suchThat or unique.",
+            new Class<?>[] { String.class, long.class, boolean.class }, new String[] { "name", "retries", "exhausted" });
+
+    static final EventKind BULK_SAMPLE = new EventKind("net.mguenther.gen.BulkSample", "Gen Bulk Sample",
+            "A list or string sample that comprises many elements.",
+            new Class<?>[] { String.class, int.class }, new String[] { "operation", "size" });
+
+    static {
+        boolean available = false;
+        try {
+            final Class<?> flightRecorderClass = Class.forName("jdk.jfr.FlightRecorder");
+            final Class<?> listenerClass = Class.forName("jdk.jfr.FlightRecorderListener");
+            final Object listener = Proxy.newProxyInstance(FlightRecorderEvents.class.getClassLoader(), new Class<?>[] { listenerClass }, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "recorderInitialized":
+                        recorderInitialized = true;
+                        return null;
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    case "toString":
+                        return FlightRecorderEvents.class.getName() + "$Listener";
+                    default:
+                        return null;
+                }
+            });
+            // invokes the listener right away if the recorder has already been initialized
+            flightRecorderClass.getMethod("addListener", listenerClass).invoke(null, listener);
+            available = true;
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            // the JFR API is absent (Java 8) or unusable, so events are never emitted
+        }
+        AVAILABLE = available;
+    }
+
+    private FlightRecorderEvents() {
+    }
+
+    /**
+     * @return
+     *      {@code true} if the JFR API is present, so that events may be emitted
+     */
+    static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    static <R> R sample(final String name, final Function<RandomSource, R> sampleFn, final RandomSource r) {
+        final Object event = SAMPLE.begin();
+        if (event == null) return sampleFn.apply(r);
+        try {
+            return sampleFn.apply(r);
+        } finally {
+            SAMPLE.commit(event, name);
+        }
+    }
+
+    /**
+     * Holds the handles to the methods of {@code jdk.jfr.Event}, which are looked up upon the
+     * definition of the first kind of event.
+     */
+    private static final class EventMethods {
+
+        private static final MethodHandle BEGIN;
+
+        private static final MethodHandle SET;
+
+        private static final MethodHandle COMMIT;
+
+        static {
+            MethodHandle begin = null;
+            MethodHandle set = null;
+            MethodHandle commit = null;
+            try {
+                final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                final Class<?> eventClass = Class.forName("jdk.jfr.Event");
+                begin = lookup.findVirtual(eventClass, "begin", MethodType.methodType(void.class))
+                        .asType(MethodType.methodType(void.class, Object.class));
+                set = lookup.findVirtual(eventClass, "set", MethodType.methodType(void.class, int.class, Object.class))
+                        .asType(MethodType.methodType(void.class, Object.class, int.class, Object.class));
+                commit = lookup.findVirtual(eventClass, "commit", MethodType.methodType(void.class))
+                        .asType(MethodType.methodType(void.class, Object.class));
+            } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+                // leaves the handles unset, so that no kind of event can be defined
+            }
+            BEGIN = begin;
+            SET = set;
+            COMMIT = commit;
+        }
+
+        private EventMethods() {
+        }
+    }
+
+    /**
+     * A type of event that is defined using {@code jdk.jfr.EventFactory} upon its first use after the
+     * recorder has been initialized.
+     */
+    static final class EventKind {
+
+        private final String name;
+
+        private final String label;
+
+        private final String description;
+
+        private final Class<?>[] fieldTypes;
+
+        private final String[] fieldNames;
+
+        private MethodHandle newEvent;
+
+        // written last upon the definition of the event type, so that it publishes newEvent as well
+        private volatile MethodHandle isEnabled;
+
+        private volatile boolean undefinable = false;
+
+        private EventKind(final String name,
+                          final String label,
+                          final String description,
+                          final Class<?>[] fieldTypes,
+                          final String[] fieldNames) {
+            this.name = name;
+            this.label = label;
+            this.description = description;
+            this.fieldTypes = fieldTypes;
+            this.fieldNames = fieldNames;
+        }
+
+        private synchronized void define() {
+            if (isEnabled != null || undefinable) return;
+            try {
+                if (EventMethods.BEGIN == null) throw new IllegalStateException("The methods of jdk.jfr.Event are inaccessible.");
+                final Class<?> annotationElementClass = Class.forName("jdk.jfr.AnnotationElement");
+                final Constructor<?> annotationElement = annotationElementClass.getConstructor(Class.class, Object.class);
+                final List<Object> annotations = new ArrayList<>();
+                annotations.add(annotationElement.newInstance(annotation("jdk.jfr.Name"), name));
+                annotations.add(annotationElement.newInstance(annotation("jdk.jfr.Label"), label));
+                annotations.add(annotationElement.newInstance(annotation("jdk.jfr.Description"), description));
+                annotations.add(annotationElement.newInstance(annotation("jdk.jfr.Category"), new String[] { "Gen" }));
+                annotations.add(annotationElement.newInstance(annotation("jdk.jfr.Threshold"), DEFAULT_THRESHOLD));
+                final Constructor<?> valueDescriptor = Class.forName("jdk.jfr.ValueDescriptor").getConstructor(Class.class, String.class);
+                final List<Object> fields = new ArrayList<>();
+                for (int i = 0; i < fieldTypes.length; i++) {
+                    fields.add(valueDescriptor.newInstance(fieldTypes[i], fieldNames[i]));
+                }
+                final Class<?> eventFactoryClass = Class.forName("jdk.jfr.EventFactory");
+                final Object eventFactory = eventFactoryClass.getMethod("create", List.class, List.class)
+                        .invoke(null, annotations, fields);
+                final Object eventType = eventFactoryClass.getMethod("getEventType").invoke(eventFactory);
+                final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                newEvent = lookup.findVirtual(eventFactoryClass, "newEvent", MethodType.methodType(Class.forName("jdk.jfr.Event")))
+                        .bindTo(eventFactory)
+                        .asType(MethodType.methodType(Object.class));
+                isEnabled = lookup.findVirtual(Class.forName("jdk.jfr.EventType"), "isEnabled", MethodType.methodType(boolean.class))
+                        .bindTo(eventType);
+            } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+                // an event type that cannot be defined is never emitted
+                undefinable = true;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Class<? extends Annotation> annotation(final String className) throws ClassNotFoundException {
+            return (Class<? extends Annotation>) Class.forName(className);
+        }
+
+        /**
+         * @return
+         *      a new event whose duration starts now, or {@code null} if events of this kind are
+         *      currently disabled
+         */
+        Object begin() {
+            if (!recorderInitialized) return null;
+            MethodHandle isEnabled = this.isEnabled;
+            if (isEnabled == null) {
+                define();
+                isEnabled = this.isEnabled;
+                if (isEnabled == null) return null;
+            }
+            try {
+                if (!(boolean) isEnabled.invokeExact()) return null;
+                final Object event = (Object) newEvent.invokeExact();
+                EventMethods.BEGIN.invokeExact(event);
+                return event;
+            } catch (Throwable t) {
+                return null;
+            }
+        }
+
+        /**
+         * Ends the given event, assigns the given values to its fields in the order of their
+         * definition and commits it, if it exceeds the threshold of its kind.
+         */
+        void commit(final Object event, final Object... values) {
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    EventMethods.SET.invokeExact(event, i, values[i]);
+                }
+                EventMethods.COMMIT.invokeExact(event);
+            } catch (Throwable t) {
+                // an event that cannot be committed is dropped, it must never fail a sample
+            }
+        }
+    }
+}
@@ -1,26 +1,46 @@
 package net.mguenther.gen;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Random;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class Gen<T> {
 
-    private final Function<Random, T> valueGenerator;
+    private final Function<RandomSource, T> valueGenerator;
 
-    private final Random sourceOfRandomness;
+    private final RandomSource sourceOfRandomness;
+
+    private final Function<Predicate<? super T>, Gen<T>> narrowingFn;
+
+    private final Step step;
+
+    private final Function<RandomSource, ShrinkTree<T>> shrinkTreeGenerator;
+
+    private final String name;
 
     private Gen(final Supplier<T> valueProvider,
-                final Random sourceOfRandomness) {
-        this.valueGenerator = r -> valueProvider.get();
-        this.sourceOfRandomness = sourceOfRandomness;
+                final RandomSource sourceOfRandomness) {
+        this(r -> valueProvider.get(), sourceOfRandomness);
     }
 
     public Gen(final Function<Random, T> valueGenerator) {
@@ -29,14 +49,270 @@ public class Gen<T> {
 
     public Gen(final Function<Random, T> valueGenerator,
                final Random sourceOfRandomness) {
+        this(r -> valueGenerator.apply(r.asRandom()), RandomSource.of(sourceOfRandomness));
+    }
+
+    public Gen(final Function<RandomSource, T> valueGenerator,
+               final RandomSource sourceOfRandomness) {
+        this(valueGenerator, sourceOfRandomness, null);
+    }
+
+    // the narrowingFn rewrites this generator into one that produces only samples which satisfy
+    // the given predicate (cf. suchThat); it yields null if it does not recognize the predicate
+    Gen(final Function<RandomSource, T> valueGenerator,
+        final RandomSource sourceOfRandomness,
+        final Function<Predicate<? super T>, Gen<T>> narrowingFn) {
+        this(valueGenerator, sourceOfRandomness, narrowingFn, null);
+    }
+
+    // the shrinkTreeGenerator produces the same sample as the valueGenerator does for a source of
+    // randomness in the same state, along with its simplifications (cf. sampleShrinkable)
+    private Gen(final Function<RandomSource, T> valueGenerator,
+                final RandomSource sourceOfRandomness,
+                final Function<Predicate<? super T>, Gen<T>> narrowingFn,
+                final Function<RandomSource, ShrinkTree<T>> shrinkTreeGenerator) {
+        this(valueGenerator, sourceOfRandomness, narrowingFn, shrinkTreeGenerator, null);
+    }
+
+    private Gen(final Function<RandomSource, T> valueGenerator,
+                final RandomSource sourceOfRandomness,
+                final Function<Predicate<? super T>, Gen<T>> narrowingFn,
+                final Function<RandomSource, ShrinkTree<T>> shrinkTreeGenerator,
+                final String name) {
         this.valueGenerator = valueGenerator;
         this.sourceOfRandomness = sourceOfRandomness;
+        this.narrowingFn = narrowingFn;
+        this.step = null;
+        this.shrinkTreeGenerator = shrinkTreeGenerator;
+        this.name = name;
+    }
+
+    private Gen(final Step step,
+                final RandomSource sourceOfRandomness) {
+        this.valueGenerator = r -> evaluate(this, r);
+        this.sourceOfRandomness = sourceOfRandomness;
+        this.narrowingFn = null;
+        this.step = step;
+        this.shrinkTreeGenerator = null;
+        this.name = null;
     }
 
     public T sample() {
         return valueGenerator.apply(sourceOfRandomness);
     }
 
+    /**
+     * Produces {@code n} samples. In contrast to {@link Gen#listOfN(Gen, int)}, the samples are
+     * produced right away.
+     *
+     * @param n
+     *      the number of samples to produce
+     * @throws IllegalArgumentException
+     *      in case the given number of samples is negative
+     * @return
+     *      a {@link java.util.List} of {@code n} samples
+     */
+    public List<T> sampleN(final int n) {
+        if (n < 0) throw new IllegalArgumentException("The requested number of samples cannot be negative.");
+        return samples(this, n, sourceOfRandomness, "sampleN");
+    }
+
+    /**
+     * Fills the given array with samples of {@code this} generator.
+     *
+     * @param values
+     *      the array to fill
+     * @return
+     *      the given array
+     */
+    public T[] sampleInto(final T[] values) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = valueGenerator.apply(sourceOfRandomness);
+        }
+        return values;
+    }
+
+    /**
+     * Produces a sample using the given source of randomness instead of the source of randomness
+     * that {@code this} generator was constructed with. The given source of randomness is passed on
+     * to all generators that {@code this} generator is composed of, including the generators that
+     * are returned by mapping functions passed to {@link Gen#flatMap(Function)}. Thus, the sample is
+     * fully determined by the state of the given source of randomness, as long as the composed
+     * generators do not draw from a separately managed source of randomness (cf. {@link Gen#lift(Supplier)}).
+     *
+     * @param sourceOfRandomness
+     *      the source of randomness to draw from
+     * @return
+     *      a sample obtained from the given source of randomness
+     */
+    public T sample(final RandomSource sourceOfRandomness) {
+        return valueGenerator.apply(sourceOfRandomness);
+    }
+
+    /**
+     * Produces a sample along with its simplifications (cf. {@link ShrinkTree}). Use a {@link Shrinker}
+     * to search the returned tree for a minimal counterexample to a property.
+     *
+     * @return
+     *      the shrink tree of a sample
+     */
+    public ShrinkTree<T> sampleShrinkable() {
+        return sampleShrinkable(sourceOfRandomness);
+    }
+
+    /**
+     * Produces a sample along with its simplifications (cf. {@link ShrinkTree}) using the given source
+     * of randomness. The root of the returned tree is the very sample that {@link Gen#sample(RandomSource)}
+     * produces for a source of randomness in the same state. Hence, a sample that has been produced using
+     * a reproducible source of randomness can be turned into a shrink tree after the fact.
+     *
+     * The built-in generators for numbers, lists, strings and {@code oneOf} know how to simplify their
+     * samples, and so do generators that are composed of them. The samples of all other generators are
+     * not simplified, unless a way to do so is provided using {@link Gen#shrinkWith(Function)}.
+     *
+     * @param sourceOfRandomness
+     *      the source of randomness to draw from
+     * @return
+     *      the shrink tree of a sample obtained from the given source of randomness
+     */
+    public ShrinkTree<T> sampleShrinkable(final RandomSource sourceOfRandomness) {
+        if (shrinkTreeGenerator != null) return shrinkTreeGenerator.apply(sourceOfRandomness);
+        if (step != null) return sampleShrinkable(step, sourceOfRandomness);
+        return ShrinkTree.leaf(valueGenerator.apply(sourceOfRandomness));
+    }
+
+    // derives the shrink tree from the step on demand, so that flatMap does not allocate anything
+    // for the sake of shrinking; in contrast to evaluate, this is not stack-safe
+    @SuppressWarnings("unchecked")
+    private ShrinkTree<T> sampleShrinkable(final Step step, final RandomSource r) {
+        if (step instanceof Bind) {
+            final Bind bind = (Bind) step;
+            final ShrinkTree<Object> outer = (ShrinkTree<Object>) bind.gen.sampleShrinkable(r);
+            final ShrinkTree<T> inner = sampleShrinkableCombined(r, (Gen<T>) bind.continuation.apply(r, outer.value()));
+            return ShrinkTree.bind(outer, inner, value -> {
+                final RandomSource shrunkR = sourceForShrunk(value);
+                return ((Gen<T>) bind.continuation.apply(shrunkR, value)).sampleShrinkable(shrunkR);
+            });
+        } else if (step instanceof Apply) {
+            final Apply apply = (Apply) step;
+            return (ShrinkTree<T>) apply.gen.sampleShrinkable(r).map(apply.mappingFn);
+        } else {
+            final Gen<T> forcedGen = (Gen<T>) ((Suspend) step).force();
+            return sampleShrinkableCombined(r, forcedGen);
+        }
+    }
+
+    /**
+     * Constructs a new generator that produces the same samples as {@code this} generator, but
+     * simplifies them using the given {@code shrinkFn} (cf. {@link ShrinkTree#unfold(Object, Function)}).
+     * Retains the source of randomness of {@code this} generator.
+     *
+     * @param shrinkFn
+     *      yields the immediate simplifications of a sample, ordered from the most aggressive to the
+     *      least aggressive simplification; must eventually yield an empty list
+     * @return
+     *      a new generator that simplifies its samples using the given {@code shrinkFn}
+     */
+    public Gen<T> shrinkWith(final Function<? super T, ? extends List<? extends T>> shrinkFn) {
+        return withShrinkTree(value -> ShrinkTree.unfold(value, shrinkFn));
+    }
+
+    private Gen<T> withShrinkTree(final Function<T, ShrinkTree<T>> shrinkTreeFn) {
+        // a narrowed generator simplifies its samples the same way, as long as they satisfy the predicate
+        final Function<Predicate<? super T>, Gen<T>> shrinkingNarrowingFn = narrowingFn == null ? null : predicate -> {
+            final Gen<T> narrowedGen = narrowingFn.apply(predicate);
+            return narrowedGen == null ? null : narrowedGen.withShrinkTree(value -> shrinkTreeFn.apply(value).filter(predicate));
+        };
+        return new Gen<>(valueGenerator, sourceOfRandomness, shrinkingNarrowingFn, r -> shrinkTreeFn.apply(valueGenerator.apply(r)));
+    }
+
+    private <U> ShrinkTree<U> sampleShrinkableCombined(final RandomSource r, final Gen<U> combinedGen) {
+        // same semantics as sampleCombined
+        return r == sourceOfRandomness ? combinedGen.sampleShrinkable() : combinedGen.sampleShrinkable(r);
+    }
+
+    private static RandomSource sourceForShrunk(final Object shrunkValue) {
+        // generators that are derived from a simplified sample (cf. flatMap) draw from a source of
+        // randomness that depends only on that sample, so that shrinking is reproducible
+        return RandomSource.splittable(SplitMix64.mix64(Objects.hashCode(shrunkValue)));
+    }
+
+    /**
+     * Produces {@code n} samples in parallel using the common {@link java.util.concurrent.ForkJoinPool}.
+     * Each sample is generated using its own source of randomness, which is derived from the given
+     * {@code seed} and the position of the sample (cf. {@link Gen#sample(RandomSource)}). Hence, the
+     * resulting list is the same for a given {@code seed}, regardless of the number of available cores.
+     *
+     * @param n
+     *      the number of samples to produce
+     * @param seed
+     *      the seed from which the sources of randomness for the individual samples are derived
+     * @throws IllegalArgumentException
+     *      in case the given number of samples is negative
+     * @return
+     *      a {@link java.util.List} of {@code n} samples
+     */
+    public List<T> parallelSamples(final int n, final long seed) {
+        if (n < 0) throw new IllegalArgumentException("The requested number of samples cannot be negative.");
+        return IntStream.range(0, n)
+                .parallel()
+                .mapToObj(i -> sample(sourceAt(seed, i)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Constructs a sequential {@link java.util.stream.Stream} of samples that draws from the source of
+     * randomness of {@code this} generator. Thus, consuming the stream sequentially yields the same
+     * samples as calling {@link Gen#sample()} repeatedly. The stream can be turned into a parallel
+     * stream: every part that is split off draws from its own source of randomness, which is derived
+     * from the source of the part it has been split from (cf. {@link RandomSource#split()}).
+     *
+     * @return
+     *      a practically infinite {@link java.util.stream.Stream} of samples
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(new SampleSpliterator.OfObjects<>(valueGenerator, sourceOfRandomness, 0L, 0L, Long.MAX_VALUE), false);
+    }
+
+    /**
+     * Constructs a sequential {@link java.util.stream.Stream} of samples. The i-th element of the
+     * stream is generated using its own source of randomness, which is derived from the given
+     * {@code seed} and i. Thus, the stream can be turned into a parallel stream, but still produces
+     * the same elements in the same order for a given {@code seed}.
+     *
+     * @param seed
+     *      the seed from which the sources of randomness for the individual samples are derived
+     * @return
+     *      a practically infinite {@link java.util.stream.Stream} of samples
+     */
+    public Stream<T> stream(final long seed) {
+        return StreamSupport.stream(new SampleSpliterator.OfObjects<>(valueGenerator, null, seed, 0L, Long.MAX_VALUE), false);
+    }
+
+    /**
+     * Produces the sample at position {@code index} of the virtual sequence of samples that is
+     * determined by the given {@code seed}. The sample is generated using its own counter-based
+     * source of randomness (cf. {@link RandomSource#counterBased(long, long)}), so it takes constant
+     * time, regardless of the index. This is the very sample that {@link Gen#parallelSamples(int, long)},
+     * {@link Gen#stream(long)} and {@link PropertyRunner} produce at that position for the same seed.
+     * Thus, a huge dataset can be sharded across threads or processes by their ranges of indices
+     * without generating any of the preceding samples.
+     *
+     * @param seed
+     *      the seed from which the sources of randomness for the individual samples are derived
+     * @param index
+     *      the position of the sample
+     * @return
+     *      the sample at the given position
+     */
+    public T sampleAt(final long seed, final long index) {
+        return valueGenerator.apply(sourceAt(seed, index));
+    }
+
+    static RandomSource sourceAt(final long seed, final long index) {
+        return RandomSource.counterBased(seed, index);
+    }
+
     /**
      * Constructs a new generator that wraps {@code this} generator and applies the given {@code mappingFn}
      * when producing samples. Retains the source of randomness of {@code this} generator.
@@ -50,7 +326,64 @@ public class Gen<T> {
      *      when producing samples
      */
     public <U> Gen<U> map(final Function<? super T, ? extends U> mappingFn) {
-        return new Gen<>(r -> mappingFn.apply(sample()), sourceOfRandomness);
+        if (step != null) return new Gen<>(new Apply(this, mappingFn), sourceOfRandomness);
+        final FusedMap<U> fusedMap = FusedMap.of(this, mappingFn);
+        return new Gen<>(fusedMap, sourceOfRandomness, null, fusedMap.shrinkTreeGenerator);
+    }
+
+    /**
+     * Fuses consecutive {@code map} stages into a single function that applies all mapping functions
+     * in a loop. Thus, a chain of {@code map} calls does not nest a lambda per stage, which would
+     * cost a stack frame per stage and per sample. Shrink trees are mapped using all stages at once
+     * as well, so the fused generator refers only to the generator at the head of the chain.
+     */
+    private static final class FusedMap<T> implements Function<RandomSource, T> {
+
+        private final Gen<?> gen;
+
+        private final Function<Object, Object>[] stages;
+
+        private final Function<RandomSource, ShrinkTree<T>> shrinkTreeGenerator = this::sampleShrinkable;
+
+        private FusedMap(final Gen<?> gen,
+                         final Function<Object, Object>[] stages) {
+            this.gen = gen;
+            this.stages = stages;
+        }
+
+        static <T, U> FusedMap<U> of(final Gen<T> gen,
+                                     final Function<? super T, ? extends U> mappingFn) {
+            @SuppressWarnings("unchecked")
+            final Function<Object, Object> stage = (Function<Object, Object>) mappingFn;
+            // a generator that simplifies its samples differently (cf. shrinkWith) must not be fused
+            if (gen.valueGenerator instanceof FusedMap && gen.shrinkTreeGenerator == ((FusedMap<T>) gen.valueGenerator).shrinkTreeGenerator) {
+                final FusedMap<T> fusedMap = (FusedMap<T>) gen.valueGenerator;
+                final Function<Object, Object>[] stages = Arrays.copyOf(fusedMap.stages, fusedMap.stages.length + 1);
+                stages[fusedMap.stages.length] = stage;
+                return new FusedMap<>(fusedMap.gen, stages);
+            }
+            @SuppressWarnings("unchecked")
+            final Function<Object, Object>[] stages = (Function<Object, Object>[]) new Function<?, ?>[] { stage };
+            return new FusedMap<>(gen, stages);
+        }
+
+        @Override
+        public T apply(final RandomSource r) {
+            return applyStages(gen.valueGenerator.apply(r));
+        }
+
+        private ShrinkTree<T> sampleShrinkable(final RandomSource r) {
+            return gen.sampleShrinkable(r).map(this::applyStages);
+        }
+
+        @SuppressWarnings("unchecked")
+        private T applyStages(final Object sample) {
+            Object value = sample;
+            for (Function<Object, Object> stage : stages) {
+                value = stage.apply(value);
+            }
+            return (T) value;
+        }
     }
 
     /**
@@ -67,7 +400,56 @@ public class Gen<T> {
      *      when producing samples
      */
     public <U> Gen<U> map(final BiFunction<Random, ? super T, ? extends U> mappingFn) {
-        return new Gen<>(r -> mappingFn.apply(r, sample()), sourceOfRandomness);
+        return new Gen<>(r -> mappingFn.apply(r.asRandom(), valueGenerator.apply(r)), sourceOfRandomness, null, r -> {
+            final ShrinkTree<T> tree = sampleShrinkable(r);
+            final ShrinkTree<U> mapped = ShrinkTree.leaf(mappingFn.apply(r.asRandom(), tree.value()));
+            return ShrinkTree.bind(tree, mapped, value -> ShrinkTree.leaf(mappingFn.apply(sourceForShrunk(value).asRandom(), value)));
+        });
+    }
+
+    /**
+     * Constructs a new generator for primitive {@code int} values that wraps {@code this} generator
+     * and applies the given {@code mappingFn} when producing samples. Retains the source of randomness
+     * of {@code this} generator.
+     *
+     * @param mappingFn
+     *      mapping function that transforms samples of {@code this} generator
+     * @return
+     *      a new {@link IntGen} that wraps {@code this} generator and applies the given {@code mappingFn}
+     *      when producing samples
+     */
+    public IntGen mapToInt(final ToIntFunction<? super T> mappingFn) {
+        return new IntGen(r -> mappingFn.applyAsInt(valueGenerator.apply(r)), sourceOfRandomness);
+    }
+
+    /**
+     * Constructs a new generator for primitive {@code long} values that wraps {@code this} generator
+     * and applies the given {@code mappingFn} when producing samples. Retains the source of randomness
+     * of {@code this} generator.
+     *
+     * @param mappingFn
+     *      mapping function that transforms samples of {@code this} generator
+     * @return
+     *      a new {@link LongGen} that wraps {@code this} generator and applies the given {@code mappingFn}
+     *      when producing samples
+     */
+    public LongGen mapToLong(final ToLongFunction<? super T> mappingFn) {
+        return new LongGen(r -> mappingFn.applyAsLong(valueGenerator.apply(r)), sourceOfRandomness);
+    }
+
+    /**
+     * Constructs a new generator for primitive {@code double} values that wraps {@code this} generator
+     * and applies the given {@code mappingFn} when producing samples. Retains the source of randomness
+     * of {@code this} generator.
+     *
+     * @param mappingFn
+     *      mapping function that transforms samples of {@code this} generator
+     * @return
+     *      a new {@link DoubleGen} that wraps {@code this} generator and applies the given {@code mappingFn}
+     *      when producing samples
+     */
+    public DoubleGen mapToDouble(final ToDoubleFunction<? super T> mappingFn) {
+        return new DoubleGen(r -> mappingFn.applyAsDouble(valueGenerator.apply(r)), sourceOfRandomness);
     }
 
     /**
@@ -81,8 +463,9 @@ public class Gen<T> {
      * @return
      *      a new generator obtained by combining {@code this} generator with another generator
      */
+    @SuppressWarnings("unchecked")
     public <U> Gen<U> flatMap(final Function<? super T, ? extends Gen<U>> mappingFn) {
-        return new Gen<>(r -> mappingFn.apply(sample()).sample(), sourceOfRandomness);
+        return new Gen<>(new Bind(this, (r, value) -> mappingFn.apply((T) value)), sourceOfRandomness);
     }
 
     /**
@@ -111,17 +494,370 @@ public class Gen<T> {
      * @return
      *      a new generator obtained by combining {@code this} generator with another generator
      */
+    @SuppressWarnings("unchecked")
     public <U> Gen<U> flatMap(final BiFunction<Random, ? super T, ? extends Gen<U>> mappingFn) {
-        return new Gen<>(r -> mappingFn.apply(r, sample()).sample(), sourceOfRandomness);
+        return new Gen<>(new Bind(this, (r, value) -> mappingFn.apply(r.asRandom(), (T) value)), sourceOfRandomness);
+    }
+
+    /**
+     * Describes how a generator that has been constructed using {@code flatMap}, {@code lazy} or
+     * {@code map} on top of such a generator produces a sample. Instead of nesting calls to the
+     * generators involved, these generators are evaluated by a loop that keeps its continuations
+     * on the heap (cf. {@code evaluate}). Thus, sampling from deeply nested or recursive generators
+     * takes constant space on the Java stack.
+     */
+    private abstract static class Step {
+    }
+
+    private static final class Bind extends Step {
+
+        private final Gen<?> gen;
+
+        private final BiFunction<RandomSource, Object, ? extends Gen<?>> continuation;
+
+        private Bind(final Gen<?> gen, final BiFunction<RandomSource, Object, ? extends Gen<?>> continuation) {
+            this.gen = gen;
+            this.continuation = continuation;
+        }
     }
 
-    private static final int DEFAULT_LIMIT_FOR_SUCH_THAT = 100_000;
+    private static final class Apply extends Step {
+
+        private final Gen<?> gen;
+
+        private final Function<Object, Object> mappingFn;
+
+        @SuppressWarnings("unchecked")
+        private Apply(final Gen<?> gen, final Function<?, ?> mappingFn) {
+            this.gen = gen;
+            this.mappingFn = (Function<Object, Object>) mappingFn;
+        }
+    }
+
+    private static final class Suspend extends Step {
+
+        private final Supplier<? extends Gen<?>> genSupplier;
+
+        private volatile Gen<?> gen;
+
+        private Suspend(final Supplier<? extends Gen<?>> genSupplier) {
+            this.genSupplier = genSupplier;
+        }
+
+        // double-checked locking, so that the supplier is called at most once even if the generator
+        // is sampled by several threads for the first time at once
+        private Gen<?> force() {
+            Gen<?> forcedGen = gen;
+            if (forcedGen == null) {
+                synchronized (this) {
+                    forcedGen = gen;
+                    if (forcedGen == null) {
+                        forcedGen = genSupplier.get();
+                        if (forcedGen == null) throw new IllegalStateException("The supplier of a lazy generator must not return null.");
+                        gen = forcedGen;
+                    }
+                }
+            }
+            return forcedGen;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T evaluate(final Gen<T> gen, final RandomSource sourceOfRandomness) {
+        Object[] continuations = new Object[16];
+        int size = 0;
+        Gen<?> current = gen;
+        RandomSource r = sourceOfRandomness;
+        while (true) {
+            final Step step = current.step;
+            if (step instanceof Bind) {
+                if (size + 2 > continuations.length) continuations = Arrays.copyOf(continuations, continuations.length << 1);
+                continuations[size++] = r;
+                continuations[size++] = step;
+                current = ((Bind) step).gen;
+            } else if (step instanceof Apply) {
+                if (size + 1 > continuations.length) continuations = Arrays.copyOf(continuations, continuations.length << 1);
+                continuations[size++] = step;
+                current = ((Apply) step).gen;
+            } else if (step instanceof Suspend) {
+                final Gen<?> forcedGen = ((Suspend) step).force();
+                r = r == current.sourceOfRandomness ? forcedGen.sourceOfRandomness : r;
+                current = forcedGen;
+            } else {
+                Object value = current.valueGenerator.apply(r);
+                while (true) {
+                    if (size == 0) return (T) value;
+                    final Object continuation = continuations[--size];
+                    continuations[size] = null;
+                    if (continuation instanceof Apply) {
+                        value = ((Apply) continuation).mappingFn.apply(value);
+                    } else {
+                        final Bind bind = (Bind) continuation;
+                        final RandomSource bindR = (RandomSource) continuations[--size];
+                        continuations[size] = null;
+                        final Gen<?> combinedGen = bind.continuation.apply(bindR, value);
+                        // same semantics as sampleCombined
+                        r = bindR == bind.gen.sourceOfRandomness ? combinedGen.sourceOfRandomness : bindR;
+                        current = combinedGen;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Constructs a new generator that combines the samples of {@code this} generator with the samples
+     * of the given generator using the given {@code combiner}. In contrast to
+     * {@code flatMap(t -> other.map(u -> combiner.apply(t, u)))}, which yields the same samples,
+     * the other generator is not rebuilt for every sample. Use this instead of {@code flatMap} whenever
+     * the generator to combine with does not depend on the samples of {@code this} generator. Retains
+     * the source of randomness of {@code this} generator.
+     *
+     * @param other
+     *      the generator to combine {@code this} generator with
+     * @param combiner
+     *      combines a sample of {@code this} generator with a sample of the other generator
+     * @param <U>
+     *      parameterized type of the samples of the other generator
+     * @param <R>
+     *      parameterized type of generated samples
+     * @return
+     *      a new generator that combines the samples of {@code this} generator with the samples of
+     *      the given generator
+     */
+    public <U, R> Gen<R> zip(final Gen<U> other, final BiFunction<? super T, ? super U, ? extends R> combiner) {
+        return new Gen<>(r -> {
+            final T t = valueGenerator.apply(r);
+            return combiner.apply(t, sampleCombined(r, other));
+        }, sourceOfRandomness, null, r -> {
+            final ShrinkTree<T> t = sampleShrinkable(r);
+            return ShrinkTree.zip(t, sampleShrinkableCombined(r, other), combiner);
+        });
+    }
+
+    private <U> U sampleCombined(final RandomSource r, final Gen<U> combinedGen) {
+        // if we sample using our own source of randomness, the generator we are combined with retains
+        // its own source of randomness as well; an explicitly given source of randomness however is
+        // passed on, so that the whole sample is determined by it (cf. sample(RandomSource))
+        return r == sourceOfRandomness ? combinedGen.sample() : combinedGen.sample(r);
+    }
+
+    /**
+     * Constructs a new generator that produces the samples of {@code this} generator using the
+     * given size (cf. {@link Gen#sized(IntFunction)}). The size applies to all generators that
+     * {@code this} generator is composed of, unless they have been resized themselves. Thus, a
+     * composed generator can be scaled up or down as a whole, e.g. {@code userGen.resize(10)}.
+     * Retains the source of randomness of {@code this} generator.
+     *
+     * The size is scoped to the thread that samples the returned generator. Samples that are
+     * generated on other threads - for instance by a generator obtained using
+     * {@link Gen#buffered(int)} on top of {@code this} generator - use the default size.
+     *
+     * @param size
+     *      the size to use when sampling {@code this} generator
+     * @throws IllegalArgumentException
+     *      in case the given size is negative
+     * @return
+     *      a new generator that produces the samples of {@code this} generator using the given size
+     */
+    public Gen<T> resize(final int size) {
+        if (size < 0) throw new IllegalArgumentException("The requested size cannot be negative.");
+        return new Gen<>(r -> {
+            final int previousSize = SampleContext.enter(size);
+            try {
+                return valueGenerator.apply(r);
+            } finally {
+                SampleContext.exit(previousSize);
+            }
+        }, sourceOfRandomness, null, r -> {
+            final int previousSize = SampleContext.enter(size);
+            try {
+                return sampleShrinkable(r);
+            } finally {
+                SampleContext.exit(previousSize);
+            }
+        });
+    }
+
+    /**
+     * Constructs a new generator that produces the same samples as {@code this} generator, but
+     * carries the given name. The name identifies the generator in its metrics (cf.
+     * {@link Gen#instrumented()}) and in the events that it emits to the Java Flight Recorder, if
+     * the JFR API is present. Retains the source of randomness of {@code this} generator.
+     *
+     * @param name
+     *      the name of the generator, e.g. {@code "email"}
+     * @throws IllegalArgumentException
+     *      in case the given name is null or empty
+     * @return
+     *      a new generator that carries the given name
+     */
+    public Gen<T> named(final String name) {
+        if (name == null || name.isEmpty()) throw new IllegalArgumentException("The given name may not be empty.");
+        final Function<RandomSource, ShrinkTree<T>> namedShrinkTreeFn = step != null ? this::sampleShrinkable : shrinkTreeGenerator;
+        // samples of named generators are reported to the Java Flight Recorder, if it is present
+        final Function<RandomSource, T> namedFn = FlightRecorderEvents.isAvailable()
+                ? r -> FlightRecorderEvents.sample(name, valueGenerator, r)
+                : valueGenerator;
+        return new Gen<>(namedFn, sourceOfRandomness, narrowingFn, namedShrinkTreeFn, name);
+    }
+
+    /**
+     * @return
+     *      the name of {@code this} generator (cf. {@link Gen#named(String)}), or {@code null} if it
+     *      has not been named
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Constructs a new generator that produces the samples of {@code this} generator and records
+     * them into the {@link GenMetrics} of its name in the global {@link GenMetricsRegistry}, e.g.
+     * {@code gen.named("email").instrumented()}.
+     *
+     * @throws IllegalStateException
+     *      in case {@code this} generator has not been named
+     * @return
+     *      a new generator that records its samples into the global registry
+     */
+    public Gen<T> instrumented() {
+        return instrumented(GenMetricsRegistry.global());
+    }
+
+    /**
+     * Constructs a new generator that produces the samples of {@code this} generator and records
+     * the number of samples, their latency, the number of candidates discarded while producing
+     * them and, on request, the number of bytes allocated into the {@link GenMetrics} of its name
+     * in the given {@link GenMetricsRegistry}. Retains the source of randomness of {@code this}
+     * generator.
+     *
+     * @param registry
+     *      the registry to record the samples into
+     * @throws IllegalArgumentException
+     *      in case the given registry is null
+     * @throws IllegalStateException
+     *      in case {@code this} generator has not been named
+     * @return
+     *      a new generator that records its samples into the given registry
+     */
+    public Gen<T> instrumented(final GenMetricsRegistry registry) {
+        if (registry == null) throw new IllegalArgumentException("The given registry may not be null.");
+        if (name == null) throw new IllegalStateException("Only named generators can be instrumented; use named(String) to name this generator.");
+        final GenMetrics metrics = registry.metrics(name);
+        return new Gen<>(r -> metrics.measure(valueGenerator, r), sourceOfRandomness, null, r -> metrics.measure(this::sampleShrinkable, r), name);
+    }
+
+    /**
+     * Constructs a new generator that records every sample it produces into the given
+     * {@link ReplayLog.Writer}. The i-th sample is generated using its own source of randomness, which is
+     * derived from the given {@code seed} and i (cf. {@link Gen#parallelSamples(int, long)}), and only the
+     * seed and i are recorded. Thus, every recorded sample can be regenerated later on using
+     * {@link ReplayLog#replay(Gen, long)} with {@code this} generator.
+     *
+     * Samples that are produced using an explicitly given source of randomness (cf.
+     * {@link Gen#sample(RandomSource)}) are neither recorded nor derived from the given seed.
+     *
+     * @param replayLog
+     *      the log to record samples into
+     * @param seed
+     *      the seed from which the sources of randomness for the individual samples are derived
+     * @return
+     *      a new generator that records its samples into the given log
+     */
+    public Gen<T> recordTo(final ReplayLog.Writer replayLog, final long seed) {
+        final AtomicLong nextIndex = new AtomicLong(0L);
+        return new Gen<>(r -> {
+            if (r != sourceOfRandomness) return valueGenerator.apply(r);
+            final long index = nextIndex.getAndIncrement();
+            replayLog.record(seed, index);
+            return valueGenerator.apply(sourceAt(seed, index));
+        }, sourceOfRandomness, null, r -> {
+            if (r != sourceOfRandomness) return sampleShrinkable(r);
+            final long index = nextIndex.getAndIncrement();
+            replayLog.record(seed, index);
+            return sampleShrinkable(sourceAt(seed, index));
+        });
+    }
+
+    RandomSource sourceOfRandomness() {
+        return sourceOfRandomness;
+    }
+
+    /**
+     * Constructs a new generator that pre-generates the samples of {@code this} generator on a
+     * background thread into a buffer of the given capacity (cf. {@link BufferedGen}). Consumers park
+     * briefly if the buffer is empty, while the background thread parks for increasingly longer
+     * periods if the buffer stays full. The returned generator should be closed once it is no longer
+     * needed; otherwise, its background thread stops only once the generator has become unreachable.
+     *
+     * @param capacity
+     *      the maximum number of buffered samples; rounded up to the next power of two
+     * @throws IllegalArgumentException
+     *      in case the given capacity is not positive
+     * @return
+     *      a new {@link BufferedGen} that buffers the samples of {@code this} generator
+     */
+    public BufferedGen<T> buffered(final int capacity) {
+        return buffered(capacity, BufferedGen.WaitStrategy.PARK);
+    }
+
+    /**
+     * Constructs a new generator that pre-generates the samples of {@code this} generator on a
+     * background daemon thread into a buffer of the given capacity (cf. {@link BufferedGen}). The
+     * returned generator should be closed once it is no longer needed.
+     *
+     * @param capacity
+     *      the maximum number of buffered samples; rounded up to the next power of two
+     * @param waitStrategy
+     *      determines how the background thread waits if the buffer is full and how consumers wait
+     *      if the buffer is empty
+     * @throws IllegalArgumentException
+     *      in case the given capacity is not positive
+     * @return
+     *      a new {@link BufferedGen} that buffers the samples of {@code this} generator
+     */
+    public BufferedGen<T> buffered(final int capacity, final BufferedGen.WaitStrategy waitStrategy) {
+        return BufferedGen.of(this, capacity, waitStrategy, null);
+    }
+
+    /**
+     * Constructs a new generator that pre-generates the samples of {@code this} generator on a
+     * background thread into a buffer of the given capacity (cf. {@link BufferedGen}). The background
+     * thread is obtained from the given {@link java.util.concurrent.ThreadFactory}, which allows to use
+     * virtual threads on newer JDKs. The returned generator should be closed once it is no longer needed.
+     *
+     * @param capacity
+     *      the maximum number of buffered samples; rounded up to the next power of two
+     * @param waitStrategy
+     *      determines how the background thread waits if the buffer is full and how consumers wait
+     *      if the buffer is empty
+     * @param threadFactory
+     *      creates the background thread
+     * @throws IllegalArgumentException
+     *      in case the given capacity is not positive
+     * @return
+     *      a new {@link BufferedGen} that buffers the samples of {@code this} generator
+     */
+    public BufferedGen<T> buffered(final int capacity, final BufferedGen.WaitStrategy waitStrategy, final ThreadFactory threadFactory) {
+        return BufferedGen.of(this, capacity, waitStrategy, threadFactory);
+    }
+
+    static final int DEFAULT_LIMIT_FOR_SUCH_THAT = 100_000;
 
     /**
      * Constructs a new generator that automatically discards samples that do not satisfy the
      * given {@link java.util.function.Predicate}. To prevent infinite-loops, this method limits
      * the number of samples to a default of 100000 (cf. {@code DEFAULT_LIMIT_FOR_SUCH_THAT}.
      *
+     * If the given predicate is an {@link IntRange} and {@code this} generator is backed by an
+     * interval (cf. {@link Gen#choose(int, int)}, {@link Gen#even(int, int)}, {@link Gen#odd(int, int)}
+     * and {@link Gen#nonNegativeInteger()}), or if the given predicate is an {@link IntRange} or a
+     * {@link Membership} and {@code this} generator has been constructed using {@link Gen#oneOf(List)},
+     * the returned generator does not discard samples at all. Instead, it draws directly from the
+     * admissible values. This applies to all overloads of {@code suchThat}.
+     *
      * @param predicate
      *      samples need to satisfy this predicate, otherwise they are discarded by the
      *      generator
@@ -140,12 +876,17 @@ public class Gen<T> {
      * given {@link java.util.function.Predicate}. To prevent infinite-loops, this method limits
      * the number of samples to a default of 100000 (cf. {@code DEFAULT_LIMIT_FOR_SUCH_THAT}.
      *
+     * Predicates that are transparent to {@code this} generator are pushed down instead of
+     * discarding samples (cf. {@link Gen#suchThat(Predicate)}).
+     *
      * @param predicate
      *      samples need to satisfy this predicate, otherwise they are discarded by the
      *      generator
      * @param maxNumberOfSamples
      *      the maximum number of samples generated and tested against the given predicate
      *      until this generator gives up
+     * @throws IllegalArgumentException
+     *      in case the given maximum number of samples is not positive
      * @throws IllegalStateException
      *      in case the maximum number of samples have been reached and no sample was found
      *      that satisfied the predicate
@@ -153,13 +894,181 @@ public class Gen<T> {
      *      a new generator that discards samples if they do not satisfy the given predicate
      */
     public Gen<T> suchThat(final Predicate<? super T> predicate, final int maxNumberOfSamples) {
-        final Function<Random, T> suchThatFn = r -> Stream.iterate(this, t -> t)
-                .limit(maxNumberOfSamples)
-                .map(Gen::sample)
-                .filter(predicate)
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("Tried " + maxNumberOfSamples + " sample(s), but was unable to find one that satisfies the given predicate."));
-        return new Gen<>(suchThatFn, sourceOfRandomness);
+        return suchThat(predicate, RejectionPolicy.defaultPolicy().withMaxNumberOfSamples(maxNumberOfSamples));
+    }
+
+    /**
+     * Constructs a new generator that automatically discards samples that do not satisfy the
+     * given {@link java.util.function.Predicate}. The given {@link RejectionPolicy} limits the
+     * effort spent on a single sample and supervises the ratio of accepted candidates.
+     *
+     * @param predicate
+     *      samples need to satisfy this predicate, otherwise they are discarded by the
+     *      generator
+     * @param policy
+     *      determines when this generator gives up and how it reacts to a low acceptance ratio
+     * @throws IllegalStateException
+     *      in case the maximum number of samples or the time budget have been exhausted and no
+     *      sample was found that satisfied the predicate, or in case the acceptance ratio dropped
+     *      below the minimum that the policy enforces
+     * @return
+     *      a new generator that discards samples if they do not satisfy the given predicate
+     */
+    public Gen<T> suchThat(final Predicate<? super T> predicate, final RejectionPolicy policy) {
+        return suchThat(predicate, policy, new RejectionStatistics());
+    }
+
+    /**
+     * Constructs a new generator that automatically discards samples that do not satisfy the
+     * given {@link java.util.function.Predicate} and records the number of accepted and rejected
+     * candidates into the given {@link RejectionStatistics}.
+     *
+     * @param predicate
+     *      samples need to satisfy this predicate, otherwise they are discarded by the
+     *      generator
+     * @param policy
+     *      determines when this generator gives up and how it reacts to a low acceptance ratio
+     * @param statistics
+     *      records accepted and rejected candidates
+     * @throws IllegalStateException
+     *      in case the maximum number of samples or the time budget have been exhausted and no
+     *      sample was found that satisfied the predicate, or in case the acceptance ratio dropped
+     *      below the minimum that the policy enforces
+     * @return
+     *      a new generator that discards samples if they do not satisfy the given predicate
+     */
+    public Gen<T> suchThat(final Predicate<? super T> predicate, final RejectionPolicy policy, final RejectionStatistics statistics) {
+        final Gen<T> narrowedGen = narrowingFn != null ? narrowingFn.apply(predicate) : null;
+        if (narrowedGen != null) return narrowedGen;
+        final AtomicBoolean alreadyWarned = new AtomicBoolean(false);
+        final Function<RandomSource, T> suchThatFn = r ->
+                sampleSuchThat(r, this::sample, predicate, policy, statistics, alreadyWarned, SATISFIES_PREDICATE, name);
+        final Function<RandomSource, ShrinkTree<T>> suchThatShrinkTreeFn = r ->
+                sampleSuchThat(r, this::sampleShrinkable, tree -> predicate.test(tree.value()), policy, statistics, alreadyWarned, SATISFIES_PREDICATE, name).filter(predicate);
+        return new Gen<>(suchThatFn, sourceOfRandomness, null, suchThatShrinkTreeFn);
+    }
+
+    private static final String SATISFIES_PREDICATE = "one that satisfies the given predicate";
+
+    /**
+     * Constructs a new generator that never yields the same value twice. It remembers the 64-bit
+     * fingerprint of every value it has yielded (cf. {@link FingerprintSet#fingerprint(Object)}) and
+     * discards candidates whose fingerprint has been seen before. Discarded candidates are subject
+     * to the default {@link RejectionPolicy}, so the returned generator fails after 100000 duplicates
+     * in a row (cf. {@code DEFAULT_LIMIT_FOR_SUCH_THAT}), which indicates that the value space of
+     * {@code this} generator is (nearly) exhausted.
+     *
+     * The returned generator is stateful: every instance remembers its own values, which is why
+     * seeded samples of it are only reproducible if they are drawn in the same order.
+     *
+     * @throws IllegalStateException
+     *      in case the maximum number of samples have been reached and no value was found that
+     *      has not been yielded before
+     * @return
+     *      a new generator that discards samples that it has already yielded
+     */
+    public Gen<T> unique() {
+        return unique(FingerprintSet.onHeap(), RejectionPolicy.defaultPolicy(), new RejectionStatistics());
+    }
+
+    /**
+     * Constructs a new generator that never yields a value whose fingerprint (cf.
+     * {@link FingerprintSet#fingerprint(Object)}) is already contained in the given
+     * {@link FingerprintSet}. Sharing a set between generators makes their values unique among
+     * each other. Discarded duplicates are recorded as rejected candidates into the given
+     * {@link RejectionStatistics}, so its acceptance ratio tells how crowded the value space is.
+     *
+     * @param seen
+     *      holds the fingerprints of the values that have been yielded so far
+     * @param policy
+     *      determines when this generator gives up and how it reacts to a low acceptance ratio
+     * @param statistics
+     *      records accepted candidates and discarded duplicates
+     * @throws IllegalStateException
+     *      in case the maximum number of samples or the time budget have been exhausted and no
+     *      value was found that has not been yielded before, or in case the acceptance ratio
+     *      dropped below the minimum that the policy enforces
+     * @return
+     *      a new generator that discards samples that have already been yielded
+     */
+    public Gen<T> unique(final FingerprintSet seen, final RejectionPolicy policy, final RejectionStatistics statistics) {
+        return unique(FingerprintSet::fingerprint, seen, policy, statistics);
+    }
+
+    /**
+     * Constructs a new generator that never yields a value whose fingerprint is already contained in
+     * the given {@link FingerprintSet}. Use this overload to fingerprint values that do not have a
+     * good 64-bit fingerprint of their own, or to make values unique with respect to some key, for
+     * instance users with respect to their email addresses.
+     *
+     * @param fingerprintFn
+     *      computes the 64-bit fingerprint of a value
+     * @param seen
+     *      holds the fingerprints of the values that have been yielded so far
+     * @param policy
+     *      determines when this generator gives up and how it reacts to a low acceptance ratio
+     * @param statistics
+     *      records accepted candidates and discarded duplicates
+     * @throws IllegalArgumentException
+     *      in case any of the given arguments is {@code null}
+     * @throws IllegalStateException
+     *      in case the maximum number of samples or the time budget have been exhausted and no
+     *      value was found that has not been yielded before, or in case the acceptance ratio
+     *      dropped below the minimum that the policy enforces
+     * @return
+     *      a new generator that discards samples that have already been yielded
+     */
+    public Gen<T> unique(final ToLongFunction<? super T> fingerprintFn,
+                         final FingerprintSet seen,
+                         final RejectionPolicy policy,
+                         final RejectionStatistics statistics) {
+        if (fingerprintFn == null) throw new IllegalArgumentException("The given fingerprint function may not be null.");
+        if (seen == null) throw new IllegalArgumentException("The given fingerprint set may not be null.");
+        if (policy == null) throw new IllegalArgumentException("The given policy may not be null.");
+        if (statistics == null) throw new IllegalArgumentException("The given statistics may not be null.");
+        final AtomicBoolean alreadyWarned = new AtomicBoolean(false);
+        final String wanted = "one that has not been yielded before; the value space of the generator appears to be exhausted";
+        final Predicate<T> unseen = value -> seen.add(fingerprintFn.applyAsLong(value));
+        final Function<RandomSource, T> uniqueFn = r ->
+                sampleSuchThat(r, this::sample, unseen, policy, statistics, alreadyWarned, wanted, name);
+        // shrinks of a value are not recorded as yielded, since they never leave the property under test
+        final Function<RandomSource, ShrinkTree<T>> uniqueShrinkTreeFn = r ->
+                sampleSuchThat(r, this::sampleShrinkable, tree -> unseen.test(tree.value()), policy, statistics, alreadyWarned, wanted, name);
+        return new Gen<>(uniqueFn, sourceOfRandomness, null, uniqueShrinkTreeFn);
+    }
+
+    private static <C> C sampleSuchThat(final RandomSource r,
+                                        final Function<RandomSource, C> candidateFn,
+                                        final Predicate<? super C> predicate,
+                                        final RejectionPolicy policy,
+                                        final RejectionStatistics statistics,
+                                        final AtomicBoolean alreadyWarned,
+                                        final String wanted,
+                                        final String name) {
+        final int maxNumberOfSamples = policy.maxNumberOfSamples();
+        final long deadline = policy.hasTimeBudget() ? System.nanoTime() + policy.timeBudgetInNanos() : 0L;
+        final Object event = FlightRecorderEvents.SUCH_THAT.begin();
+        for (int i = 0; i < maxNumberOfSamples; i++) {
+            final C candidate = candidateFn.apply(r);
+            if (predicate.test(candidate)) {
+                if (event != null) FlightRecorderEvents.SUCH_THAT.commit(event, name, (long) i, false);
+                statistics.recordAccepted(i);
+                GenMetrics.recordRejections(i);
+                policy.verifyAcceptanceRatio(statistics, alreadyWarned);
+                return candidate;
+            }
+            if (deadline != 0L && System.nanoTime() - deadline > 0) {
+                if (event != null) FlightRecorderEvents.SUCH_THAT.commit(event, name, (long) i + 1, true);
+                statistics.recordExhausted(i + 1);
+                GenMetrics.recordRejections(i + 1);
+                throw new IllegalStateException("Tried " + (i + 1) + " sample(s) within the given time budget, but was unable to find " + wanted + ".");
+            }
+        }
+        if (event != null) FlightRecorderEvents.SUCH_THAT.commit(event, name, (long) maxNumberOfSamples, true);
+        statistics.recordExhausted(maxNumberOfSamples);
+        GenMetrics.recordRejections(maxNumberOfSamples);
+        policy.verifyAcceptanceRatio(statistics, alreadyWarned);
+        throw new IllegalStateException("Tried " + maxNumberOfSamples + " sample(s), but was unable to find " + wanted + ".");
     }
 
     /**
@@ -199,9 +1108,142 @@ public class Gen<T> {
      *      a new generator that wraps the existing call site
      */
     public static <T> Gen<T> lift(final Supplier<T> generatingFunction, final Random sourceOfRandomness) {
+        return lift(generatingFunction, RandomSource.of(sourceOfRandomness));
+    }
+
+    /**
+     * Wraps the given {@link Supplier} into an instance of the {@code Gen} monad. This can be an
+     * existing call site, such as a method that takes no arguments and returns some (random) value.
+     * A call to {@link Gen#sample()} always delegates the call to the underlying method. Please
+     * note that the underlying method does not obey the source of randomness of this {@code Gen},
+     * as it is separately managed. The {@code lift} method only provides the means to unify
+     * already existing (generating) methods with the {@code Gen} monad.
+     *
+     * @param generatingFunction
+     *      an already existing call site that takes no arguments, but returns a value
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @param <T>
+     *      the parameterized type of the result of the existing call site
+     * @return
+     *      a new generator that wraps the existing call site
+     */
+    public static <T> Gen<T> lift(final Supplier<T> generatingFunction, final RandomSource sourceOfRandomness) {
         return new Gen<>(generatingFunction, sourceOfRandomness);
     }
 
+    /**
+     * Constructs a generator that defers the construction of the generator it delegates to until
+     * a sample is requested for the first time. The given supplier is called at most once. Use this
+     * to define recursive generators (cf. {@link Gen#recursive(Function)}).
+     *
+     * Generators constructed using {@code lazy}, {@code flatMap} and {@code map} are evaluated in
+     * constant space on the Java stack, regardless of how deeply they are nested. This does not
+     * apply to generators that sample from other generators internally, like {@link Gen#listOf(Gen, int)}.
+     *
+     * @param genSupplier
+     *      supplies the generator to delegate to
+     * @param <T>
+     *      parameterized type of generated samples
+     * @return
+     *      a {@code Gen}erator that delegates to the supplied generator
+     */
+    public static <T> Gen<T> lazy(final Supplier<Gen<T>> genSupplier) {
+        return new Gen<>(new Suspend(genSupplier), RandomSource.splittable());
+    }
+
+    /**
+     * Constructs a recursive generator as the fix-point of the given definition. The definition
+     * receives a reference to the generator it defines and may use it to construct recursive
+     * samples. The definition must not sample from that reference itself, and it must terminate
+     * the recursion eventually, e.g. using {@link Gen#frequency(double[], List)} with a non-recursive
+     * alternative.
+     *
+     * See the underneath example:
+     *
+     * <code>
+     *     Gen&lt;Integer&gt; depthGen = Gen.recursive(self -&gt; Gen.frequency(
+     *       new double[] { 1.0, 9.0 },
+     *       Arrays.asList(Gen.constant(0), self.map(depth -&gt; depth + 1))));
+     * </code>
+     *
+     * @param definition
+     *      defines the generator in terms of itself
+     * @param <T>
+     *      parameterized type of generated samples
+     * @return
+     *      a {@code Gen}erator that is the fix-point of the given definition
+     */
+    public static <T> Gen<T> recursive(final Function<Gen<T>, Gen<T>> definition) {
+        final AtomicReference<Gen<T>> self = new AtomicReference<>();
+        self.set(definition.apply(lazy(self::get)));
+        return self.get();
+    }
+
+    /**
+     * Constructs a generator that depends on the size parameter of the current sample. The size
+     * defaults to the value of the system property {@code gen.size}, or to 100 if that property is
+     * not set, and can be changed for a whole composed generator using {@link Gen#resize(int)}.
+     * Use it to scale the cost of a generator, e.g. the length of generated lists, from one knob.
+     *
+     * See the underneath example:
+     *
+     * <code>
+     *     Gen&lt;List&lt;Order&gt;&gt; ordersGen = Gen.sized(size -&gt; Gen.listOf(orderGen, size));
+     * </code>
+     *
+     * @param genFn
+     *      constructs a generator for the given size
+     * @param <T>
+     *      parameterized type of generated samples
+     * @return
+     *      a {@code Gen}erator that delegates to the generator constructed for the current size
+     */
+    public static <T> Gen<T> sized(final IntFunction<Gen<T>> genFn) {
+        return sized(genFn, RandomSource.splittable());
+    }
+
+    /**
+     * Constructs a generator that depends on the size parameter of the current sample (cf.
+     * {@link Gen#sized(IntFunction)}) and retains the given source of randomness.
+     *
+     * @param genFn
+     *      constructs a generator for the given size
+     * @param sourceOfRandomness
+     *      the source of randomness to pass on if this generator is combined with others
+     * @param <T>
+     *      parameterized type of generated samples
+     * @return
+     *      a {@code Gen}erator that delegates to the generator constructed for the current size
+     */
+    public static <T> Gen<T> sized(final IntFunction<Gen<T>> genFn, final Random sourceOfRandomness) {
+        return sized(genFn, RandomSource.of(sourceOfRandomness));
+    }
+
+    /**
+     * Constructs a generator that depends on the size parameter of the current sample (cf.
+     * {@link Gen#sized(IntFunction)}) and retains the given source of randomness.
+     *
+     * @param genFn
+     *      constructs a generator for the given size
+     * @param sourceOfRandomness
+     *      the source of randomness to pass on if this generator is combined with others
+     * @param <T>
+     *      parameterized type of generated samples
+     * @return
+     *      a {@code Gen}erator that delegates to the generator constructed for the current size
+     */
+    public static <T> Gen<T> sized(final IntFunction<Gen<T>> genFn, final RandomSource sourceOfRandomness) {
+        // same semantics as sampleCombined: an explicitly given source of randomness is passed on
+        return new Gen<>(r -> {
+            final Gen<T> gen = genFn.apply(SampleContext.size());
+            return r == sourceOfRandomness ? gen.sample() : gen.sample(r);
+        }, sourceOfRandomness, null, r -> {
+            final Gen<T> gen = genFn.apply(SampleContext.size());
+            return r == sourceOfRandomness ? gen.sampleShrinkable() : gen.sampleShrinkable(r);
+        });
+    }
+
     /**
      * Constructs a generator that always returns the same value {@code} of type {@code T}. Retains
      * the given source of randomness when combined with other generators.
@@ -232,6 +1274,24 @@ public class Gen<T> {
      */
     public static <T> Gen<T> constant(final T value,
                                       final Random sourceOfRandomness) {
+        return constant(value, RandomSource.of(sourceOfRandomness));
+    }
+
+    /**
+     * Constructs a generator that always returns the same value {@code} of type {@code T}. Retains
+     * the given source of randomness when combined with other generators.
+     *
+     * @param value
+     *      the constant value that this generator should produce
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @param <T>
+     *      paramterized type of the constant value
+     * @return
+     *      a {@code Gen}erator that always produces the same value
+     */
+    public static <T> Gen<T> constant(final T value,
+                                      final RandomSource sourceOfRandomness) {
         return new Gen<>(() -> value, sourceOfRandomness);
     }
 
@@ -278,12 +1338,40 @@ public class Gen<T> {
      */
     public static <T> Gen<T> oneOf(final List<T> values,
                                    final Random sourceOfRandomness) {
+        return oneOf(values, RandomSource.of(sourceOfRandomness));
+    }
+
+    /**
+     * Constructs a generator that generates values of type {@code T} from the given {@link java.util.List}.
+     *
+     * @param values
+     *      list of values of type {@code T} from which the returned {@code Gen} produces values
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @param <T>
+     *      parameterized type of the given values
+     * @return
+     *      a {@code Gen}erator that generates values from the given list of values of type {@code T}
+     */
+    public static <T> Gen<T> oneOf(final List<T> values,
+                                   final RandomSource sourceOfRandomness) {
         if (values.isEmpty()) throw new IllegalArgumentException("The given list of values cannot be empty.");
-        final Function<Random, T> f = r -> {
+        final Function<RandomSource, T> f = r -> {
             final int i = r.nextInt(values.size());
             return values.get(i);
         };
-        return new Gen<>(f, sourceOfRandomness);
+        // samples are simplified towards the values at the head of the list
+        final Function<RandomSource, ShrinkTree<T>> shrinkTreeFn = r -> ShrinkTree.towards(r.nextInt(values.size()), 0).map(values::get);
+        return new Gen<>(f, sourceOfRandomness, predicate -> {
+            if (!(predicate instanceof IntRange) && !(predicate instanceof Membership)) return null;
+            final List<T> admissibleValues = values.stream().filter(predicate).collect(Collectors.toList());
+            if (admissibleValues.isEmpty()) {
+                return new Gen<>(r -> {
+                    throw new IllegalStateException("The given predicate excludes all values that the generator is able to produce.");
+                }, sourceOfRandomness);
+            }
+            return oneOf(admissibleValues, sourceOfRandomness);
+        }, shrinkTreeFn);
     }
 
     /**
@@ -302,7 +1390,7 @@ public class Gen<T> {
     public static <T> Gen<T> select(final Function<Random, List<Gen<T>>> generatorsFn) {
         final Random sourceOfRandomness = new Random();
         final List<Gen<T>> generators = generatorsFn.apply(sourceOfRandomness);
-        return oneOf(generators, sourceOfRandomness).map(Gen::sample);
+        return select(generators, sourceOfRandomness);
     }
 
     /**
@@ -322,7 +1410,27 @@ public class Gen<T> {
      */
     public static <T> Gen<T> select(final Function<Random, List<Gen<T>>> generatorsFn, final Random sourceOfRandomness) {
         final List<Gen<T>> generators = generatorsFn.apply(sourceOfRandomness);
-        return oneOf(generators, sourceOfRandomness).map(Gen::sample);
+        return select(generators, sourceOfRandomness);
+    }
+
+    /**
+     * Constructs a generator that selects randomly one of the provided generators to produce a sample.
+     * This method accepts a function from of type {@code RandomSource -> List}, thus providing the means
+     * to use the same source of randomness for all generators that are passed to it.
+     *
+     * @param generatorsFn
+     *      function from {@code RandomSource -> List}, where the list contains all generators to select from
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @param <T>
+     *      parameterized type of the produced samples
+     * @return
+     *      a {@code Generator} that selects randomly between one of the provided generators to produce values
+     *      of type {@code T}
+     */
+    public static <T> Gen<T> select(final Function<RandomSource, List<Gen<T>>> generatorsFn, final RandomSource sourceOfRandomness) {
+        final List<Gen<T>> generators = generatorsFn.apply(sourceOfRandomness);
+        return select(generators, sourceOfRandomness);
     }
 
     /**
@@ -360,7 +1468,48 @@ public class Gen<T> {
      *      of type {@code T}
      */
     public static <T> Gen<T> select(final List<Gen<T>> generators, final Random sourceOfRandomness) {
-        return oneOf(generators, sourceOfRandomness).map(Gen::sample);
+        return select(generators, RandomSource.of(sourceOfRandomness));
+    }
+
+    /**
+     * Constructs a generator that selects randomly one of the provided generators to produce a sample.
+     *
+     * Please note: This method does not allow to couple the generators with the same source of randomness.
+     * If you need to do so however, use {@link Gen#select(Function, RandomSource)} instead.
+     *
+     * @param generators
+     *      list of generators to select from
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @param <T>
+     *      parameterized type of the produced samples
+     * @return
+     *      a {@code Generator} that selects randomly between one of the provided generators to produce values
+     *      of type {@code T}
+     */
+    public static <T> Gen<T> select(final List<Gen<T>> generators, final RandomSource sourceOfRandomness) {
+        return oneOf(generators, sourceOfRandomness).flatMap(gen -> gen);
+    }
+
+    /**
+     * Constructs a generator that generates a {@link java.util.List} whose maximum length is the
+     * size parameter of the current sample (cf. {@link Gen#sized(IntFunction)}), while using the
+     * given generator {@code gen} to produce the elements of the list. This generator uses the
+     * source of randomness from the given generator {@code gen}. The {@link java.util.List} may be
+     * empty.
+     *
+     * @param gen
+     *      {@code Gen}erator that is used to produce the elements of the list
+     * @param <T>
+     *      parameterized type of the elements in the {@link java.util.List}
+     * @return
+     *      a {@code Gen}erator that produces lists up to the current size where the elements of
+     *      that list are produced using the given generator
+     */
+    public static <T> Gen<List<T>> listOf(final Gen<T> gen) {
+        final Function<RandomSource, List<T>> f = r -> samples(gen, r.nextInt(includeUpperBound(Math.min(Integer.MAX_VALUE - 1, SampleContext.size()))), r, "listOf");
+        return new Gen<>(f, gen.sourceOfRandomness, null,
+                r -> shrinkableSamples(gen, r.nextInt(includeUpperBound(Math.min(Integer.MAX_VALUE - 1, SampleContext.size()))), 0, r));
     }
 
     /**
@@ -384,14 +1533,11 @@ public class Gen<T> {
      */
     public static <T> Gen<List<T>> listOf(final Gen<T> gen,
                                           final int maxLength) {
-        final Function<Random, List<T>> f = r -> {
-            final int sanitizedMaxLength = Math.max(0, includeUpperBound(maxLength));
-            return sanitizedMaxLength == 0 ? Collections.emptyList() : Stream.iterate(gen, t -> t)
-                    .limit(r.nextInt(sanitizedMaxLength))
-                    .map(Gen::sample)
-                    .collect(Collectors.toList());
-        };
-        return new Gen<>(f, gen.sourceOfRandomness);
+        final int sanitizedMaxLength = Math.max(0, includeUpperBound(maxLength));
+        final Function<RandomSource, List<T>> f = r ->
+                sanitizedMaxLength == 0 ? Collections.emptyList() : samples(gen, r.nextInt(sanitizedMaxLength), r, "listOf");
+        return new Gen<>(f, gen.sourceOfRandomness, null,
+                r -> sanitizedMaxLength == 0 ? ShrinkTree.leaf(Collections.emptyList()) : shrinkableSamples(gen, r.nextInt(sanitizedMaxLength), 0, r));
     }
 
     private static int includeUpperBound(final int upperBoundExclusive) {
@@ -419,11 +1565,9 @@ public class Gen<T> {
      */
     public static <T> Gen<List<T>> listOfN(final Gen<T> gen,
                                            final int length) {
-        final Function<Random, List<T>> f = r -> Stream.iterate(gen, t -> t)
-                .limit(Math.max(0, length))
-                .map(Gen::sample)
-                .collect(Collectors.toList());
-        return new Gen<>(f, gen.sourceOfRandomness);
+        final int sanitizedLength = Math.max(0, length);
+        final Function<RandomSource, List<T>> f = r -> samples(gen, sanitizedLength, r, "listOfN");
+        return new Gen<>(f, gen.sourceOfRandomness, null, r -> shrinkableSamples(gen, sanitizedLength, sanitizedLength, r));
     }
 
     /**
@@ -448,16 +1592,29 @@ public class Gen<T> {
     public static <T> Gen<List<T>> nonEmptyListOf(final Gen<T> gen,
                                                   final int maxLength) {
         if (maxLength <= 0) throw new IllegalArgumentException("the given maxLength of a nonEmptyListOf generator must be larger than 0");
-        final Function<Random, List<T>> f = r -> {
-            // using the randomly generated int as argument for includeUpperBound also ensure that the
-            // generator does not produce empty lists
-            final int length = includeUpperBound(r.nextInt(Math.min(Integer.MAX_VALUE - 1, maxLength)));
-            return Stream.iterate(gen, t -> t)
-                    .limit(length)
-                    .map(Gen::sample)
-                    .collect(Collectors.toList());
-        };
-        return new Gen<>(f, gen.sourceOfRandomness);
+        // using the randomly generated int as argument for includeUpperBound also ensure that the
+        // generator does not produce empty lists
+        final Function<RandomSource, List<T>> f = r -> samples(gen, includeUpperBound(r.nextInt(Math.min(Integer.MAX_VALUE - 1, maxLength))), r, "nonEmptyListOf");
+        return new Gen<>(f, gen.sourceOfRandomness, null,
+                r -> shrinkableSamples(gen, includeUpperBound(r.nextInt(Math.min(Integer.MAX_VALUE - 1, maxLength))), 1, r));
+    }
+
+    private static <T> List<T> samples(final Gen<T> gen, final int n, final RandomSource r, final String operation) {
+        final Object event = FlightRecorderEvents.BULK_SAMPLE.begin();
+        final List<T> samples = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            samples.add(gen.sample(r));
+        }
+        if (event != null) FlightRecorderEvents.BULK_SAMPLE.commit(event, operation, n);
+        return samples;
+    }
+
+    private static <T> ShrinkTree<List<T>> shrinkableSamples(final Gen<T> gen, final int n, final int minLength, final RandomSource r) {
+        final List<ShrinkTree<T>> samples = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            samples.add(gen.sampleShrinkable(r));
+        }
+        return ShrinkTree.list(samples, minLength);
     }
 
     /**
@@ -481,11 +1638,20 @@ public class Gen<T> {
      *      a {@code Gen}erator that generates {@link Integer}s that are larger than or equal to zero
      */
     public static Gen<Integer> nonNegativeInteger(final Random sourceOfRandomness) {
-        final Function<Random, Integer> f = r -> {
-            final int i = r.nextInt();
-            return i < 0 ? -(i + 1) : i;
-        };
-        return new Gen<>(f, sourceOfRandomness);
+        return nonNegativeInteger(RandomSource.of(sourceOfRandomness));
+    }
+
+    /**
+     * Constructs a generator that generates {@link Integer}s {@code x} that are larger than or equal
+     * to zero. The largest integer that this generator may generate is {@code Integer.MAX_VALUE}.
+     *
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @return
+     *      a {@code Gen}erator that generates {@link Integer}s that are larger than or equal to zero
+     */
+    public static Gen<Integer> nonNegativeInteger(final RandomSource sourceOfRandomness) {
+        return IntGen.nonNegative(sourceOfRandomness).boxed().withShrinkTree(n -> ShrinkTree.towards(n, 0));
     }
 
     /**
@@ -498,6 +1664,8 @@ public class Gen<T> {
      * @param stopExclusive
      *      upper bound of the interval from which {@link Integer}s are generated; the {@link Integer}
      *      representing the upper bound is never generated by this generator
+     * @throws IllegalArgumentException
+     *      in case the given lower bound is not smaller than the given upper bound
      * @return
      *      a {@code Gen}erator that generates {@link Integer}s that are within the given interval
      */
@@ -518,14 +1686,41 @@ public class Gen<T> {
      *      representing the upper bound is never generated by this generator
      * @param sourceOfRandomness
      *      uses the given {@link java.util.Random} as source of randomness
+     * @throws IllegalArgumentException
+     *      in case the given lower bound is not smaller than the given upper bound
      * @return
      *      a {@code Gen}erator that generates {@link Integer}s that are within the given interval
      */
     public static Gen<Integer> choose(final int start,
                                       final int stopExclusive,
                                       final Random sourceOfRandomness) {
-        return nonNegativeInteger(sourceOfRandomness)
-                .map(n -> start + (n % (stopExclusive - start)));
+        return choose(start, stopExclusive, RandomSource.of(sourceOfRandomness));
+    }
+
+    /**
+     * Constructs a generator that generates {@link Integer}s. The generated {@link Integer}s are within the
+     * interval [start; stopExclusive). The largest admissible interval is [{@code Integer.MIN_VALUE},
+     * {@code Integer.MAX_VALUE}).
+     *
+     * @param start
+     *      lower bound of the interval from which {@link Integer}s are generated
+     * @param stopExclusive
+     *      upper bound of the interval from which {@link Integer}s are generated; the {@link Integer}
+     *      representing the upper bound is never generated by this generator
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @throws IllegalArgumentException
+     *      in case the given lower bound is not smaller than the given upper bound
+     * @return
+     *      a {@code Gen}erator that generates {@link Integer}s that are within the given interval
+     */
+    public static Gen<Integer> choose(final int start,
+                                      final int stopExclusive,
+                                      final RandomSource sourceOfRandomness) {
+        final Gen<Integer> gen = IntGen.choose(start, stopExclusive, sourceOfRandomness).boxed();
+        // samples are simplified towards the admissible value that is closest to zero
+        final int target = start > 0 ? start : stopExclusive <= 0 ? stopExclusive - 1 : 0;
+        return gen.withShrinkTree(n -> ShrinkTree.towards(n, target));
     }
 
     /**
@@ -568,13 +1763,30 @@ public class Gen<T> {
     public static Gen<Integer> even(final int start,
                                     final int stopExclusive,
                                     final Random sourceOfRandomness) {
-        if (start >= stopExclusive) {
-            final String message = "The given lower bound '%s' must be smaller than the given upper bound '%s'.";
-            throw new IllegalArgumentException(String.format(message, start, stopExclusive));
-        }
-        final int stop = stopExclusive % 2 == 0 ? stopExclusive - 1 : stopExclusive;
-        return choose(start, stop, sourceOfRandomness)
-                .map(n -> n % 2 != 0 ? n + 1 : n);
+        return even(start, stopExclusive, RandomSource.of(sourceOfRandomness));
+    }
+
+    /**
+     * Constructs a generator that generates {@link Integer}s {@code x} that are congruent modulo 2. The
+     * generated {@link Integer}s are within the interval [start, stopExclusive). The largest admissible
+     * interval is [{@code Integer.MIN_VALUE}, {@code Integer.MAX_VALUE}).
+     *
+     * Uses the given {@link RandomSource} as source of randomness.
+     *
+     * @param start
+     *      lower bound of the interval from which even {@link Integer}s are generated
+     * @param stopExclusive
+     *      upper bound of the interval from which even {@link Integer}s are generated; the {@link Integer}
+     *      representing the upper bound is never generated by this generator
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @return
+     *      a {@code Gen}erator that generates {@link Integer}s {@code x} that are congruent modulo 2
+     */
+    public static Gen<Integer> even(final int start,
+                                    final int stopExclusive,
+                                    final RandomSource sourceOfRandomness) {
+        return IntGen.even(start, stopExclusive, sourceOfRandomness).boxed();
     }
 
     /**
@@ -617,13 +1829,30 @@ public class Gen<T> {
     public static Gen<Integer> odd(final int start,
                                    final int stopExclusive,
                                    final Random sourceOfRandomness) {
-        if (start >= stopExclusive) {
-            final String message = "The given lower bound '%s' must be smaller than the given upper bound '%s'.";
-            throw new IllegalArgumentException(String.format(message, start, stopExclusive));
-        }
-        final int stop = stopExclusive % 2 != 0 ? stopExclusive - 1 : stopExclusive;
-        return choose(start, stop, sourceOfRandomness)
-                .map(n -> n % 2 == 0 ? n + 1 : n);
+        return odd(start, stopExclusive, RandomSource.of(sourceOfRandomness));
+    }
+
+    /**
+     * Constructs a generator that generates {@link Integer}s {@code x} that are not congruent modulo 2. The
+     * generated {@link Integer}s are within the interval [start; stopExclusive). The largest admissible
+     * interval is [{@code Integer.MIN_VALUE}, {@code Integer.MAX_VALUE}).
+     *
+     * Uses the given {@link RandomSource} as source of randomness.
+     *
+     * @param start
+     *      lower bound of the interval from which odd {@link Integer}s are generated
+     * @param stopExclusive
+     *      upper bound of the interval from which odd {@link Integer}s are generated; the {@link Integer}
+     *      representing the upper bound is never generated by this generator
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @return
+     *      a {@code Gen}erator that generates {@link Integer}s {@code x} that are not congruent modulo 2
+     */
+    public static Gen<Integer> odd(final int start,
+                                   final int stopExclusive,
+                                   final RandomSource sourceOfRandomness) {
+        return IntGen.odd(start, stopExclusive, sourceOfRandomness).boxed();
     }
 
     /**
@@ -649,8 +1878,22 @@ public class Gen<T> {
      *      a {@code Gen}erator that generates {@link java.lang.Double}s within the interval [0.0; 1.0)
      */
     public static Gen<Double> normalizedDouble(final Random sourceOfRandomness) {
-        return nonNegativeInteger(sourceOfRandomness)
-                .map(n -> n / ((double) Integer.MAX_VALUE + 1));
+        return normalizedDouble(RandomSource.of(sourceOfRandomness));
+    }
+
+    /**
+     * Constructs a generator that generates {@link java.lang.Double} values that are within the
+     * interval [0.0; 1.0).
+     *
+     * Uses the given {@link RandomSource} as source of randomness.
+     *
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @return
+     *      a {@code Gen}erator that generates {@link java.lang.Double}s within the interval [0.0; 1.0)
+     */
+    public static Gen<Double> normalizedDouble(final RandomSource sourceOfRandomness) {
+        return DoubleGen.normalized(sourceOfRandomness).boxed();
     }
 
     /**
@@ -687,8 +1930,32 @@ public class Gen<T> {
     public static Gen<Double> choose(final double start,
                                      final double stopExclusive,
                                      final Random sourceOfRandomness) {
-        return normalizedDouble(sourceOfRandomness)
-                .map(d -> start + d * (stopExclusive - start));
+        return choose(start, stopExclusive, RandomSource.of(sourceOfRandomness));
+    }
+
+    /**
+     * Constructs a generator that generates {@link Double}s. The generated {@link Double}s are within the
+     * interval [start; stopExclusive).
+     *
+     * Uses the given {@link RandomSource} as source of randomness.
+     *
+     * @param start
+     *      lower bound of the interval from which {@link Double}s are generated
+     * @param stopExclusive
+     *      upper bound (exclusive) of the interval from which {@link Double}s are generated
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @return
+     *      a {@code Gen}erator that generates {@link Double}s that are within the interval [start; stopExclusive)
+     */
+    public static Gen<Double> choose(final double start,
+                                     final double stopExclusive,
+                                     final RandomSource sourceOfRandomness) {
+        final Gen<Double> gen = DoubleGen.choose(start, stopExclusive, sourceOfRandomness).boxed();
+        if (!(start < stopExclusive)) return gen;
+        // samples are simplified towards the admissible value that is closest to zero
+        final double target = start > 0.0 ? start : stopExclusive <= 0.0 ? Math.nextDown(stopExclusive) : 0.0;
+        return gen.withShrinkTree(x -> ShrinkTree.towards(x, target));
     }
 
     /**
@@ -741,17 +2008,205 @@ public class Gen<T> {
                                       final Gen<T> genT1,
                                       final Gen<T> genT2,
                                       final Random sourceOfRandomness) {
+        return weighted(threshold, genT1, genT2, RandomSource.of(sourceOfRandomness));
+    }
+
+    /**
+     * Constructs a generator that distributes samples between the generators {@code genT1} and {@code genT2}
+     * with respect to the given threshold. Each call to {@link Gen#sample()} of this generator produces a
+     * variate x within [0.0; 1.0). If x &lt; threshold, {@code genT1} is used to generate a sample, otherwise
+     * {@code genT2}.
+     *
+     * Uses the given {@link RandomSource} as source of randomness.
+     *
+     * @param threshold
+     *      a threshold value between 0.0 (exclusive) and 1.0 (exclusive)
+     * @param genT1
+     *      the generator to use for sample generation if the variate is smaller than the given threshold
+     * @param genT2
+     *      the generator to use for sample generation if the variate is larger than or equal to the given threshold
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @param <T>
+     *      parameterized type of values produced by either {@code genT1} and {@code genT2}
+     * @return
+     *      a {@code Gen}erator that distributes samples between two given generators with respect to a
+     *      certain threshold
+     */
+    public static <T> Gen<T> weighted(final double threshold,
+                                      final Gen<T> genT1,
+                                      final Gen<T> genT2,
+                                      final RandomSource sourceOfRandomness) {
         if (threshold <= 0.0 || threshold >= 1.0) throw new IllegalArgumentException("threshold of weighted generator must be within (0.0; 1.0)");
         return normalizedDouble(sourceOfRandomness)
                 .flatMap(probability -> probability < threshold ? genT1 : genT2);
     }
 
-    private static final String NUMERICAL_ALPHABET = "0123456789";
+    /**
+     * Constructs a generator that selects one of the given generators with respect to the given weights
+     * to produce a sample: the i-th generator is selected with a probability of weights[i] / sum(weights).
+     * The selection is backed by an alias table, which is precomputed once. Thus, selecting a generator
+     * takes constant time and a single variate, regardless of the number of generators.
+     *
+     * @param weights
+     *      non-negative, finite weights; the i-th weight belongs to the i-th generator
+     * @param generators
+     *      the generators to choose from
+     * @param <T>
+     *      parameterized type of values produced by the given generators
+     * @throws IllegalArgumentException
+     *      in case the number of weights does not match the number of generators, the given weights
+     *      are empty, any weight is negative or not finite, or all weights are 0.0
+     * @return
+     *      a {@code Gen}erator that selects one of the given generators with respect to the given weights
+     */
+    public static <T> Gen<T> frequency(final double[] weights,
+                                       final List<Gen<T>> generators) {
+        return frequency(weights, generators, new Random());
+    }
+
+    /**
+     * Constructs a generator that selects one of the given generators with respect to the given weights
+     * to produce a sample (cf. {@link Gen#frequency(double[], List)}).
+     *
+     * @param weights
+     *      non-negative, finite weights; the i-th weight belongs to the i-th generator
+     * @param generators
+     *      the generators to choose from
+     * @param sourceOfRandomness
+     *      uses the given instance of {@link java.util.Random} as source of randomness
+     * @param <T>
+     *      parameterized type of values produced by the given generators
+     * @throws IllegalArgumentException
+     *      in case the number of weights does not match the number of generators, the given weights
+     *      are empty, any weight is negative or not finite, or all weights are 0.0
+     * @return
+     *      a {@code Gen}erator that selects one of the given generators with respect to the given weights
+     */
+    public static <T> Gen<T> frequency(final double[] weights,
+                                       final List<Gen<T>> generators,
+                                       final Random sourceOfRandomness) {
+        return frequency(weights, generators, RandomSource.of(sourceOfRandomness));
+    }
+
+    /**
+     * Constructs a generator that selects one of the given generators with respect to the given weights
+     * to produce a sample (cf. {@link Gen#frequency(double[], List)}).
+     *
+     * @param weights
+     *      non-negative, finite weights; the i-th weight belongs to the i-th generator
+     * @param generators
+     *      the generators to choose from
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @param <T>
+     *      parameterized type of values produced by the given generators
+     * @throws IllegalArgumentException
+     *      in case the number of weights does not match the number of generators, the given weights
+     *      are empty, any weight is negative or not finite, or all weights are 0.0
+     * @return
+     *      a {@code Gen}erator that selects one of the given generators with respect to the given weights
+     */
+    public static <T> Gen<T> frequency(final double[] weights,
+                                       final List<Gen<T>> generators,
+                                       final RandomSource sourceOfRandomness) {
+        if (weights.length != generators.size()) throw new IllegalArgumentException("The number of weights must match the number of generators.");
+        final AliasTable aliasTable = new AliasTable(weights);
+        final List<Gen<T>> candidates = new ArrayList<>(generators);
+        final Function<RandomSource, Gen<T>> f = r -> candidates.get(aliasTable.nextIndex(r));
+        return new Gen<>(f, sourceOfRandomness).flatMap(gen -> gen);
+    }
+
+    /**
+     * Constructs a generator that generates values from the given {@link java.util.List} with respect to
+     * the given weights: the i-th value is generated with a probability of weights[i] / sum(weights). The
+     * selection is backed by an alias table, which is precomputed once. Thus, generating a value takes
+     * constant time and a single variate, regardless of the number of values.
+     *
+     * @param values
+     *      list of values of type {@code T} from which the returned {@code Gen} produces values
+     * @param weights
+     *      non-negative, finite weights; the i-th weight belongs to the i-th value
+     * @param <T>
+     *      parameterized type of the given values
+     * @throws IllegalArgumentException
+     *      in case the number of weights does not match the number of values, the given weights are
+     *      empty, any weight is negative or not finite, or all weights are 0.0
+     * @return
+     *      a {@code Gen}erator that generates values from the given list with respect to the given weights
+     */
+    public static <T> Gen<T> weightedOneOf(final List<T> values,
+                                           final double[] weights) {
+        return weightedOneOf(values, weights, new Random());
+    }
+
+    /**
+     * Constructs a generator that generates values from the given {@link java.util.List} with respect to
+     * the given weights (cf. {@link Gen#weightedOneOf(List, double[])}).
+     *
+     * @param values
+     *      list of values of type {@code T} from which the returned {@code Gen} produces values
+     * @param weights
+     *      non-negative, finite weights; the i-th weight belongs to the i-th value
+     * @param sourceOfRandomness
+     *      uses the given instance of {@link java.util.Random} as source of randomness
+     * @param <T>
+     *      parameterized type of the given values
+     * @throws IllegalArgumentException
+     *      in case the number of weights does not match the number of values, the given weights are
+     *      empty, any weight is negative or not finite, or all weights are 0.0
+     * @return
+     *      a {@code Gen}erator that generates values from the given list with respect to the given weights
+     */
+    public static <T> Gen<T> weightedOneOf(final List<T> values,
+                                           final double[] weights,
+                                           final Random sourceOfRandomness) {
+        return weightedOneOf(values, weights, RandomSource.of(sourceOfRandomness));
+    }
+
+    /**
+     * Constructs a generator that generates values from the given {@link java.util.List} with respect to
+     * the given weights (cf. {@link Gen#weightedOneOf(List, double[])}).
+     *
+     * @param values
+     *      list of values of type {@code T} from which the returned {@code Gen} produces values
+     * @param weights
+     *      non-negative, finite weights; the i-th weight belongs to the i-th value
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @param <T>
+     *      parameterized type of the given values
+     * @throws IllegalArgumentException
+     *      in case the number of weights does not match the number of values, the given weights are
+     *      empty, any weight is negative or not finite, or all weights are 0.0
+     * @return
+     *      a {@code Gen}erator that generates values from the given list with respect to the given weights
+     */
+    public static <T> Gen<T> weightedOneOf(final List<T> values,
+                                           final double[] weights,
+                                           final RandomSource sourceOfRandomness) {
+        if (weights.length != values.size()) throw new IllegalArgumentException("The number of weights must match the number of values.");
+        final AliasTable aliasTable = new AliasTable(weights);
+        final List<T> candidates = new ArrayList<>(values);
+        return new Gen<>(r -> candidates.get(aliasTable.nextIndex(r)), sourceOfRandomness);
+    }
+
+    private static final char[] PRINTABLE_ASCII_ALPHABET = printableAsciiAlphabet();
+
+    private static final char[] NUMERICAL_ALPHABET = "0123456789".toCharArray();
 
-    private static final String ALPHANUMERICAL_ALPHABET =
+    private static final char[] ALPHANUMERICAL_ALPHABET = (
                     "ABCDEFGHIJKLMNOPQRSTUVWXYZ" +
                     "ABCDEFGHIJKLMNOPQRSTUVWXYZ".toLowerCase() +
-                    NUMERICAL_ALPHABET;
+                    "0123456789").toCharArray();
+
+    private static char[] printableAsciiAlphabet() {
+        final char[] alphabet = new char[127 - 32];
+        for (int i = 0; i < alphabet.length; i++) {
+            alphabet[i] = (char) (32 + i);
+        }
+        return alphabet;
+    }
 
     /**
      * Constructs a generator that produces a {@link java.lang.String} of the requested {@code length}.
@@ -787,13 +2242,27 @@ public class Gen<T> {
      */
     public static Gen<String> asciiString(final int length,
                                           final Random sourceOfRandomness) {
-        if (length < 0) throw new IllegalArgumentException("The requested length of generated strings cannot be negative.");
-        return listOfN(choose(32, 127, sourceOfRandomness), length)
-                .map(list -> list
-                        .stream()
-                        .map(Character::toChars)
-                        .map(String::valueOf)
-                        .reduce("", String::concat, String::concat));
+        return asciiString(length, RandomSource.of(sourceOfRandomness));
+    }
+
+    /**
+     * Constructs a generator that produces a {@link java.lang.String} of the requested {@code length}.
+     * The {@link java.lang.String} comprises characters from the ASCII alphabet, with the restriction
+     * that the characters must be printable (and therefore are in decimal range 32 to 126).
+     *
+     * Uses the given {@link RandomSource} as source of randomness.
+     *
+     * @param length
+     *      the length of generated ASCII strings
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @return
+     *      a {@code Gen}erator that produces {@link java.lang.String}s of {@code length}, where each
+     *      {@link java.lang.String} is comprised of printable ASCII characters
+     */
+    public static Gen<String> asciiString(final int length,
+                                          final RandomSource sourceOfRandomness) {
+        return stringOf(length, PRINTABLE_ASCII_ALPHABET, sourceOfRandomness, "asciiString");
     }
 
     /**
@@ -824,7 +2293,24 @@ public class Gen<T> {
      */
     public static Gen<String> alphaNumString(final int length,
                                              final Random sourceOfRandomness) {
-        return fromAlphabetString(length, ALPHANUMERICAL_ALPHABET, sourceOfRandomness);
+        return alphaNumString(length, RandomSource.of(sourceOfRandomness));
+    }
+
+    /**
+     * Constructs a generator that produces {@link java.lang.String}s of length {@code lenght} using an
+     * alphanumerical alphabet.
+     *
+     * @param length
+     *      the length of the generated alphanumerical strings
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @return
+     *      a {@code Gen}erator that produces {@link java.lang.String}s of length {@code length} using
+     *      an alphanumerical alphabet
+     */
+    public static Gen<String> alphaNumString(final int length,
+                                             final RandomSource sourceOfRandomness) {
+        return stringOf(length, ALPHANUMERICAL_ALPHABET, sourceOfRandomness, "alphaNumString");
     }
 
     /**
@@ -855,7 +2341,24 @@ public class Gen<T> {
      */
     public static Gen<String> numString(final int length,
                                         final Random sourceOfRandomness) {
-        return fromAlphabetString(length, NUMERICAL_ALPHABET, sourceOfRandomness);
+        return numString(length, RandomSource.of(sourceOfRandomness));
+    }
+
+    /**
+     * Constructs a generator that produces {@link java.lang.String}s of the provided {@code length} using a
+     * numerical alphabet.
+     *
+     * @param length
+     *      the length of the generated numerical strings
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @return
+     *      a {@code Gen}erator that produces {@link java.lang.String}s of length {@code length} using
+     *      a numerical alphabet
+     */
+    public static Gen<String> numString(final int length,
+                                        final RandomSource sourceOfRandomness) {
+        return stringOf(length, NUMERICAL_ALPHABET, sourceOfRandomness, "numString");
     }
 
     /**
@@ -896,13 +2399,62 @@ public class Gen<T> {
     public static Gen<String> fromAlphabetString(final int length,
                                                  final String alphabet,
                                                  final Random sourceOfRandomness) {
-        if (length < 0) throw new IllegalArgumentException("The requested length of generated strings cannot be negative.");
+        return fromAlphabetString(length, alphabet, RandomSource.of(sourceOfRandomness));
+    }
+
+    /**
+     * Constructs a generator that produces {@link java.lang.String}s of the provided {@code length} using the
+     * given {@code alphabet}.
+     *
+     * Uses the given {@link RandomSource} as source of randomness.
+     *
+     * @param length
+     *      the length of the generated strings
+     * @param alphabet
+     *      the alphabet used to generate strings
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @return
+     *      a {@code Gen}erator that produces {@link java.lang.String}s of {@code length}, where each
+     *      {@link java.lang.String} is comprised of characters from the given alphabet
+     */
+    public static Gen<String> fromAlphabetString(final int length,
+                                                 final String alphabet,
+                                                 final RandomSource sourceOfRandomness) {
         if (alphabet == null || alphabet.isEmpty()) throw new IllegalArgumentException("The given alphabet may not be null or empty.");
-        return listOfN(choose(0, alphabet.length(), sourceOfRandomness), length)
-                .map(list -> list
-                        .stream()
-                        .map(alphabet::charAt)
-                        .map(String::valueOf)
-                        .reduce("", String::concat, String::concat));
+        return stringOf(length, alphabet.toCharArray(), sourceOfRandomness, "fromAlphabetString");
+    }
+
+    private static Gen<String> stringOf(final int length,
+                                        final char[] alphabet,
+                                        final RandomSource sourceOfRandomness,
+                                        final String operation) {
+        if (length < 0) throw new IllegalArgumentException("The requested length of generated strings cannot be negative.");
+        // each character is drawn exactly like a sample of choose(0, alphabet.length), so that
+        // seeded generators produce the same strings as the former list-based implementation did
+        final Function<RandomSource, String> f = r -> {
+            final Object event = FlightRecorderEvents.BULK_SAMPLE.begin();
+            final char[] chars = new char[length];
+            for (int i = 0; i < length; i++) {
+                chars[i] = alphabet[IntGen.nonNegativeInt(r) % alphabet.length];
+            }
+            if (event != null) FlightRecorderEvents.BULK_SAMPLE.commit(event, operation, length);
+            return new String(chars);
+        };
+        // characters are simplified towards the head of the alphabet, the length is retained
+        final Function<RandomSource, ShrinkTree<String>> shrinkTreeFn = r -> {
+            final List<ShrinkTree<Integer>> indices = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                indices.add(ShrinkTree.towards(IntGen.nonNegativeInt(r) % alphabet.length, 0));
+            }
+            return ShrinkTree.list(indices, length).map(shrunkIndices -> {
+                final char[] chars = new char[length];
+                for (int i = 0; i < length; i++) {
+                    chars[i] = alphabet[shrunkIndices.get(i)];
+                }
+                return new String(chars);
+            });
+        };
+        return new Gen<>(f, sourceOfRandomness, null, shrinkTreeFn);
     }
 }
@@ -0,0 +1,353 @@
+package net.mguenther.gen;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Records the samples of an instrumented generator (cf. {@link Gen#instrumented()}): the number of
+ * samples, their latency, the number of candidates that {@link Gen#suchThat(java.util.function.Predicate)}
+ * or {@link Gen#unique()} discarded while producing them, and optionally an estimate of the number
+ * of bytes allocated. Latencies are recorded into a histogram with four buckets per power of two,
+ * so percentiles are accurate to within 25%.
+ *
+ * Latencies and allocations are cumulative: they include the cost of all generators that the
+ * instrumented generator is composed of, even if these are instrumented themselves. Discarded
+ * candidates, however, are attributed to the innermost instrumented generator only.
+ *
+ * Instances of this class are thread-safe.
+ */
+public final class GenMetrics implements GenMetricsMXBean {
+
+    private static final int NUMBER_OF_BUCKETS = 256;
+
+    // the metrics of the innermost instrumented generator that is being sampled on the calling thread
+    private static final ThreadLocal<GenMetrics[]> CURRENT = ThreadLocal.withInitial(() -> new GenMetrics[1]);
+
+    // generators that discard samples skip the look-up of CURRENT until anything gets instrumented
+    private static volatile boolean anyInstrumented = false;
+
+    private final String name;
+
+    private final GenMetricsRegistry registry;
+
+    private final LongAdder samples = new LongAdder();
+
+    private final LongAdder totalLatencyNanos = new LongAdder();
+
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0L);
+
+    private final AtomicLongArray latencyHistogram = new AtomicLongArray(NUMBER_OF_BUCKETS);
+
+    private final LongAdder rejections = new LongAdder();
+
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    GenMetrics(final String name, final GenMetricsRegistry registry) {
+        this.name = name;
+        this.registry = registry;
+        anyInstrumented = true;
+    }
+
+    <R> R measure(final Function<RandomSource, R> sampleFn, final RandomSource r) {
+        if (!registry.isEnabled()) return sampleFn.apply(r);
+        final GenMetrics[] current = CURRENT.get();
+        final GenMetrics outer = current[0];
+        current[0] = this;
+        final boolean trackAllocations = registry.isTrackingAllocations();
+        final long allocatedBefore = trackAllocations ? Allocations.ofCurrentThread() : 0L;
+        final long start = System.nanoTime();
+        try {
+            return sampleFn.apply(r);
+        } finally {
+            final long latency = System.nanoTime() - start;
+            if (trackAllocations) allocatedBytes.add(Allocations.ofCurrentThread() - allocatedBefore);
+            samples.increment();
+            totalLatencyNanos.add(latency);
+            maxLatencyNanos.accumulate(latency);
+            latencyHistogram.incrementAndGet(bucketOf(latency));
+            current[0] = outer;
+        }
+    }
+
+    static void recordRejections(final long rejectedCandidates) {
+        if (rejectedCandidates == 0L || !anyInstrumented) return;
+        final GenMetrics current = CURRENT.get()[0];
+        if (current != null) current.rejections.add(rejectedCandidates);
+    }
+
+    static int bucketOf(final long nanos) {
+        if (nanos < 4L) return (int) Math.max(0L, nanos);
+        final int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        return exponent * 4 + (int) ((nanos >>> (exponent - 2)) & 3L);
+    }
+
+    static long upperBoundOf(final int bucket) {
+        if (bucket < 8) return Math.min(bucket, 3);
+        final int exponent = bucket >>> 2;
+        final long width = 1L << (exponent - 2);
+        return ((4L + (bucket & 3)) << (exponent - 2)) - 1L + width;
+    }
+
+    /**
+     * @return
+     *      the name of the instrumented generator
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return
+     *      a copy of the metrics recorded so far
+     */
+    public Snapshot snapshot() {
+        final long[] histogram = new long[NUMBER_OF_BUCKETS];
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            histogram[i] = latencyHistogram.get(i);
+        }
+        return new Snapshot(name, samples.sum(), totalLatencyNanos.sum(), maxLatencyNanos.get(), histogram, rejections.sum(), allocatedBytes.sum());
+    }
+
+    /**
+     * Discards the metrics recorded so far.
+     */
+    @Override
+    public void reset() {
+        samples.reset();
+        totalLatencyNanos.reset();
+        maxLatencyNanos.reset();
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            latencyHistogram.set(i, 0L);
+        }
+        rejections.reset();
+        allocatedBytes.reset();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getSamples() {
+        return samples.sum();
+    }
+
+    @Override
+    public long getTotalLatencyNanos() {
+        return totalLatencyNanos.sum();
+    }
+
+    @Override
+    public double getMeanLatencyNanos() {
+        return snapshot().meanLatencyNanos();
+    }
+
+    @Override
+    public long getLatencyP50Nanos() {
+        return snapshot().latencyPercentileNanos(50.0);
+    }
+
+    @Override
+    public long getLatencyP99Nanos() {
+        return snapshot().latencyPercentileNanos(99.0);
+    }
+
+    @Override
+    public long getLatencyP999Nanos() {
+        return snapshot().latencyPercentileNanos(99.9);
+    }
+
+    @Override
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos.get();
+    }
+
+    @Override
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    /**
+     * An immutable copy of the {@link GenMetrics} of an instrumented generator.
+     */
+    public static final class Snapshot {
+
+        private final String name;
+
+        private final long samples;
+
+        private final long totalLatencyNanos;
+
+        private final long maxLatencyNanos;
+
+        private final long[] latencyHistogram;
+
+        private final long rejections;
+
+        private final long allocatedBytes;
+
+        private Snapshot(final String name,
+                         final long samples,
+                         final long totalLatencyNanos,
+                         final long maxLatencyNanos,
+                         final long[] latencyHistogram,
+                         final long rejections,
+                         final long allocatedBytes) {
+            this.name = name;
+            this.samples = samples;
+            this.totalLatencyNanos = totalLatencyNanos;
+            this.maxLatencyNanos = maxLatencyNanos;
+            this.latencyHistogram = latencyHistogram;
+            this.rejections = rejections;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        /**
+         * @return
+         *      the name of the instrumented generator
+         */
+        public String name() {
+            return name;
+        }
+
+        /**
+         * @return
+         *      the number of samples
+         */
+        public long samples() {
+            return samples;
+        }
+
+        /**
+         * @return
+         *      the time spent producing all samples in nanoseconds
+         */
+        public long totalLatencyNanos() {
+            return totalLatencyNanos;
+        }
+
+        /**
+         * @return
+         *      the mean time spent producing a sample in nanoseconds, or 0.0 if there are no samples
+         */
+        public double meanLatencyNanos() {
+            return samples == 0L ? 0.0 : (double) totalLatencyNanos / samples;
+        }
+
+        /**
+         * @return
+         *      the longest time spent producing a sample in nanoseconds
+         */
+        public long maxLatencyNanos() {
+            return maxLatencyNanos;
+        }
+
+        /**
+         * @param percentile
+         *      the percentile of interest, e.g. 99.0
+         * @throws IllegalArgumentException
+         *      in case the percentile is not within (0.0; 100.0]
+         * @return
+         *      an upper bound of the time spent producing the given percentage of samples in
+         *      nanoseconds, or 0 if there are no samples
+         */
+        public long latencyPercentileNanos(final double percentile) {
+            if (!(percentile > 0.0 && percentile <= 100.0)) throw new IllegalArgumentException("The requested percentile must be within (0.0; 100.0].");
+            long total = 0L;
+            for (long count : latencyHistogram) {
+                total += count;
+            }
+            if (total == 0L) return 0L;
+            final long rank = (long) Math.ceil(percentile / 100.0 * total);
+            long seen = 0L;
+            for (int i = 0; i < latencyHistogram.length; i++) {
+                seen += latencyHistogram[i];
+                if (seen >= rank) return Math.min(upperBoundOf(i), maxLatencyNanos);
+            }
+            return maxLatencyNanos;
+        }
+
+        /**
+         * @return
+         *      the number of candidates discarded while producing the samples
+         */
+        public long rejections() {
+            return rejections;
+        }
+
+        /**
+         * @return
+         *      an estimate of the number of bytes allocated while producing the samples, or 0 unless
+         *      the registry tracks allocations (cf. {@link GenMetricsRegistry#trackAllocations(boolean)})
+         */
+        public long allocatedBytes() {
+            return allocatedBytes;
+        }
+
+        /**
+         * @return
+         *      an estimate of the number of bytes allocated per sample, or 0.0 if there are no samples
+         */
+        public double allocatedBytesPerSample() {
+            return samples == 0L ? 0.0 : (double) allocatedBytes / samples;
+        }
+
+        @Override
+        public String toString() {
+            return "GenMetrics{" +
+                    "name='" + name + '\'' +
+                    ", samples=" + samples +
+                    ", meanLatencyNanos=" + meanLatencyNanos() +
+                    ", p50LatencyNanos=" + latencyPercentileNanos(50.0) +
+                    ", p99LatencyNanos=" + latencyPercentileNanos(99.0) +
+                    ", maxLatencyNanos=" + maxLatencyNanos +
+                    ", rejections=" + rejections +
+                    ", allocatedBytes=" + allocatedBytes +
+                    '}';
+        }
+    }
+
+    /**
+     * Reads the number of bytes allocated by the calling thread, if the JVM supports it. The
+     * holder defers looking up the management interface until allocations are tracked for the
+     * first time.
+     */
+    private static final class Allocations {
+
+        private static final com.sun.management.ThreadMXBean THREADS = lookUp();
+
+        private static com.sun.management.ThreadMXBean lookUp() {
+            try {
+                final java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+                if (threads instanceof com.sun.management.ThreadMXBean) {
+                    final com.sun.management.ThreadMXBean hotSpotThreads = (com.sun.management.ThreadMXBean) threads;
+                    if (hotSpotThreads.isThreadAllocatedMemorySupported()) {
+                        hotSpotThreads.setThreadAllocatedMemoryEnabled(true);
+                        return hotSpotThreads;
+                    }
+                }
+            } catch (LinkageError | RuntimeException e) {
+                // the JVM does not provide the HotSpot extensions of the management interface
+            }
+            return null;
+        }
+
+        static long ofCurrentThread() {
+            return THREADS == null ? 0L : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package net.mguenther.gen;
+
+/**
+ * Exposes the {@link GenMetrics} of an instrumented generator via JMX (cf.
+ * {@link GenMetricsRegistry#registerMBeans()}). All latencies are given in nanoseconds.
+ */
+public interface GenMetricsMXBean {
+
+    String getName();
+
+    long getSamples();
+
+    long getTotalLatencyNanos();
+
+    double getMeanLatencyNanos();
+
+    long getLatencyP50Nanos();
+
+    long getLatencyP99Nanos();
+
+    long getLatencyP999Nanos();
+
+    long getMaxLatencyNanos();
+
+    long getRejections();
+
+    long getAllocatedBytes();
+
+    void reset();
+}
@@ -0,0 +1,169 @@
+package net.mguenther.gen;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the {@link GenMetrics} of instrumented generators by name (cf. {@link Gen#instrumented()}).
+ * Generators with the same name share their metrics. The metrics can be read programmatically
+ * using {@link GenMetricsRegistry#snapshot()} or via JMX once {@link GenMetricsRegistry#registerMBeans()}
+ * has been called.
+ *
+ * Disabling a registry reduces the cost of its instrumented generators to the check whether it
+ * is enabled. Allocations are only tracked on request, as this takes a call into the JVM per
+ * sample. Generators that are not instrumented do not record anything at all.
+ *
+ * Instances of this class are thread-safe.
+ */
+public final class GenMetricsRegistry {
+
+    static final String JMX_DOMAIN = "net.mguenther.gen";
+
+    private static final GenMetricsRegistry GLOBAL = new GenMetricsRegistry();
+
+    private final ConcurrentMap<String, GenMetrics> metrics = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled = true;
+
+    private volatile boolean trackingAllocations = false;
+
+    private MBeanServer mBeanServer;
+
+    /**
+     * @return
+     *      the registry that {@link Gen#instrumented()} records into
+     */
+    public static GenMetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    /**
+     * @param name
+     *      the name of an instrumented generator
+     * @throws IllegalArgumentException
+     *      in case the given name is null or empty
+     * @return
+     *      the metrics of the generators with the given name; created if they do not exist yet
+     */
+    public GenMetrics metrics(final String name) {
+        if (name == null || name.isEmpty()) throw new IllegalArgumentException("The given name may not be empty.");
+        final GenMetrics existingMetrics = metrics.get(name);
+        if (existingMetrics != null) return existingMetrics;
+        synchronized (this) {
+            return metrics.computeIfAbsent(name, n -> {
+                final GenMetrics newMetrics = new GenMetrics(n, this);
+                if (mBeanServer != null) register(mBeanServer, newMetrics);
+                return newMetrics;
+            });
+        }
+    }
+
+    /**
+     * @return
+     *      snapshots of the metrics of all instrumented generators, ordered by name
+     */
+    public Map<String, GenMetrics.Snapshot> snapshot() {
+        final Map<String, GenMetrics.Snapshot> snapshots = new TreeMap<>();
+        metrics.forEach((name, m) -> snapshots.put(name, m.snapshot()));
+        return Collections.unmodifiableMap(snapshots);
+    }
+
+    /**
+     * Discards the metrics recorded so far for all instrumented generators.
+     */
+    public void reset() {
+        metrics.values().forEach(GenMetrics::reset);
+    }
+
+    public void enable() {
+        enabled = true;
+    }
+
+    public void disable() {
+        enabled = false;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param trackingAllocations
+     *      whether to estimate the number of bytes allocated per sample; has no effect if the JVM
+     *      does not support measuring the allocations of a thread
+     */
+    public void trackAllocations(final boolean trackingAllocations) {
+        this.trackingAllocations = trackingAllocations;
+    }
+
+    public boolean isTrackingAllocations() {
+        return trackingAllocations;
+    }
+
+    /**
+     * Registers the metrics of all instrumented generators, including the ones that are yet to
+     * be instrumented, with the platform {@link MBeanServer} (cf. {@link GenMetricsRegistry#registerMBeans(MBeanServer)}).
+     *
+     * @throws IllegalStateException
+     *      in case the metrics cannot be registered
+     */
+    public void registerMBeans() {
+        registerMBeans(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * Registers the metrics of all instrumented generators, including the ones that are yet to
+     * be instrumented, with the given {@link MBeanServer}. The metrics of a generator appear under
+     * the object name {@code net.mguenther.gen:type=GenMetrics,name="<name of the generator>"}.
+     *
+     * @param mBeanServer
+     *      the server to register the metrics with
+     * @throws IllegalStateException
+     *      in case the metrics have already been registered or cannot be registered, e.g. because
+     *      another registry registered metrics by the same name
+     */
+    public synchronized void registerMBeans(final MBeanServer mBeanServer) {
+        if (mBeanServer == null) throw new IllegalArgumentException("The given MBean server may not be null.");
+        if (this.mBeanServer != null) throw new IllegalStateException("The metrics have already been registered.");
+        for (GenMetrics m : metrics.values()) {
+            register(mBeanServer, m);
+        }
+        this.mBeanServer = mBeanServer;
+    }
+
+    /**
+     * Unregisters the metrics of all instrumented generators from the {@link MBeanServer} that
+     * they have been registered with. Does nothing if they have not been registered.
+     */
+    public synchronized void unregisterMBeans() {
+        if (mBeanServer == null) return;
+        for (GenMetrics m : metrics.values()) {
+            try {
+                final ObjectName objectName = objectNameOf(m);
+                if (mBeanServer.isRegistered(objectName)) mBeanServer.unregisterMBean(objectName);
+            } catch (JMException e) {
+                throw new IllegalStateException("Unable to unregister the metrics of generator '" + m.name() + "'.", e);
+            }
+        }
+        mBeanServer = null;
+    }
+
+    private static void register(final MBeanServer mBeanServer, final GenMetrics m) {
+        try {
+            mBeanServer.registerMBean(m, objectNameOf(m));
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to register the metrics of generator '" + m.name() + "'.", e);
+        }
+    }
+
+    static ObjectName objectNameOf(final GenMetrics m) throws JMException {
+        return new ObjectName(JMX_DOMAIN + ":type=GenMetrics,name=" + ObjectName.quote(m.name()));
+    }
+}
@@ -0,0 +1,478 @@
+package net.mguenther.gen;
+
+import java.nio.IntBuffer;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A generator for primitive {@code int} values. In contrast to a {@code Gen<Integer>}, sampling
+ * from an {@code IntGen} and transforming its samples using {@link IntGen#map(IntUnaryOperator)}
+ * or {@link IntGen#filter(IntPredicate)} does not box the sampled values. Use {@link IntGen#boxed()}
+ * to combine an {@code IntGen} with other {@link Gen}erators.
+ *
+ * Generators that are backed by an interval - like {@link IntGen#choose(int, int)} - can be narrowed
+ * to a sub-interval using {@link IntGen#restrict(IntRange)}, which does not discard any samples.
+ */
+public class IntGen {
+
+    private final ToIntFunction<RandomSource> valueGenerator;
+
+    private final RandomSource sourceOfRandomness;
+
+    private final Function<IntRange, IntGen> narrowingFn;
+
+    public IntGen(final ToIntFunction<RandomSource> valueGenerator,
+                  final RandomSource sourceOfRandomness) {
+        this(valueGenerator, sourceOfRandomness, null);
+    }
+
+    private IntGen(final ToIntFunction<RandomSource> valueGenerator,
+                   final RandomSource sourceOfRandomness,
+                   final Function<IntRange, IntGen> narrowingFn) {
+        this.valueGenerator = valueGenerator;
+        this.sourceOfRandomness = sourceOfRandomness;
+        this.narrowingFn = narrowingFn;
+    }
+
+    public int nextInt() {
+        return valueGenerator.applyAsInt(sourceOfRandomness);
+    }
+
+    /**
+     * Produces a sample using the given source of randomness instead of the source of randomness
+     * that {@code this} generator was constructed with (cf. {@link Gen#sample(RandomSource)}).
+     *
+     * @param sourceOfRandomness
+     *      the source of randomness to draw from
+     * @return
+     *      a sample obtained from the given source of randomness
+     */
+    public int nextInt(final RandomSource sourceOfRandomness) {
+        return valueGenerator.applyAsInt(sourceOfRandomness);
+    }
+
+    /**
+     * Fills the given array with samples of {@code this} generator.
+     *
+     * @param values
+     *      the array to fill
+     * @return
+     *      the given array
+     */
+    public int[] fill(final int[] values) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = valueGenerator.applyAsInt(sourceOfRandomness);
+        }
+        return values;
+    }
+
+    /**
+     * Fills the remaining elements of the given buffer with samples of {@code this} generator. Upon
+     * return, the position of the buffer is equal to its limit.
+     *
+     * @param buffer
+     *      the buffer to fill
+     * @return
+     *      the given buffer
+     */
+    public IntBuffer fill(final IntBuffer buffer) {
+        while (buffer.hasRemaining()) {
+            buffer.put(valueGenerator.applyAsInt(sourceOfRandomness));
+        }
+        return buffer;
+    }
+
+    /**
+     * @param n
+     *      the number of samples to produce
+     * @throws IllegalArgumentException
+     *      in case the given number of samples is negative
+     * @return
+     *      an array that holds {@code n} samples of {@code this} generator
+     */
+    public int[] nextInts(final int n) {
+        if (n < 0) throw new IllegalArgumentException("The requested number of samples cannot be negative.");
+        return fill(new int[n]);
+    }
+
+    /**
+     * Constructs a sequential {@link java.util.stream.IntStream} of samples that draws from the source of
+     * randomness of {@code this} generator (cf. {@link Gen#stream()}). Every part of a parallel stream
+     * that is split off draws from its own source of randomness, which is derived from the source of
+     * the part it has been split from.
+     *
+     * @return
+     *      a practically infinite {@link java.util.stream.IntStream} of samples
+     */
+    public IntStream intStream() {
+        return StreamSupport.intStream(new SampleSpliterator.OfInts(valueGenerator, sourceOfRandomness, 0L, 0L, Long.MAX_VALUE), false);
+    }
+
+    /**
+     * Constructs a sequential {@link java.util.stream.IntStream} of samples. The i-th element of the stream
+     * is generated using its own source of randomness, which is derived from the given {@code seed}
+     * and i (cf. {@link Gen#stream(long)}). Thus, the stream can be turned into a parallel stream, but
+     * still produces the same elements in the same order for a given {@code seed}.
+     *
+     * @param seed
+     *      the seed from which the sources of randomness for the individual samples are derived
+     * @return
+     *      a practically infinite {@link java.util.stream.IntStream} of samples
+     */
+    public IntStream intStream(final long seed) {
+        return StreamSupport.intStream(new SampleSpliterator.OfInts(valueGenerator, null, seed, 0L, Long.MAX_VALUE), false);
+    }
+
+    /**
+     * Constructs a new generator that wraps {@code this} generator and applies the given {@code mappingFn}
+     * when producing samples. Retains the source of randomness of {@code this} generator.
+     *
+     * @param mappingFn
+     *      mapping function that transforms samples of {@code this} generator
+     * @return
+     *      a new generator that wraps {@code this} generator and applies the given {@code mappingFn}
+     *      when producing samples
+     */
+    public IntGen map(final IntUnaryOperator mappingFn) {
+        return new IntGen(r -> mappingFn.applyAsInt(valueGenerator.applyAsInt(r)), sourceOfRandomness);
+    }
+
+    /**
+     * Constructs a new generator that automatically discards samples that do not satisfy the
+     * given {@link java.util.function.IntPredicate}. To prevent infinite-loops, this method limits
+     * the number of samples to a default of 100000 (cf. {@link Gen#suchThat(java.util.function.Predicate)}).
+     *
+     * @param predicate
+     *      samples need to satisfy this predicate, otherwise they are discarded by the
+     *      generator
+     * @throws IllegalStateException
+     *      in case the maximum number of samples have been reached and no sample was found
+     *      that satisfied the predicate
+     * @return
+     *      a new generator that discards samples if they do not satisfy the given predicate
+     */
+    public IntGen filter(final IntPredicate predicate) {
+        return filter(predicate, Gen.DEFAULT_LIMIT_FOR_SUCH_THAT);
+    }
+
+    /**
+     * Constructs a new generator that automatically discards samples that do not satisfy the
+     * given {@link java.util.function.IntPredicate}.
+     *
+     * @param predicate
+     *      samples need to satisfy this predicate, otherwise they are discarded by the
+     *      generator
+     * @param maxNumberOfSamples
+     *      the maximum number of samples generated and tested against the given predicate
+     *      until this generator gives up
+     * @throws IllegalStateException
+     *      in case the maximum number of samples have been reached and no sample was found
+     *      that satisfied the predicate
+     * @return
+     *      a new generator that discards samples if they do not satisfy the given predicate
+     */
+    public IntGen filter(final IntPredicate predicate, final int maxNumberOfSamples) {
+        final ToIntFunction<RandomSource> filterFn = r -> {
+            for (int i = 0; i < maxNumberOfSamples; i++) {
+                final int candidate = valueGenerator.applyAsInt(r);
+                if (predicate.test(candidate)) return candidate;
+            }
+            throw new IllegalStateException("Tried " + maxNumberOfSamples + " sample(s), but was unable to find one that satisfies the given predicate.");
+        };
+        return new IntGen(filterFn, sourceOfRandomness);
+    }
+
+    /**
+     * Constructs a new generator that produces only samples within the given {@link IntRange}. If
+     * {@code this} generator is backed by an interval (cf. {@link IntGen#choose(int, int)}, {@link IntGen#even(int, int)},
+     * {@link IntGen#odd(int, int)} and {@link IntGen#nonNegative()}), the returned generator draws
+     * directly from the intersection of both intervals and never discards a sample. Otherwise, this
+     * is equivalent to {@link IntGen#filter(IntPredicate)}.
+     *
+     * @param range
+     *      samples need to be within this range
+     * @throws IllegalStateException
+     *      upon sampling, in case the given range excludes all samples that {@code this} generator
+     *      is able to produce
+     * @return
+     *      a new generator that produces only samples within the given range; retains the source of
+     *      randomness of {@code this} generator
+     */
+    public IntGen restrict(final IntRange range) {
+        return narrowingFn != null ? narrowingFn.apply(range) : filter(range::contains);
+    }
+
+    /**
+     * @param mappingFn
+     *      mapping function that transforms samples of {@code this} generator
+     * @return
+     *      a new {@link LongGen} that applies the given {@code mappingFn} to the samples of {@code this}
+     *      generator; retains the source of randomness of {@code this} generator
+     */
+    public LongGen mapToLong(final IntToLongFunction mappingFn) {
+        return new LongGen(r -> mappingFn.applyAsLong(valueGenerator.applyAsInt(r)), sourceOfRandomness);
+    }
+
+    /**
+     * @param mappingFn
+     *      mapping function that transforms samples of {@code this} generator
+     * @return
+     *      a new {@link DoubleGen} that applies the given {@code mappingFn} to the samples of {@code this}
+     *      generator; retains the source of randomness of {@code this} generator
+     */
+    public DoubleGen mapToDouble(final IntToDoubleFunction mappingFn) {
+        return new DoubleGen(r -> mappingFn.applyAsDouble(valueGenerator.applyAsInt(r)), sourceOfRandomness);
+    }
+
+    /**
+     * @param mappingFn
+     *      mapping function that transforms samples of {@code this} generator
+     * @param <T>
+     *      parameterized type of generated samples
+     * @return
+     *      a new {@link Gen} that applies the given {@code mappingFn} to the samples of {@code this}
+     *      generator; retains the source of randomness of {@code this} generator
+     */
+    public <T> Gen<T> mapToObj(final IntFunction<? extends T> mappingFn) {
+        return new Gen<>(r -> mappingFn.apply(valueGenerator.applyAsInt(r)), sourceOfRandomness);
+    }
+
+    /**
+     * @return
+     *      a {@link Gen} that produces the samples of {@code this} generator as {@link Integer}s;
+     *      retains the source of randomness of {@code this} generator
+     */
+    public Gen<Integer> boxed() {
+        if (narrowingFn == null) {
+            return new Gen<>(valueGenerator::applyAsInt, sourceOfRandomness);
+        }
+        return new Gen<>(valueGenerator::applyAsInt, sourceOfRandomness,
+                predicate -> predicate instanceof IntRange ? restrict((IntRange) predicate).boxed() : null);
+    }
+
+    /**
+     * Constructs a generator that generates {@code int}s {@code x} that are larger than or equal
+     * to zero. The largest integer that this generator may generate is {@code Integer.MAX_VALUE}.
+     *
+     * @return
+     *      an {@code IntGen}erator that generates {@code int}s that are larger than or equal to zero
+     */
+    public static IntGen nonNegative() {
+        return nonNegative(RandomSource.of(new Random()));
+    }
+
+    /**
+     * Constructs a generator that generates {@code int}s {@code x} that are larger than or equal
+     * to zero. The largest integer that this generator may generate is {@code Integer.MAX_VALUE}.
+     *
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @return
+     *      an {@code IntGen}erator that generates {@code int}s that are larger than or equal to zero
+     */
+    public static IntGen nonNegative(final RandomSource sourceOfRandomness) {
+        return new IntGen(IntGen::nonNegativeInt, sourceOfRandomness, narrowingWithin(0, Integer.MAX_VALUE, sourceOfRandomness));
+    }
+
+    static int nonNegativeInt(final RandomSource r) {
+        final int i = r.nextInt();
+        return i < 0 ? -(i + 1) : i;
+    }
+
+    /**
+     * Constructs a generator that generates {@code int}s. The generated {@code int}s are within the
+     * interval [start; stopExclusive). The largest admissible interval is [{@code Integer.MIN_VALUE},
+     * {@code Integer.MAX_VALUE}).
+     *
+     * @param start
+     *      lower bound of the interval from which {@code int}s are generated
+     * @param stopExclusive
+     *      upper bound of the interval from which {@code int}s are generated; the {@code int}
+     *      representing the upper bound is never generated by this generator
+     * @throws IllegalArgumentException
+     *      in case the given lower bound is not smaller than the given upper bound
+     * @return
+     *      an {@code IntGen}erator that generates {@code int}s that are within the given interval
+     */
+    public static IntGen choose(final int start,
+                                final int stopExclusive) {
+        return choose(start, stopExclusive, RandomSource.of(new Random()));
+    }
+
+    /**
+     * Constructs a generator that generates {@code int}s. The generated {@code int}s are within the
+     * interval [start; stopExclusive). The largest admissible interval is [{@code Integer.MIN_VALUE},
+     * {@code Integer.MAX_VALUE}).
+     *
+     * @param start
+     *      lower bound of the interval from which {@code int}s are generated
+     * @param stopExclusive
+     *      upper bound of the interval from which {@code int}s are generated; the {@code int}
+     *      representing the upper bound is never generated by this generator
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @throws IllegalArgumentException
+     *      in case the given lower bound is not smaller than the given upper bound
+     * @return
+     *      an {@code IntGen}erator that generates {@code int}s that are within the given interval
+     */
+    public static IntGen choose(final int start,
+                                final int stopExclusive,
+                                final RandomSource sourceOfRandomness) {
+        if (start >= stopExclusive) {
+            final String message = "The given lower bound '%s' must be smaller than the given upper bound '%s'.";
+            throw new IllegalArgumentException(String.format(message, start, stopExclusive));
+        }
+        final long range = (long) stopExclusive - start;
+        final Function<IntRange, IntGen> narrowingFn = narrowingWithin(start, stopExclusive - 1, sourceOfRandomness);
+        if (range > Integer.MAX_VALUE) {
+            // the interval is larger than Integer.MAX_VALUE, so we have to resort to rejection sampling
+            return new IntGen(r -> {
+                int candidate;
+                do {
+                    candidate = r.nextInt();
+                } while (candidate < start || candidate >= stopExclusive);
+                return candidate;
+            }, sourceOfRandomness, narrowingFn);
+        }
+        final int boundedRange = (int) range;
+        return new IntGen(r -> start + (nonNegativeInt(r) % boundedRange), sourceOfRandomness, narrowingFn);
+    }
+
+    private static Function<IntRange, IntGen> narrowingWithin(final int min,
+                                                              final int max,
+                                                              final RandomSource sourceOfRandomness) {
+        return range -> {
+            final IntRange narrowed = range.and(IntRange.closed(min, max));
+            return narrowed.isEmpty() ? unsatisfiable(sourceOfRandomness) : within(narrowed.min(), narrowed.max(), sourceOfRandomness);
+        };
+    }
+
+    private static IntGen within(final int min,
+                                 final int max,
+                                 final RandomSource sourceOfRandomness) {
+        if (max < Integer.MAX_VALUE) return choose(min, max + 1, sourceOfRandomness);
+        if (min == 0) return nonNegative(sourceOfRandomness);
+        // an upper bound of Integer.MAX_VALUE is only reachable by narrowing nonNegative, hence min > 0
+        final int range = Integer.MAX_VALUE - min + 1;
+        return new IntGen(r -> min + (nonNegativeInt(r) % range), sourceOfRandomness, narrowingWithin(min, max, sourceOfRandomness));
+    }
+
+    private static Function<IntRange, IntGen> narrowingWithinParity(final int start,
+                                                                    final int stopExclusive,
+                                                                    final boolean even,
+                                                                    final RandomSource sourceOfRandomness) {
+        return range -> {
+            final IntRange narrowed = range.and(IntRange.of(start, stopExclusive));
+            if (narrowed.isEmpty()) return unsatisfiable(sourceOfRandomness);
+            final boolean hasParity = ((narrowed.min() & 1) == 0) == even;
+            final long first = hasParity ? narrowed.min() : narrowed.min() + 1L;
+            if (first > narrowed.max()) return unsatisfiable(sourceOfRandomness);
+            return even ?
+                    even((int) first, narrowed.max() + 1, sourceOfRandomness) :
+                    odd((int) first, narrowed.max() + 1, sourceOfRandomness);
+        };
+    }
+
+    private static IntGen unsatisfiable(final RandomSource sourceOfRandomness) {
+        return new IntGen(r -> {
+            throw new IllegalStateException("The given range excludes all samples that the generator is able to produce.");
+        }, sourceOfRandomness);
+    }
+
+    /**
+     * Constructs a generator that generates {@code int}s {@code x} that are congruent modulo 2. The
+     * generated {@code int}s are within the interval [start, stopExclusive).
+     *
+     * @param start
+     *      lower bound of the interval from which even {@code int}s are generated
+     * @param stopExclusive
+     *      upper bound of the interval from which even {@code int}s are generated; the {@code int}
+     *      representing the upper bound is never generated by this generator
+     * @return
+     *      an {@code IntGen}erator that generates {@code int}s {@code x} that are congruent modulo 2
+     */
+    public static IntGen even(final int start,
+                              final int stopExclusive) {
+        return even(start, stopExclusive, RandomSource.of(new Random()));
+    }
+
+    /**
+     * Constructs a generator that generates {@code int}s {@code x} that are congruent modulo 2. The
+     * generated {@code int}s are within the interval [start, stopExclusive).
+     *
+     * @param start
+     *      lower bound of the interval from which even {@code int}s are generated
+     * @param stopExclusive
+     *      upper bound of the interval from which even {@code int}s are generated; the {@code int}
+     *      representing the upper bound is never generated by this generator
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @return
+     *      an {@code IntGen}erator that generates {@code int}s {@code x} that are congruent modulo 2
+     */
+    public static IntGen even(final int start,
+                              final int stopExclusive,
+                              final RandomSource sourceOfRandomness) {
+        if (start >= stopExclusive) {
+            final String message = "The given lower bound '%s' must be smaller than the given upper bound '%s'.";
+            throw new IllegalArgumentException(String.format(message, start, stopExclusive));
+        }
+        final int stop = stopExclusive % 2 == 0 ? stopExclusive - 1 : stopExclusive;
+        final IntGen gen = choose(start, stop, sourceOfRandomness)
+                .map(n -> n % 2 != 0 ? n + 1 : n);
+        return new IntGen(gen.valueGenerator, sourceOfRandomness, narrowingWithinParity(start, stopExclusive, true, sourceOfRandomness));
+    }
+
+    /**
+     * Constructs a generator that generates {@code int}s {@code x} that are not congruent modulo 2. The
+     * generated {@code int}s are within the interval [start; stopExclusive).
+     *
+     * @param start
+     *      lower bound of the interval from which odd {@code int}s are generated
+     * @param stopExclusive
+     *      upper bound of the interval from which odd {@code int}s are generated; the {@code int}
+     *      representing the upper bound is never generated by this generator
+     * @return
+     *      an {@code IntGen}erator that generates {@code int}s {@code x} that are not congruent modulo 2
+     */
+    public static IntGen odd(final int start,
+                             final int stopExclusive) {
+        return odd(start, stopExclusive, RandomSource.of(new Random()));
+    }
+
+    /**
+     * Constructs a generator that generates {@code int}s {@code x} that are not congruent modulo 2. The
+     * generated {@code int}s are within the interval [start; stopExclusive).
+     *
+     * @param start
+     *      lower bound of the interval from which odd {@code int}s are generated
+     * @param stopExclusive
+     *      upper bound of the interval from which odd {@code int}s are generated; the {@code int}
+     *      representing the upper bound is never generated by this generator
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @return
+     *      an {@code IntGen}erator that generates {@code int}s {@code x} that are not congruent modulo 2
+     */
+    public static IntGen odd(final int start,
+                             final int stopExclusive,
+                             final RandomSource sourceOfRandomness) {
+        if (start >= stopExclusive) {
+            final String message = "The given lower bound '%s' must be smaller than the given upper bound '%s'.";
+            throw new IllegalArgumentException(String.format(message, start, stopExclusive));
+        }
+        final int stop = stopExclusive % 2 != 0 ? stopExclusive - 1 : stopExclusive;
+        final IntGen gen = choose(start, stop, sourceOfRandomness)
+                .map(n -> n % 2 == 0 ? n + 1 : n);
+        return new IntGen(gen.valueGenerator, sourceOfRandomness, narrowingWithinParity(start, stopExclusive, false, sourceOfRandomness));
+    }
+}
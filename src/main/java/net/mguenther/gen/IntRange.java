@@ -0,0 +1,147 @@
+package net.mguenther.gen;
+
+import java.util.function.Predicate;
+
+/**
+ * A {@link java.util.function.Predicate} that accepts all {@code int}s within a closed interval
+ * [min; max]. In contrast to an equivalent lambda expression, an {@code IntRange} is transparent
+ * to the generators that discard samples: {@link Gen#suchThat(Predicate)} narrows generators that
+ * are backed by an interval - like {@link Gen#choose(int, int)}, {@link Gen#even(int, int)},
+ * {@link Gen#odd(int, int)} or {@link Gen#nonNegativeInteger()} - to the intersection with this
+ * range instead of discarding samples. {@link IntGen#restrict(IntRange)} does the same for
+ * {@link IntGen}erators.
+ *
+ * Instances of this class are immutable.
+ */
+public final class IntRange implements Predicate<Integer> {
+
+    private static final IntRange EMPTY = new IntRange(1, 0);
+
+    private final int min;
+
+    private final int max;
+
+    private IntRange(final int min, final int max) {
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * @param start
+     *      lower bound of the interval (inclusive)
+     * @param stopExclusive
+     *      upper bound of the interval (exclusive)
+     * @return
+     *      an {@code IntRange} that accepts all {@code int}s within [start; stopExclusive)
+     */
+    public static IntRange of(final int start, final int stopExclusive) {
+        return start >= stopExclusive ? EMPTY : new IntRange(start, stopExclusive - 1);
+    }
+
+    /**
+     * @param min
+     *      lower bound of the interval (inclusive)
+     * @param max
+     *      upper bound of the interval (inclusive)
+     * @return
+     *      an {@code IntRange} that accepts all {@code int}s within [min; max]
+     */
+    public static IntRange closed(final int min, final int max) {
+        return min > max ? EMPTY : new IntRange(min, max);
+    }
+
+    /**
+     * @param min
+     *      lower bound (inclusive)
+     * @return
+     *      an {@code IntRange} that accepts all {@code int}s larger than or equal to {@code min}
+     */
+    public static IntRange atLeast(final int min) {
+        return new IntRange(min, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param n
+     *      lower bound (exclusive)
+     * @return
+     *      an {@code IntRange} that accepts all {@code int}s larger than {@code n}
+     */
+    public static IntRange greaterThan(final int n) {
+        return n == Integer.MAX_VALUE ? EMPTY : new IntRange(n + 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param max
+     *      upper bound (inclusive)
+     * @return
+     *      an {@code IntRange} that accepts all {@code int}s smaller than or equal to {@code max}
+     */
+    public static IntRange atMost(final int max) {
+        return new IntRange(Integer.MIN_VALUE, max);
+    }
+
+    /**
+     * @param n
+     *      upper bound (exclusive)
+     * @return
+     *      an {@code IntRange} that accepts all {@code int}s smaller than {@code n}
+     */
+    public static IntRange lessThan(final int n) {
+        return n == Integer.MIN_VALUE ? EMPTY : new IntRange(Integer.MIN_VALUE, n - 1);
+    }
+
+    /**
+     * @param other
+     *      the {@code IntRange} to intersect {@code this} range with
+     * @return
+     *      an {@code IntRange} that accepts all {@code int}s that are accepted by both {@code this}
+     *      and the given range
+     */
+    public IntRange and(final IntRange other) {
+        return closed(Math.max(min, other.min), Math.min(max, other.max));
+    }
+
+    /**
+     * @return
+     *      the smallest {@code int} that this range accepts
+     */
+    public int min() {
+        return min;
+    }
+
+    /**
+     * @return
+     *      the largest {@code int} that this range accepts
+     */
+    public int max() {
+        return max;
+    }
+
+    /**
+     * @return
+     *      {@code true} if this range does not accept any {@code int}, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return min > max;
+    }
+
+    /**
+     * @param value
+     *      the value to test
+     * @return
+     *      {@code true} if the given value is within this range, {@code false} otherwise
+     */
+    public boolean contains(final int value) {
+        return value >= min && value <= max;
+    }
+
+    @Override
+    public boolean test(final Integer value) {
+        return value != null && contains(value);
+    }
+
+    @Override
+    public String toString() {
+        return isEmpty() ? "IntRange[]" : "IntRange[" + min + "; " + max + "]";
+    }
+}
@@ -0,0 +1,47 @@
+package net.mguenther.gen;
+
+import java.util.Random;
+
+/**
+ * Adapts an instance of {@link java.util.Random} to the {@link RandomSource} abstraction. All
+ * draws are delegated to the adapted instance, so that generators that use this adapter produce
+ * exactly the same samples as they did when they were bound to {@link java.util.Random} directly.
+ */
+final class JavaUtilRandomSource implements RandomSource {
+
+    private final Random sourceOfRandomness;
+
+    JavaUtilRandomSource(final Random sourceOfRandomness) {
+        this.sourceOfRandomness = sourceOfRandomness;
+    }
+
+    @Override
+    public int nextInt() {
+        return sourceOfRandomness.nextInt();
+    }
+
+    @Override
+    public int nextInt(final int bound) {
+        return sourceOfRandomness.nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+        return sourceOfRandomness.nextLong();
+    }
+
+    @Override
+    public double nextDouble() {
+        return sourceOfRandomness.nextDouble();
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return sourceOfRandomness.nextBoolean();
+    }
+
+    @Override
+    public Random asRandom() {
+        return sourceOfRandomness;
+    }
+}
@@ -0,0 +1,295 @@
+package net.mguenther.gen;
+
+import java.nio.LongBuffer;
+import java.util.Random;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToLongFunction;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A generator for primitive {@code long} values. In contrast to a {@code Gen<Long>}, sampling
+ * from a {@code LongGen} and transforming its samples using {@link LongGen#map(LongUnaryOperator)}
+ * or {@link LongGen#filter(LongPredicate)} does not box the sampled values. Use {@link LongGen#boxed()}
+ * to combine a {@code LongGen} with other {@link Gen}erators.
+ */
+public class LongGen {
+
+    private final ToLongFunction<RandomSource> valueGenerator;
+
+    private final RandomSource sourceOfRandomness;
+
+    public LongGen(final ToLongFunction<RandomSource> valueGenerator,
+                   final RandomSource sourceOfRandomness) {
+        this.valueGenerator = valueGenerator;
+        this.sourceOfRandomness = sourceOfRandomness;
+    }
+
+    public long nextLong() {
+        return valueGenerator.applyAsLong(sourceOfRandomness);
+    }
+
+    /**
+     * Produces a sample using the given source of randomness instead of the source of randomness
+     * that {@code this} generator was constructed with (cf. {@link Gen#sample(RandomSource)}).
+     *
+     * @param sourceOfRandomness
+     *      the source of randomness to draw from
+     * @return
+     *      a sample obtained from the given source of randomness
+     */
+    public long nextLong(final RandomSource sourceOfRandomness) {
+        return valueGenerator.applyAsLong(sourceOfRandomness);
+    }
+
+    /**
+     * Fills the given array with samples of {@code this} generator.
+     *
+     * @param values
+     *      the array to fill
+     * @return
+     *      the given array
+     */
+    public long[] fill(final long[] values) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = valueGenerator.applyAsLong(sourceOfRandomness);
+        }
+        return values;
+    }
+
+    /**
+     * Fills the remaining elements of the given buffer with samples of {@code this} generator. Upon
+     * return, the position of the buffer is equal to its limit.
+     *
+     * @param buffer
+     *      the buffer to fill
+     * @return
+     *      the given buffer
+     */
+    public LongBuffer fill(final LongBuffer buffer) {
+        while (buffer.hasRemaining()) {
+            buffer.put(valueGenerator.applyAsLong(sourceOfRandomness));
+        }
+        return buffer;
+    }
+
+    /**
+     * @param n
+     *      the number of samples to produce
+     * @throws IllegalArgumentException
+     *      in case the given number of samples is negative
+     * @return
+     *      an array that holds {@code n} samples of {@code this} generator
+     */
+    public long[] nextLongs(final int n) {
+        if (n < 0) throw new IllegalArgumentException("The requested number of samples cannot be negative.");
+        return fill(new long[n]);
+    }
+
+    /**
+     * Constructs a sequential {@link java.util.stream.LongStream} of samples that draws from the source of
+     * randomness of {@code this} generator (cf. {@link Gen#stream()}). Every part of a parallel stream
+     * that is split off draws from its own source of randomness, which is derived from the source of
+     * the part it has been split from.
+     *
+     * @return
+     *      a practically infinite {@link java.util.stream.LongStream} of samples
+     */
+    public LongStream longStream() {
+        return StreamSupport.longStream(new SampleSpliterator.OfLongs(valueGenerator, sourceOfRandomness, 0L, 0L, Long.MAX_VALUE), false);
+    }
+
+    /**
+     * Constructs a sequential {@link java.util.stream.LongStream} of samples. The i-th element of the stream
+     * is generated using its own source of randomness, which is derived from the given {@code seed}
+     * and i (cf. {@link Gen#stream(long)}). Thus, the stream can be turned into a parallel stream, but
+     * still produces the same elements in the same order for a given {@code seed}.
+     *
+     * @param seed
+     *      the seed from which the sources of randomness for the individual samples are derived
+     * @return
+     *      a practically infinite {@link java.util.stream.LongStream} of samples
+     */
+    public LongStream longStream(final long seed) {
+        return StreamSupport.longStream(new SampleSpliterator.OfLongs(valueGenerator, null, seed, 0L, Long.MAX_VALUE), false);
+    }
+
+    /**
+     * Constructs a new generator that wraps {@code this} generator and applies the given {@code mappingFn}
+     * when producing samples. Retains the source of randomness of {@code this} generator.
+     *
+     * @param mappingFn
+     *      mapping function that transforms samples of {@code this} generator
+     * @return
+     *      a new generator that wraps {@code this} generator and applies the given {@code mappingFn}
+     *      when producing samples
+     */
+    public LongGen map(final LongUnaryOperator mappingFn) {
+        return new LongGen(r -> mappingFn.applyAsLong(valueGenerator.applyAsLong(r)), sourceOfRandomness);
+    }
+
+    /**
+     * Constructs a new generator that automatically discards samples that do not satisfy the
+     * given {@link java.util.function.LongPredicate}. To prevent infinite-loops, this method limits
+     * the number of samples to a default of 100000 (cf. {@link Gen#suchThat(java.util.function.Predicate)}).
+     *
+     * @param predicate
+     *      samples need to satisfy this predicate, otherwise they are discarded by the
+     *      generator
+     * @throws IllegalStateException
+     *      in case the maximum number of samples have been reached and no sample was found
+     *      that satisfied the predicate
+     * @return
+     *      a new generator that discards samples if they do not satisfy the given predicate
+     */
+    public LongGen filter(final LongPredicate predicate) {
+        return filter(predicate, Gen.DEFAULT_LIMIT_FOR_SUCH_THAT);
+    }
+
+    /**
+     * Constructs a new generator that automatically discards samples that do not satisfy the
+     * given {@link java.util.function.LongPredicate}.
+     *
+     * @param predicate
+     *      samples need to satisfy this predicate, otherwise they are discarded by the
+     *      generator
+     * @param maxNumberOfSamples
+     *      the maximum number of samples generated and tested against the given predicate
+     *      until this generator gives up
+     * @throws IllegalStateException
+     *      in case the maximum number of samples have been reached and no sample was found
+     *      that satisfied the predicate
+     * @return
+     *      a new generator that discards samples if they do not satisfy the given predicate
+     */
+    public LongGen filter(final LongPredicate predicate, final int maxNumberOfSamples) {
+        final ToLongFunction<RandomSource> filterFn = r -> {
+            for (int i = 0; i < maxNumberOfSamples; i++) {
+                final long candidate = valueGenerator.applyAsLong(r);
+                if (predicate.test(candidate)) return candidate;
+            }
+            throw new IllegalStateException("Tried " + maxNumberOfSamples + " sample(s), but was unable to find one that satisfies the given predicate.");
+        };
+        return new LongGen(filterFn, sourceOfRandomness);
+    }
+
+    /**
+     * @param mappingFn
+     *      mapping function that transforms samples of {@code this} generator
+     * @return
+     *      a new {@link DoubleGen} that applies the given {@code mappingFn} to the samples of {@code this}
+     *      generator; retains the source of randomness of {@code this} generator
+     */
+    public DoubleGen mapToDouble(final LongToDoubleFunction mappingFn) {
+        return new DoubleGen(r -> mappingFn.applyAsDouble(valueGenerator.applyAsLong(r)), sourceOfRandomness);
+    }
+
+    /**
+     * @param mappingFn
+     *      mapping function that transforms samples of {@code this} generator
+     * @param <T>
+     *      parameterized type of generated samples
+     * @return
+     *      a new {@link Gen} that applies the given {@code mappingFn} to the samples of {@code this}
+     *      generator; retains the source of randomness of {@code this} generator
+     */
+    public <T> Gen<T> mapToObj(final LongFunction<? extends T> mappingFn) {
+        return new Gen<>(r -> mappingFn.apply(valueGenerator.applyAsLong(r)), sourceOfRandomness);
+    }
+
+    /**
+     * @return
+     *      a {@link Gen} that produces the samples of {@code this} generator as {@link Long}s;
+     *      retains the source of randomness of {@code this} generator
+     */
+    public Gen<Long> boxed() {
+        return new Gen<>(valueGenerator::applyAsLong, sourceOfRandomness);
+    }
+
+    /**
+     * Constructs a generator that generates uniformly distributed {@code long}s.
+     *
+     * @return
+     *      a {@code LongGen}erator that generates uniformly distributed {@code long}s
+     */
+    public static LongGen any() {
+        return any(RandomSource.of(new Random()));
+    }
+
+    /**
+     * Constructs a generator that generates uniformly distributed {@code long}s.
+     *
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @return
+     *      a {@code LongGen}erator that generates uniformly distributed {@code long}s
+     */
+    public static LongGen any(final RandomSource sourceOfRandomness) {
+        return new LongGen(RandomSource::nextLong, sourceOfRandomness);
+    }
+
+    /**
+     * Constructs a generator that generates {@code long}s. The generated {@code long}s are within the
+     * interval [start; stopExclusive).
+     *
+     * @param start
+     *      lower bound of the interval from which {@code long}s are generated
+     * @param stopExclusive
+     *      upper bound of the interval from which {@code long}s are generated; the {@code long}
+     *      representing the upper bound is never generated by this generator
+     * @return
+     *      a {@code LongGen}erator that generates {@code long}s that are within the given interval
+     */
+    public static LongGen choose(final long start,
+                                 final long stopExclusive) {
+        return choose(start, stopExclusive, RandomSource.of(new Random()));
+    }
+
+    /**
+     * Constructs a generator that generates {@code long}s. The generated {@code long}s are within the
+     * interval [start; stopExclusive).
+     *
+     * @param start
+     *      lower bound of the interval from which {@code long}s are generated
+     * @param stopExclusive
+     *      upper bound of the interval from which {@code long}s are generated; the {@code long}
+     *      representing the upper bound is never generated by this generator
+     * @param sourceOfRandomness
+     *      uses the given {@link RandomSource} as source of randomness
+     * @return
+     *      a {@code LongGen}erator that generates {@code long}s that are within the given interval
+     */
+    public static LongGen choose(final long start,
+                                 final long stopExclusive,
+                                 final RandomSource sourceOfRandomness) {
+        if (start >= stopExclusive) {
+            final String message = "The given lower bound '%s' must be smaller than the given upper bound '%s'.";
+            throw new IllegalArgumentException(String.format(message, start, stopExclusive));
+        }
+        final long range = stopExclusive - start;
+        if (range <= 0) {
+            // the interval is larger than Long.MAX_VALUE, so we have to resort to rejection sampling
+            return new LongGen(r -> {
+                long candidate;
+                do {
+                    candidate = r.nextLong();
+                } while (candidate < start || candidate >= stopExclusive);
+                return candidate;
+            }, sourceOfRandomness);
+        }
+        return new LongGen(r -> start + boundedNonNegativeLong(r, range), sourceOfRandomness);
+    }
+
+    private static long boundedNonNegativeLong(final RandomSource r, final long bound) {
+        final long m = bound - 1;
+        long x = r.nextLong();
+        if ((bound & m) == 0L) {
+            return x & m;
+        }
+        for (long u = x >>> 1; u + m - (x = u % bound) < 0L; u = r.nextLong() >>> 1);
+        return x;
+    }
+}
@@ -0,0 +1,97 @@
+package net.mguenther.gen;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A {@link java.util.function.Predicate} that accepts values based on their membership in a fixed
+ * set of values. In contrast to an equivalent lambda expression, a {@code Membership} is transparent
+ * to the generators that discard samples: {@link Gen#suchThat(Predicate)} narrows a generator that
+ * has been constructed using {@link Gen#oneOf(java.util.List)} to the admissible values once instead
+ * of discarding samples.
+ *
+ * Instances of this class are immutable.
+ *
+ * @param <T>
+ *     parameterized type of the values
+ */
+public final class Membership<T> implements Predicate<T> {
+
+    private final Set<T> values;
+
+    private final boolean negated;
+
+    private Membership(final Set<T> values, final boolean negated) {
+        this.values = values;
+        this.negated = negated;
+    }
+
+    /**
+     * @param values
+     *      the admissible values
+     * @param <T>
+     *      parameterized type of the values
+     * @return
+     *      a {@code Membership} that accepts only the given values
+     */
+    @SafeVarargs
+    public static <T> Membership<T> in(final T... values) {
+        return in(Arrays.asList(values));
+    }
+
+    /**
+     * @param values
+     *      the admissible values
+     * @param <T>
+     *      parameterized type of the values
+     * @return
+     *      a {@code Membership} that accepts only the given values
+     */
+    public static <T> Membership<T> in(final Collection<? extends T> values) {
+        return new Membership<>(Collections.unmodifiableSet(new HashSet<>(values)), false);
+    }
+
+    /**
+     * @param values
+     *      the values to reject
+     * @param <T>
+     *      parameterized type of the values
+     * @return
+     *      a {@code Membership} that accepts all values except the given ones
+     */
+    @SafeVarargs
+    public static <T> Membership<T> notIn(final T... values) {
+        return notIn(Arrays.asList(values));
+    }
+
+    /**
+     * @param values
+     *      the values to reject
+     * @param <T>
+     *      parameterized type of the values
+     * @return
+     *      a {@code Membership} that accepts all values except the given ones
+     */
+    public static <T> Membership<T> notIn(final Collection<? extends T> values) {
+        return new Membership<>(Collections.unmodifiableSet(new HashSet<>(values)), true);
+    }
+
+    @Override
+    public boolean test(final T value) {
+        return values.contains(value) != negated;
+    }
+
+    @Override
+    public Membership<T> negate() {
+        return new Membership<>(values, !negated);
+    }
+
+    @Override
+    public String toString() {
+        return (negated ? "Membership.notIn" : "Membership.in") + values;
+    }
+}
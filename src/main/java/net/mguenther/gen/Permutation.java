@@ -0,0 +1,205 @@
+package net.mguenther.gen;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A seeded pseudo-random permutation of the range {@code [start, stop)}. The k-th element of the
+ * permutation is computed on demand by a balanced Feistel network that operates on the smallest
+ * even number of bits that covers the size of the range; results that fall outside the range are
+ * encrypted again (cycle walking) until they fall into it. Since a Feistel network is a bijection,
+ * every value of the range occurs exactly once, and since the domain of the network is at most four
+ * times larger than the range, computing an element takes less than four rounds of encryption on
+ * average. A permutation takes constant memory, regardless of the size of its range.
+ *
+ * Use {@link Permutation#longs()} or {@link Permutation#ints()} to obtain a generator that yields
+ * the elements in order, e.g. to generate unique, but random-looking primary keys. A permutation is
+ * not a cryptographic construct, so do not use it to hide the order of identifiers from an adversary.
+ *
+ * Instances of this class are immutable and thread-safe.
+ */
+public final class Permutation {
+
+    private static final int NUMBER_OF_ROUNDS = 6;
+
+    private final long start;
+
+    private final long size;
+
+    private final long seed;
+
+    private final int halfBits;
+
+    private final long halfMask;
+
+    private final long[] roundKeys;
+
+    private Permutation(final long start, final long size, final long seed) {
+        this.start = start;
+        this.size = size;
+        this.seed = seed;
+        final int bits = Math.max(2, 64 - Long.numberOfLeadingZeros(size - 1));
+        this.halfBits = (bits + 1) / 2;
+        this.halfMask = (1L << halfBits) - 1;
+        this.roundKeys = new long[NUMBER_OF_ROUNDS];
+        for (int i = 0; i < NUMBER_OF_ROUNDS; i++) {
+            roundKeys[i] = SplitMix64.seedAt(seed, i);
+        }
+    }
+
+    /**
+     * @param start
+     *      the lower bound of the range (inclusive)
+     * @param stop
+     *      the upper bound of the range (exclusive)
+     * @param seed
+     *      determines the order of the elements
+     * @throws IllegalArgumentException
+     *      in case the range is empty or comprises more than {@code Long.MAX_VALUE} values
+     * @return
+     *      a pseudo-random permutation of the values in {@code [start, stop)}
+     */
+    public static Permutation of(final long start, final long stop, final long seed) {
+        if (stop <= start) throw new IllegalArgumentException("The upper bound of the range must be larger than its lower bound.");
+        final long size = stop - start;
+        if (size < 0) throw new IllegalArgumentException("The range may not comprise more than " + Long.MAX_VALUE + " values.");
+        return new Permutation(start, size, seed);
+    }
+
+    /**
+     * @return
+     *      the lower bound of the range (inclusive)
+     */
+    public long start() {
+        return start;
+    }
+
+    /**
+     * @return
+     *      the upper bound of the range (exclusive)
+     */
+    public long stop() {
+        return start + size;
+    }
+
+    /**
+     * @return
+     *      the number of elements of this permutation
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return
+     *      the seed that determines the order of the elements
+     */
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * @param index
+     *      the position of the element within this permutation
+     * @throws IndexOutOfBoundsException
+     *      in case the index is negative or not smaller than the size of this permutation
+     * @return
+     *      the element at the given position
+     */
+    public long get(final long index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("There is no element " + index + " in a permutation of size " + size + ".");
+        long x = index;
+        do {
+            x = encrypt(x);
+        } while (Long.compareUnsigned(x, size) >= 0);
+        return start + x;
+    }
+
+    /**
+     * Inverts {@link Permutation#get(long)}.
+     *
+     * @param value
+     *      an element of this permutation
+     * @throws IllegalArgumentException
+     *      in case the value is not within {@code [start, stop)}
+     * @return
+     *      the position of the given element within this permutation
+     */
+    public long indexOf(final long value) {
+        final long x0 = value - start;
+        if (value < start || x0 < 0 || x0 >= size) throw new IllegalArgumentException("The value " + value + " is not within [" + start + ", " + stop() + ").");
+        long x = x0;
+        do {
+            x = decrypt(x);
+        } while (Long.compareUnsigned(x, size) >= 0);
+        return x;
+    }
+
+    /**
+     * Constructs a generator that yields the elements of this permutation in order, starting with
+     * the first one. Every generator that this method returns keeps a position of its own, and
+     * ignores the source of randomness it is sampled with.
+     *
+     * @throws IllegalStateException
+     *      upon sampling, in case all elements of this permutation have already been yielded
+     * @return
+     *      a generator that yields every value of the range exactly once
+     */
+    public LongGen longs() {
+        final AtomicLong position = new AtomicLong();
+        return new LongGen(r -> next(position), RandomSource.threadLocal());
+    }
+
+    /**
+     * Constructs a generator that yields the elements of this permutation in order, starting with
+     * the first one (cf. {@link Permutation#longs()}).
+     *
+     * @throws IllegalArgumentException
+     *      in case the range exceeds the range of {@code int}
+     * @throws IllegalStateException
+     *      upon sampling, in case all elements of this permutation have already been yielded
+     * @return
+     *      a generator that yields every value of the range exactly once
+     */
+    public IntGen ints() {
+        if (start < Integer.MIN_VALUE || stop() - 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The range [" + start + ", " + stop() + ") exceeds the range of int.");
+        }
+        final AtomicLong position = new AtomicLong();
+        return new IntGen(r -> (int) next(position), RandomSource.threadLocal());
+    }
+
+    private long next(final AtomicLong position) {
+        final long index = position.getAndIncrement();
+        if (index >= size) {
+            position.set(size);
+            throw new IllegalStateException("All " + size + " value(s) of the range [" + start + ", " + stop() + ") have already been yielded.");
+        }
+        return get(index);
+    }
+
+    private long encrypt(final long x) {
+        long left = x >>> halfBits;
+        long right = x & halfMask;
+        for (int i = 0; i < NUMBER_OF_ROUNDS; i++) {
+            final long next = left ^ round(right, i);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    private long decrypt(final long x) {
+        long left = x >>> halfBits;
+        long right = x & halfMask;
+        for (int i = NUMBER_OF_ROUNDS - 1; i >= 0; i--) {
+            final long previous = right ^ round(left, i);
+            right = left;
+            left = previous;
+        }
+        return (left << halfBits) | right;
+    }
+
+    private long round(final long half, final int i) {
+        return SplitMix64.mix64(half ^ roundKeys[i]) & halfMask;
+    }
+}
@@ -0,0 +1,133 @@
+package net.mguenther.gen;
+
+/**
+ * The outcome of checking a property using a {@link PropertyRunner}. If the property has been
+ * falsified, the result carries the counterexample along with the seed of the run and the index of
+ * the counterexample, which suffice to reproduce it (cf. {@link PropertyRunner#replay(Gen, long, long)}).
+ *
+ * @param <T>
+ *      parameterized type of the samples
+ */
+public final class PropertyResult<T> {
+
+    private final long seed;
+
+    private final long numberOfSamples;
+
+    private final long index;
+
+    private final T counterexample;
+
+    private final Throwable cause;
+
+    private final ShrinkResult<T> shrinkResult;
+
+    PropertyResult(final long seed,
+                   final long numberOfSamples,
+                   final long index,
+                   final T counterexample,
+                   final Throwable cause,
+                   final ShrinkResult<T> shrinkResult) {
+        this.seed = seed;
+        this.numberOfSamples = numberOfSamples;
+        this.index = index;
+        this.counterexample = counterexample;
+        this.cause = cause;
+        this.shrinkResult = shrinkResult;
+    }
+
+    /**
+     * @return
+     *      {@code true} if all samples satisfied the property, {@code false} otherwise
+     */
+    public boolean passed() {
+        return index < 0;
+    }
+
+    /**
+     * @return
+     *      the seed from which the sources of randomness for the individual samples have been derived
+     */
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * @return
+     *      the number of samples that have been checked; if the property has been falsified, this
+     *      includes the samples that have been checked by other threads in the meantime
+     */
+    public long numberOfSamples() {
+        return numberOfSamples;
+    }
+
+    /**
+     * @return
+     *      the index of the counterexample, or {@code -1} if the property has not been falsified
+     */
+    public long index() {
+        return index;
+    }
+
+    /**
+     * @return
+     *      the counterexample as it has been generated, or {@code null} if the property has not been
+     *      falsified
+     */
+    public T counterexample() {
+        return counterexample;
+    }
+
+    /**
+     * @return
+     *      the exception or {@link AssertionError} that the property raised for the counterexample, or
+     *      {@code null} if the property simply did not hold or has not been falsified
+     */
+    public Throwable cause() {
+        return cause;
+    }
+
+    /**
+     * @return
+     *      the outcome of shrinking the counterexample, or {@code null} if the property has not been
+     *      falsified or the counterexample has not been shrunk
+     */
+    public ShrinkResult<T> shrinkResult() {
+        return shrinkResult;
+    }
+
+    /**
+     * @return
+     *      the minimal counterexample if the counterexample has been shrunk, the counterexample as it
+     *      has been generated otherwise, or {@code null} if the property has not been falsified
+     */
+    public T minimalCounterexample() {
+        return shrinkResult != null ? shrinkResult.shrunk() : counterexample;
+    }
+
+    /**
+     * @throws AssertionError
+     *      in case the property has been falsified; the message includes the seed and the index that
+     *      are required to reproduce the counterexample
+     */
+    public void assertPassed() {
+        if (passed()) return;
+        final Throwable minimalCause = shrinkResult != null ? shrinkResult.cause() : cause;
+        final AssertionError error = new AssertionError("Property falsified by sample " + index + " of seed " + seed +
+                " after " + numberOfSamples + " sample(s): " + minimalCounterexample() +
+                (shrinkResult != null ? " (shrunk in " + shrinkResult.steps() + " step(s) from " + counterexample + ")" : ""));
+        if (minimalCause != null) error.initCause(minimalCause);
+        throw error;
+    }
+
+    @Override
+    public String toString() {
+        return passed() ?
+                "PropertyResult{passed, seed=" + seed + ", numberOfSamples=" + numberOfSamples + "}" :
+                "PropertyResult{falsified, seed=" + seed +
+                        ", index=" + index +
+                        ", counterexample=" + counterexample +
+                        ", minimalCounterexample=" + minimalCounterexample() +
+                        ", numberOfSamples=" + numberOfSamples + "}";
+    }
+}
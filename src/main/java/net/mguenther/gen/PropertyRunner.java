@@ -0,0 +1,290 @@
+package net.mguenther.gen;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Checks a property against a number of samples of a {@link Gen}erator. The i-th sample is generated
+ * using its own source of randomness, which is derived from the seed of the run and i (cf.
+ * {@link Gen#parallelSamples(int, long)}). Thus, the samples can be checked in any order and on any
+ * number of threads, while every counterexample can be reproduced from the seed and its index alone
+ * (cf. {@link PropertyRunner#replay(Gen, long, long)}).
+ *
+ * By default, the samples are partitioned into contiguous ranges of indices, which are checked in
+ * parallel on the common {@link java.util.concurrent.ForkJoinPool}, so the property must be safe to call
+ * from multiple threads. As soon as one partition finds a counterexample, all partitions stop. If
+ * several partitions find a counterexample at the same time, the one with the lowest index is reported.
+ * The counterexample is then simplified using a {@link Shrinker}.
+ *
+ * A sample falsifies the property if the property does not hold for it or if the property throws
+ * an exception or an {@link AssertionError}.
+ *
+ * Instances of this class are immutable. Use {@link PropertyRunner#defaultRunner()} as a starting point.
+ */
+public final class PropertyRunner {
+
+    private static final int DEFAULT_NUMBER_OF_SAMPLES = 1_000;
+
+    private static final int PARTITIONS_PER_THREAD = 4;
+
+    private static final PropertyRunner DEFAULT_RUNNER = new PropertyRunner(DEFAULT_NUMBER_OF_SAMPLES, null, null, true, Shrinker.defaultShrinker(), null);
+
+    private final int numberOfSamples;
+
+    private final Long seed;
+
+    private final ForkJoinPool pool;
+
+    private final boolean parallel;
+
+    private final Shrinker shrinker;
+
+    private final ReplayLog.Writer replayLog;
+
+    private PropertyRunner(final int numberOfSamples,
+                           final Long seed,
+                           final ForkJoinPool pool,
+                           final boolean parallel,
+                           final Shrinker shrinker,
+                           final ReplayLog.Writer replayLog) {
+        this.numberOfSamples = numberOfSamples;
+        this.seed = seed;
+        this.pool = pool;
+        this.parallel = parallel;
+        this.shrinker = shrinker;
+        this.replayLog = replayLog;
+    }
+
+    /**
+     * @return
+     *      a {@code PropertyRunner} that checks 1000 samples in parallel on the common
+     *      {@link java.util.concurrent.ForkJoinPool} using a randomized seed and shrinks
+     *      counterexamples using the {@link Shrinker#defaultShrinker()}
+     */
+    public static PropertyRunner defaultRunner() {
+        return DEFAULT_RUNNER;
+    }
+
+    /**
+     * Checks the given property against the samples of the given generator using the
+     * {@link PropertyRunner#defaultRunner()}.
+     *
+     * @param gen
+     *      the generator to draw samples from
+     * @param property
+     *      the property that all samples must satisfy
+     * @param <T>
+     *      parameterized type of the samples
+     * @return
+     *      the outcome of the check
+     */
+    public static <T> PropertyResult<T> forAll(final Gen<T> gen, final Predicate<? super T> property) {
+        return DEFAULT_RUNNER.check(gen, property);
+    }
+
+    /**
+     * @param numberOfSamples
+     *      the number of samples to check
+     * @throws IllegalArgumentException
+     *      in case the given number of samples is negative
+     * @return
+     *      a copy of this {@code PropertyRunner} that checks the given number of samples
+     */
+    public PropertyRunner withNumberOfSamples(final int numberOfSamples) {
+        if (numberOfSamples < 0) throw new IllegalArgumentException("The requested number of samples cannot be negative.");
+        return new PropertyRunner(numberOfSamples, seed, pool, parallel, shrinker, replayLog);
+    }
+
+    /**
+     * @param seed
+     *      the seed from which the sources of randomness for the individual samples are derived
+     * @return
+     *      a copy of this {@code PropertyRunner} that uses the given seed, e.g. to replay a failed run
+     */
+    public PropertyRunner withSeed(final long seed) {
+        return new PropertyRunner(numberOfSamples, seed, pool, parallel, shrinker, replayLog);
+    }
+
+    /**
+     * @param pool
+     *      the {@link java.util.concurrent.ForkJoinPool} to check samples on
+     * @return
+     *      a copy of this {@code PropertyRunner} that checks samples in parallel on the given pool
+     */
+    public PropertyRunner withPool(final ForkJoinPool pool) {
+        if (pool == null) throw new IllegalArgumentException("The given pool may not be null.");
+        return new PropertyRunner(numberOfSamples, seed, pool, true, shrinker, replayLog);
+    }
+
+    /**
+     * @return
+     *      a copy of this {@code PropertyRunner} that checks samples one after another on the calling thread
+     */
+    public PropertyRunner sequential() {
+        return new PropertyRunner(numberOfSamples, seed, pool, false, shrinker, replayLog);
+    }
+
+    /**
+     * @param shrinker
+     *      the {@link Shrinker} to simplify counterexamples with
+     * @return
+     *      a copy of this {@code PropertyRunner} that uses the given {@link Shrinker}
+     */
+    public PropertyRunner withShrinker(final Shrinker shrinker) {
+        if (shrinker == null) throw new IllegalArgumentException("The given shrinker may not be null.");
+        return new PropertyRunner(numberOfSamples, seed, pool, parallel, shrinker, replayLog);
+    }
+
+    /**
+     * @return
+     *      a copy of this {@code PropertyRunner} that reports counterexamples as they have been found
+     */
+    public PropertyRunner withoutShrinking() {
+        return new PropertyRunner(numberOfSamples, seed, pool, parallel, null, replayLog);
+    }
+
+    /**
+     * @param replayLog
+     *      the log to record the seed and the indices of all checked samples into
+     * @return
+     *      a copy of this {@code PropertyRunner} that records checked samples into the given log
+     */
+    public PropertyRunner withReplayLog(final ReplayLog.Writer replayLog) {
+        if (replayLog == null) throw new IllegalArgumentException("The given replay log may not be null.");
+        return new PropertyRunner(numberOfSamples, seed, pool, parallel, shrinker, replayLog);
+    }
+
+    /**
+     * Checks the given property against the samples of the given generator.
+     *
+     * @param gen
+     *      the generator to draw samples from
+     * @param property
+     *      the property that all samples must satisfy
+     * @param <T>
+     *      parameterized type of the samples
+     * @return
+     *      the outcome of the check
+     */
+    public <T> PropertyResult<T> check(final Gen<T> gen, final Predicate<? super T> property) {
+        final long effectiveSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+        final AtomicBoolean stop = new AtomicBoolean(false);
+        final AtomicReference<Counterexample<T>> counterexample = new AtomicReference<>();
+        final LongAdder numberOfCheckedSamples = new LongAdder();
+        final ForkJoinPool effectivePool = pool != null ? pool : ForkJoinPool.commonPool();
+        final int numberOfPartitions = parallel ? Math.max(1, Math.min(numberOfSamples, effectivePool.getParallelism() * PARTITIONS_PER_THREAD)) : 1;
+        if (numberOfPartitions == 1) {
+            checkPartition(gen, property, effectiveSeed, 0, numberOfSamples, stop, counterexample, numberOfCheckedSamples, replayLog);
+        } else {
+            final List<ForkJoinTask<?>> partitions = new ArrayList<>(numberOfPartitions);
+            for (int p = 0; p < numberOfPartitions; p++) {
+                final long from = (long) numberOfSamples * p / numberOfPartitions;
+                final long to = (long) numberOfSamples * (p + 1) / numberOfPartitions;
+                partitions.add(effectivePool.submit(() -> checkPartition(gen, property, effectiveSeed, from, to, stop, counterexample, numberOfCheckedSamples, replayLog)));
+            }
+            for (ForkJoinTask<?> partition : partitions) {
+                partition.join();
+            }
+        }
+        final Counterexample<T> found = counterexample.get();
+        if (found == null) return new PropertyResult<>(effectiveSeed, numberOfCheckedSamples.sum(), -1L, null, null, null);
+        return new PropertyResult<>(effectiveSeed, numberOfCheckedSamples.sum(), found.index, found.value, found.cause,
+                shrink(gen, property, effectiveSeed, found.index));
+    }
+
+    private <T> ShrinkResult<T> shrink(final Gen<T> gen, final Predicate<? super T> property, final long seed, final long index) {
+        if (shrinker == null) return null;
+        // the root of the tree is the counterexample itself; it does not falsify the property again
+        // only if the property is not deterministic, in which case there is nothing to shrink
+        final ShrinkTree<T> tree = gen.sampleShrinkable(Gen.sourceAt(seed, index));
+        if (test(property, index, tree.value()) == null) return null;
+        return shrinker.shrink(tree, property);
+    }
+
+    private static <T> void checkPartition(final Gen<T> gen,
+                                           final Predicate<? super T> property,
+                                           final long seed,
+                                           final long from,
+                                           final long to,
+                                           final AtomicBoolean stop,
+                                           final AtomicReference<Counterexample<T>> counterexample,
+                                           final LongAdder numberOfCheckedSamples,
+                                           final ReplayLog.Writer replayLog) {
+        long checked = 0;
+        try {
+            for (long i = from; i < to && !stop.get(); i++) {
+                final Counterexample<T> candidate = test(property, i, gen.sample(Gen.sourceAt(seed, i)));
+                checked++;
+                if (candidate != null) {
+                    record(counterexample, candidate);
+                    stop.set(true);
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            // the generator failed; there is no point in checking the other partitions either
+            stop.set(true);
+            throw e;
+        } finally {
+            numberOfCheckedSamples.add(checked);
+            // a partition checks consecutive indices, so it takes a single entry to record them
+            if (replayLog != null) replayLog.recordRange(seed, from, checked);
+        }
+    }
+
+    private static <T> Counterexample<T> test(final Predicate<? super T> property, final long index, final T value) {
+        try {
+            return property.test(value) ? null : new Counterexample<>(index, value, null);
+        } catch (RuntimeException | AssertionError e) {
+            return new Counterexample<>(index, value, e);
+        }
+    }
+
+    private static <T> void record(final AtomicReference<Counterexample<T>> counterexample, final Counterexample<T> candidate) {
+        Counterexample<T> current;
+        do {
+            current = counterexample.get();
+            if (current != null && current.index <= candidate.index) return;
+        } while (!counterexample.compareAndSet(current, candidate));
+    }
+
+    /**
+     * Reproduces the sample at the given index of a run that used the given seed.
+     *
+     * @param gen
+     *      the generator that has been checked
+     * @param seed
+     *      the seed of the run (cf. {@link PropertyResult#seed()})
+     * @param index
+     *      the index of the sample (cf. {@link PropertyResult#index()})
+     * @param <T>
+     *      parameterized type of the sample
+     * @return
+     *      the sample at the given index
+     */
+    public static <T> T replay(final Gen<T> gen, final long seed, final long index) {
+        return gen.sampleAt(seed, index);
+    }
+
+    private static final class Counterexample<T> {
+
+        private final long index;
+
+        private final T value;
+
+        private final Throwable cause;
+
+        private Counterexample(final long index, final T value, final Throwable cause) {
+            this.index = index;
+            this.value = value;
+            this.cause = cause;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package net.mguenther.gen;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A {@code RandomSource} is the source of randomness that {@link Gen}erators draw their samples
+ * from. It decouples the {@code Gen} monad from {@link java.util.Random}, whose seed is updated
+ * using a CAS operation on every draw. This is not only slow, but turns a {@link java.util.Random}
+ * into a point of contention as soon as multiple threads sample from the same generator.
+ *
+ * The static factory methods of this interface provide the built-in implementations:
+ *
+ * <ul>
+ *     <li>{@link RandomSource#of(Random)} adapts an existing instance of {@link java.util.Random}.
+ *     This is what all overloaded factory methods of {@link Gen} that accept a {@link java.util.Random}
+ *     use under the hood.</li>
+ *     <li>{@link RandomSource#splittable(long)} is backed by a {@link java.util.SplittableRandom}.</li>
+ *     <li>{@link RandomSource#threadLocal()} is backed by {@link java.util.concurrent.ThreadLocalRandom}
+ *     and can be shared between threads without contention. It cannot be seeded.</li>
+ *     <li>{@link RandomSource#xoshiro256(long)} is a fast, non-synchronized implementation of the
+ *     xoshiro256** algorithm.</li>
+ * </ul>
+ *
+ * With the exception of {@link RandomSource#threadLocal()} and a {@code RandomSource} that adapts
+ * a {@link java.util.Random}, none of the implementations are thread-safe.
+ */
+public interface RandomSource {
+
+    /**
+     * @return
+     *      a uniformly distributed {@code int} value
+     */
+    default int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    /**
+     * @param bound
+     *      the upper bound (exclusive); must be positive
+     * @throws IllegalArgumentException
+     *      in case the given bound is not positive
+     * @return
+     *      a uniformly distributed {@code int} value within the interval [0; bound)
+     */
+    default int nextInt(final int bound) {
+        if (bound <= 0) throw new IllegalArgumentException("The given bound must be positive.");
+        final int m = bound - 1;
+        int r = nextInt();
+        if ((bound & m) == 0) {
+            return r & m;
+        }
+        for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = nextInt() >>> 1);
+        return r;
+    }
+
+    /**
+     * @return
+     *      a uniformly distributed {@code long} value
+     */
+    long nextLong();
+
+    /**
+     * @return
+     *      a uniformly distributed {@code double} value within the interval [0.0; 1.0)
+     */
+    default double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * @return
+     *      a uniformly distributed {@code boolean} value
+     */
+    default boolean nextBoolean() {
+        return nextInt() < 0;
+    }
+
+    /**
+     * Provides a view of this {@code RandomSource} as an instance of {@link java.util.Random}. This
+     * retains compatibility with existing code that expects a {@link java.util.Random}, for instance
+     * mapping functions passed to {@link Gen#map(java.util.function.BiFunction)}. If this
+     * {@code RandomSource} adapts an instance of {@link java.util.Random}, that very instance is
+     * returned.
+     *
+     * @return
+     *      an instance of {@link java.util.Random} that draws from this {@code RandomSource}
+     */
+    Random asRandom();
+
+    /**
+     * Derives a new {@code RandomSource} from this one. The derived source is statistically independent
+     * from this source and can be handed over to another thread. Deriving a source advances the state
+     * of this source. The default implementation seeds a {@link RandomSource#splittable(long)} source
+     * using the next {@code long} value of this source.
+     *
+     * @return
+     *      a new {@code RandomSource} that is derived from this source
+     */
+    default RandomSource split() {
+        return splittable(nextLong());
+    }
+
+    /**
+     * Adapts the given instance of {@link java.util.Random}.
+     *
+     * @param sourceOfRandomness
+     *      the instance of {@link java.util.Random} to draw from
+     * @return
+     *      a {@code RandomSource} that draws from the given {@link java.util.Random}
+     */
+    static RandomSource of(final Random sourceOfRandomness) {
+        if (sourceOfRandomness == null) throw new IllegalArgumentException("The given source of randomness may not be null.");
+        return new JavaUtilRandomSource(sourceOfRandomness);
+    }
+
+    /**
+     * @return
+     *      a {@code RandomSource} backed by a {@link java.util.SplittableRandom} with a randomized seed
+     */
+    static RandomSource splittable() {
+        return new SplittableRandomSource(new SplittableRandom());
+    }
+
+    /**
+     * @param seed
+     *      the initial seed
+     * @return
+     *      a {@code RandomSource} backed by a {@link java.util.SplittableRandom} that uses the given seed
+     */
+    static RandomSource splittable(final long seed) {
+        return new SplittableRandomSource(new SplittableRandom(seed));
+    }
+
+    /**
+     * @return
+     *      a {@code RandomSource} that draws from the {@link java.util.concurrent.ThreadLocalRandom}
+     *      of the calling thread
+     */
+    static RandomSource threadLocal() {
+        return ThreadLocalRandomSource.INSTANCE;
+    }
+
+    /**
+     * @return
+     *      a {@code RandomSource} that implements the xoshiro256** algorithm using a randomized seed
+     */
+    static RandomSource xoshiro256() {
+        return xoshiro256(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * @param seed
+     *      the initial seed
+     * @return
+     *      a {@code RandomSource} that implements the xoshiro256** algorithm using the given seed
+     */
+    static RandomSource xoshiro256(final long seed) {
+        return new Xoshiro256StarStarRandomSource(seed);
+    }
+
+    /**
+     * Creates the source of randomness for the sample at position {@code index} of a run that uses
+     * the given {@code seed}. The key of the source is derived from the seed and the index using
+     * SplitMix64, and its values are computed from that key and a counter. Thus, the source for any
+     * index can be created in constant time and without generating the samples that precede it
+     * (cf. {@link Gen#sampleAt(long, long)}).
+     *
+     * @param seed
+     *      the seed of the run
+     * @param index
+     *      the position of the sample within the run
+     * @return
+     *      a counter-based {@code RandomSource} for the sample at the given position
+     */
+    static RandomSource counterBased(final long seed, final long index) {
+        return new CounterBasedRandomSource(SplitMix64.seedAt(seed, index));
+    }
+}
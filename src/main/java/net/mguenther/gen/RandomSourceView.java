@@ -0,0 +1,58 @@
+package net.mguenther.gen;
+
+import java.util.Random;
+
+/**
+ * Presents a {@link RandomSource} as an instance of {@link java.util.Random}. All draws are
+ * delegated to the underlying {@code RandomSource}, which means that this view cannot be
+ * re-seeded.
+ */
+final class RandomSourceView extends Random {
+
+    // java.util.Random is serializable, but this view is not meant to be serialized: it is handed out
+    // transiently and the RandomSource that it delegates to is not serializable in general
+    private static final long serialVersionUID = 1L;
+
+    private final RandomSource source;
+
+    RandomSourceView(final RandomSource source) {
+        super(0L);
+        this.source = source;
+    }
+
+    @Override
+    protected int next(final int bits) {
+        return source.nextInt() >>> (32 - bits);
+    }
+
+    @Override
+    public int nextInt() {
+        return source.nextInt();
+    }
+
+    @Override
+    public int nextInt(final int bound) {
+        return source.nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+        return source.nextLong();
+    }
+
+    @Override
+    public double nextDouble() {
+        return source.nextDouble();
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return source.nextBoolean();
+    }
+
+    @Override
+    public synchronized void setSeed(final long seed) {
+        // the constructor of java.util.Random calls setSeed before the source has been assigned
+        if (source != null) throw new UnsupportedOperationException("A view of a RandomSource cannot be re-seeded.");
+    }
+}
@@ -0,0 +1,157 @@
+package net.mguenther.gen;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * Configures how a generator that is constructed using {@link Gen#suchThat(java.util.function.Predicate, RejectionPolicy)}
+ * discards samples. A {@code RejectionPolicy} limits the effort spent on a single sample by the number of
+ * candidates and - optionally - by a wall-clock budget. Besides that, it can supervise the ratio of accepted
+ * candidates over the lifetime of the generator and either warn or fail as soon as that ratio drops below
+ * a given threshold. A low acceptance ratio usually indicates that the underlying generator should be
+ * narrowed instead of filtering its samples.
+ *
+ * Instances of this class are immutable. Use {@link RejectionPolicy#defaultPolicy()} as a starting point.
+ */
+public final class RejectionPolicy {
+
+    private static final Logger LOG = Logger.getLogger(Gen.class.getName());
+
+    private static final int DEFAULT_MINIMUM_NUMBER_OF_CANDIDATES = 1_000;
+
+    private static final RejectionPolicy DEFAULT_POLICY = new RejectionPolicy(Gen.DEFAULT_LIMIT_FOR_SUCH_THAT, 0L, 0.0, false, DEFAULT_MINIMUM_NUMBER_OF_CANDIDATES);
+
+    private final int maxNumberOfSamples;
+
+    private final long timeBudgetInNanos;
+
+    private final double minimumAcceptanceRatio;
+
+    private final boolean failOnLowAcceptanceRatio;
+
+    private final int minimumNumberOfCandidates;
+
+    private RejectionPolicy(final int maxNumberOfSamples,
+                            final long timeBudgetInNanos,
+                            final double minimumAcceptanceRatio,
+                            final boolean failOnLowAcceptanceRatio,
+                            final int minimumNumberOfCandidates) {
+        this.maxNumberOfSamples = maxNumberOfSamples;
+        this.timeBudgetInNanos = timeBudgetInNanos;
+        this.minimumAcceptanceRatio = minimumAcceptanceRatio;
+        this.failOnLowAcceptanceRatio = failOnLowAcceptanceRatio;
+        this.minimumNumberOfCandidates = minimumNumberOfCandidates;
+    }
+
+    /**
+     * @return
+     *      a {@code RejectionPolicy} that tries at most 100000 candidates per sample, without a time budget
+     *      and without supervising the acceptance ratio; this is the behavior of {@link Gen#suchThat(java.util.function.Predicate)}
+     */
+    public static RejectionPolicy defaultPolicy() {
+        return DEFAULT_POLICY;
+    }
+
+    /**
+     * @param maxNumberOfSamples
+     *      the maximum number of candidates generated and tested against the predicate per sample
+     *      until the generator gives up
+     * @throws IllegalArgumentException
+     *      in case the given maximum number of candidates is not positive
+     * @return
+     *      a copy of this {@code RejectionPolicy} that uses the given maximum number of candidates
+     */
+    public RejectionPolicy withMaxNumberOfSamples(final int maxNumberOfSamples) {
+        if (maxNumberOfSamples <= 0) throw new IllegalArgumentException("The given maximum number of samples must be positive.");
+        return new RejectionPolicy(maxNumberOfSamples, timeBudgetInNanos, minimumAcceptanceRatio, failOnLowAcceptanceRatio, minimumNumberOfCandidates);
+    }
+
+    /**
+     * @param timeBudget
+     *      the wall-clock time that the generator may spend on a single sample until it gives up
+     * @throws IllegalArgumentException
+     *      in case the given time budget is not positive
+     * @return
+     *      a copy of this {@code RejectionPolicy} that uses the given time budget
+     */
+    public RejectionPolicy withTimeBudget(final Duration timeBudget) {
+        if (timeBudget.isNegative() || timeBudget.isZero()) throw new IllegalArgumentException("The given time budget must be positive.");
+        return new RejectionPolicy(maxNumberOfSamples, timeBudget.toNanos(), minimumAcceptanceRatio, failOnLowAcceptanceRatio, minimumNumberOfCandidates);
+    }
+
+    /**
+     * Logs a warning once per generator if the ratio of accepted candidates drops below the given threshold.
+     *
+     * @param minimumAcceptanceRatio
+     *      a ratio within (0.0; 1.0]
+     * @throws IllegalArgumentException
+     *      in case the given ratio is not within (0.0; 1.0]
+     * @return
+     *      a copy of this {@code RejectionPolicy} that warns about a low acceptance ratio
+     */
+    public RejectionPolicy warnIfAcceptanceRatioBelow(final double minimumAcceptanceRatio) {
+        validateRatio(minimumAcceptanceRatio);
+        return new RejectionPolicy(maxNumberOfSamples, timeBudgetInNanos, minimumAcceptanceRatio, false, minimumNumberOfCandidates);
+    }
+
+    /**
+     * Fails with an {@link IllegalStateException} if the ratio of accepted candidates drops below the given
+     * threshold.
+     *
+     * @param minimumAcceptanceRatio
+     *      a ratio within (0.0; 1.0]
+     * @throws IllegalArgumentException
+     *      in case the given ratio is not within (0.0; 1.0]
+     * @return
+     *      a copy of this {@code RejectionPolicy} that fails on a low acceptance ratio
+     */
+    public RejectionPolicy failIfAcceptanceRatioBelow(final double minimumAcceptanceRatio) {
+        validateRatio(minimumAcceptanceRatio);
+        return new RejectionPolicy(maxNumberOfSamples, timeBudgetInNanos, minimumAcceptanceRatio, true, minimumNumberOfCandidates);
+    }
+
+    private static void validateRatio(final double ratio) {
+        if (ratio <= 0.0 || ratio > 1.0) throw new IllegalArgumentException("The minimum acceptance ratio must be within (0.0; 1.0].");
+    }
+
+    /**
+     * @param minimumNumberOfCandidates
+     *      the number of candidates that have to be tested before the acceptance ratio is supervised;
+     *      defaults to 1000
+     * @throws IllegalArgumentException
+     *      in case the given minimum number of candidates is not positive
+     * @return
+     *      a copy of this {@code RejectionPolicy} that uses the given minimum number of candidates
+     */
+    public RejectionPolicy withMinimumNumberOfCandidates(final int minimumNumberOfCandidates) {
+        if (minimumNumberOfCandidates <= 0) throw new IllegalArgumentException("The given minimum number of candidates must be positive.");
+        return new RejectionPolicy(maxNumberOfSamples, timeBudgetInNanos, minimumAcceptanceRatio, failOnLowAcceptanceRatio, minimumNumberOfCandidates);
+    }
+
+    int maxNumberOfSamples() {
+        return maxNumberOfSamples;
+    }
+
+    boolean hasTimeBudget() {
+        return timeBudgetInNanos > 0L;
+    }
+
+    long timeBudgetInNanos() {
+        return timeBudgetInNanos;
+    }
+
+    void verifyAcceptanceRatio(final RejectionStatistics statistics, final AtomicBoolean alreadyWarned) {
+        if (minimumAcceptanceRatio == 0.0) return;
+        if (statistics.candidates() < minimumNumberOfCandidates) return;
+        final double acceptanceRatio = statistics.acceptanceRatio();
+        if (acceptanceRatio >= minimumAcceptanceRatio) return;
+        final String message = String.format("The generator accepted only %.2f%% of %s candidate(s), which is below the minimum acceptance ratio of %.2f%%. Consider narrowing the underlying generator instead of discarding its samples.",
+                acceptanceRatio * 100, statistics.candidates(), minimumAcceptanceRatio * 100);
+        if (failOnLowAcceptanceRatio) {
+            throw new IllegalStateException(message);
+        } else if (alreadyWarned.compareAndSet(false, true)) {
+            LOG.warning(message);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package net.mguenther.gen;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how many candidates a generator that discards samples (cf. {@link Gen#suchThat(java.util.function.Predicate)})
+ * accepted or rejected. Instances of this class are thread-safe.
+ */
+public final class RejectionStatistics {
+
+    private final LongAdder accepted = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder exhausted = new LongAdder();
+
+    void recordAccepted(final long rejectedCandidates) {
+        accepted.increment();
+        rejected.add(rejectedCandidates);
+    }
+
+    void recordExhausted(final long rejectedCandidates) {
+        exhausted.increment();
+        rejected.add(rejectedCandidates);
+    }
+
+    /**
+     * @return
+     *      the number of accepted candidates
+     */
+    public long accepted() {
+        return accepted.sum();
+    }
+
+    /**
+     * @return
+     *      the number of rejected candidates
+     */
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return
+     *      the number of samples for which the generator gave up, because it either exceeded the maximum
+     *      number of candidates or its time budget
+     */
+    public long exhausted() {
+        return exhausted.sum();
+    }
+
+    /**
+     * @return
+     *      the number of candidates that have been tested
+     */
+    public long candidates() {
+        return accepted() + rejected();
+    }
+
+    /**
+     * @return
+     *      the ratio of accepted candidates to all tested candidates, or 1.0 if no candidate has been
+     *      tested yet
+     */
+    public double acceptanceRatio() {
+        final long accepted = accepted();
+        final long candidates = accepted + rejected();
+        return candidates == 0 ? 1.0 : (double) accepted / candidates;
+    }
+
+    @Override
+    public String toString() {
+        return "RejectionStatistics{" +
+                "accepted=" + accepted() +
+                ", rejected=" + rejected() +
+                ", exhausted=" + exhausted() +
+                '}';
+    }
+}
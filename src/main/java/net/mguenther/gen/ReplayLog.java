@@ -0,0 +1,386 @@
+package net.mguenther.gen;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A {@code ReplayLog} records which samples have been generated during a run without storing the
+ * samples themselves. Every sample is identified by the seed of the run and its index (cf.
+ * {@link Gen#parallelSamples(int, long)}), which suffice to regenerate it using the same generator.
+ *
+ * A {@link ReplayLog.Writer} encodes the entries in a compact binary format: the seed is written
+ * only if it changes, and indices are written as variable-length differences to the index that
+ * follows the previous entry. Thus, an entry that directly follows its predecessor takes a single
+ * byte, and a range of consecutive indices that is recorded at once takes only a few bytes in total.
+ *
+ * A {@code ReplayLog} that has been read keeps consecutive entries as runs in memory and is able to
+ * jump straight to any entry and regenerate its sample using {@link ReplayLog#replay(Gen, long)}.
+ */
+public final class ReplayLog {
+
+    private static final int MAGIC = 0x47454e52; // "GENR"
+
+    // version 2 replays samples using counter-based sources of randomness
+    private static final int VERSION = 2;
+
+    private static final int TAG_ENTRY = 0;
+
+    private static final int TAG_RANGE = 1;
+
+    private static final int TAG_SEED = 2;
+
+    // precedes an entry or a range whose difference in indices does not fit next to the tag
+    private static final int TAG_WIDE = 3;
+
+    private static final int TAG_BITS = 2;
+
+    // entry n is located in run r if firstEntries[r] <= n < firstEntries[r + 1]
+    private final long[] firstEntries;
+
+    private final long[] seeds;
+
+    private final long[] firstIndices;
+
+    private final int numberOfRuns;
+
+    private ReplayLog(final long[] firstEntries, final long[] seeds, final long[] firstIndices, final int numberOfRuns) {
+        this.firstEntries = firstEntries;
+        this.seeds = seeds;
+        this.firstIndices = firstIndices;
+        this.numberOfRuns = numberOfRuns;
+    }
+
+    /**
+     * @return
+     *      the number of recorded samples
+     */
+    public long size() {
+        return firstEntries[numberOfRuns];
+    }
+
+    /**
+     * @param entry
+     *      the position of the entry within this log
+     * @throws IndexOutOfBoundsException
+     *      in case there is no such entry
+     * @return
+     *      the seed of the run that generated the sample at the given position
+     */
+    public long seed(final long entry) {
+        return seeds[runOf(entry)];
+    }
+
+    /**
+     * @param entry
+     *      the position of the entry within this log
+     * @throws IndexOutOfBoundsException
+     *      in case there is no such entry
+     * @return
+     *      the index of the sample at the given position within the run that generated it
+     */
+    public long index(final long entry) {
+        final int run = runOf(entry);
+        return firstIndices[run] + (entry - firstEntries[run]);
+    }
+
+    /**
+     * Regenerates the sample at the given position of this log.
+     *
+     * @param gen
+     *      the generator that produced the recorded samples
+     * @param entry
+     *      the position of the entry within this log
+     * @param <T>
+     *      parameterized type of the sample
+     * @throws IndexOutOfBoundsException
+     *      in case there is no such entry
+     * @return
+     *      the sample at the given position
+     */
+    public <T> T replay(final Gen<T> gen, final long entry) {
+        final int run = runOf(entry);
+        return gen.sampleAt(seeds[run], firstIndices[run] + (entry - firstEntries[run]));
+    }
+
+    private int runOf(final long entry) {
+        if (entry < 0 || entry >= size()) throw new IndexOutOfBoundsException("There is no entry " + entry + " in a replay log of size " + size() + ".");
+        final int position = Arrays.binarySearch(firstEntries, 0, numberOfRuns, entry);
+        return position >= 0 ? position : -position - 2;
+    }
+
+    /**
+     * Reads a replay log from the given file.
+     *
+     * @param path
+     *      the file to read from
+     * @throws IOException
+     *      in case the file cannot be read or is not a replay log
+     * @return
+     *      the replay log
+     */
+    public static ReplayLog read(final Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Reads a replay log from the given stream. The stream is not closed.
+     *
+     * @param in
+     *      the stream to read from
+     * @throws IOException
+     *      in case the stream cannot be read or does not contain a replay log
+     * @return
+     *      the replay log
+     */
+    public static ReplayLog read(final InputStream in) throws IOException {
+        final DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC) throw new IOException("The given stream does not contain a replay log.");
+        final int version = data.readUnsignedByte();
+        if (version != VERSION) throw new IOException("Unsupported version " + version + " of the replay log format.");
+        final Runs runs = new Runs();
+        long seed = 0L;
+        boolean hasSeed = false;
+        long nextIndex = 0L;
+        // the log may only end in between two records, i.e. before the first byte of a tag
+        for (int firstByte = data.read(); firstByte != -1; firstByte = data.read()) {
+            try {
+                final long tag = readVarLong(data, firstByte);
+                final int type = (int) (tag & ((1 << TAG_BITS) - 1));
+                if (type == TAG_SEED) {
+                    seed = data.readLong();
+                    hasSeed = true;
+                    nextIndex = 0L;
+                    continue;
+                }
+                if (!hasSeed) throw new IOException("The replay log is corrupt: an entry precedes the first seed.");
+                final boolean wide = type == TAG_WIDE;
+                final int entryType = wide ? data.readUnsignedByte() : type;
+                final long index = nextIndex + zigZagDecode(wide ? readVarLong(data) : tag >>> TAG_BITS);
+                if (entryType == TAG_ENTRY) {
+                    runs.append(seed, index, 1L);
+                    nextIndex = index + 1;
+                } else if (entryType == TAG_RANGE) {
+                    final long count = readVarLong(data);
+                    runs.append(seed, index, count);
+                    nextIndex = index + count;
+                } else {
+                    throw new IOException("The replay log is corrupt: unknown tag " + entryType + ".");
+                }
+            } catch (EOFException e) {
+                throw new IOException("The replay log is corrupt: its last record is truncated.", e);
+            }
+        }
+        return runs.toReplayLog();
+    }
+
+    /**
+     * Creates a {@link ReplayLog.Writer} that writes to the given file, replacing its contents.
+     *
+     * @param path
+     *      the file to write to
+     * @throws IOException
+     *      in case the file cannot be written
+     * @return
+     *      a new {@link ReplayLog.Writer}
+     */
+    public static Writer writer(final Path path) throws IOException {
+        return new Writer(Files.newOutputStream(path));
+    }
+
+    /**
+     * Creates a {@link ReplayLog.Writer} that writes to the given stream. Closing the writer closes
+     * the stream.
+     *
+     * @param out
+     *      the stream to write to
+     * @throws IOException
+     *      in case the stream cannot be written
+     * @return
+     *      a new {@link ReplayLog.Writer}
+     */
+    public static Writer writer(final OutputStream out) throws IOException {
+        return new Writer(out);
+    }
+
+    /**
+     * Appends entries to a replay log. All methods are thread-safe, so a single writer can be shared
+     * between threads that generate samples concurrently. Methods that record entries throw an
+     * {@link java.io.UncheckedIOException} if the underlying stream cannot be written.
+     */
+    public static final class Writer implements Closeable {
+
+        private final DataOutputStream out;
+
+        private boolean hasSeed = false;
+
+        private long seed;
+
+        private long nextIndex;
+
+        private Writer(final OutputStream out) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(out));
+            this.out.writeInt(MAGIC);
+            this.out.writeByte(VERSION);
+        }
+
+        /**
+         * Records a single sample.
+         *
+         * @param seed
+         *      the seed of the run that generated the sample
+         * @param index
+         *      the index of the sample within that run
+         */
+        public synchronized void record(final long seed, final long index) {
+            try {
+                switchTo(seed);
+                writeIndex(index, TAG_ENTRY);
+                nextIndex = index + 1;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Records a range of consecutive samples.
+         *
+         * @param seed
+         *      the seed of the run that generated the samples
+         * @param fromIndex
+         *      the index of the first sample within that run
+         * @param count
+         *      the number of samples; nothing is recorded if it is not positive
+         */
+        public synchronized void recordRange(final long seed, final long fromIndex, final long count) {
+            if (count <= 0) return;
+            try {
+                switchTo(seed);
+                writeIndex(fromIndex, TAG_RANGE);
+                writeVarLong(out, count);
+                nextIndex = fromIndex + count;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeIndex(final long index, final int type) throws IOException {
+            final long difference = zigZagEncode(index - nextIndex);
+            if (difference >>> (Long.SIZE - TAG_BITS) == 0) {
+                writeVarLong(out, difference << TAG_BITS | type);
+            } else {
+                writeVarLong(out, TAG_WIDE);
+                out.writeByte(type);
+                writeVarLong(out, difference);
+            }
+        }
+
+        private void switchTo(final long seed) throws IOException {
+            if (hasSeed && this.seed == seed) return;
+            writeVarLong(out, TAG_SEED);
+            out.writeLong(seed);
+            this.hasSeed = true;
+            this.seed = seed;
+            this.nextIndex = 0L;
+        }
+
+        /**
+         * Writes all buffered entries to the underlying stream.
+         *
+         * @throws IOException
+         *      in case the underlying stream cannot be written
+         */
+        public synchronized void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            out.close();
+        }
+    }
+
+    private static long zigZagEncode(final long n) {
+        return (n << 1) ^ (n >> 63);
+    }
+
+    private static long zigZagDecode(final long n) {
+        return (n >>> 1) ^ -(n & 1);
+    }
+
+    private static void writeVarLong(final DataOutputStream out, final long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7fL) != 0) {
+            out.writeByte((int) ((remaining & 0x7f) | 0x80));
+            remaining >>>= 7;
+        }
+        out.writeByte((int) remaining);
+    }
+
+    private static long readVarLong(final DataInputStream in) throws IOException {
+        return readVarLong(in, in.readUnsignedByte());
+    }
+
+    private static long readVarLong(final DataInputStream in, final int firstByte) throws IOException {
+        long value = 0L;
+        int b = firstByte;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (shift > 0) b = in.readUnsignedByte();
+            value |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("The replay log is corrupt: malformed variable-length number.");
+    }
+
+    /**
+     * Collects runs of consecutive entries while reading a replay log.
+     */
+    private static final class Runs {
+
+        private long[] firstEntries = new long[16];
+
+        private long[] seeds = new long[16];
+
+        private long[] firstIndices = new long[16];
+
+        private int numberOfRuns = 0;
+
+        private long size = 0L;
+
+        private void append(final long seed, final long fromIndex, final long count) {
+            if (count <= 0) return;
+            final int last = numberOfRuns - 1;
+            final boolean continuesLastRun = last >= 0 && seeds[last] == seed && firstIndices[last] + (size - firstEntries[last]) == fromIndex;
+            if (!continuesLastRun) {
+                if (numberOfRuns + 1 >= firstEntries.length) {
+                    firstEntries = Arrays.copyOf(firstEntries, firstEntries.length << 1);
+                    seeds = Arrays.copyOf(seeds, seeds.length << 1);
+                    firstIndices = Arrays.copyOf(firstIndices, firstIndices.length << 1);
+                }
+                firstEntries[numberOfRuns] = size;
+                seeds[numberOfRuns] = seed;
+                firstIndices[numberOfRuns] = fromIndex;
+                numberOfRuns++;
+            }
+            size += count;
+        }
+
+        private ReplayLog toReplayLog() {
+            // the sentinel after the last run holds the size of the log
+            firstEntries[numberOfRuns] = size;
+            return new ReplayLog(firstEntries, seeds, firstIndices, numberOfRuns);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package net.mguenther.gen;
+
+/**
+ * Carries the size parameter of the sample that is currently being generated on the calling
+ * thread (cf. {@link Gen#sized(java.util.function.IntFunction)} and {@link Gen#resize(int)}).
+ * Unless a generator has been resized, the size defaults to the value of the system property
+ * {@code gen.size}, or to {@code 100} if that property is not set.
+ */
+final class SampleContext {
+
+    static final int DEFAULT_SIZE = Math.max(0, Integer.getInteger("gen.size", 100));
+
+    // a mutable holder avoids boxing and re-setting the thread-local whenever the size changes
+    private static final ThreadLocal<int[]> SIZE = ThreadLocal.withInitial(() -> new int[] { DEFAULT_SIZE });
+
+    private SampleContext() {
+    }
+
+    static int size() {
+        return SIZE.get()[0];
+    }
+
+    /**
+     * Sets the size for the calling thread and returns the size that was in effect before, which
+     * must be restored using {@link SampleContext#exit(int)} once the sample has been generated.
+     */
+    static int enter(final int size) {
+        final int[] holder = SIZE.get();
+        final int previousSize = holder[0];
+        holder[0] = size;
+        return previousSize;
+    }
+
+    static void exit(final int previousSize) {
+        SIZE.get()[0] = previousSize;
+    }
+}
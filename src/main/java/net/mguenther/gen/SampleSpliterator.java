@@ -0,0 +1,207 @@
+package net.mguenther.gen;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@link java.util.Spliterator} over a practically infinite sequence of samples. It covers the
+ * positions [origin; fence) and operates in one of two modes:
+ *
+ * <ul>
+ *     <li>If it is backed by a {@link RandomSource}, all samples are drawn from that source. Upon
+ *     splitting, the split-off part draws from a source that is derived from that source (cf.
+ *     {@link RandomSource#split()}). The samples do not depend on their position, thus this mode
+ *     does not report {@link Spliterator#ORDERED}.</li>
+ *     <li>If it is backed by a seed, the sample at position i is drawn from its own source of
+ *     randomness, which is derived from the seed and i (cf. {@link Gen#sourceAt(long, long)}). The
+ *     samples are the same for a given seed, regardless of how the spliterator is split, thus this
+ *     mode reports {@link Spliterator#ORDERED}.</li>
+ * </ul>
+ */
+abstract class SampleSpliterator<S extends Spliterator<?>> {
+
+    private static final int CHARACTERISTICS = Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE;
+
+    final RandomSource sourceOfRandomness;
+
+    final long seed;
+
+    long origin;
+
+    final long fence;
+
+    SampleSpliterator(final RandomSource sourceOfRandomness, final long seed, final long origin, final long fence) {
+        this.sourceOfRandomness = sourceOfRandomness;
+        this.seed = seed;
+        this.origin = origin;
+        this.fence = fence;
+    }
+
+    final RandomSource sourceAt(final long index) {
+        return sourceOfRandomness != null ? sourceOfRandomness : Gen.sourceAt(seed, index);
+    }
+
+    abstract S split(RandomSource sourceOfRandomness, long origin, long fence);
+
+    public S trySplit() {
+        final long lo = origin;
+        final long mid = (lo + fence) >>> 1;
+        if (lo >= mid) return null;
+        origin = mid;
+        return split(sourceOfRandomness != null ? sourceOfRandomness.split() : null, lo, mid);
+    }
+
+    public long estimateSize() {
+        return fence - origin;
+    }
+
+    public int characteristics() {
+        return sourceOfRandomness != null ? CHARACTERISTICS : CHARACTERISTICS | Spliterator.ORDERED;
+    }
+
+    static final class OfObjects<T> extends SampleSpliterator<OfObjects<T>> implements Spliterator<T> {
+
+        private final Function<RandomSource, ? extends T> sampleFn;
+
+        OfObjects(final Function<RandomSource, ? extends T> sampleFn, final RandomSource sourceOfRandomness, final long seed, final long origin, final long fence) {
+            super(sourceOfRandomness, seed, origin, fence);
+            this.sampleFn = sampleFn;
+        }
+
+        @Override
+        OfObjects<T> split(final RandomSource sourceOfRandomness, final long origin, final long fence) {
+            return new OfObjects<>(sampleFn, sourceOfRandomness, seed, origin, fence);
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            if (origin >= fence) return false;
+            action.accept(sampleFn.apply(sourceAt(origin++)));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super T> action) {
+            final long hi = fence;
+            for (long i = origin; i < hi; i++) {
+                action.accept(sampleFn.apply(sourceAt(i)));
+            }
+            origin = hi;
+        }
+    }
+
+    static final class OfInts extends SampleSpliterator<OfInts> implements Spliterator.OfInt {
+
+        private final ToIntFunction<RandomSource> sampleFn;
+
+        OfInts(final ToIntFunction<RandomSource> sampleFn, final RandomSource sourceOfRandomness, final long seed, final long origin, final long fence) {
+            super(sourceOfRandomness, seed, origin, fence);
+            this.sampleFn = sampleFn;
+        }
+
+        @Override
+        OfInts split(final RandomSource sourceOfRandomness, final long origin, final long fence) {
+            return new OfInts(sampleFn, sourceOfRandomness, seed, origin, fence);
+        }
+
+        @Override
+        public int characteristics() {
+            return super.characteristics() | Spliterator.NONNULL;
+        }
+
+        @Override
+        public boolean tryAdvance(final IntConsumer action) {
+            if (origin >= fence) return false;
+            action.accept(sampleFn.applyAsInt(sourceAt(origin++)));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final IntConsumer action) {
+            final long hi = fence;
+            for (long i = origin; i < hi; i++) {
+                action.accept(sampleFn.applyAsInt(sourceAt(i)));
+            }
+            origin = hi;
+        }
+    }
+
+    static final class OfLongs extends SampleSpliterator<OfLongs> implements Spliterator.OfLong {
+
+        private final ToLongFunction<RandomSource> sampleFn;
+
+        OfLongs(final ToLongFunction<RandomSource> sampleFn, final RandomSource sourceOfRandomness, final long seed, final long origin, final long fence) {
+            super(sourceOfRandomness, seed, origin, fence);
+            this.sampleFn = sampleFn;
+        }
+
+        @Override
+        OfLongs split(final RandomSource sourceOfRandomness, final long origin, final long fence) {
+            return new OfLongs(sampleFn, sourceOfRandomness, seed, origin, fence);
+        }
+
+        @Override
+        public int characteristics() {
+            return super.characteristics() | Spliterator.NONNULL;
+        }
+
+        @Override
+        public boolean tryAdvance(final LongConsumer action) {
+            if (origin >= fence) return false;
+            action.accept(sampleFn.applyAsLong(sourceAt(origin++)));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final LongConsumer action) {
+            final long hi = fence;
+            for (long i = origin; i < hi; i++) {
+                action.accept(sampleFn.applyAsLong(sourceAt(i)));
+            }
+            origin = hi;
+        }
+    }
+
+    static final class OfDoubles extends SampleSpliterator<OfDoubles> implements Spliterator.OfDouble {
+
+        private final ToDoubleFunction<RandomSource> sampleFn;
+
+        OfDoubles(final ToDoubleFunction<RandomSource> sampleFn, final RandomSource sourceOfRandomness, final long seed, final long origin, final long fence) {
+            super(sourceOfRandomness, seed, origin, fence);
+            this.sampleFn = sampleFn;
+        }
+
+        @Override
+        OfDoubles split(final RandomSource sourceOfRandomness, final long origin, final long fence) {
+            return new OfDoubles(sampleFn, sourceOfRandomness, seed, origin, fence);
+        }
+
+        @Override
+        public int characteristics() {
+            return super.characteristics() | Spliterator.NONNULL;
+        }
+
+        @Override
+        public boolean tryAdvance(final DoubleConsumer action) {
+            if (origin >= fence) return false;
+            action.accept(sampleFn.applyAsDouble(sourceAt(origin++)));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final DoubleConsumer action) {
+            final long hi = fence;
+            for (long i = origin; i < hi; i++) {
+                action.accept(sampleFn.applyAsDouble(sourceAt(i)));
+            }
+            origin = hi;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package net.mguenther.gen;
+
+/**
+ * The outcome of a search for a minimal counterexample (cf. {@link Shrinker}).
+ *
+ * @param <T>
+ *      parameterized type of the counterexample
+ */
+public final class ShrinkResult<T> {
+
+    private final T original;
+
+    private final T shrunk;
+
+    private final Throwable cause;
+
+    private final int steps;
+
+    private final long candidates;
+
+    ShrinkResult(final T original,
+                 final T shrunk,
+                 final Throwable cause,
+                 final int steps,
+                 final long candidates) {
+        this.original = original;
+        this.shrunk = shrunk;
+        this.cause = cause;
+        this.steps = steps;
+        this.candidates = candidates;
+    }
+
+    /**
+     * @return
+     *      the counterexample that the search started from
+     */
+    public T original() {
+        return original;
+    }
+
+    /**
+     * @return
+     *      the minimal counterexample
+     */
+    public T shrunk() {
+        return shrunk;
+    }
+
+    /**
+     * @return
+     *      the exception or {@link AssertionError} that the property raised for the minimal
+     *      counterexample, or {@code null} if the property simply did not hold
+     */
+    public Throwable cause() {
+        return cause;
+    }
+
+    /**
+     * @return
+     *      the number of times the search descended into a smaller counterexample
+     */
+    public int steps() {
+        return steps;
+    }
+
+    /**
+     * @return
+     *      the number of candidates that have been tested against the property
+     */
+    public long candidates() {
+        return candidates;
+    }
+
+    @Override
+    public String toString() {
+        return "ShrinkResult{" +
+                "original=" + original +
+                ", shrunk=" + shrunk +
+                ", steps=" + steps +
+                ", candidates=" + candidates +
+                '}';
+    }
+}
@@ -0,0 +1,242 @@
+package net.mguenther.gen;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A {@code ShrinkTree} is a sample together with all the ways it can be made smaller. The root of
+ * the tree is the sample itself, and its children are smaller candidates, ordered from the most
+ * aggressive to the least aggressive simplification. The children of a candidate are again
+ * simplifications of that candidate. Children are computed lazily and at most once.
+ *
+ * Shrink trees are obtained using {@link Gen#sampleShrinkable(RandomSource)}. Since they are
+ * built along with the sample, they survive {@link Gen#map(Function)}, {@link Gen#flatMap(Function)}
+ * and {@link Gen#suchThat(Predicate)}: every candidate is a sample that the generator could have
+ * produced. Use a {@link Shrinker} to search a shrink tree for a minimal counterexample.
+ *
+ * @param <T>
+ *      parameterized type of the sample
+ */
+public final class ShrinkTree<T> {
+
+    private static final int MAX_NUMBER_OF_FRACTIONAL_CANDIDATES = 16;
+
+    private final T value;
+
+    private final Supplier<List<ShrinkTree<T>>> childrenSupplier;
+
+    private volatile List<ShrinkTree<T>> children;
+
+    private ShrinkTree(final T value, final Supplier<List<ShrinkTree<T>>> childrenSupplier) {
+        this.value = value;
+        this.childrenSupplier = childrenSupplier;
+    }
+
+    /**
+     * @return
+     *      the sample at the root of this tree
+     */
+    public T value() {
+        return value;
+    }
+
+    /**
+     * @return
+     *      the immediate simplifications of the sample at the root of this tree, ordered from the
+     *      most aggressive to the least aggressive simplification
+     */
+    public List<ShrinkTree<T>> children() {
+        List<ShrinkTree<T>> forcedChildren = children;
+        if (forcedChildren == null) {
+            forcedChildren = Collections.unmodifiableList(childrenSupplier.get());
+            children = forcedChildren;
+        }
+        return forcedChildren;
+    }
+
+    /**
+     * Constructs a new tree that applies the given {@code mappingFn} to all samples of this tree.
+     *
+     * @param mappingFn
+     *      mapping function that transforms the samples of this tree
+     * @param <U>
+     *      parameterized type of the transformed samples
+     * @return
+     *      a new tree with the same shape as this tree
+     */
+    public <U> ShrinkTree<U> map(final Function<? super T, ? extends U> mappingFn) {
+        return new ShrinkTree<>(mappingFn.apply(value), () -> {
+            final List<ShrinkTree<U>> mappedChildren = new ArrayList<>();
+            for (ShrinkTree<T> child : children()) {
+                mappedChildren.add(child.map(mappingFn));
+            }
+            return mappedChildren;
+        });
+    }
+
+    /**
+     * Constructs a new tree that discards all candidates which do not satisfy the given predicate,
+     * along with their simplifications. The root of this tree is retained as is.
+     *
+     * @param predicate
+     *      candidates need to satisfy this predicate, otherwise they are discarded
+     * @return
+     *      a new tree that contains only candidates which satisfy the given predicate
+     */
+    public ShrinkTree<T> filter(final Predicate<? super T> predicate) {
+        return new ShrinkTree<>(value, () -> {
+            final List<ShrinkTree<T>> admissibleChildren = new ArrayList<>();
+            for (ShrinkTree<T> child : children()) {
+                if (predicate.test(child.value)) admissibleChildren.add(child.filter(predicate));
+            }
+            return admissibleChildren;
+        });
+    }
+
+    /**
+     * @param value
+     *      the sample
+     * @param <T>
+     *      parameterized type of the sample
+     * @return
+     *      a tree that consists of the given sample only, i.e. the sample cannot be simplified
+     */
+    public static <T> ShrinkTree<T> leaf(final T value) {
+        return new ShrinkTree<>(value, Collections::emptyList);
+    }
+
+    /**
+     * Constructs a tree by repeatedly applying the given {@code shrinkFn}, which yields the immediate
+     * simplifications of a sample.
+     *
+     * @param value
+     *      the sample at the root of the tree
+     * @param shrinkFn
+     *      yields the immediate simplifications of a sample, ordered from the most aggressive to the
+     *      least aggressive simplification; must eventually yield an empty list
+     * @param <T>
+     *      parameterized type of the sample
+     * @return
+     *      a tree that contains the given sample and all of its simplifications
+     */
+    public static <T> ShrinkTree<T> unfold(final T value, final Function<? super T, ? extends List<? extends T>> shrinkFn) {
+        return new ShrinkTree<>(value, () -> {
+            final List<ShrinkTree<T>> unfoldedChildren = new ArrayList<>();
+            for (T candidate : shrinkFn.apply(value)) {
+                unfoldedChildren.add(unfold(candidate, shrinkFn));
+            }
+            return unfoldedChildren;
+        });
+    }
+
+    /**
+     * Shrinks an integral value towards the given target by trying the target first and then
+     * halving the distance to the original value.
+     */
+    static ShrinkTree<Integer> towards(final int value, final int target) {
+        return new ShrinkTree<>(value, () -> {
+            final List<ShrinkTree<Integer>> candidates = new ArrayList<>();
+            // use long arithmetic, since the distance between two ints may exceed the range of an int
+            for (long distance = (long) value - target; distance != 0; distance /= 2) {
+                candidates.add(towards((int) (value - distance), target));
+            }
+            return candidates;
+        });
+    }
+
+    /**
+     * Shrinks a floating-point value towards the given target by trying the target first and then
+     * halving the distance to the original value, for a limited number of times.
+     */
+    static ShrinkTree<Double> towards(final double value, final double target) {
+        return new ShrinkTree<>(value, () -> {
+            final List<ShrinkTree<Double>> candidates = new ArrayList<>();
+            if (Double.isNaN(value) || Double.isInfinite(value)) return candidates;
+            double distance = value - target;
+            for (int i = 0; i < MAX_NUMBER_OF_FRACTIONAL_CANDIDATES; i++, distance /= 2) {
+                final double candidate = value - distance;
+                if (candidate == value) break;
+                candidates.add(towards(candidate, target));
+            }
+            return candidates;
+        });
+    }
+
+    /**
+     * Shrinks a list by removing chunks of elements first - starting with the largest chunk that
+     * retains the given minimum length - and by shrinking individual elements afterwards.
+     */
+    static <T> ShrinkTree<List<T>> list(final List<ShrinkTree<T>> elements, final int minLength) {
+        final List<T> values = new ArrayList<>(elements.size());
+        for (ShrinkTree<T> element : elements) {
+            values.add(element.value);
+        }
+        return new ShrinkTree<>(values, () -> {
+            final int n = elements.size();
+            final List<ShrinkTree<List<T>>> candidates = new ArrayList<>();
+            for (int chunkSize = n - minLength; chunkSize > 0; chunkSize /= 2) {
+                for (int start = 0; start + chunkSize <= n; start += chunkSize) {
+                    final List<ShrinkTree<T>> remainingElements = new ArrayList<>(n - chunkSize);
+                    remainingElements.addAll(elements.subList(0, start));
+                    remainingElements.addAll(elements.subList(start + chunkSize, n));
+                    candidates.add(list(remainingElements, minLength));
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                for (ShrinkTree<T> shrunkElement : elements.get(i).children()) {
+                    final List<ShrinkTree<T>> shrunkElements = new ArrayList<>(elements);
+                    shrunkElements.set(i, shrunkElement);
+                    candidates.add(list(shrunkElements, minLength));
+                }
+            }
+            return candidates;
+        });
+    }
+
+    /**
+     * Combines two trees by shrinking the left-hand side first and the right-hand side afterwards.
+     */
+    static <T, U, R> ShrinkTree<R> zip(final ShrinkTree<T> left,
+                                       final ShrinkTree<U> right,
+                                       final BiFunction<? super T, ? super U, ? extends R> combiner) {
+        return new ShrinkTree<>(combiner.apply(left.value, right.value), () -> {
+            final List<ShrinkTree<R>> candidates = new ArrayList<>();
+            for (ShrinkTree<T> shrunkLeft : left.children()) {
+                candidates.add(zip(shrunkLeft, right, combiner));
+            }
+            for (ShrinkTree<U> shrunkRight : right.children()) {
+                candidates.add(zip(left, shrunkRight, combiner));
+            }
+            return candidates;
+        });
+    }
+
+    /**
+     * Combines the tree of a sample with the tree that has been derived from that sample (cf.
+     * {@link Gen#flatMap(Function)}). Simplifications of the outer sample come first; for each of
+     * them, the inner tree is derived anew using the given {@code continuation}. Simplifications of
+     * the inner sample follow afterwards.
+     */
+    static <T, U> ShrinkTree<U> bind(final ShrinkTree<T> outer,
+                                     final ShrinkTree<U> inner,
+                                     final Function<? super T, ShrinkTree<U>> continuation) {
+        return new ShrinkTree<>(inner.value, () -> {
+            final List<ShrinkTree<U>> candidates = new ArrayList<>();
+            for (ShrinkTree<T> shrunkOuter : outer.children()) {
+                candidates.add(bind(shrunkOuter, continuation.apply(shrunkOuter.value), continuation));
+            }
+            candidates.addAll(inner.children());
+            return candidates;
+        });
+    }
+
+    @Override
+    public String toString() {
+        return "ShrinkTree{value=" + value + "}";
+    }
+}
@@ -0,0 +1,154 @@
+package net.mguenther.gen;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Predicate;
+
+/**
+ * Searches a {@link ShrinkTree} for a minimal counterexample to a property. Starting at the root of
+ * the tree, which is expected to falsify the property, a {@code Shrinker} descends into the first
+ * child that still falsifies the property, until no child does so anymore. A candidate falsifies
+ * the property if the property does not hold for it or if the property throws an exception or an
+ * {@link AssertionError}.
+ *
+ * By default, the candidates of every step are tested in parallel on the common
+ * {@link java.util.concurrent.ForkJoinPool}, so the property must be safe to call from multiple
+ * threads. Since the shrinker always descends into the first falsifying child in the order of the
+ * tree, the minimal counterexample does not depend on the degree of parallelism.
+ *
+ * Instances of this class are immutable. Use {@link Shrinker#defaultShrinker()} as a starting point.
+ */
+public final class Shrinker {
+
+    private static final int DEFAULT_MAX_NUMBER_OF_STEPS = 1_000;
+
+    private static final Shrinker DEFAULT_SHRINKER = new Shrinker(null, true, DEFAULT_MAX_NUMBER_OF_STEPS);
+
+    private final ForkJoinPool pool;
+
+    private final boolean parallel;
+
+    private final int maxNumberOfSteps;
+
+    private Shrinker(final ForkJoinPool pool,
+                     final boolean parallel,
+                     final int maxNumberOfSteps) {
+        this.pool = pool;
+        this.parallel = parallel;
+        this.maxNumberOfSteps = maxNumberOfSteps;
+    }
+
+    /**
+     * @return
+     *      a {@code Shrinker} that tests candidates in parallel on the common
+     *      {@link java.util.concurrent.ForkJoinPool} and takes at most 1000 steps
+     */
+    public static Shrinker defaultShrinker() {
+        return DEFAULT_SHRINKER;
+    }
+
+    /**
+     * @param pool
+     *      the {@link java.util.concurrent.ForkJoinPool} to test candidates on
+     * @return
+     *      a copy of this {@code Shrinker} that tests candidates in parallel on the given pool
+     */
+    public Shrinker withPool(final ForkJoinPool pool) {
+        if (pool == null) throw new IllegalArgumentException("The given pool may not be null.");
+        return new Shrinker(pool, true, maxNumberOfSteps);
+    }
+
+    /**
+     * @return
+     *      a copy of this {@code Shrinker} that tests candidates one after another on the calling thread
+     */
+    public Shrinker sequential() {
+        return new Shrinker(pool, false, maxNumberOfSteps);
+    }
+
+    /**
+     * @param maxNumberOfSteps
+     *      the maximum number of times the shrinker descends into a smaller counterexample
+     * @throws IllegalArgumentException
+     *      in case the given number of steps is negative
+     * @return
+     *      a copy of this {@code Shrinker} that takes at most the given number of steps
+     */
+    public Shrinker withMaxNumberOfSteps(final int maxNumberOfSteps) {
+        if (maxNumberOfSteps < 0) throw new IllegalArgumentException("The requested number of steps cannot be negative.");
+        return new Shrinker(pool, parallel, maxNumberOfSteps);
+    }
+
+    /**
+     * Searches the given tree for a minimal counterexample to the given property.
+     *
+     * @param tree
+     *      the shrink tree of a sample that falsifies the given property
+     * @param property
+     *      the property that the counterexample falsifies
+     * @param <T>
+     *      parameterized type of the sample
+     * @throws IllegalArgumentException
+     *      in case the root of the given tree does not falsify the given property
+     * @return
+     *      the minimal counterexample along with some statistics on the search
+     */
+    public <T> ShrinkResult<T> shrink(final ShrinkTree<T> tree, final Predicate<? super T> property) {
+        final Failure rootFailure = test(property, tree.value());
+        if (rootFailure == null) throw new IllegalArgumentException("The given sample does not falsify the given property.");
+        final ForkJoinPool effectivePool = pool != null ? pool : ForkJoinPool.commonPool();
+        final int batchSize = parallel ? Math.max(1, effectivePool.getParallelism()) : 1;
+        ShrinkTree<T> current = tree;
+        Failure currentFailure = rootFailure;
+        int steps = 0;
+        long candidates = 0;
+        descend:
+        while (steps < maxNumberOfSteps) {
+            final List<ShrinkTree<T>> children = current.children();
+            for (int from = 0; from < children.size(); from += batchSize) {
+                final List<ShrinkTree<T>> batch = children.subList(from, Math.min(children.size(), from + batchSize));
+                final List<ForkJoinTask<Failure>> tasks = new ArrayList<>(batch.size());
+                if (batch.size() > 1) {
+                    for (ShrinkTree<T> candidate : batch) {
+                        tasks.add(effectivePool.submit(() -> test(property, candidate.value())));
+                    }
+                }
+                for (int i = 0; i < batch.size(); i++) {
+                    final Failure failure = tasks.isEmpty() ? test(property, batch.get(i).value()) : tasks.get(i).join();
+                    candidates++;
+                    if (failure != null) {
+                        // the remaining candidates of this batch are not needed anymore
+                        for (int j = i + 1; j < tasks.size(); j++) {
+                            tasks.get(j).cancel(false);
+                        }
+                        current = batch.get(i);
+                        currentFailure = failure;
+                        steps++;
+                        continue descend;
+                    }
+                }
+            }
+            break;
+        }
+        return new ShrinkResult<>(tree.value(), current.value(), currentFailure.cause, steps, candidates);
+    }
+
+    private static <T> Failure test(final Predicate<? super T> property, final T candidate) {
+        try {
+            return property.test(candidate) ? null : new Failure(null);
+        } catch (RuntimeException | AssertionError e) {
+            return new Failure(e);
+        }
+    }
+
+    private static final class Failure {
+
+        private final Throwable cause;
+
+        private Failure(final Throwable cause) {
+            this.cause = cause;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package net.mguenther.gen;
+
+/**
+ * Provides the mixing function of the SplitMix64 algorithm, which is also the basis of
+ * {@link java.util.SplittableRandom}. It is used to initialize the state of other sources of
+ * randomness from a 64-bit seed and to derive independent seeds from a root seed.
+ */
+final class SplitMix64 {
+
+    static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private SplitMix64() {
+    }
+
+    static long mix64(final long z) {
+        long x = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        x = (x ^ (x >>> 27)) * 0x94d049bb133111ebL;
+        return x ^ (x >>> 31);
+    }
+
+    /**
+     * Derives the seed for the sample at position {@code index} from the given root seed. The
+     * derived seed only depends on the root seed and the index, which makes it possible to
+     * generate samples in any order - or in parallel - while retaining reproducibility.
+     */
+    static long seedAt(final long seed, final long index) {
+        return mix64(seed + (index + 1) * GOLDEN_GAMMA);
+    }
+}
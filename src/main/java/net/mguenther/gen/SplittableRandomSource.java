@@ -0,0 +1,57 @@
+package net.mguenther.gen;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * A {@link RandomSource} that is backed by a {@link java.util.SplittableRandom}. Instances of
+ * this class are not thread-safe.
+ */
+final class SplittableRandomSource implements RandomSource {
+
+    private final SplittableRandom sourceOfRandomness;
+
+    private Random view;
+
+    SplittableRandomSource(final SplittableRandom sourceOfRandomness) {
+        this.sourceOfRandomness = sourceOfRandomness;
+    }
+
+    @Override
+    public int nextInt() {
+        return sourceOfRandomness.nextInt();
+    }
+
+    @Override
+    public int nextInt(final int bound) {
+        return sourceOfRandomness.nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+        return sourceOfRandomness.nextLong();
+    }
+
+    @Override
+    public double nextDouble() {
+        return sourceOfRandomness.nextDouble();
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return sourceOfRandomness.nextBoolean();
+    }
+
+    @Override
+    public RandomSource split() {
+        return new SplittableRandomSource(sourceOfRandomness.split());
+    }
+
+    @Override
+    public Random asRandom() {
+        if (view == null) {
+            view = new RandomSourceView(this);
+        }
+        return view;
+    }
+}
@@ -0,0 +1,293 @@
+package net.mguenther.gen;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Generates synthetic tables into off-heap {@link ColumnarBatch}es. A {@code TableGen} is a schema
+ * of named columns, each of which is backed by a generator. Values are written straight into the
+ * off-heap buffers of a batch, so that apart from the strings produced by a {@link Gen}{@code <String>}
+ * column, generating a table does not allocate any objects per row. Reusing a single batch - as
+ * {@link TableGen#forEachBatch(long, int, long, Consumer)} does - generates tables of arbitrary size
+ * with bounded heap usage.
+ *
+ * Row i of a table is generated using its own source of randomness, which is derived from the seed
+ * of the table and i (cf. {@link Gen#sampleAt(long, long)}); its columns draw from that source in
+ * the order of their definition. Thus, any range of rows can be generated independently of the
+ * others, for instance to generate a large table on multiple threads or machines.
+ *
+ * Instances of this class are immutable. Use {@link TableGen#empty()} as a starting point.
+ */
+public final class TableGen {
+
+    private static final TableGen EMPTY = new TableGen(Collections.emptyList());
+
+    // the initial number of bytes per row that is reserved for variable-length strings
+    private static final int ESTIMATED_STRING_LENGTH = 16;
+
+    private final List<Column> columns;
+
+    private TableGen(final List<Column> columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * @return
+     *      a {@code TableGen} without any columns
+     */
+    public static TableGen empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param name
+     *      the name of the column
+     * @param gen
+     *      the generator for the values of the column
+     * @throws IllegalArgumentException
+     *      in case the given name is empty or already taken
+     * @return
+     *      a copy of this {@code TableGen} with an additional {@code int} column
+     */
+    public TableGen withIntColumn(final String name, final IntGen gen) {
+        return with(new Column(name, ColumnarBatch.Kind.INT, Integer.BYTES) {
+            @Override
+            void write(final RandomSource r, final ColumnarBatch.ColumnData data) {
+                data.values.putInt(gen.nextInt(r));
+            }
+        });
+    }
+
+    /**
+     * @param name
+     *      the name of the column
+     * @param gen
+     *      the generator for the values of the column
+     * @throws IllegalArgumentException
+     *      in case the given name is empty or already taken
+     * @return
+     *      a copy of this {@code TableGen} with an additional {@code long} column
+     */
+    public TableGen withLongColumn(final String name, final LongGen gen) {
+        return with(new Column(name, ColumnarBatch.Kind.LONG, Long.BYTES) {
+            @Override
+            void write(final RandomSource r, final ColumnarBatch.ColumnData data) {
+                data.values.putLong(gen.nextLong(r));
+            }
+        });
+    }
+
+    /**
+     * @param name
+     *      the name of the column
+     * @param gen
+     *      the generator for the values of the column
+     * @throws IllegalArgumentException
+     *      in case the given name is empty or already taken
+     * @return
+     *      a copy of this {@code TableGen} with an additional {@code double} column
+     */
+    public TableGen withDoubleColumn(final String name, final DoubleGen gen) {
+        return with(new Column(name, ColumnarBatch.Kind.DOUBLE, Double.BYTES) {
+            @Override
+            void write(final RandomSource r, final ColumnarBatch.ColumnData data) {
+                data.values.putDouble(gen.nextDouble(r));
+            }
+        });
+    }
+
+    /**
+     * Adds a column of strings of the given length that comprise characters from the given ASCII
+     * alphabet. The characters are written straight into the batch, without constructing a
+     * {@link java.lang.String}. For the same source of randomness, the values are the same as those
+     * of {@link Gen#fromAlphabetString(int, String, RandomSource)}.
+     *
+     * @param name
+     *      the name of the column
+     * @param length
+     *      the length of the strings
+     * @param alphabet
+     *      the alphabet used to generate strings; must consist of ASCII characters only
+     * @throws IllegalArgumentException
+     *      in case the given name is empty or already taken, the given length is negative, or the
+     *      given alphabet is empty or contains non-ASCII characters
+     * @return
+     *      a copy of this {@code TableGen} with an additional fixed-length string column
+     */
+    public TableGen withFixedStringColumn(final String name, final int length, final String alphabet) {
+        if (length < 0) throw new IllegalArgumentException("The requested length of generated strings cannot be negative.");
+        if (alphabet == null || alphabet.isEmpty()) throw new IllegalArgumentException("The given alphabet may not be null or empty.");
+        final byte[] characters = new byte[alphabet.length()];
+        for (int i = 0; i < characters.length; i++) {
+            if (alphabet.charAt(i) > 0x7f) throw new IllegalArgumentException("The given alphabet must consist of ASCII characters only.");
+            characters[i] = (byte) alphabet.charAt(i);
+        }
+        return with(new Column(name, ColumnarBatch.Kind.FIXED_STRING, length) {
+            @Override
+            void write(final RandomSource r, final ColumnarBatch.ColumnData data) {
+                final ByteBuffer values = data.values;
+                // each character is drawn exactly like in Gen#fromAlphabetString
+                for (int i = 0; i < length; i++) {
+                    values.put(characters[IntGen.nonNegativeInt(r) % characters.length]);
+                }
+            }
+        });
+    }
+
+    /**
+     * Adds a column of strings of variable length, which are stored using their UTF-8 representation.
+     *
+     * @param name
+     *      the name of the column
+     * @param gen
+     *      the generator for the values of the column
+     * @throws IllegalArgumentException
+     *      in case the given name is empty or already taken
+     * @return
+     *      a copy of this {@code TableGen} with an additional variable-length string column
+     */
+    public TableGen withStringColumn(final String name, final Gen<String> gen) {
+        return with(new Column(name, ColumnarBatch.Kind.STRING, -1) {
+            @Override
+            void write(final RandomSource r, final ColumnarBatch.ColumnData data) {
+                final String value = gen.sample(r);
+                data.offsets.putInt(data.values.position());
+                // strings that consist of ASCII characters only are encoded without intermediate copies
+                final int length = value.length();
+                data.ensureRemaining(length);
+                final ByteBuffer values = data.values;
+                final int start = values.position();
+                for (int i = 0; i < length; i++) {
+                    final char c = value.charAt(i);
+                    if (c > 0x7f) {
+                        values.position(start);
+                        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                        data.ensureRemaining(bytes.length);
+                        data.values.put(bytes);
+                        return;
+                    }
+                    values.put((byte) c);
+                }
+            }
+        });
+    }
+
+    private TableGen with(final Column column) {
+        if (column.name == null || column.name.isEmpty()) throw new IllegalArgumentException("The given name may not be empty.");
+        for (Column existingColumn : columns) {
+            if (existingColumn.name.equals(column.name)) throw new IllegalArgumentException("There is already a column named " + column.name + ".");
+        }
+        final List<Column> extendedColumns = new ArrayList<>(columns);
+        extendedColumns.add(column);
+        return new TableGen(Collections.unmodifiableList(extendedColumns));
+    }
+
+    /**
+     * Allocates an empty batch that fits the columns of this {@code TableGen}.
+     *
+     * @param capacity
+     *      the maximum number of rows of the batch
+     * @throws IllegalArgumentException
+     *      in case the given capacity is negative
+     * @return
+     *      a new, empty {@link ColumnarBatch}
+     */
+    public ColumnarBatch allocate(final int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("The requested capacity cannot be negative.");
+        final ColumnarBatch.ColumnData[] data = new ColumnarBatch.ColumnData[columns.size()];
+        for (int c = 0; c < data.length; c++) {
+            final Column column = columns.get(c);
+            final long valuesCapacity = (long) capacity * (column.width >= 0 ? column.width : ESTIMATED_STRING_LENGTH);
+            if (valuesCapacity > Integer.MAX_VALUE) throw new IllegalArgumentException("The values of column " + column.name + " exceed the capacity of a single buffer.");
+            data[c] = new ColumnarBatch.ColumnData(column.name, column.kind, column.width, capacity, (int) valuesCapacity);
+        }
+        return new ColumnarBatch(data, capacity);
+    }
+
+    /**
+     * Fills the given batch with the rows {@code firstRow} to {@code firstRow + numberOfRows - 1} of
+     * the table that is determined by the given seed, replacing the previous contents of the batch.
+     *
+     * @param batch
+     *      a batch that has been allocated by this {@code TableGen}
+     * @param seed
+     *      the seed from which the sources of randomness for the individual rows are derived
+     * @param firstRow
+     *      the index of the first row to generate
+     * @param numberOfRows
+     *      the number of rows to generate
+     * @throws IllegalArgumentException
+     *      in case the given batch does not fit the columns of this {@code TableGen}, or the given
+     *      number of rows is negative or exceeds the capacity of the batch
+     * @return
+     *      the given batch
+     */
+    public ColumnarBatch fill(final ColumnarBatch batch, final long seed, final long firstRow, final int numberOfRows) {
+        if (numberOfRows < 0) throw new IllegalArgumentException("The requested number of rows cannot be negative.");
+        if (numberOfRows > batch.capacity()) throw new IllegalArgumentException("The requested number of rows exceeds the capacity of the given batch.");
+        final ColumnarBatch.ColumnData[] data = batch.columns();
+        if (data.length != columns.size()) throw new IllegalArgumentException("The given batch does not fit the columns of this table.");
+        for (int c = 0; c < data.length; c++) {
+            if (!data[c].name.equals(columns.get(c).name) || data[c].kind != columns.get(c).kind) throw new IllegalArgumentException("The given batch does not fit the columns of this table.");
+        }
+        batch.reset(firstRow);
+        for (int row = 0; row < numberOfRows; row++) {
+            final RandomSource r = Gen.sourceAt(seed, firstRow + row);
+            for (int c = 0; c < data.length; c++) {
+                columns.get(c).write(r, data[c]);
+            }
+        }
+        for (ColumnarBatch.ColumnData column : data) {
+            if (column.offsets != null) column.offsets.putInt(column.values.position());
+        }
+        batch.completed(numberOfRows);
+        return batch;
+    }
+
+    /**
+     * Generates the given number of rows of the table that is determined by the given seed in batches
+     * of the given size. A single batch is allocated up front and refilled for every call to the
+     * given action, so the action must not retain the batch.
+     *
+     * @param numberOfRows
+     *      the total number of rows to generate
+     * @param batchSize
+     *      the maximum number of rows per batch
+     * @param seed
+     *      the seed from which the sources of randomness for the individual rows are derived
+     * @param action
+     *      consumes the batches in the order of their rows
+     * @throws IllegalArgumentException
+     *      in case the given number of rows is negative or the given batch size is not positive
+     */
+    public void forEachBatch(final long numberOfRows, final int batchSize, final long seed, final Consumer<? super ColumnarBatch> action) {
+        if (numberOfRows < 0) throw new IllegalArgumentException("The requested number of rows cannot be negative.");
+        if (batchSize <= 0) throw new IllegalArgumentException("The requested batch size must be positive.");
+        if (numberOfRows == 0) return;
+        final ColumnarBatch batch = allocate((int) Math.min(batchSize, numberOfRows));
+        for (long firstRow = 0; firstRow < numberOfRows; firstRow += batch.capacity()) {
+            action.accept(fill(batch, seed, firstRow, (int) Math.min(batch.capacity(), numberOfRows - firstRow)));
+        }
+    }
+
+    private abstract static class Column {
+
+        private final String name;
+
+        private final ColumnarBatch.Kind kind;
+
+        private final int width;
+
+        private Column(final String name, final ColumnarBatch.Kind kind, final int width) {
+            this.name = name;
+            this.kind = kind;
+            this.width = width;
+        }
+
+        abstract void write(RandomSource r, ColumnarBatch.ColumnData data);
+    }
+}
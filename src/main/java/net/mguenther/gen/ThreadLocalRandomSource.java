@@ -0,0 +1,52 @@
+package net.mguenther.gen;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A {@link RandomSource} that draws from the {@link java.util.concurrent.ThreadLocalRandom} of
+ * the calling thread. A single instance can be shared by any number of threads without
+ * contention, but it cannot be seeded.
+ */
+final class ThreadLocalRandomSource implements RandomSource {
+
+    static final ThreadLocalRandomSource INSTANCE = new ThreadLocalRandomSource();
+
+    private ThreadLocalRandomSource() {
+    }
+
+    @Override
+    public int nextInt() {
+        return ThreadLocalRandom.current().nextInt();
+    }
+
+    @Override
+    public int nextInt(final int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    @Override
+    public double nextDouble() {
+        return ThreadLocalRandom.current().nextDouble();
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return ThreadLocalRandom.current().nextBoolean();
+    }
+
+    @Override
+    public RandomSource split() {
+        return this;
+    }
+
+    @Override
+    public Random asRandom() {
+        return ThreadLocalRandom.current();
+    }
+}
@@ -0,0 +1,52 @@
+package net.mguenther.gen;
+
+import java.util.Random;
+
+/**
+ * A {@link RandomSource} that implements the xoshiro256** algorithm by David Blackman and
+ * Sebastiano Vigna. The 256-bit state is initialized from a 64-bit seed using SplitMix64, as
+ * recommended by the authors. Instances of this class are not thread-safe.
+ */
+final class Xoshiro256StarStarRandomSource implements RandomSource {
+
+    private long s0;
+    private long s1;
+    private long s2;
+    private long s3;
+
+    private Random view;
+
+    Xoshiro256StarStarRandomSource(final long seed) {
+        long x = seed;
+        s0 = SplitMix64.mix64(x += SplitMix64.GOLDEN_GAMMA);
+        s1 = SplitMix64.mix64(x += SplitMix64.GOLDEN_GAMMA);
+        s2 = SplitMix64.mix64(x += SplitMix64.GOLDEN_GAMMA);
+        s3 = SplitMix64.mix64(x + SplitMix64.GOLDEN_GAMMA);
+    }
+
+    @Override
+    public long nextLong() {
+        final long result = Long.rotateLeft(s1 * 5, 7) * 9;
+        final long t = s1 << 17;
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+        return result;
+    }
+
+    @Override
+    public RandomSource split() {
+        return new Xoshiro256StarStarRandomSource(nextLong());
+    }
+
+    @Override
+    public Random asRandom() {
+        if (view == null) {
+            view = new RandomSourceView(this);
+        }
+        return view;
+    }
+}
@@ -0,0 +1,21 @@
+package examples;
+
+import net.mguenther.gen.Gen;
+
+public class UserGenZ {
+
+    private static Gen<String> hostGen() {
+        return Gen.oneOf("mguenther", "google", "spiegel")
+                .zip(Gen.oneOf("com", "de", "at", "ch", "ca", "uk", "gov", "edu"), (domainName, topLevelDomain) -> domainName + "." + topLevelDomain);
+    }
+
+    public static Gen<User> userGen() {
+        final Gen<String> nameGen = Gen.alphaNumString(8);
+        final Gen<String[]> addressGen = Gen.oneOf("-", ".", "_")
+                .zip(hostGen(), (delimiter, host) -> new String[] { delimiter, host });
+        return nameGen
+                .zip(nameGen, (firstName, lastName) -> new String[] { firstName, lastName })
+                .zip(addressGen, (names, address) -> new String[] { names[0] + " " + names[1], names[0] + address[0] + names[1] + "@" + address[1] })
+                .zip(Gen.alphaNumString(14), (identity, hashedPassword) -> new User(identity[0], identity[1], hashedPassword));
+    }
+}
@@ -57,6 +57,12 @@ class AsciiStringTest {
         }
     }
 
+    @Test
+    @DisplayName("asciiString should produce the same strings for a given seed across releases")
+    void asciiStringShouldProduceTheSameStringsForGivenSeedAcrossReleases() {
+        assertThat(Gen.asciiString(32, new Random(1L)).sample()).isEqualTo("QDC]FP[TK`A!5vSrM{E8d!vP(n8PH]W:");
+    }
+
     @Test
     @DisplayName("asciiString should throw IllegalArgumentException if the given length is negative")
     void asciiStringShouldThrowIllegalArgumentExceptionIfTheGivenLengthIsNegative() {
@@ -0,0 +1,120 @@
+package net.mguenther.gen;
+
+import examples.User;
+import examples.UserGen;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BufferedGenTest {
+
+    private static final int MAX_NUMBER_OF_PROBES = 10_000;
+
+    @Test
+    @DisplayName("a buffered generator should produce the same samples as the underlying generator for a single consumer")
+    void bufferedGeneratorShouldProduceTheSameSamplesAsTheUnderlyingGenerator() {
+        final Gen<Integer> unbufferedGen = Gen.choose(0, 1_000, RandomSource.splittable(1L));
+        try (BufferedGen<Integer> bufferedGen = Gen.choose(0, 1_000, RandomSource.splittable(1L)).buffered(64)) {
+            for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+                assertThat(bufferedGen.sample()).isEqualTo(unbufferedGen.sample());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("a buffered generator should support combinators")
+    void bufferedGeneratorShouldSupportCombinators() {
+        try (BufferedGen<User> bufferedGen = UserGen.userGen().buffered(16, BufferedGen.WaitStrategy.YIELD)) {
+            final Gen<String> usernameGen = bufferedGen.map(User::getUsername);
+            for (int i = 0; i < 1_000; i++) {
+                assertThat(usernameGen.sample()).isNotEmpty();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("a buffered generator should hand out every sample exactly once to concurrent consumers")
+    void bufferedGeneratorShouldHandOutEverySampleExactlyOnce() throws InterruptedException {
+        final AtomicInteger counter = new AtomicInteger(0);
+        final int numberOfConsumers = 4;
+        final List<Integer> samples = Collections.synchronizedList(new ArrayList<>());
+        try (BufferedGen<Integer> bufferedGen = Gen.lift(counter::getAndIncrement).buffered(8)) {
+            final Thread[] consumers = new Thread[numberOfConsumers];
+            for (int t = 0; t < numberOfConsumers; t++) {
+                consumers[t] = new Thread(() -> {
+                    for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+                        samples.add(bufferedGen.sample());
+                    }
+                });
+                consumers[t].start();
+            }
+            for (Thread consumer : consumers) {
+                consumer.join();
+            }
+        }
+        final Set<Integer> distinctSamples = new HashSet<>(samples);
+        assertThat(samples).hasSize(numberOfConsumers * MAX_NUMBER_OF_PROBES);
+        assertThat(distinctSamples).hasSize(numberOfConsumers * MAX_NUMBER_OF_PROBES);
+    }
+
+    @Test
+    @DisplayName("a buffered generator should be able to buffer null values")
+    void bufferedGeneratorShouldBufferNullValues() {
+        try (BufferedGen<String> bufferedGen = Gen.<String>constant(null).buffered(4)) {
+            assertThat(bufferedGen.sample()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("a buffered generator should propagate the failure of the underlying generator")
+    void bufferedGeneratorShouldPropagateFailures() {
+        try (BufferedGen<String> bufferedGen = Gen.constant("A").suchThat(value -> !value.equals("A"), 10).buffered(4)) {
+            assertThatThrownBy(bufferedGen::sample)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasCauseInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("a closed buffered generator should throw IllegalStateException upon sampling")
+    void closedBufferedGeneratorShouldThrowIllegalStateException() {
+        final BufferedGen<Integer> bufferedGen = Gen.choose(0, 10).buffered(4);
+        bufferedGen.close();
+        assertThatThrownBy(bufferedGen::sample).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("the background thread of a buffered generator should stop once the generator has become unreachable")
+    void backgroundThreadShouldStopOnceTheBufferedGeneratorHasBecomeUnreachable() throws InterruptedException {
+        final AtomicReference<Thread> producer = new AtomicReference<>();
+        Gen<Integer> gen = Gen.choose(0, 10).buffered(4, BufferedGen.WaitStrategy.PARK, runnable -> {
+            final Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            producer.set(thread);
+            return thread;
+        }).map(n -> n + 1);
+        assertThat(gen.sample()).isBetween(1, 10);
+        gen = null;
+        for (int i = 0; i < 100 && producer.get().isAlive(); i++) {
+            System.gc();
+            producer.get().join(100L);
+        }
+        assertThat(producer.get().isAlive()).isFalse();
+    }
+
+    @Test
+    @DisplayName("buffered should throw IllegalArgumentException if the given capacity is not positive")
+    void bufferedShouldThrowIllegalArgumentExceptionIfTheGivenCapacityIsNotPositive() {
+        assertThatThrownBy(() -> Gen.choose(0, 10).buffered(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
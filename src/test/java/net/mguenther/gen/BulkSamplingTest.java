@@ -0,0 +1,75 @@
+package net.mguenther.gen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkSamplingTest {
+
+    private static final int NUMBER_OF_SAMPLES = 10_000;
+
+    @Test
+    @DisplayName("sampleN should produce the same samples as consecutive calls to sample using the same seed")
+    void sampleNShouldProduceTheSameSamplesAsConsecutiveCallsToSample() {
+        final List<Integer> samples = Gen.choose(0, 100, new Random(1L)).sampleN(NUMBER_OF_SAMPLES);
+        final Gen<Integer> gen = Gen.choose(0, 100, new Random(1L));
+        assertThat(samples).hasSize(NUMBER_OF_SAMPLES);
+        for (Integer sample : samples) {
+            assertThat(sample).isEqualTo(gen.sample());
+        }
+    }
+
+    @Test
+    @DisplayName("sampleN should throw IllegalArgumentException if the requested number of samples is negative")
+    void sampleNShouldThrowIllegalArgumentExceptionIfTheRequestedNumberOfSamplesIsNegative() {
+        assertThatThrownBy(() -> Gen.constant(1).sampleN(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("sampleInto should fill the whole array with samples")
+    void sampleIntoShouldFillTheWholeArrayWithSamples() {
+        final String[] values = Gen.alphaNumString(8).sampleInto(new String[NUMBER_OF_SAMPLES]);
+        assertThat(values).doesNotContainNull().allSatisfy(value -> assertThat(value).hasSize(8));
+    }
+
+    @Test
+    @DisplayName("fill should produce the same ints as consecutive calls to nextInt using the same seed")
+    void fillShouldProduceTheSameIntsAsConsecutiveCallsToNextInt() {
+        final int[] values = IntGen.choose(0, 100, RandomSource.xoshiro256(1L)).fill(new int[NUMBER_OF_SAMPLES]);
+        final IntGen gen = IntGen.choose(0, 100, RandomSource.xoshiro256(1L));
+        for (int value : values) {
+            assertThat(value).isEqualTo(gen.nextInt());
+        }
+    }
+
+    @Test
+    @DisplayName("fill should fill the remaining elements of a buffer")
+    void fillShouldFillTheRemainingElementsOfBuffer() {
+        final LongBuffer buffer = ByteBuffer.allocateDirect(8 * NUMBER_OF_SAMPLES).asLongBuffer();
+        buffer.put(-1L);
+        LongGen.choose(0L, 100L).fill(buffer);
+        assertThat(buffer.hasRemaining()).isFalse();
+        assertThat(buffer.get(0)).isEqualTo(-1L);
+        for (int i = 1; i < NUMBER_OF_SAMPLES; i++) {
+            assertThat(buffer.get(i)).isBetween(0L, 99L);
+        }
+    }
+
+    @Test
+    @DisplayName("nextDoubles should produce the requested number of samples")
+    void nextDoublesShouldProduceTheRequestedNumberOfSamples() {
+        final double[] values = DoubleGen.normalized().nextDoubles(NUMBER_OF_SAMPLES);
+        assertThat(values).hasSize(NUMBER_OF_SAMPLES);
+        for (double value : values) {
+            assertThat(value).satisfies(Conditions.isWithinBoundary(0.0, 1.0));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package net.mguenther.gen;
+
+import examples.User;
+import examples.UserGen;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CorpusTest {
+
+    private static final int MAX_NUMBER_OF_PROBES = 10_000;
+
+    private static final Codec<User> USER_CODEC = new Codec<User>() {
+
+        @Override
+        public void encode(final User value, final DataOutput out) throws IOException {
+            Codec.strings().encode(value.getUsername(), out);
+            Codec.strings().encode(value.getEmail(), out);
+            Codec.strings().encode(value.getHashedPassword(), out);
+        }
+
+        @Override
+        public User decode(final ByteBuffer in) {
+            return new User(Codec.strings().decode(in), Codec.strings().decode(in), Codec.strings().decode(in));
+        }
+    };
+
+    @Test
+    @DisplayName("a corpus should contain the samples of the generator at the respective positions")
+    void corpusShouldContainTheSamplesOfTheGeneratorAtTheRespectivePositions(@TempDir final Path directory) throws IOException {
+        final Gen<User> gen = UserGen.userGen();
+        final Corpus<User> corpus = Corpus.open(directory, "users", gen, USER_CODEC, 1L, MAX_NUMBER_OF_PROBES);
+        assertThat(corpus.isCached()).isFalse();
+        assertThat(corpus).hasSize(MAX_NUMBER_OF_PROBES);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            final User expected = gen.sampleAt(1L, i);
+            assertThat(corpus.get(i)).isEqualToComparingFieldByField(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("reopening a corpus should read the samples from the existing file")
+    void reopeningCorpusShouldReadTheSamplesFromTheExistingFile(@TempDir final Path directory) throws IOException {
+        final Gen<String> gen = Gen.alphaNumString(8);
+        final List<String> generated = new ArrayList<>(Corpus.open(directory, "strings", gen, Codec.strings(), 1L, MAX_NUMBER_OF_PROBES));
+        final Corpus<String> reopened = Corpus.open(directory, "strings", gen, Codec.strings(), 1L, MAX_NUMBER_OF_PROBES);
+        assertThat(reopened.isCached()).isTrue();
+        assertThat(reopened).containsExactlyElementsOf(generated);
+    }
+
+    @Test
+    @DisplayName("a corpus should be regenerated if the definition of the generator has changed")
+    void corpusShouldBeRegeneratedIfTheDefinitionOfTheGeneratorHasChanged(@TempDir final Path directory) throws IOException {
+        Corpus.open(directory, "numbers", Gen.choose(0, 100), Codec.integers(), 1L, MAX_NUMBER_OF_PROBES);
+        final Corpus<Integer> corpus = Corpus.open(directory, "numbers", Gen.choose(200, 300), Codec.integers(), 1L, MAX_NUMBER_OF_PROBES);
+        assertThat(corpus.isCached()).isFalse();
+        assertThat(corpus).allSatisfy(n -> assertThat(n).isBetween(200, 300));
+    }
+
+    @Test
+    @DisplayName("a corpus should be regenerated if its size or seed differs from the existing file")
+    void corpusShouldBeRegeneratedIfItsSizeOrSeedDiffers(@TempDir final Path directory) throws IOException {
+        final Gen<Long> gen = Gen.nonNegativeInteger().map(n -> (long) n);
+        final Corpus<Long> corpus = Corpus.open(directory, "longs", gen, Codec.longs(), 1L, 10);
+        assertThat(Corpus.open(directory, "longs", gen, Codec.longs(), 1L, 20).isCached()).isFalse();
+        final Corpus<Long> otherSeed = Corpus.open(directory, "longs", gen, Codec.longs(), 2L, 10);
+        assertThat(otherSeed.isCached()).isFalse();
+        assertThat(otherSeed.path()).isNotEqualTo(corpus.path());
+        assertThat(otherSeed).isNotEqualTo(corpus);
+    }
+
+    @Test
+    @DisplayName("a corpus should be regenerated if the existing file is corrupt")
+    void corpusShouldBeRegeneratedIfTheExistingFileIsCorrupt(@TempDir final Path directory) throws IOException {
+        final Gen<Double> gen = Gen.normalizedDouble();
+        final Corpus<Double> corpus = Corpus.open(directory, "doubles", gen, Codec.doubles(), 1L, MAX_NUMBER_OF_PROBES);
+        final List<Double> generated = new ArrayList<>(corpus);
+        final byte[] bytes = Files.readAllBytes(corpus.path());
+        Files.write(corpus.path(), Arrays.copyOf(bytes, bytes.length / 2));
+        final Corpus<Double> reopened = Corpus.open(directory, "doubles", gen, Codec.doubles(), 1L, MAX_NUMBER_OF_PROBES);
+        assertThat(reopened.isCached()).isFalse();
+        assertThat(reopened).containsExactlyElementsOf(generated);
+    }
+
+    @Test
+    @DisplayName("an empty corpus should contain no samples")
+    void emptyCorpusShouldContainNoSamples(@TempDir final Path directory) throws IOException {
+        assertThat(Corpus.open(directory, "empty", Gen.alphaNumString(8), Codec.strings(), 1L, 0)).isEmpty();
+        assertThat(Corpus.open(directory, "empty", Gen.alphaNumString(8), Codec.strings(), 1L, 0).isCached()).isTrue();
+    }
+
+    @Test
+    @DisplayName("a corpus should throw IndexOutOfBoundsException if there is no sample at the given position")
+    void corpusShouldThrowIndexOutOfBoundsExceptionIfThereIsNoSampleAtTheGivenPosition(@TempDir final Path directory) throws IOException {
+        final Corpus<Integer> corpus = Corpus.open(directory, "numbers", Gen.choose(0, 100), Codec.integers(), 1L, 10);
+        assertThatThrownBy(() -> corpus.get(10)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> corpus.get(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("opening a corpus should throw IllegalArgumentException if the requested size is negative")
+    void openingCorpusShouldThrowIllegalArgumentExceptionIfTheRequestedSizeIsNegative(@TempDir final Path directory) {
+        assertThatThrownBy(() -> Corpus.open(directory, "numbers", Gen.choose(0, 100), Codec.integers(), 1L, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
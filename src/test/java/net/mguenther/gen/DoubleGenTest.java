@@ -0,0 +1,48 @@
+package net.mguenther.gen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DoubleGenTest {
+
+    private static final int MAX_NUMBER_OF_PROBES = 10_000;
+
+    @Test
+    @DisplayName("choose should only generate doubles from the given interval")
+    void chooseShouldOnlyGenerateDoublesFromGivenInterval() {
+        final DoubleGen gen = DoubleGen.choose(-1.0, 1.0);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(gen.nextDouble()).satisfies(Conditions.isWithinBoundary(-1.0, 1.0));
+        }
+    }
+
+    @Test
+    @DisplayName("normalized should generate the same doubles as the boxed normalizedDouble generator using the same seed")
+    void normalizedShouldGenerateTheSameDoublesAsTheBoxedGeneratorUsingTheSameSeed() {
+        final DoubleGen doubleGen = DoubleGen.normalized(RandomSource.of(new Random(1L)));
+        final Gen<Double> gen = Gen.normalizedDouble(new Random(1L));
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(doubleGen.nextDouble()).isEqualTo(gen.sample());
+        }
+    }
+
+    @Test
+    @DisplayName("filter should discard samples that do not satisfy the predicate")
+    void filterShouldDiscardSamplesThatDoNotSatisfyThePredicate() {
+        final DoubleGen gen = DoubleGen.normalized().filter(d -> d >= 0.5);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(gen.nextDouble()).satisfies(Conditions.isWithinBoundary(0.5, 1.0));
+        }
+    }
+
+    @Test
+    @DisplayName("mapToObj should bridge a primitive generator to a generator")
+    void mapToObjShouldBridgePrimitiveGeneratorToGenerator() {
+        final Gen<String> gen = DoubleGen.choose(0.0, 1.0).mapToObj(d -> d < 1.0 ? "valid" : "invalid");
+        assertThat(gen.sample()).isEqualTo("valid");
+    }
+}
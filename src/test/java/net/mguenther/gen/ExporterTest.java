@@ -0,0 +1,131 @@
+package net.mguenther.gen;
+
+import examples.User;
+import examples.UserGen;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExporterTest {
+
+    private static final int MAX_NUMBER_OF_PROBES = 20_000;
+
+    private static byte[] export(final Exporter<?> exporter, final long numberOfSamples) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final long written = exporter.writeTo(Channels.newChannel(out), numberOfSamples, 1L);
+        assertThat(written).isEqualTo(out.size());
+        return out.toByteArray();
+    }
+
+    @Test
+    @DisplayName("an export should not depend on the degree of parallelism or the size of the buffers")
+    void exportShouldNotDependOnTheDegreeOfParallelismOrTheSizeOfTheBuffers() throws IOException {
+        final Exporter<String> exporter = Exporter.of(Gen.alphaNumString(8), Encoder.binary(Codec.strings()));
+        final byte[] sequentialExport = export(exporter.sequential(), MAX_NUMBER_OF_PROBES);
+        final byte[] parallelExport = export(exporter.withParallelism(4).withBufferSize(1_024), MAX_NUMBER_OF_PROBES);
+        assertThat(parallelExport).isEqualTo(sequentialExport);
+    }
+
+    @Test
+    @DisplayName("a binary export should contain the samples of the generator at the respective positions")
+    void binaryExportShouldContainTheSamplesOfTheGeneratorAtTheRespectivePositions() throws IOException {
+        final Gen<Long> gen = LongGen.any().boxed();
+        final ByteBuffer export = ByteBuffer.wrap(export(Exporter.of(gen, Encoder.binary(Codec.longs())).withParallelism(3), MAX_NUMBER_OF_PROBES));
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(Codec.longs().decode(export)).isEqualTo(gen.sampleAt(1L, i));
+        }
+        assertThat(export.hasRemaining()).isFalse();
+    }
+
+    @Test
+    @DisplayName("a CSV export should quote columns that contain separators, quotes or line breaks")
+    void csvExportShouldQuoteColumnsThatContainSeparatorsQuotesOrLineBreaks() throws IOException {
+        final Gen<String> gen = Gen.oneOf("plain", "a,b", "say \"hi\"", "two\nlines");
+        final Exporter<String> exporter = Exporter.of(gen, Encoder.csv(Function.identity(), String::length))
+                .withHeader("value,length\n");
+        final List<String> lines = Arrays.asList(new String(export(exporter, 100), StandardCharsets.UTF_8).split("\n(?=[^\"]*(\"[^\"]*\"[^\"]*)*$)"));
+        assertThat(lines.get(0)).isEqualTo("value,length");
+        assertThat(lines.subList(1, lines.size())).hasSize(100).allSatisfy(line -> assertThat(line).isIn(
+                "plain,5", "\"a,b\",3", "\"say \"\"hi\"\"\",8", "\"two\nlines\",9"));
+    }
+
+    @Test
+    @DisplayName("a JSON Lines export should write one object per sample using the types of the fields")
+    void jsonLinesExportShouldWriteOneObjectPerSampleUsingTheTypesOfTheFields() throws IOException {
+        final Map<String, Function<User, Object>> fields = new LinkedHashMap<>();
+        fields.put("username", User::getUsername);
+        fields.put("length", user -> user.getUsername().length());
+        fields.put("admin", user -> false);
+        fields.put("comment", user -> "line\n\"quoted\"");
+        fields.put("manager", user -> null);
+        final Gen<User> gen = UserGen.userGen();
+        final String[] lines = new String(export(Exporter.of(gen, Encoder.jsonLines(fields)), 10), StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(10);
+        for (int i = 0; i < lines.length; i++) {
+            final String username = gen.sampleAt(1L, i).getUsername();
+            assertThat(lines[i]).isEqualTo("{\"username\":\"" + username + "\",\"length\":" + username.length()
+                    + ",\"admin\":false,\"comment\":\"line\\n\\\"quoted\\\"\",\"manager\":null}");
+        }
+    }
+
+    @Test
+    @DisplayName("an export into a file should write all records and report the size of the file")
+    void exportIntoFileShouldWriteAllRecordsAndReportTheSizeOfTheFile(@TempDir final Path directory) throws IOException {
+        final Path file = directory.resolve("numbers.csv");
+        final long written = Exporter.of(Gen.choose(0, 100), Encoder.<Integer>csv(Function.identity()))
+                .withParallelism(2)
+                .writeTo(file, MAX_NUMBER_OF_PROBES, 1L);
+        assertThat(Files.size(file)).isEqualTo(written);
+        assertThat(Files.readAllLines(file)).hasSize(MAX_NUMBER_OF_PROBES);
+    }
+
+    @Test
+    @DisplayName("an export should rethrow the exception of a failing encoder")
+    void exportShouldRethrowTheExceptionOfAFailingEncoder() {
+        final Encoder<Integer> encoder = (value, out) -> {
+            if (value == 42) throw new IllegalStateException("boom");
+            out.writeInt(value);
+        };
+        final Exporter<Integer> exporter = Exporter.of(Gen.choose(0, 100), encoder).withParallelism(4).withBufferSize(1_024);
+        assertThatThrownBy(() -> export(exporter, MAX_NUMBER_OF_PROBES))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("boom");
+    }
+
+    @Test
+    @DisplayName("an export should rethrow an InterruptedIOException of a failing encoder rather than treating it as a cancellation")
+    void exportShouldRethrowAnInterruptedIOExceptionOfAFailingEncoder() {
+        final Encoder<Integer> encoder = (value, out) -> {
+            if (value == 42) throw new InterruptedIOException("timed out");
+            out.writeInt(value);
+        };
+        final Exporter<Integer> exporter = Exporter.of(Gen.choose(0, 100), encoder).withParallelism(4).withBufferSize(1_024);
+        assertThatThrownBy(() -> export(exporter, MAX_NUMBER_OF_PROBES))
+                .isInstanceOf(InterruptedIOException.class)
+                .hasMessage("timed out");
+    }
+
+    @Test
+    @DisplayName("an export should throw IllegalArgumentException if the requested number of samples is negative")
+    void exportShouldThrowIllegalArgumentExceptionIfTheRequestedNumberOfSamplesIsNegative() {
+        assertThatThrownBy(() -> export(Exporter.of(Gen.choose(0, 100), Encoder.binary(Codec.integers())), -1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,87 @@
+package net.mguenther.gen;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class FlightRecorderEventsTest {
+
+    private static final int MAX_NUMBER_OF_PROBES = 100;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void requireFlightRecorder() {
+        assumeTrue(FlightRecorderEvents.isAvailable());
+    }
+
+    private List<RecordedEvent> record(final String eventName, final Runnable workload) throws IOException {
+        final Path file = directory.resolve("gen.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(eventName).withThreshold(Duration.ZERO);
+            recording.start();
+            workload.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(eventName))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("a named generator should emit an event carrying its name for every sample")
+    void namedGeneratorShouldEmitAnEventForEverySample() throws IOException {
+        final Gen<Integer> gen = Gen.choose(0, 10).named("digit");
+        final List<RecordedEvent> events = record("net.mguenther.gen.Sample", () -> gen.sampleN(MAX_NUMBER_OF_PROBES));
+        assertThat(events).hasSize(MAX_NUMBER_OF_PROBES);
+        assertThat(events).allSatisfy(event -> assertThat(event.getString("name")).isEqualTo("digit"));
+    }
+
+    @Test
+    @DisplayName("suchThat should emit an event carrying the number of retries for every sample")
+    void suchThatShouldEmitAnEventCarryingTheNumberOfRetries() throws IOException {
+        final RejectionStatistics statistics = new RejectionStatistics();
+        final Gen<Integer> gen = Gen.choose(0, 100, new Random(1L)).named("small")
+                .suchThat(n -> n < 10, RejectionPolicy.defaultPolicy(), statistics);
+        final List<RecordedEvent> events = record("net.mguenther.gen.SuchThat", () -> gen.sampleN(MAX_NUMBER_OF_PROBES));
+        assertThat(events).hasSize(MAX_NUMBER_OF_PROBES);
+        assertThat(events.stream().mapToLong(event -> event.getLong("retries")).sum()).isEqualTo(statistics.rejected());
+        assertThat(events).allSatisfy(event -> {
+            assertThat(event.getString("name")).isEqualTo("small");
+            assertThat(event.getBoolean("exhausted")).isFalse();
+        });
+    }
+
+    @Test
+    @DisplayName("bulk operations should emit an event carrying the operation and the size of the sample")
+    void bulkOperationsShouldEmitAnEventCarryingTheOperationAndTheSize() throws IOException {
+        final Gen<List<String>> gen = Gen.listOfN(Gen.alphaNumString(8), 3);
+        final List<RecordedEvent> events = record("net.mguenther.gen.BulkSample", gen::sample);
+        assertThat(events).hasSize(4);
+        assertThat(events.stream().map(event -> event.getString("operation") + ":" + event.getInt("size")))
+                .containsExactlyInAnyOrder("listOfN:3", "alphaNumString:8", "alphaNumString:8", "alphaNumString:8");
+    }
+
+    @Test
+    @DisplayName("generators should not emit events while no recording is running")
+    void generatorsShouldNotEmitEventsWhileNoRecordingIsRunning() {
+        assertThat(FlightRecorderEvents.SAMPLE.begin()).isNull();
+        assertThat(Gen.choose(0, 10).named("digit").sampleN(MAX_NUMBER_OF_PROBES)).hasSize(MAX_NUMBER_OF_PROBES);
+    }
+}
@@ -0,0 +1,91 @@
+package net.mguenther.gen;
+
+import org.assertj.core.data.Percentage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FrequencyTest {
+
+    private static final int MAX_NUMBER_OF_PROBES = 1_000_000;
+
+    @Test
+    @DisplayName("frequency should distribute samples between the given generators with respect to their weights (max. deviation of 1%)")
+    void frequencyShouldDistributeSamplesWithRespectToTheWeights() {
+        final double[] weights = { 1.0, 2.0, 3.0, 4.0 };
+        final int[] sampleCountPerGenerator = new int[weights.length];
+        final Gen<Integer> frequencyGen = Gen.frequency(weights,
+                Arrays.asList(Gen.constant(0), Gen.constant(1), Gen.constant(2), Gen.constant(3)),
+                RandomSource.splittable(1L));
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            final int index = frequencyGen.sample();
+            sampleCountPerGenerator[index] = sampleCountPerGenerator[index] + 1;
+        }
+        for (int i = 0; i < weights.length; i++) {
+            assertThat(sampleCountPerGenerator[i]).isCloseTo((int) (MAX_NUMBER_OF_PROBES * weights[i] / 10.0), Percentage.withPercentage(1.0));
+        }
+    }
+
+    @Test
+    @DisplayName("frequency should never select a generator with a weight of 0.0")
+    void frequencyShouldNeverSelectAGeneratorWithAWeightOfZero() {
+        final Gen<Integer> frequencyGen = Gen.frequency(new double[] { 0.0, 1.0, 0.0 },
+                Arrays.asList(Gen.constant(0), Gen.constant(1), Gen.constant(2)));
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(frequencyGen.sample()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("frequency should distribute samples with respect to the weights even if they are close to Double.MAX_VALUE (max. deviation of 1%)")
+    void frequencyShouldDistributeSamplesWithRespectToHugeWeights() {
+        final int[] sampleCountPerGenerator = new int[3];
+        final Gen<Integer> frequencyGen = Gen.frequency(new double[] { Double.MAX_VALUE / 2, Double.MAX_VALUE / 4, 0.0 },
+                Arrays.asList(Gen.constant(0), Gen.constant(1), Gen.constant(2)));
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            sampleCountPerGenerator[frequencyGen.sample()]++;
+        }
+        assertThat(sampleCountPerGenerator[0]).isCloseTo(MAX_NUMBER_OF_PROBES * 2 / 3, Percentage.withPercentage(1.0));
+        assertThat(sampleCountPerGenerator[1]).isCloseTo(MAX_NUMBER_OF_PROBES / 3, Percentage.withPercentage(1.0));
+        assertThat(sampleCountPerGenerator[2]).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("two frequency generators using the same seed should generate the same samples")
+    void twoFrequencyGeneratorsUsingTheSameSeedShouldGenerateTheSameSamples() {
+        final List<Gen<String>> generators = Arrays.asList(Gen.constant("a"), Gen.alphaNumString(4), Gen.numString(4));
+        final Gen<String> frequencyGenL = Gen.frequency(new double[] { 0.2, 0.3, 0.5 }, generators, RandomSource.splittable(1L));
+        final Gen<String> frequencyGenR = Gen.frequency(new double[] { 0.2, 0.3, 0.5 }, generators, RandomSource.splittable(1L));
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(frequencyGenL.sample(RandomSource.splittable(i))).isEqualTo(frequencyGenR.sample(RandomSource.splittable(i)));
+        }
+    }
+
+    @Test
+    @DisplayName("frequency should throw IllegalArgumentException if the number of weights does not match the number of generators")
+    void frequencyShouldThrowIllegalArgumentExceptionIfTheNumberOfWeightsDoesNotMatch() {
+        assertThatThrownBy(() -> Gen.frequency(new double[] { 1.0 }, Arrays.asList(Gen.constant(0), Gen.constant(1))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("frequency should throw IllegalArgumentException if the given weights are invalid")
+    void frequencyShouldThrowIllegalArgumentExceptionIfTheGivenWeightsAreInvalid() {
+        assertThatThrownBy(() -> Gen.frequency(new double[0], Collections.<Gen<Integer>>emptyList()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Gen.frequency(new double[] { -1.0, 2.0 }, Arrays.asList(Gen.constant(0), Gen.constant(1))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Gen.frequency(new double[] { Double.NaN, 2.0 }, Arrays.asList(Gen.constant(0), Gen.constant(1))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Gen.frequency(new double[] { 0.0, 0.0 }, Arrays.asList(Gen.constant(0), Gen.constant(1))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Gen.frequency(new double[] { Double.MAX_VALUE, Double.MAX_VALUE }, Arrays.asList(Gen.constant(0), Gen.constant(1))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
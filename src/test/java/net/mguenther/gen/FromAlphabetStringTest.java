@@ -59,6 +59,14 @@ class FromAlphabetStringTest {
         }
     }
 
+    @Test
+    @DisplayName("fromAlphabetString, alphaNumString and numString should produce the same strings for a given seed across releases")
+    void stringGeneratorsShouldProduceTheSameStringsForGivenSeedAcrossReleases() {
+        assertThat(Gen.fromAlphabetString(16, "abcdef", new Random(1L)).sample()).isEqualTo("ccdaecfaabccbadb");
+        assertThat(Gen.alphaNumString(32, new Random(1L)).sample()).isEqualTo("mAhyeMJcuxS492rlwnCrz7tc08r8tbtO");
+        assertThat(Gen.numString(32, new Random(1L)).sample()).isEqualTo("46568892898616170129311888985156");
+    }
+
     @Test
     @DisplayName("fromAlphabetString should throw IllegalArgumentException if the given alphabet is null")
     void fromAlphabetStringShouldThrowIllegalArgumentExceptionIfTheGivenAlphabetIsNull() {
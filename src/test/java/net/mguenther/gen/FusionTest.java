@@ -0,0 +1,69 @@
+package net.mguenther.gen;
+
+import examples.User;
+import examples.UserGenZ;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FusionTest {
+
+    private static final int MAX_NUMBER_OF_PROBES = 10_000;
+
+    @Test
+    @DisplayName("fused map stages should apply all mapping functions in order")
+    void fusedMapStagesShouldApplyAllMappingFunctionsInOrder() {
+        final Gen<Integer> gen = Gen.constant(1)
+                .map(n -> n + 1)
+                .map(n -> n * 3)
+                .map(n -> n - 1);
+        assertThat(gen.sample()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("fusing map stages should not alter the generator that has been mapped")
+    void fusingMapStagesShouldNotAlterTheMappedGenerator() {
+        final Gen<Integer> gen = Gen.constant(1).map(n -> n + 1);
+        final Gen<Integer> genL = gen.map(n -> n * 10);
+        final Gen<String> genR = gen.map(n -> "n=" + n);
+        assertThat(gen.sample()).isEqualTo(2);
+        assertThat(genL.sample()).isEqualTo(20);
+        assertThat(genR.sample()).isEqualTo("n=2");
+    }
+
+    @Test
+    @DisplayName("a long chain of map stages should not overflow the stack")
+    void longChainOfMapStagesShouldNotOverflowTheStack() {
+        Gen<Integer> gen = Gen.constant(0);
+        for (int i = 0; i < 100_000; i++) {
+            gen = gen.map(n -> n + 1);
+        }
+        assertThat(gen.sample()).isEqualTo(100_000);
+    }
+
+    @Test
+    @DisplayName("zip should produce the same samples as the equivalent flatMap")
+    void zipShouldProduceTheSameSamplesAsTheEquivalentFlatMap() {
+        final Gen<Integer> genX = Gen.choose(0, 1_000);
+        final Gen<String> genY = Gen.alphaNumString(8);
+        final Gen<String> zipGen = genX.zip(genY, (x, y) -> x + y);
+        final Gen<String> flatMapGen = genX.flatMap(x -> genY.map(y -> x + y));
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(zipGen.sample(RandomSource.splittable(i))).isEqualTo(flatMapGen.sample(RandomSource.splittable(i)));
+        }
+    }
+
+    @Test
+    @DisplayName("a user generator composed using zip should generate well-formed users")
+    void userGeneratorComposedUsingZipShouldGenerateWellFormedUsers() {
+        final Gen<User> userGen = UserGenZ.userGen();
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            final User user = userGen.sample();
+            final String[] names = user.getUsername().split(" ");
+            assertThat(names).hasSize(2);
+            assertThat(user.getEmail()).startsWith(names[0]).contains(names[1] + "@");
+            assertThat(user.getHashedPassword()).hasSize(14);
+        }
+    }
+}
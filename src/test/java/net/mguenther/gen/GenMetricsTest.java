@@ -0,0 +1,126 @@
+package net.mguenther.gen;
+
+import examples.User;
+import examples.UserGen;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GenMetricsTest {
+
+    private static final int MAX_NUMBER_OF_PROBES = 10_000;
+
+    @Test
+    @DisplayName("an instrumented generator should produce the same samples as the generator it instruments")
+    void instrumentedGeneratorShouldProduceTheSameSamples() {
+        final Gen<User> gen = UserGen.userGen();
+        final Gen<User> instrumentedGen = gen.named("user").instrumented(new GenMetricsRegistry());
+        for (int i = 0; i < 100; i++) {
+            assertThat(instrumentedGen.sampleAt(1L, i).getUsername()).isEqualTo(gen.sampleAt(1L, i).getUsername());
+        }
+        assertThat(instrumentedGen.name()).isEqualTo("user");
+    }
+
+    @Test
+    @DisplayName("an instrumented generator should record the number of samples and their latency")
+    void instrumentedGeneratorShouldRecordTheNumberOfSamplesAndTheirLatency() {
+        final GenMetricsRegistry registry = new GenMetricsRegistry();
+        final Gen<String> gen = Gen.alphaNumString(16).named("username").instrumented(registry);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            gen.sample();
+        }
+        final GenMetrics.Snapshot snapshot = registry.snapshot().get("username");
+        assertThat(snapshot.samples()).isEqualTo(MAX_NUMBER_OF_PROBES);
+        assertThat(snapshot.totalLatencyNanos()).isGreaterThan(0L);
+        assertThat(snapshot.latencyPercentileNanos(50.0)).isLessThanOrEqualTo(snapshot.latencyPercentileNanos(99.0));
+        assertThat(snapshot.latencyPercentileNanos(99.0)).isLessThanOrEqualTo(snapshot.maxLatencyNanos());
+        assertThat(snapshot.latencyPercentileNanos(100.0)).isEqualTo(snapshot.maxLatencyNanos());
+        assertThat(snapshot.allocatedBytes()).isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("an instrumented generator should record the candidates that suchThat discards within it")
+    void instrumentedGeneratorShouldRecordDiscardedCandidates() {
+        final GenMetricsRegistry registry = new GenMetricsRegistry();
+        final RejectionStatistics statistics = new RejectionStatistics();
+        final Gen<Integer> gen = Gen.choose(0, 100, new Random(1L))
+                .suchThat(n -> n < 10, RejectionPolicy.defaultPolicy(), statistics)
+                .named("small")
+                .instrumented(registry);
+        final Gen<Integer> outerGen = gen.map(n -> n + 1).named("outer").instrumented(registry);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            outerGen.sample();
+        }
+        assertThat(registry.snapshot().get("small").rejections()).isEqualTo(statistics.rejected());
+        assertThat(registry.snapshot().get("outer").rejections()).isEqualTo(0L);
+        assertThat(registry.snapshot().get("outer").samples()).isEqualTo(MAX_NUMBER_OF_PROBES);
+    }
+
+    @Test
+    @DisplayName("generators with the same name should share their metrics")
+    void generatorsWithTheSameNameShouldShareTheirMetrics() {
+        final GenMetricsRegistry registry = new GenMetricsRegistry();
+        final Gen<Integer> genL = Gen.choose(0, 10).named("digit").instrumented(registry);
+        final Gen<Integer> genR = Gen.choose(0, 10).named("digit").instrumented(registry);
+        genL.sampleN(10);
+        genR.sampleN(20);
+        assertThat(registry.metrics("digit").getSamples()).isEqualTo(30L);
+        registry.reset();
+        assertThat(registry.metrics("digit").getSamples()).isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("a disabled registry should not record anything")
+    void disabledRegistryShouldNotRecordAnything() {
+        final GenMetricsRegistry registry = new GenMetricsRegistry();
+        final Gen<Integer> gen = Gen.choose(0, 10).named("digit").instrumented(registry);
+        registry.disable();
+        gen.sampleN(10);
+        assertThat(registry.snapshot().get("digit").samples()).isEqualTo(0L);
+        registry.enable();
+        gen.sampleN(10);
+        assertThat(registry.snapshot().get("digit").samples()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("a registry that tracks allocations should estimate the bytes allocated per sample")
+    void registryThatTracksAllocationsShouldEstimateTheBytesAllocatedPerSample() {
+        final GenMetricsRegistry registry = new GenMetricsRegistry();
+        registry.trackAllocations(true);
+        final Gen<User> gen = UserGen.userGen().named("user").instrumented(registry);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            gen.sample();
+        }
+        assertThat(registry.snapshot().get("user").allocatedBytesPerSample()).isGreaterThan(0.0);
+    }
+
+    @Test
+    @DisplayName("a registry should expose the metrics of its generators via JMX")
+    void registryShouldExposeTheMetricsOfItsGeneratorsViaJmx() throws Exception {
+        final MBeanServer mBeanServer = MBeanServerFactory.newMBeanServer();
+        final GenMetricsRegistry registry = new GenMetricsRegistry();
+        final Gen<Integer> genL = Gen.choose(0, 10).named("left").instrumented(registry);
+        registry.registerMBeans(mBeanServer);
+        final Gen<Integer> genR = Gen.choose(0, 10).named("right").instrumented(registry);
+        genL.sampleN(3);
+        genR.sampleN(5);
+        assertThat(mBeanServer.getAttribute(new ObjectName("net.mguenther.gen:type=GenMetrics,name=\"left\""), "Samples")).isEqualTo(3L);
+        assertThat(mBeanServer.getAttribute(new ObjectName("net.mguenther.gen:type=GenMetrics,name=\"right\""), "Samples")).isEqualTo(5L);
+        registry.unregisterMBeans();
+        assertThat(mBeanServer.queryNames(new ObjectName("net.mguenther.gen:*"), null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("instrumenting a generator should require a name")
+    void instrumentingShouldRequireAName() {
+        assertThatThrownBy(() -> Gen.choose(0, 10).instrumented()).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> Gen.choose(0, 10).named("")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -59,6 +59,22 @@ class GenTest {
         assertThat(tuple.z).isEqualTo(1761283695);
     }
 
+    @Test
+    @DisplayName("sample should pass on an explicitly given source of randomness to combined generators")
+    void sampleShouldPassOnAnExplicitlyGivenSourceOfRandomnessToCombinedGenerators() {
+
+        final Gen<Tuple> tupleGen = Gen.nonNegativeInteger()
+                .flatMap(x -> Gen.nonNegativeInteger()
+                .flatMap(y -> Gen.nonNegativeInteger()
+                .map(z -> new Tuple(x, y, z))));
+
+        final Tuple tuple = tupleGen.sample(RandomSource.of(new Random(1L)));
+
+        assertThat(tuple.x).isEqualTo(1155869324);
+        assertThat(tuple.y).isEqualTo(431529176);
+        assertThat(tuple.z).isEqualTo(1761283695);
+    }
+
     @Test
     @DisplayName("suchThat should throw IllegalStateException if no sample could be found that satisfies the predicate")
     void suchThatShouldThrowIllegalStateExceptionIfNoSampleCouldBeFoundThatSatisfiesThePredicate() {
@@ -0,0 +1,114 @@
+package net.mguenther.gen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IntGenTest {
+
+    private static final int LOWER_BOUND = -10;
+
+    private static final int UPPER_BOUND = 10;
+
+    private static final int MAX_NUMBER_OF_PROBES = 10_000;
+
+    @Test
+    @DisplayName("choose should only generate ints from the given interval")
+    void chooseShouldOnlyGenerateIntsFromGivenInterval() {
+        final IntGen gen = IntGen.choose(LOWER_BOUND, UPPER_BOUND);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(gen.nextInt()).isBetween(LOWER_BOUND, UPPER_BOUND - 1);
+        }
+    }
+
+    @Test
+    @DisplayName("choose should generate ints from both halves of an interval that is larger than Integer.MAX_VALUE")
+    void chooseShouldGenerateIntsFromBothHalvesOfTheLargestInterval() {
+        final IntGen gen = IntGen.choose(Integer.MIN_VALUE, Integer.MAX_VALUE, RandomSource.of(new Random(1L)));
+        boolean negative = false;
+        boolean positive = false;
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            final int n = gen.nextInt();
+            assertThat(n).isNotEqualTo(Integer.MAX_VALUE);
+            negative |= n < 0;
+            positive |= n > 0;
+        }
+        assertThat(negative).isTrue();
+        assertThat(positive).isTrue();
+    }
+
+    @Test
+    @DisplayName("choose should throw IllegalArgumentException if the given interval is empty")
+    void chooseShouldThrowIllegalArgumentExceptionIfTheGivenIntervalIsEmpty() {
+        assertThatThrownBy(() -> IntGen.choose(UPPER_BOUND, UPPER_BOUND)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> IntGen.choose(UPPER_BOUND, LOWER_BOUND)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Gen.choose(UPPER_BOUND, LOWER_BOUND)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("choose should generate the same ints as the boxed choose generator using the same seed")
+    void chooseShouldGenerateTheSameIntsAsTheBoxedChooseGeneratorUsingTheSameSeed() {
+        final IntGen intGen = IntGen.choose(LOWER_BOUND, UPPER_BOUND, RandomSource.of(new Random(1L)));
+        final Gen<Integer> gen = Gen.choose(LOWER_BOUND, UPPER_BOUND, new Random(1L));
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(intGen.nextInt()).isEqualTo(gen.sample());
+        }
+    }
+
+    @Test
+    @DisplayName("even and odd should only generate ints that are congruent and not congruent modulo 2")
+    void evenAndOddShouldOnlyGenerateIntsThatAreCongruentAndNotCongruentModulo2() {
+        final IntGen evenGen = IntGen.even(LOWER_BOUND, UPPER_BOUND);
+        final IntGen oddGen = IntGen.odd(LOWER_BOUND, UPPER_BOUND);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(evenGen.nextInt() % 2).isEqualTo(0);
+            assertThat(oddGen.nextInt() % 2).isNotEqualTo(0);
+        }
+    }
+
+    @Test
+    @DisplayName("map should apply the mapping function to the samples")
+    void mapShouldApplyTheMappingFunctionToTheSamples() {
+        final IntGen gen = IntGen.choose(0, 10).map(n -> n * 100);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(gen.nextInt() % 100).isEqualTo(0);
+        }
+    }
+
+    @Test
+    @DisplayName("filter should discard samples that do not satisfy the predicate")
+    void filterShouldDiscardSamplesThatDoNotSatisfyThePredicate() {
+        final IntGen gen = IntGen.choose(0, 10).filter(n -> n > 4);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(gen.nextInt()).isGreaterThan(4);
+        }
+    }
+
+    @Test
+    @DisplayName("filter should throw IllegalStateException if no sample could be found that satisfies the predicate")
+    void filterShouldThrowIllegalStateExceptionIfNoSampleCouldBeFoundThatSatisfiesThePredicate() {
+        assertThatThrownBy(() -> IntGen.choose(0, 10).filter(n -> n > 10).nextInt())
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("boxed should pass on an explicitly given source of randomness when combined with other generators")
+    void boxedShouldPassOnAnExplicitlyGivenSourceOfRandomnessWhenCombinedWithOtherGenerators() {
+        final Gen<String> gen = IntGen.choose(0, 10).boxed()
+                .flatMap(n -> Gen.alphaNumString(n));
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(gen.sample(RandomSource.splittable(i))).isEqualTo(gen.sample(RandomSource.splittable(i)));
+        }
+    }
+
+    @Test
+    @DisplayName("mapToInt should bridge a generator to a primitive generator")
+    void mapToIntShouldBridgeGeneratorToPrimitiveGenerator() {
+        final IntGen gen = Gen.alphaNumString(8).mapToInt(String::length);
+        assertThat(gen.nextInt()).isEqualTo(8);
+    }
+}
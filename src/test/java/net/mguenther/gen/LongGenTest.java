@@ -0,0 +1,61 @@
+package net.mguenther.gen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongGenTest {
+
+    private static final int MAX_NUMBER_OF_PROBES = 10_000;
+
+    @Test
+    @DisplayName("choose should only generate longs from the given interval")
+    void chooseShouldOnlyGenerateLongsFromGivenInterval() {
+        final LongGen gen = LongGen.choose(-10_000_000_000L, 10_000_000_000L);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(gen.nextLong()).isBetween(-10_000_000_000L, 9_999_999_999L);
+        }
+    }
+
+    @Test
+    @DisplayName("choose should support intervals that are larger than Long.MAX_VALUE")
+    void chooseShouldSupportIntervalsLargerThanLongMaxValue() {
+        final LongGen gen = LongGen.choose(Long.MIN_VALUE + 1, Long.MAX_VALUE);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(gen.nextLong()).isNotEqualTo(Long.MIN_VALUE).isNotEqualTo(Long.MAX_VALUE);
+        }
+    }
+
+    @Test
+    @DisplayName("choose should be able to generate all longs within a small interval")
+    void chooseShouldBeAbleToGenerateAllLongsWithinSmallInterval() {
+        final int[] generatedNumbers = new int[10];
+        final LongGen gen = LongGen.choose(0L, 10L);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            final int index = (int) gen.nextLong();
+            generatedNumbers[index] = generatedNumbers[index] + 1;
+        }
+        for (int generatedNumber : generatedNumbers) {
+            assertThat(generatedNumber).isGreaterThanOrEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("choose should throw IllegalArgumentException if the lower bound is not smaller than the upper bound")
+    void chooseShouldThrowIllegalArgumentExceptionIfLowerBoundIsNotSmallerThanUpperBound() {
+        assertThatThrownBy(() -> LongGen.choose(10L, 10L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("two choose generators using the same seed should generate the same longs in the same order")
+    void twoChooseGeneratorsUsingTheSameSeedShouldGenerateTheSameLongsInTheSameOrder() {
+        final LongGen genL = LongGen.choose(0L, 1_000_000_000_000L, RandomSource.xoshiro256(1L));
+        final LongGen genR = LongGen.choose(0L, 1_000_000_000_000L, RandomSource.xoshiro256(1L));
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(genL.nextLong()).isEqualTo(genR.nextLong());
+        }
+    }
+}
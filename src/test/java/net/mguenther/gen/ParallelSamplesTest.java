@@ -0,0 +1,64 @@
+package net.mguenther.gen;
+
+import examples.User;
+import examples.UserGen;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParallelSamplesTest {
+
+    private static final int NUMBER_OF_SAMPLES = 10_000;
+
+    @Test
+    @DisplayName("parallelSamples should produce the requested number of samples")
+    void parallelSamplesShouldProduceTheRequestedNumberOfSamples() {
+        assertThat(Gen.choose(0, 100).parallelSamples(NUMBER_OF_SAMPLES, 1L)).hasSize(NUMBER_OF_SAMPLES);
+    }
+
+    @Test
+    @DisplayName("parallelSamples should produce the same samples for the same seed regardless of the degree of parallelism")
+    void parallelSamplesShouldProduceTheSameSamplesForTheSameSeedRegardlessOfParallelism() throws Exception {
+        final Gen<User> gen = UserGen.userGen();
+        final List<User> sequentialSamples = new ForkJoinPool(1).submit(() -> gen.parallelSamples(NUMBER_OF_SAMPLES, 1L)).get();
+        final List<User> parallelSamples = new ForkJoinPool(4).submit(() -> gen.parallelSamples(NUMBER_OF_SAMPLES, 1L)).get();
+        assertThat(parallelSamples).containsExactlyElementsOf(sequentialSamples);
+    }
+
+    @Test
+    @DisplayName("parallelSamples should produce different samples for different seeds")
+    void parallelSamplesShouldProduceDifferentSamplesForDifferentSeeds() {
+        final Gen<Integer> gen = Gen.nonNegativeInteger();
+        assertThat(gen.parallelSamples(100, 1L)).isNotEqualTo(gen.parallelSamples(100, 2L));
+    }
+
+    @Test
+    @DisplayName("parallelSamples should produce the same samples as a sequential stream using the same seed")
+    void parallelSamplesShouldProduceTheSameSamplesAsSequentialStreamUsingTheSameSeed() {
+        final Gen<List<Integer>> gen = Gen.listOf(Gen.choose(0, 100), 10);
+        final List<List<Integer>> streamedSamples = gen.stream(1L).limit(NUMBER_OF_SAMPLES).collect(Collectors.toList());
+        assertThat(gen.parallelSamples(NUMBER_OF_SAMPLES, 1L)).containsExactlyElementsOf(streamedSamples);
+    }
+
+    @Test
+    @DisplayName("a parallel stream should produce the same samples as a sequential stream using the same seed")
+    void parallelStreamShouldProduceTheSameSamplesAsSequentialStreamUsingTheSameSeed() {
+        final Gen<String> gen = Gen.alphaNumString(8);
+        final List<String> sequentialSamples = gen.stream(1L).limit(NUMBER_OF_SAMPLES).collect(Collectors.toList());
+        final List<String> parallelSamples = gen.stream(1L).parallel().limit(NUMBER_OF_SAMPLES).collect(Collectors.toList());
+        assertThat(parallelSamples).containsExactlyElementsOf(sequentialSamples);
+    }
+
+    @Test
+    @DisplayName("parallelSamples should throw IllegalArgumentException if the requested number of samples is negative")
+    void parallelSamplesShouldThrowIllegalArgumentExceptionIfTheRequestedNumberOfSamplesIsNegative() {
+        assertThatThrownBy(() -> Gen.constant(1).parallelSamples(-1, 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,80 @@
+package net.mguenther.gen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PermutationTest {
+
+    private static final int MAX_NUMBER_OF_PROBES = 100_000;
+
+    @Test
+    @DisplayName("a permutation should contain every value of its range exactly once")
+    void permutationShouldContainEveryValueOfItsRangeExactlyOnce() {
+        for (int size : new int[] { 1, 2, 3, 5, 16, 17, 1_000, MAX_NUMBER_OF_PROBES }) {
+            final Permutation permutation = Permutation.of(-7, size - 7, 1L);
+            final BitSet seen = new BitSet(size);
+            for (long k = 0; k < size; k++) {
+                final long value = permutation.get(k);
+                assertThat(value).isBetween(-7L, size - 8L);
+                assertThat(seen.get((int) (value + 7))).isFalse();
+                seen.set((int) (value + 7));
+            }
+            assertThat(seen.cardinality()).isEqualTo(size);
+        }
+    }
+
+    @Test
+    @DisplayName("indexOf should invert get")
+    void indexOfShouldInvertGet() {
+        final Permutation permutation = Permutation.of(0L, Long.MAX_VALUE, 42L);
+        for (long k = 0; k < MAX_NUMBER_OF_PROBES; k++) {
+            final long index = k * 92_233_720_368_547L;
+            assertThat(permutation.indexOf(permutation.get(index))).isEqualTo(index);
+        }
+    }
+
+    @Test
+    @DisplayName("permutations with distinct seeds should order their elements differently")
+    void permutationsWithDistinctSeedsShouldOrderTheirElementsDifferently() {
+        final Permutation permutationL = Permutation.of(0, MAX_NUMBER_OF_PROBES, 1L);
+        final Permutation permutationR = Permutation.of(0, MAX_NUMBER_OF_PROBES, 2L);
+        int numberOfEqualElements = 0;
+        for (long k = 0; k < MAX_NUMBER_OF_PROBES; k++) {
+            if (permutationL.get(k) == permutationR.get(k)) numberOfEqualElements++;
+        }
+        assertThat(numberOfEqualElements).isLessThan(10);
+        assertThat(Permutation.of(0, MAX_NUMBER_OF_PROBES, 1L).get(12_345L)).isEqualTo(permutationL.get(12_345L));
+    }
+
+    @Test
+    @DisplayName("the generator of a permutation should yield its elements in order and fail once it is exhausted")
+    void generatorShouldYieldTheElementsInOrderAndFailOnceItIsExhausted() {
+        final Permutation permutation = Permutation.of(10, 1_010, 1L);
+        final IntGen gen = permutation.ints();
+        final int[] ids = gen.nextInts(1_000);
+        for (int k = 0; k < ids.length; k++) {
+            assertThat((long) ids[k]).isEqualTo(permutation.get(k));
+        }
+        assertThatThrownBy(gen::nextInt)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("have already been yielded");
+        assertThat(permutation.longs().nextLong()).isEqualTo(permutation.get(0));
+    }
+
+    @Test
+    @DisplayName("a permutation should reject empty ranges, out-of-range positions and values, and ranges that exceed int for ints()")
+    void permutationShouldRejectInvalidArguments() {
+        assertThatThrownBy(() -> Permutation.of(5, 5, 1L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Permutation.of(Long.MIN_VALUE, Long.MAX_VALUE, 1L)).isInstanceOf(IllegalArgumentException.class);
+        final Permutation permutation = Permutation.of(0, 100, 1L);
+        assertThatThrownBy(() -> permutation.get(100)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> permutation.get(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> permutation.indexOf(100)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Permutation.of(0, 1L << 32, 1L).ints()).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,106 @@
+package net.mguenther.gen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PredicatePushdownTest {
+
+    private static final int MAX_NUMBER_OF_PROBES = 10_000;
+
+    @Test
+    @DisplayName("suchThat should narrow choose to the given range without discarding samples")
+    void suchThatShouldNarrowChooseWithoutDiscardingSamples() {
+        final RejectionStatistics statistics = new RejectionStatistics();
+        final Gen<Integer> gen = Gen.choose(0, 1_000_000, RandomSource.splittable(1L))
+                .suchThat(IntRange.greaterThan(999_000), RejectionPolicy.defaultPolicy(), statistics);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(gen.sample()).isGreaterThan(999_000).isLessThan(1_000_000);
+        }
+        assertThat(statistics.candidates()).isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("a narrowed choose should still cover the whole intersection of both ranges")
+    void narrowedChooseShouldCoverTheWholeIntersection() {
+        final Gen<Integer> gen = Gen.choose(0, 100, RandomSource.splittable(1L)).suchThat(IntRange.of(90, 200));
+        final Set<Integer> samples = new HashSet<>(gen.sampleN(MAX_NUMBER_OF_PROBES));
+        assertThat(samples).containsExactlyInAnyOrder(90, 91, 92, 93, 94, 95, 96, 97, 98, 99);
+    }
+
+    @Test
+    @DisplayName("suchThat should narrow even and odd and retain the parity of the samples")
+    void suchThatShouldNarrowEvenAndOdd() {
+        final Gen<Integer> evenGen = Gen.even(-100, 100, RandomSource.splittable(1L)).suchThat(IntRange.of(-5, 6));
+        final Gen<Integer> oddGen = Gen.odd(-100, 100, RandomSource.splittable(1L)).suchThat(IntRange.of(-5, 6));
+        assertThat(new HashSet<>(evenGen.sampleN(MAX_NUMBER_OF_PROBES))).containsExactlyInAnyOrder(-4, -2, 0, 2, 4);
+        assertThat(new HashSet<>(oddGen.sampleN(MAX_NUMBER_OF_PROBES))).containsExactlyInAnyOrder(-5, -3, -1, 1, 3, 5);
+    }
+
+    @Test
+    @DisplayName("suchThat should narrow nonNegativeInteger up to Integer.MAX_VALUE")
+    void suchThatShouldNarrowNonNegativeInteger() {
+        final Gen<Integer> gen = Gen.nonNegativeInteger(RandomSource.splittable(1L))
+                .suchThat(IntRange.atLeast(Integer.MAX_VALUE - 3));
+        assertThat(new HashSet<>(gen.sampleN(MAX_NUMBER_OF_PROBES)))
+                .containsExactlyInAnyOrder(Integer.MAX_VALUE - 3, Integer.MAX_VALUE - 2, Integer.MAX_VALUE - 1, Integer.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("restrict should narrow an IntGen repeatedly")
+    void restrictShouldNarrowAnIntGenRepeatedly() {
+        final IntGen gen = IntGen.choose(0, 1_000, RandomSource.splittable(1L))
+                .restrict(IntRange.atLeast(500))
+                .restrict(IntRange.lessThan(503));
+        for (int n : gen.nextInts(MAX_NUMBER_OF_PROBES)) {
+            assertThat(n).isBetween(500, 502);
+        }
+    }
+
+    @Test
+    @DisplayName("restrict should fall back to discarding samples if the generator is not backed by an interval")
+    void restrictShouldFallBackToFilterIfTheGeneratorIsNotBackedByAnInterval() {
+        final IntGen gen = IntGen.choose(0, 1_000, RandomSource.splittable(1L))
+                .map(n -> n * 2)
+                .restrict(IntRange.of(0, 10));
+        for (int n : gen.nextInts(MAX_NUMBER_OF_PROBES)) {
+            assertThat(n).isBetween(0, 8);
+        }
+    }
+
+    @Test
+    @DisplayName("a narrowed generator should fail upon sampling if the range excludes all values")
+    void narrowedGeneratorShouldFailIfTheRangeExcludesAllValues() {
+        final Gen<Integer> gen = Gen.even(0, 10, RandomSource.splittable(1L)).suchThat(IntRange.closed(3, 3));
+        assertThatThrownBy(gen::sample).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("suchThat should narrow oneOf to the admissible members")
+    void suchThatShouldNarrowOneOfToTheAdmissibleMembers() {
+        final RejectionStatistics statistics = new RejectionStatistics();
+        final Gen<String> gen = Gen.oneOf(Arrays.asList("A", "B", "C", "D"), RandomSource.splittable(1L))
+                .suchThat(Membership.notIn("A", "B"), RejectionPolicy.defaultPolicy(), statistics);
+        assertThat(new HashSet<>(gen.sampleN(MAX_NUMBER_OF_PROBES))).containsExactlyInAnyOrder("C", "D");
+        assertThat(statistics.candidates()).isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("suchThat should still discard samples of a mapped generator")
+    void suchThatShouldStillDiscardSamplesOfMappedGenerator() {
+        final RejectionStatistics statistics = new RejectionStatistics();
+        final Gen<Integer> gen = Gen.choose(0, 100, RandomSource.splittable(1L))
+                .map(n -> n + 1)
+                .suchThat(IntRange.of(0, 50), RejectionPolicy.defaultPolicy(), statistics);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(gen.sample()).isBetween(1, 49);
+        }
+        assertThat(statistics.rejected()).isGreaterThan(0L);
+    }
+}
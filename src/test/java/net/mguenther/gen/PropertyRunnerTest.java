@@ -0,0 +1,154 @@
+package net.mguenther.gen;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PropertyRunnerTest {
+
+    private static final int MAX_NUMBER_OF_PROBES = 10_000;
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void prepareTest() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDownTest() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("a property that holds for all samples should pass after checking all samples")
+    void propertyThatHoldsShouldPass() {
+        final PropertyResult<Integer> result = PropertyRunner.defaultRunner()
+                .withPool(pool)
+                .withNumberOfSamples(MAX_NUMBER_OF_PROBES)
+                .check(Gen.choose(0, 100), n -> n >= 0 && n < 100);
+        assertThat(result.passed()).isTrue();
+        assertThat(result.numberOfSamples()).isEqualTo(MAX_NUMBER_OF_PROBES);
+        assertThat(result.index()).isEqualTo(-1L);
+        assertThat(result.counterexample()).isNull();
+        result.assertPassed();
+    }
+
+    @Test
+    @DisplayName("the runner should check the same samples that parallelSamples produces for the same seed")
+    void runnerShouldCheckTheSameSamplesAsParallelSamples() {
+        final Gen<Integer> gen = Gen.choose(0, 1_000_000);
+        final ConcurrentLinkedQueue<Integer> checkedSamples = new ConcurrentLinkedQueue<>();
+        PropertyRunner.defaultRunner()
+                .withPool(pool)
+                .withSeed(1L)
+                .withNumberOfSamples(MAX_NUMBER_OF_PROBES)
+                .check(gen, checkedSamples::add);
+        assertThat(checkedSamples).containsExactlyInAnyOrderElementsOf(gen.parallelSamples(MAX_NUMBER_OF_PROBES, 1L));
+    }
+
+    @Test
+    @DisplayName("the reported seed and index should reproduce the counterexample")
+    void reportedSeedAndIndexShouldReproduceTheCounterexample() {
+        final Gen<List<Integer>> gen = Gen.listOf(Gen.choose(0, 1_000), 20);
+        final PropertyResult<List<Integer>> result = PropertyRunner.defaultRunner()
+                .withPool(pool)
+                .withNumberOfSamples(MAX_NUMBER_OF_PROBES)
+                .check(gen, list -> list.stream().allMatch(n -> n < 990));
+        assertThat(result.passed()).isFalse();
+        assertThat(result.index()).isBetween(0L, (long) MAX_NUMBER_OF_PROBES - 1);
+        assertThat(PropertyRunner.replay(gen, result.seed(), result.index())).isEqualTo(result.counterexample());
+        assertThat(result.counterexample()).anyMatch(n -> n >= 990);
+    }
+
+    @Test
+    @DisplayName("the runner should stop all partitions as soon as a counterexample has been found")
+    void runnerShouldStopAllPartitionsOnceACounterexampleHasBeenFound() {
+        final PropertyResult<Integer> result = PropertyRunner.defaultRunner()
+                .withPool(pool)
+                .withNumberOfSamples(Integer.MAX_VALUE)
+                .check(Gen.choose(0, 100), n -> n != 42);
+        assertThat(result.passed()).isFalse();
+        assertThat(result.counterexample()).isEqualTo(42);
+        assertThat(result.numberOfSamples()).isLessThan(Integer.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("a sequential runner should report the first counterexample for a given seed")
+    void sequentialRunnerShouldReportTheFirstCounterexample() {
+        final Gen<Integer> gen = Gen.choose(0, 100);
+        final PropertyResult<Integer> result = PropertyRunner.defaultRunner()
+                .sequential()
+                .withSeed(1L)
+                .withNumberOfSamples(MAX_NUMBER_OF_PROBES)
+                .check(gen, n -> n < 90);
+        final List<Integer> samples = gen.parallelSamples(MAX_NUMBER_OF_PROBES, 1L);
+        final List<Integer> counterexamples = new ArrayList<>();
+        samples.stream().filter(n -> n >= 90).forEach(counterexamples::add);
+        assertThat(result.index()).isEqualTo(samples.indexOf(counterexamples.get(0)));
+        assertThat(result.numberOfSamples()).isEqualTo(result.index() + 1);
+    }
+
+    @Test
+    @DisplayName("the runner should shrink the counterexample")
+    void runnerShouldShrinkTheCounterexample() {
+        final PropertyResult<List<Integer>> result = PropertyRunner.defaultRunner()
+                .withPool(pool)
+                .withNumberOfSamples(MAX_NUMBER_OF_PROBES)
+                .check(Gen.listOf(Gen.choose(0, 1_000), 20), list -> list.stream().allMatch(n -> n < 500));
+        assertThat(result.minimalCounterexample()).containsExactly(500);
+        assertThat(result.shrinkResult().original()).isEqualTo(result.counterexample());
+    }
+
+    @Test
+    @DisplayName("a runner without shrinking should report the counterexample as it has been found")
+    void runnerWithoutShrinkingShouldReportTheCounterexampleAsIs() {
+        final PropertyResult<Integer> result = PropertyRunner.defaultRunner()
+                .withoutShrinking()
+                .withNumberOfSamples(MAX_NUMBER_OF_PROBES)
+                .check(Gen.choose(0, 1_000), n -> n < 500);
+        assertThat(result.shrinkResult()).isNull();
+        assertThat(result.minimalCounterexample()).isEqualTo(result.counterexample());
+    }
+
+    @Test
+    @DisplayName("assertPassed should report the seed and index of the counterexample along with the cause")
+    void assertPassedShouldReportSeedAndIndex() {
+        final PropertyResult<Integer> result = PropertyRunner.defaultRunner()
+                .withSeed(1L)
+                .withNumberOfSamples(MAX_NUMBER_OF_PROBES)
+                .check(Gen.choose(0, 1_000), n -> {
+                    if (n >= 500) throw new IllegalStateException("too large");
+                    return true;
+                });
+        assertThatThrownBy(result::assertPassed)
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("seed 1")
+                .hasMessageContaining("sample " + result.index())
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("the runner should propagate failures of the generator")
+    void runnerShouldPropagateFailuresOfTheGenerator() {
+        final Gen<Integer> gen = Gen.choose(0, 10).suchThat(n -> n > 100, 10);
+        assertThatThrownBy(() -> PropertyRunner.defaultRunner().withPool(pool).check(gen, n -> true))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("withNumberOfSamples should throw IllegalArgumentException if the given number of samples is negative")
+    void withNumberOfSamplesShouldThrowIllegalArgumentExceptionIfNegative() {
+        assertThatThrownBy(() -> PropertyRunner.defaultRunner().withNumberOfSamples(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,170 @@
+package net.mguenther.gen;
+
+import org.assertj.core.data.Percentage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RandomSourceTest {
+
+    private static final int MAX_NUMBER_OF_PROBES = 10_000;
+
+    @Test
+    @DisplayName("a generator using an adapted Random should produce the same samples as a generator using the Random directly")
+    void generatorUsingAdaptedRandomShouldProduceTheSameSamplesAsGeneratorUsingRandomDirectly() {
+        final Gen<Integer> genL = Gen.choose(-100, 100, new Random(1L));
+        final Gen<Integer> genR = Gen.choose(-100, 100, RandomSource.of(new Random(1L)));
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(genL.sample()).isEqualTo(genR.sample());
+        }
+    }
+
+    @Test
+    @DisplayName("an adapted Random should be exposed as is to mapping functions")
+    void adaptedRandomShouldBeExposedAsIsToMappingFunctions() {
+        final Random sourceOfRandomness = new Random(1L);
+        final Gen<Random> gen = Gen.constant("a", sourceOfRandomness).map((r, v) -> r);
+        assertThat(gen.sample()).isSameAs(sourceOfRandomness);
+    }
+
+    @Test
+    @DisplayName("two splittable sources using the same seed should generate the same values in the same order")
+    void twoSplittableSourcesUsingTheSameSeedShouldGenerateTheSameValuesInTheSameOrder() {
+        final Gen<Integer> genL = Gen.choose(-100, 100, RandomSource.splittable(1L));
+        final Gen<Integer> genR = Gen.choose(-100, 100, RandomSource.splittable(1L));
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(genL.sample()).isEqualTo(genR.sample());
+        }
+    }
+
+    @Test
+    @DisplayName("two xoshiro256 sources using the same seed should generate the same values in the same order")
+    void twoXoshiroSourcesUsingTheSameSeedShouldGenerateTheSameValuesInTheSameOrder() {
+        final RandomSource sourceL = RandomSource.xoshiro256(1L);
+        final RandomSource sourceR = RandomSource.xoshiro256(1L);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(sourceL.nextLong()).isEqualTo(sourceR.nextLong());
+        }
+    }
+
+    @Test
+    @DisplayName("xoshiro256 should generate bounded integers evenly within the given bound (max. 15% deviation)")
+    void xoshiroShouldDistributeBoundedIntegersEvenly() {
+        final int bound = 10;
+        final int[] generatedNumbers = new int[bound];
+        final RandomSource sourceOfRandomness = RandomSource.xoshiro256(1L);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            final int index = sourceOfRandomness.nextInt(bound);
+            generatedNumbers[index] = generatedNumbers[index] + 1;
+        }
+        for (int generatedNumber : generatedNumbers) {
+            assertThat(generatedNumber).isCloseTo(MAX_NUMBER_OF_PROBES / bound, Percentage.withPercentage(15.0));
+        }
+    }
+
+    @Test
+    @DisplayName("two counter-based sources for the same seed and index should generate the same values in the same order")
+    void twoCounterBasedSourcesForTheSameSeedAndIndexShouldGenerateTheSameValuesInTheSameOrder() {
+        final RandomSource sourceL = RandomSource.counterBased(1L, 42L);
+        final RandomSource sourceR = RandomSource.counterBased(1L, 42L);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(sourceL.nextLong()).isEqualTo(sourceR.nextLong());
+        }
+    }
+
+    @Test
+    @DisplayName("counter-based sources for different indices should generate different values")
+    void counterBasedSourcesForDifferentIndicesShouldGenerateDifferentValues() {
+        final long firstValue = RandomSource.counterBased(1L, 0L).nextLong();
+        for (int i = 1; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(RandomSource.counterBased(1L, i).nextLong()).isNotEqualTo(firstValue);
+        }
+    }
+
+    @Test
+    @DisplayName("counter-based sources should generate bounded integers evenly across indices (max. 15% deviation)")
+    void counterBasedSourcesShouldDistributeBoundedIntegersEvenlyAcrossIndices() {
+        final int bound = 10;
+        final int[] generatedNumbers = new int[bound];
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            final int index = RandomSource.counterBased(1L, i).nextInt(bound);
+            generatedNumbers[index] = generatedNumbers[index] + 1;
+        }
+        for (int generatedNumber : generatedNumbers) {
+            assertThat(generatedNumber).isCloseTo(MAX_NUMBER_OF_PROBES / bound, Percentage.withPercentage(15.0));
+        }
+    }
+
+    @Test
+    @DisplayName("xoshiro256 should generate doubles within [0.0; 1.0)")
+    void xoshiroShouldGenerateNormalizedDoubles() {
+        final RandomSource sourceOfRandomness = RandomSource.xoshiro256(1L);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(sourceOfRandomness.nextDouble()).satisfies(Conditions.isWithinBoundary(0.0, 1.0));
+        }
+    }
+
+    @Test
+    @DisplayName("nextInt should throw IllegalArgumentException if the given bound is not positive")
+    void nextIntShouldThrowIllegalArgumentExceptionIfTheGivenBoundIsNotPositive() {
+        assertThatThrownBy(() -> RandomSource.xoshiro256(1L).nextInt(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("splitting two sources that use the same seed should derive sources that generate the same values")
+    void splittingSourcesUsingTheSameSeedShouldDeriveEqualSources() {
+        final RandomSource sourceL = RandomSource.xoshiro256(1L).split();
+        final RandomSource sourceR = RandomSource.xoshiro256(1L).split();
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(sourceL.nextLong()).isEqualTo(sourceR.nextLong());
+        }
+    }
+
+    @Test
+    @DisplayName("the Random view of a source should draw from that source")
+    void randomViewShouldDrawFromTheUnderlyingSource() {
+        final Random view = RandomSource.splittable(1L).asRandom();
+        final RandomSource sourceOfRandomness = RandomSource.splittable(1L);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(view.nextInt(100)).isEqualTo(sourceOfRandomness.nextInt(100));
+        }
+    }
+
+    @Test
+    @DisplayName("the Random view of a source should not allow re-seeding")
+    void randomViewShouldNotAllowReseeding() {
+        assertThatThrownBy(() -> RandomSource.xoshiro256(1L).asRandom().setSeed(1L))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("a generator using the thread-local source should be able to sample from multiple threads")
+    void generatorUsingThreadLocalSourceShouldBeAbleToSampleFromMultipleThreads() throws InterruptedException {
+        final Gen<Integer> gen = Gen.choose(0, 10, RandomSource.threadLocal());
+        final Thread[] threads = new Thread[4];
+        final boolean[] withinBoundary = new boolean[threads.length];
+        for (int t = 0; t < threads.length; t++) {
+            final int threadIndex = t;
+            threads[t] = new Thread(() -> {
+                boolean allWithinBoundary = true;
+                for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+                    final int n = gen.sample();
+                    allWithinBoundary &= n >= 0 && n < 10;
+                }
+                withinBoundary[threadIndex] = allWithinBoundary;
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (boolean b : withinBoundary) {
+            assertThat(b).isTrue();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package net.mguenther.gen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecursiveTest {
+
+    private static final int MAX_NUMBER_OF_PROBES = 1_000;
+
+    private static final int DEPTH = 1_000_000;
+
+    static class Tree {
+        private final Tree left;
+        private final Tree right;
+
+        Tree(final Tree left, final Tree right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        int size() {
+            return 1 + (left == null ? 0 : left.size()) + (right == null ? 0 : right.size());
+        }
+    }
+
+    private static Gen<Integer> depthOf(final int n) {
+        return n == 0 ? Gen.constant(0) : Gen.constant(n).flatMap(x -> depthOf(x - 1).map(depth -> depth + 1));
+    }
+
+    @Test
+    @DisplayName("a deeply right-nested chain of flatMap should be evaluated in constant stack space")
+    void deeplyRightNestedFlatMapShouldNotOverflowTheStack() {
+        assertThat(depthOf(DEPTH).sample()).isEqualTo(DEPTH);
+    }
+
+    @Test
+    @DisplayName("a deeply left-nested chain of flatMap should be evaluated in constant stack space")
+    void deeplyLeftNestedFlatMapShouldNotOverflowTheStack() {
+        Gen<Integer> gen = Gen.constant(0);
+        for (int i = 0; i < DEPTH; i++) {
+            gen = gen.flatMap(n -> Gen.constant(n + 1));
+        }
+        assertThat(gen.sample()).isEqualTo(DEPTH);
+    }
+
+    @Test
+    @DisplayName("a recursive generator should terminate and generate structures of varying depth")
+    void recursiveGeneratorShouldGenerateStructuresOfVaryingDepth() {
+        final Gen<Integer> depthGen = Gen.recursive(self -> Gen.frequency(
+                new double[] { 1.0, 9.0 },
+                Arrays.asList(Gen.constant(0), self.map(depth -> depth + 1)),
+                RandomSource.splittable(1L)));
+        int maxDepth = 0;
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            maxDepth = Math.max(maxDepth, depthGen.sample());
+        }
+        assertThat(maxDepth).isGreaterThan(10);
+    }
+
+    @Test
+    @DisplayName("a recursive generator should be able to generate very deep structures")
+    void recursiveGeneratorShouldGenerateVeryDeepStructures() {
+        final Gen<Integer> depthGen = Gen.recursive(self -> Gen.frequency(
+                new double[] { 1.0, 99_999.0 },
+                Arrays.asList(Gen.constant(0), self.map(depth -> depth + 1)),
+                RandomSource.splittable(1L)));
+        assertThat(depthGen.sample()).isGreaterThan(1_000);
+    }
+
+    @Test
+    @DisplayName("a recursive generator should be able to generate trees")
+    void recursiveGeneratorShouldGenerateTrees() {
+        final Gen<Tree> treeGen = Gen.recursive(self -> Gen.frequency(
+                new double[] { 3.0, 2.0 },
+                Arrays.asList(Gen.constant(new Tree(null, null)), self.zip(self, Tree::new)),
+                RandomSource.splittable(1L)));
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(treeGen.sample().size()).isGreaterThan(0);
+        }
+    }
+
+    @Test
+    @DisplayName("a recursive generator should produce the same samples for the same explicitly given source")
+    void recursiveGeneratorShouldBeDeterministicForExplicitSources() {
+        final Gen<Integer> depthGen = Gen.recursive(self -> Gen.frequency(
+                new double[] { 1.0, 3.0 },
+                Arrays.asList(Gen.choose(0, 10), self.map(depth -> depth + 10))));
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(depthGen.sample(RandomSource.splittable(i))).isEqualTo(depthGen.sample(RandomSource.splittable(i)));
+        }
+    }
+
+    @Test
+    @DisplayName("lazy should call the given supplier at most once")
+    void lazyShouldCallTheGivenSupplierAtMostOnce() {
+        final AtomicInteger numberOfCalls = new AtomicInteger(0);
+        final Gen<Integer> gen = Gen.lazy(() -> {
+            numberOfCalls.incrementAndGet();
+            return Gen.constant(1);
+        });
+        assertThat(numberOfCalls.get()).isEqualTo(0);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(gen.sample()).isEqualTo(1);
+        }
+        assertThat(numberOfCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("lazy should call the given supplier at most once even if it is sampled concurrently for the first time")
+    void lazyShouldCallTheGivenSupplierAtMostOnceUnderConcurrentFirstUse() throws Exception {
+        final AtomicInteger numberOfCalls = new AtomicInteger(0);
+        final Gen<Integer> gen = Gen.lazy(() -> {
+            numberOfCalls.incrementAndGet();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Gen.constant(1);
+        });
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Integer>> samples = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                samples.add(executor.submit(() -> gen.sample()));
+            }
+            for (Future<Integer> sample : samples) {
+                assertThat(sample.get()).isEqualTo(1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(numberOfCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("lazy should throw IllegalStateException upon sampling if the supplier returns null")
+    void lazyShouldThrowIllegalStateExceptionIfTheSupplierReturnsNull() {
+        assertThatThrownBy(() -> Gen.<Integer>lazy(() -> null).sample()).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,156 @@
+package net.mguenther.gen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReplayLogTest {
+
+    private static final int MAX_NUMBER_OF_PROBES = 10_000;
+
+    private static ReplayLog roundTrip(final ByteArrayOutputStream out) throws IOException {
+        return ReplayLog.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @Test
+    @DisplayName("a replay log should retain the seed and the index of all recorded entries")
+    void replayLogShouldRetainSeedAndIndexOfAllEntries() throws IOException {
+        final long[][] entries = { { 1L, 0L }, { 1L, 1L }, { 1L, 5L }, { 1L, 2L }, { -7L, 3L }, { -7L, Long.MAX_VALUE }, { 1L, 0L } };
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ReplayLog.Writer writer = ReplayLog.writer(out)) {
+            for (long[] entry : entries) {
+                writer.record(entry[0], entry[1]);
+            }
+            writer.recordRange(42L, 10L, 3L);
+        }
+        final ReplayLog replayLog = roundTrip(out);
+        assertThat(replayLog.size()).isEqualTo(entries.length + 3);
+        for (int i = 0; i < entries.length; i++) {
+            assertThat(replayLog.seed(i)).isEqualTo(entries[i][0]);
+            assertThat(replayLog.index(i)).isEqualTo(entries[i][1]);
+        }
+        for (int i = 0; i < 3; i++) {
+            assertThat(replayLog.seed(entries.length + i)).isEqualTo(42L);
+            assertThat(replayLog.index(entries.length + i)).isEqualTo(10L + i);
+        }
+    }
+
+    @Test
+    @DisplayName("consecutive entries should take a single byte each and ranges only a few bytes in total")
+    void consecutiveEntriesShouldBeEncodedCompactly() throws IOException {
+        final ByteArrayOutputStream entries = new ByteArrayOutputStream();
+        try (ReplayLog.Writer writer = ReplayLog.writer(entries)) {
+            for (int i = 0; i < 1_000_000; i++) {
+                writer.record(1L, i);
+            }
+        }
+        assertThat(entries.size()).isLessThan(1_000_100);
+        final ByteArrayOutputStream range = new ByteArrayOutputStream();
+        try (ReplayLog.Writer writer = ReplayLog.writer(range)) {
+            writer.recordRange(1L, 0L, 1_000_000L);
+        }
+        assertThat(range.size()).isLessThan(32);
+        assertThat(roundTrip(entries).size()).isEqualTo(roundTrip(range).size());
+    }
+
+    @Test
+    @DisplayName("replaying an entry should regenerate the sample with the recorded seed and index")
+    void replayingAnEntryShouldRegenerateTheSample() throws IOException {
+        final Gen<String> gen = Gen.alphaNumString(12);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ReplayLog.Writer writer = ReplayLog.writer(out)) {
+            writer.recordRange(1L, 0L, MAX_NUMBER_OF_PROBES);
+        }
+        final ReplayLog replayLog = roundTrip(out);
+        final List<String> samples = gen.parallelSamples(MAX_NUMBER_OF_PROBES, 1L);
+        for (int i = MAX_NUMBER_OF_PROBES - 1; i >= 0; i--) {
+            assertThat(replayLog.replay(gen, i)).isEqualTo(samples.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("a recording generator should record every sample so that it can be replayed")
+    void recordingGeneratorShouldRecordEverySample(@TempDir final Path directory) throws IOException {
+        final Gen<List<Integer>> gen = Gen.listOf(Gen.choose(0, 100), 10);
+        final Path path = directory.resolve("samples.replay");
+        final List<List<Integer>> samples = new ArrayList<>();
+        try (ReplayLog.Writer writer = ReplayLog.writer(path)) {
+            final Gen<List<Integer>> recordingGen = gen.recordTo(writer, 7L);
+            for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+                samples.add(recordingGen.sample());
+            }
+        }
+        final ReplayLog replayLog = ReplayLog.read(path);
+        assertThat(replayLog.size()).isEqualTo(MAX_NUMBER_OF_PROBES);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(replayLog.replay(gen, i)).isEqualTo(samples.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("a property runner should record all checked samples into the replay log")
+    void propertyRunnerShouldRecordAllCheckedSamples() throws IOException {
+        final Gen<Integer> gen = Gen.choose(0, 1_000_000);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final PropertyResult<Integer> result;
+        try (ReplayLog.Writer writer = ReplayLog.writer(out)) {
+            result = PropertyRunner.defaultRunner()
+                    .withSeed(3L)
+                    .withNumberOfSamples(MAX_NUMBER_OF_PROBES)
+                    .withReplayLog(writer)
+                    .check(gen, n -> true);
+        }
+        final ReplayLog replayLog = roundTrip(out);
+        assertThat(replayLog.size()).isEqualTo(result.numberOfSamples());
+        final List<Integer> replayedSamples = new ArrayList<>();
+        for (long i = 0; i < replayLog.size(); i++) {
+            replayedSamples.add(replayLog.replay(gen, i));
+        }
+        assertThat(replayedSamples).containsExactlyInAnyOrderElementsOf(gen.parallelSamples(MAX_NUMBER_OF_PROBES, 3L));
+    }
+
+    @Test
+    @DisplayName("reading a stream that does not contain a replay log should throw IOException")
+    void readingAnInvalidStreamShouldThrowIOException() {
+        assertThatThrownBy(() -> ReplayLog.read(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5 })))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("reading a replay log that is truncated within a record should throw IOException")
+    void readingATruncatedReplayLogShouldThrowIOException() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ReplayLog.Writer writer = ReplayLog.writer(out)) {
+            writer.record(1L, 0L);
+            writer.record(1L, 1_000_000L);
+        }
+        final byte[] bytes = out.toByteArray();
+        assertThat(ReplayLog.read(new ByteArrayInputStream(bytes)).size()).isEqualTo(2L);
+        assertThatThrownBy(() -> ReplayLog.read(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1))))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("The replay log is corrupt");
+    }
+
+    @Test
+    @DisplayName("accessing an entry that does not exist should throw IndexOutOfBoundsException")
+    void accessingAMissingEntryShouldThrowIndexOutOfBoundsException() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ReplayLog.Writer writer = ReplayLog.writer(out)) {
+            writer.record(1L, 0L);
+        }
+        final ReplayLog replayLog = roundTrip(out);
+        assertThatThrownBy(() -> replayLog.index(1L)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> replayLog.seed(-1L)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
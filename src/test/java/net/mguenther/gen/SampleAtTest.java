@@ -0,0 +1,66 @@
+package net.mguenther.gen;
+
+import examples.User;
+import examples.UserGen;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SampleAtTest {
+
+    private static final int MAX_NUMBER_OF_PROBES = 1_000;
+
+    @Test
+    @DisplayName("sampleAt should produce the same sample as parallelSamples at the same position")
+    void sampleAtShouldProduceTheSameSampleAsParallelSamplesAtTheSamePosition() {
+        final Gen<User> gen = UserGen.userGen();
+        final List<User> samples = gen.parallelSamples(MAX_NUMBER_OF_PROBES, 1L);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(gen.sampleAt(1L, i)).isEqualTo(samples.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("sampleAt should produce the same sample as a seeded stream at the same position")
+    void sampleAtShouldProduceTheSameSampleAsSeededStreamAtTheSamePosition() {
+        final Gen<List<Integer>> gen = Gen.listOf(Gen.choose(0, 100), 10);
+        final List<List<Integer>> samples = gen.stream(1L).limit(MAX_NUMBER_OF_PROBES).collect(Collectors.toList());
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(gen.sampleAt(1L, i)).isEqualTo(samples.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("sampleAt should not depend on the order in which samples are requested")
+    void sampleAtShouldNotDependOnTheOrderInWhichSamplesAreRequested() {
+        final Gen<String> gen = Gen.alphaNumString(8);
+        final List<String> samples = gen.parallelSamples(MAX_NUMBER_OF_PROBES, 1L);
+        for (int i = MAX_NUMBER_OF_PROBES - 1; i >= 0; i--) {
+            assertThat(gen.sampleAt(1L, i)).isEqualTo(samples.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("sampleAt should support indices beyond the range of an int")
+    void sampleAtShouldSupportIndicesBeyondTheRangeOfAnInt() {
+        final Gen<Integer> gen = Gen.choose(0, 100);
+        final long index = Long.MAX_VALUE - 1;
+        assertThat(gen.sampleAt(1L, index)).isEqualTo(gen.sampleAt(1L, index)).isBetween(0, 100);
+    }
+
+    @Test
+    @DisplayName("sampleAt should produce the same sample as replaying a property check at the same position")
+    void sampleAtShouldProduceTheSameSampleAsReplayingPropertyCheck() {
+        final Gen<Integer> gen = Gen.nonNegativeInteger();
+        final PropertyResult<Integer> result = PropertyRunner.defaultRunner()
+                .withSeed(1L)
+                .withoutShrinking()
+                .check(gen, n -> n % 7 != 0);
+        assertThat(result.passed()).isFalse();
+        assertThat(gen.sampleAt(1L, result.index())).isEqualTo(result.counterexample());
+    }
+}
@@ -0,0 +1,177 @@
+package net.mguenther.gen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShrinkTest {
+
+    private static final int MAX_NUMBER_OF_PROBES = 1_000;
+
+    private static <T> ShrinkResult<T> shrinkCounterexample(final Gen<T> gen, final Predicate<T> property) {
+        return shrinkCounterexample(gen, property, Shrinker.defaultShrinker());
+    }
+
+    private static <T> ShrinkResult<T> shrinkCounterexample(final Gen<T> gen, final Predicate<T> property, final Shrinker shrinker) {
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            final ShrinkTree<T> tree = gen.sampleShrinkable(RandomSource.splittable(i));
+            if (!holds(property, tree.value())) return shrinker.shrink(tree, property);
+        }
+        throw new AssertionError("Unable to find a counterexample.");
+    }
+
+    private static <T> boolean holds(final Predicate<T> property, final T value) {
+        try {
+            return property.test(value);
+        } catch (AssertionError e) {
+            return false;
+        }
+    }
+
+    @Test
+    @DisplayName("the root of a shrink tree should be the sample that the generator produces for the same source")
+    void rootOfShrinkTreeShouldBeTheSampleForTheSameSource() {
+        final Gen<List<Object>> gen = Gen.choose(0, 10)
+                .flatMap(n -> Gen.listOfN(Gen.alphaNumString(5), n))
+                .zip(Gen.oneOf("a", "b", "c").suchThat(s -> !s.equals("b")), (strings, s) -> Arrays.<Object>asList(strings, s))
+                .zip(Gen.nonEmptyListOf(Gen.choose(-1.0, 1.0), 5), (tuple, doubles) -> Arrays.asList(tuple, doubles))
+                .zip(Gen.sized(Gen::numString).resize(3), (tuple, digits) -> Arrays.asList(tuple, digits))
+                .map(tuple -> Collections.<Object>singletonList(tuple));
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(gen.sampleShrinkable(RandomSource.splittable(i)).value()).isEqualTo(gen.sample(RandomSource.splittable(i)));
+        }
+    }
+
+    @Test
+    @DisplayName("choose should shrink towards the smallest counterexample")
+    void chooseShouldShrinkTowardsTheSmallestCounterexample() {
+        assertThat(shrinkCounterexample(Gen.choose(0, 10_000), n -> n < 100).shrunk()).isEqualTo(100);
+        assertThat(shrinkCounterexample(Gen.choose(50, 1_000), n -> n < 60).shrunk()).isEqualTo(60);
+        assertThat(shrinkCounterexample(Gen.choose(-1_000, -50), n -> n > -60).shrunk()).isEqualTo(-60);
+        assertThat(shrinkCounterexample(Gen.choose(-1_000, 1_000), n -> n > -60).shrunk()).isEqualTo(-60);
+    }
+
+    @Test
+    @DisplayName("choose for doubles should shrink towards zero")
+    void chooseForDoublesShouldShrinkTowardsZero() {
+        final ShrinkResult<Double> result = shrinkCounterexample(Gen.choose(0.0, 1000.0), x -> x < 10.0);
+        assertThat(result.shrunk()).isBetween(10.0, 10.1);
+    }
+
+    @Test
+    @DisplayName("listOf should shrink towards the shortest list with the smallest elements")
+    void listOfShouldShrinkTowardsTheShortestList() {
+        final ShrinkResult<List<Integer>> result = shrinkCounterexample(
+                Gen.listOf(Gen.choose(0, 100), 50),
+                list -> list.stream().allMatch(n -> n <= 10));
+        assertThat(result.shrunk()).containsExactly(11);
+    }
+
+    @Test
+    @DisplayName("nonEmptyListOf should never shrink to an empty list")
+    void nonEmptyListOfShouldNeverShrinkToAnEmptyList() {
+        final ShrinkResult<List<Integer>> result = shrinkCounterexample(Gen.nonEmptyListOf(Gen.choose(0, 100), 20), list -> false);
+        assertThat(result.shrunk()).containsExactly(0);
+    }
+
+    @Test
+    @DisplayName("string generators should retain the length and shrink towards the head of the alphabet")
+    void stringGeneratorsShouldShrinkTowardsTheHeadOfTheAlphabet() {
+        assertThat(shrinkCounterexample(Gen.numString(8), s -> false).shrunk()).isEqualTo("00000000");
+        assertThat(shrinkCounterexample(Gen.numString(8), s -> !s.contains("7")).shrunk()).matches("0*70*").hasSize(8);
+    }
+
+    @Test
+    @DisplayName("oneOf should shrink towards the head of the given values")
+    void oneOfShouldShrinkTowardsTheHeadOfTheGivenValues() {
+        assertThat(shrinkCounterexample(Gen.oneOf("a", "b", "c", "d"), s -> s.equals("a")).shrunk()).isEqualTo("b");
+    }
+
+    @Test
+    @DisplayName("shrinking should survive map, flatMap and suchThat")
+    void shrinkingShouldSurviveCombinators() {
+        assertThat(shrinkCounterexample(Gen.choose(0, 1_000).map(n -> n * 2), n -> n < 100).shrunk()).isEqualTo(100);
+        final ShrinkResult<Integer> oddResult = shrinkCounterexample(Gen.choose(0, 1_000).suchThat(n -> n % 2 == 1), n -> n < 100);
+        assertThat(oddResult.shrunk() % 2).isEqualTo(1);
+        assertThat(oddResult.shrunk()).isBetween(100, oddResult.original());
+        assertThat(shrinkCounterexample(
+                Gen.choose(1, 50).flatMap(n -> Gen.listOfN(Gen.choose(0, 100), n)),
+                list -> list.size() < 5).shrunk()).containsExactly(0, 0, 0, 0, 0);
+        assertThat(shrinkCounterexample(
+                Gen.choose(0, 1_000).zip(Gen.choose(0, 1_000), Integer::sum),
+                n -> n < 100).shrunk()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("shrinkWith should simplify samples using the given function")
+    void shrinkWithShouldSimplifySamplesUsingTheGivenFunction() {
+        final Gen<List<Integer>> gen = Gen.constant(Arrays.asList(5, 4, 3, 2, 1))
+                .shrinkWith(list -> list.isEmpty() ? Collections.<List<Integer>>emptyList() : Collections.singletonList(list.subList(1, list.size())));
+        assertThat(shrinkCounterexample(gen, list -> list.size() < 2).shrunk()).containsExactly(2, 1);
+    }
+
+    @Test
+    @DisplayName("shrinking in parallel should yield the same counterexample as shrinking sequentially")
+    void shrinkingInParallelShouldYieldTheSameCounterexampleAsShrinkingSequentially() {
+        final Gen<List<String>> gen = Gen.listOf(Gen.alphaNumString(6), 30);
+        final Predicate<List<String>> property = list -> list.stream().filter(s -> s.chars().anyMatch(Character::isDigit)).count() < 3;
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final ShrinkResult<List<String>> parallelResult = shrinkCounterexample(gen, property, Shrinker.defaultShrinker().withPool(pool));
+            final ShrinkResult<List<String>> sequentialResult = shrinkCounterexample(gen, property, Shrinker.defaultShrinker().sequential());
+            assertThat(parallelResult.shrunk()).isEqualTo(sequentialResult.shrunk());
+            assertThat(parallelResult.shrunk()).hasSize(3);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("shrinking should record the exception that the property raised for the minimal counterexample")
+    void shrinkingShouldRecordTheCauseOfTheFailure() {
+        final ShrinkResult<Integer> result = shrinkCounterexample(Gen.choose(0, 1_000), n -> {
+            if (n >= 100) throw new AssertionError("too large: " + n);
+            return true;
+        });
+        assertThat(result.shrunk()).isEqualTo(100);
+        assertThat(result.cause()).isInstanceOf(AssertionError.class).hasMessage("too large: 100");
+        assertThat(result.steps()).isPositive();
+        assertThat(result.candidates()).isGreaterThanOrEqualTo(result.steps());
+    }
+
+    @Test
+    @DisplayName("shrinking should take no more than the maximum number of steps")
+    void shrinkingShouldTakeNoMoreThanTheMaximumNumberOfSteps() {
+        final ShrinkResult<Integer> result = shrinkCounterexample(Gen.choose(1, 1_000), n -> false, Shrinker.defaultShrinker().withMaxNumberOfSteps(0));
+        assertThat(result.shrunk()).isEqualTo(result.original());
+        assertThat(result.steps()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("shrink should throw IllegalArgumentException if the given sample does not falsify the property")
+    void shrinkShouldThrowIllegalArgumentExceptionIfTheSampleDoesNotFalsifyTheProperty() {
+        assertThatThrownBy(() -> Shrinker.defaultShrinker().shrink(ShrinkTree.leaf(1), n -> true))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("a shrink tree should compute the children of a sample only once")
+    void shrinkTreeShouldComputeChildrenOnlyOnce() {
+        final List<Integer> calls = new ArrayList<>();
+        final ShrinkTree<Integer> tree = ShrinkTree.unfold(3, n -> {
+            calls.add(n);
+            return n == 0 ? Collections.<Integer>emptyList() : Collections.singletonList(n - 1);
+        });
+        assertThat(tree.children()).isSameAs(tree.children());
+        assertThat(calls).containsExactly(3);
+    }
+}
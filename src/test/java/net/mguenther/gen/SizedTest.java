@@ -0,0 +1,89 @@
+package net.mguenther.gen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SizedTest {
+
+    private static final int MAX_NUMBER_OF_PROBES = 1_000;
+
+    @Test
+    @DisplayName("sized should use the default size if the generator has not been resized")
+    void sizedShouldUseTheDefaultSize() {
+        final Gen<Integer> gen = Gen.sized(Gen::constant);
+        assertThat(gen.sample()).isEqualTo(SampleContext.DEFAULT_SIZE);
+    }
+
+    @Test
+    @DisplayName("sized should use the size of the resized generator")
+    void sizedShouldUseTheSizeOfTheResizedGenerator() {
+        final Gen<Integer> gen = Gen.sized(Gen::constant).resize(7);
+        assertThat(gen.sample()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("resize should apply to all generators that a composed generator is made of")
+    void resizeShouldApplyToComposedGenerators() {
+        final Gen<String> stringGen = Gen.sized(Gen::alphaNumString);
+        final Gen<List<String>> gen = Gen.choose(0, 10)
+                .flatMap(n -> Gen.listOfN(stringGen, n))
+                .resize(3);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(gen.sample()).allSatisfy(s -> assertThat(s).hasSize(3));
+        }
+    }
+
+    @Test
+    @DisplayName("an inner resize should take precedence over an outer resize and be reverted afterwards")
+    void innerResizeShouldTakePrecedenceOverOuterResize() {
+        final Gen<Integer> sizeGen = Gen.sized(Gen::constant);
+        final Gen<int[]> gen = sizeGen.resize(2)
+                .zip(sizeGen, (inner, outer) -> new int[] { inner, outer })
+                .resize(5);
+        assertThat(gen.sample()).containsExactly(2, 5);
+        assertThat(sizeGen.sample()).isEqualTo(SampleContext.DEFAULT_SIZE);
+    }
+
+    @Test
+    @DisplayName("resize should revert the size even if sampling fails")
+    void resizeShouldRevertTheSizeIfSamplingFails() {
+        final Gen<Integer> gen = Gen.<Integer>lift(() -> {
+            throw new IllegalStateException();
+        }).resize(3);
+        assertThatThrownBy(gen::sample).isInstanceOf(IllegalStateException.class);
+        assertThat(Gen.sized(Gen::constant).sample()).isEqualTo(SampleContext.DEFAULT_SIZE);
+    }
+
+    @Test
+    @DisplayName("resize should throw IllegalArgumentException if the given size is negative")
+    void resizeShouldThrowIllegalArgumentExceptionIfTheGivenSizeIsNegative() {
+        assertThatThrownBy(() -> Gen.constant(1).resize(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("listOf without a maximum length should generate lists up to the current size")
+    void listOfShouldGenerateListsUpToTheCurrentSize() {
+        final Gen<List<Integer>> gen = Gen.listOf(Gen.choose(0, 10)).resize(4);
+        boolean reachedSize = false;
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            final List<Integer> list = gen.sample();
+            assertThat(list.size()).isLessThanOrEqualTo(4);
+            reachedSize |= list.size() == 4;
+        }
+        assertThat(reachedSize).isTrue();
+    }
+
+    @Test
+    @DisplayName("a sized generator should produce the same samples for the same explicitly given source")
+    void sizedGeneratorShouldBeDeterministicForExplicitSources() {
+        final Gen<List<Integer>> gen = Gen.sized(size -> Gen.listOfN(Gen.choose(0, 100), size)).resize(10);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(gen.sample(RandomSource.splittable(i))).isEqualTo(gen.sample(RandomSource.splittable(i)));
+        }
+    }
+}
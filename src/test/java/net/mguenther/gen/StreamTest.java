@@ -0,0 +1,81 @@
+package net.mguenther.gen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamTest {
+
+    private static final int MAX_NUMBER_OF_PROBES = 10_000;
+
+    @Test
+    @DisplayName("a sequential stream should produce the same samples as sampling repeatedly")
+    void sequentialStreamShouldProduceTheSameSamplesAsSamplingRepeatedly() {
+        final Gen<Integer> genL = Gen.choose(0, 1_000, RandomSource.splittable(1L));
+        final Gen<Integer> genR = Gen.choose(0, 1_000, RandomSource.splittable(1L));
+        final List<Integer> samples = genL.stream().limit(MAX_NUMBER_OF_PROBES).collect(Collectors.toList());
+        assertThat(samples).isEqualTo(genR.sampleN(MAX_NUMBER_OF_PROBES));
+    }
+
+    @Test
+    @DisplayName("a parallel stream should produce the requested number of samples")
+    void parallelStreamShouldProduceTheRequestedNumberOfSamples() {
+        final Gen<Integer> gen = Gen.choose(0, 1_000, RandomSource.xoshiro256(1L));
+        final List<Integer> samples = gen.stream().parallel().limit(MAX_NUMBER_OF_PROBES).collect(Collectors.toList());
+        assertThat(samples).hasSize(MAX_NUMBER_OF_PROBES);
+        assertThat(samples).allSatisfy(n -> assertThat(n).isBetween(0, 999));
+    }
+
+    @Test
+    @DisplayName("a seeded stream should produce the same samples regardless of whether it is consumed sequentially or in parallel")
+    void seededStreamShouldBeIndependentOfParallelism() {
+        final Gen<String> gen = Gen.alphaNumString(8);
+        final List<String> sequential = gen.stream(1L).limit(MAX_NUMBER_OF_PROBES).collect(Collectors.toList());
+        final List<String> parallel = gen.stream(1L).parallel().limit(MAX_NUMBER_OF_PROBES).collect(Collectors.toList());
+        assertThat(parallel).isEqualTo(sequential);
+    }
+
+    @Test
+    @DisplayName("seeded primitive streams should produce the same samples regardless of whether they are consumed sequentially or in parallel")
+    void seededPrimitiveStreamsShouldBeIndependentOfParallelism() {
+        final IntGen intGen = IntGen.choose(0, 1_000);
+        final LongGen longGen = LongGen.any();
+        final DoubleGen doubleGen = DoubleGen.normalized();
+        assertThat(intGen.intStream(1L).parallel().limit(MAX_NUMBER_OF_PROBES).toArray())
+                .isEqualTo(intGen.intStream(1L).limit(MAX_NUMBER_OF_PROBES).toArray());
+        assertThat(longGen.longStream(1L).parallel().limit(MAX_NUMBER_OF_PROBES).toArray())
+                .isEqualTo(longGen.longStream(1L).limit(MAX_NUMBER_OF_PROBES).toArray());
+        assertThat(doubleGen.doubleStream(1L).parallel().limit(MAX_NUMBER_OF_PROBES).toArray())
+                .isEqualTo(doubleGen.doubleStream(1L).limit(MAX_NUMBER_OF_PROBES).toArray());
+    }
+
+    @Test
+    @DisplayName("a primitive stream should produce the same samples as sampling repeatedly")
+    void primitiveStreamShouldProduceTheSameSamplesAsSamplingRepeatedly() {
+        final int[] samples = IntGen.choose(0, 1_000, RandomSource.splittable(1L)).intStream().limit(MAX_NUMBER_OF_PROBES).toArray();
+        assertThat(samples).isEqualTo(IntGen.choose(0, 1_000, RandomSource.splittable(1L)).nextInts(MAX_NUMBER_OF_PROBES));
+    }
+
+    @Test
+    @DisplayName("the spliterator of a stream should be sized and split into halves")
+    void spliteratorShouldBeSizedAndSplitIntoHalves() {
+        final Spliterator<Integer> spliterator = Gen.choose(0, 10, RandomSource.splittable(1L)).stream().spliterator();
+        assertThat(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE)).isTrue();
+        assertThat(spliterator.hasCharacteristics(Spliterator.ORDERED)).isFalse();
+        final Spliterator<Integer> prefix = spliterator.trySplit();
+        assertThat(prefix).isNotNull();
+        assertThat(prefix.estimateSize() + spliterator.estimateSize()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("the spliterator of a seeded stream should report that it is ordered")
+    void spliteratorOfSeededStreamShouldBeOrdered() {
+        assertThat(Gen.constant(1).stream(1L).spliterator().hasCharacteristics(Spliterator.ORDERED)).isTrue();
+        assertThat(IntGen.choose(0, 10).intStream(1L).spliterator().hasCharacteristics(Spliterator.NONNULL)).isTrue();
+    }
+}
@@ -0,0 +1,103 @@
+package net.mguenther.gen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SuchThatTest {
+
+    private static final int MAX_NUMBER_OF_PROBES = 10_000;
+
+    @Test
+    @DisplayName("suchThat should produce the same samples regardless of whether it uses the default policy or not")
+    void suchThatShouldProduceTheSameSamplesUsingTheDefaultPolicy() {
+        final Gen<Integer> genL = Gen.choose(0, 100, new Random(1L)).suchThat(n -> n % 3 == 0);
+        final Gen<Integer> genR = Gen.choose(0, 100, new Random(1L)).suchThat(n -> n % 3 == 0, RejectionPolicy.defaultPolicy());
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(genL.sample()).isEqualTo(genR.sample());
+        }
+    }
+
+    @Test
+    @DisplayName("suchThat should record accepted and rejected candidates")
+    void suchThatShouldRecordAcceptedAndRejectedCandidates() {
+        final RejectionStatistics statistics = new RejectionStatistics();
+        final Gen<Integer> gen = Gen.choose(0, 100, new Random(1L)).suchThat(n -> n < 10, RejectionPolicy.defaultPolicy(), statistics);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            gen.sample();
+        }
+        assertThat(statistics.accepted()).isEqualTo(MAX_NUMBER_OF_PROBES);
+        assertThat(statistics.rejected()).isGreaterThan(0L);
+        assertThat(statistics.exhausted()).isEqualTo(0L);
+        assertThat(statistics.acceptanceRatio()).isBetween(0.08, 0.12);
+    }
+
+    @Test
+    @DisplayName("suchThat should record samples for which it gave up")
+    void suchThatShouldRecordExhaustedSamples() {
+        final RejectionStatistics statistics = new RejectionStatistics();
+        final Gen<String> gen = Gen.constant("A").suchThat(value -> !value.equals("A"), RejectionPolicy.defaultPolicy().withMaxNumberOfSamples(10), statistics);
+        assertThatThrownBy(gen::sample).isInstanceOf(IllegalStateException.class);
+        assertThat(statistics.exhausted()).isEqualTo(1L);
+        assertThat(statistics.rejected()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("suchThat should give up once the time budget is exhausted")
+    void suchThatShouldGiveUpOnceTheTimeBudgetIsExhausted() {
+        final RejectionPolicy policy = RejectionPolicy.defaultPolicy()
+                .withMaxNumberOfSamples(Integer.MAX_VALUE)
+                .withTimeBudget(Duration.ofMillis(50));
+        final Gen<String> gen = Gen.constant("A").suchThat(value -> !value.equals("A"), policy);
+        assertThatThrownBy(gen::sample)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("time budget");
+    }
+
+    @Test
+    @DisplayName("suchThat should fail if the acceptance ratio drops below the minimum")
+    void suchThatShouldFailIfTheAcceptanceRatioDropsBelowTheMinimum() {
+        final RejectionPolicy policy = RejectionPolicy.defaultPolicy().failIfAcceptanceRatioBelow(0.5);
+        final Gen<Integer> gen = Gen.choose(0, 100, new Random(1L)).suchThat(n -> n < 10, policy);
+        assertThatThrownBy(() -> {
+            for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+                gen.sample();
+            }
+        }).isInstanceOf(IllegalStateException.class).hasMessageContaining("acceptance ratio");
+    }
+
+    @Test
+    @DisplayName("suchThat should only warn if the acceptance ratio drops below the minimum and the policy is lenient")
+    void suchThatShouldOnlyWarnIfTheAcceptanceRatioDropsBelowTheMinimum() {
+        final RejectionPolicy policy = RejectionPolicy.defaultPolicy().warnIfAcceptanceRatioBelow(0.5);
+        final Gen<Integer> gen = Gen.choose(0, 100, new Random(1L)).suchThat(n -> n < 10, policy);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(gen.sample()).isLessThan(10);
+        }
+    }
+
+    @Test
+    @DisplayName("a rejection policy should not accept acceptance ratios outside of (0.0; 1.0]")
+    void rejectionPolicyShouldNotAcceptInvalidRatios() {
+        assertThatThrownBy(() -> RejectionPolicy.defaultPolicy().failIfAcceptanceRatioBelow(0.0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RejectionPolicy.defaultPolicy().warnIfAcceptanceRatioBelow(1.5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("a rejection policy should not accept a non-positive number of samples or candidates")
+    void rejectionPolicyShouldNotAcceptNonPositiveNumbers() {
+        assertThatThrownBy(() -> RejectionPolicy.defaultPolicy().withMaxNumberOfSamples(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RejectionPolicy.defaultPolicy().withMinimumNumberOfCandidates(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Gen.choose(0, 10).suchThat(n -> n > 5, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,129 @@
+package net.mguenther.gen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TableGenTest {
+
+    private static final int MAX_NUMBER_OF_PROBES = 10_000;
+
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz";
+
+    private static final IntGen AGE_GEN = IntGen.choose(18, 99);
+
+    private static final LongGen ID_GEN = LongGen.any();
+
+    private static final DoubleGen SCORE_GEN = DoubleGen.normalized();
+
+    private static final Gen<String> COMMENT_GEN = Gen.oneOf("", "ok", "gr\u00f6\u00dfer", "a rather long comment that exceeds the estimated length of a string");
+
+    private static final TableGen TABLE_GEN = TableGen.empty()
+            .withLongColumn("id", ID_GEN)
+            .withIntColumn("age", AGE_GEN)
+            .withDoubleColumn("score", SCORE_GEN)
+            .withFixedStringColumn("name", 8, ALPHABET)
+            .withStringColumn("comment", COMMENT_GEN);
+
+    @Test
+    @DisplayName("the columns of a row should draw from the source of randomness of that row in the order of their definition")
+    void columnsOfRowShouldDrawFromTheSourceOfThatRowInTheOrderOfTheirDefinition() {
+        final ColumnarBatch batch = TABLE_GEN.fill(TABLE_GEN.allocate(MAX_NUMBER_OF_PROBES), 1L, 0L, MAX_NUMBER_OF_PROBES);
+        assertThat(batch.numberOfRows()).isEqualTo(MAX_NUMBER_OF_PROBES);
+        for (int row = 0; row < MAX_NUMBER_OF_PROBES; row++) {
+            final RandomSource r = Gen.sourceAt(1L, row);
+            assertThat(batch.getLong("id", row)).isEqualTo(ID_GEN.nextLong(r));
+            assertThat(batch.getInt("age", row)).isEqualTo(AGE_GEN.nextInt(r));
+            assertThat(batch.getDouble("score", row)).isEqualTo(SCORE_GEN.nextDouble(r));
+            assertThat(batch.getString("name", row)).isEqualTo(Gen.fromAlphabetString(8, ALPHABET).sample(r));
+            assertThat(batch.getString("comment", row)).isEqualTo(COMMENT_GEN.sample(r));
+        }
+    }
+
+    @Test
+    @DisplayName("a range of rows should not depend on the rows that precede it")
+    void rangeOfRowsShouldNotDependOnTheRowsThatPrecedeIt() {
+        final ColumnarBatch all = TABLE_GEN.fill(TABLE_GEN.allocate(1_000), 1L, 0L, 1_000);
+        final ColumnarBatch tail = TABLE_GEN.fill(TABLE_GEN.allocate(100), 1L, 900L, 100);
+        assertThat(tail.firstRow()).isEqualTo(900L);
+        for (int row = 0; row < 100; row++) {
+            assertThat(tail.getLong("id", row)).isEqualTo(all.getLong("id", 900 + row));
+            assertThat(tail.getString("comment", row)).isEqualTo(all.getString("comment", 900 + row));
+        }
+    }
+
+    @Test
+    @DisplayName("the values of a column should be exposed as little-endian buffers that are limited to the rows of the batch")
+    void valuesOfColumnShouldBeExposedAsLittleEndianBuffersLimitedToTheRowsOfTheBatch() {
+        final ColumnarBatch batch = TABLE_GEN.fill(TABLE_GEN.allocate(100), 1L, 0L, 10);
+        final ByteBuffer ages = batch.values("age");
+        assertThat(ages.isDirect()).isTrue();
+        assertThat(ages.isReadOnly()).isTrue();
+        assertThat(ages.order()).isEqualTo(ByteOrder.LITTLE_ENDIAN);
+        assertThat(ages.remaining()).isEqualTo(10 * Integer.BYTES);
+        assertThat(ages.getInt(3 * Integer.BYTES)).isEqualTo(batch.getInt("age", 3));
+        assertThat(batch.values("name").remaining()).isEqualTo(10 * 8);
+        final ByteBuffer offsets = batch.offsets("comment");
+        assertThat(offsets.remaining()).isEqualTo(11 * Integer.BYTES);
+        assertThat(offsets.getInt(10 * Integer.BYTES)).isEqualTo(batch.values("comment").remaining());
+    }
+
+    @Test
+    @DisplayName("forEachBatch should generate the requested number of rows reusing a single batch")
+    void forEachBatchShouldGenerateTheRequestedNumberOfRowsReusingASingleBatch() {
+        final ColumnarBatch expected = TABLE_GEN.fill(TABLE_GEN.allocate(2_500), 1L, 0L, 2_500);
+        final List<ColumnarBatch> batches = new ArrayList<>();
+        final List<Long> ids = new ArrayList<>();
+        TABLE_GEN.forEachBatch(2_500, 1_000, 1L, batch -> {
+            batches.add(batch);
+            for (int row = 0; row < batch.numberOfRows(); row++) {
+                ids.add(batch.getLong("id", row));
+            }
+        });
+        assertThat(batches).hasSize(3);
+        assertThat(batches.get(0)).isSameAs(batches.get(2));
+        assertThat(batches.get(2).numberOfRows()).isEqualTo(500);
+        assertThat(ids).hasSize(2_500);
+        for (int row = 0; row < 2_500; row++) {
+            assertThat(ids.get(row)).isEqualTo(expected.getLong("id", row));
+        }
+    }
+
+    @Test
+    @DisplayName("withColumn should throw IllegalArgumentException if there is already a column of the same name")
+    void withColumnShouldThrowIllegalArgumentExceptionIfThereIsAlreadyAColumnOfTheSameName() {
+        assertThatThrownBy(() -> TABLE_GEN.withIntColumn("age", AGE_GEN))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("withFixedStringColumn should throw IllegalArgumentException if the alphabet contains non-ASCII characters")
+    void withFixedStringColumnShouldThrowIllegalArgumentExceptionIfTheAlphabetContainsNonAsciiCharacters() {
+        assertThatThrownBy(() -> TableGen.empty().withFixedStringColumn("name", 8, "a\u00e4b"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("accessing a column should fail if the column does not exist, holds another type or lacks the given row")
+    void accessingColumnShouldFailIfTheColumnDoesNotExistHoldsAnotherTypeOrLacksTheGivenRow() {
+        final ColumnarBatch batch = TABLE_GEN.fill(TABLE_GEN.allocate(10), 1L, 0L, 5);
+        assertThatThrownBy(() -> batch.getInt("unknown", 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> batch.getInt("id", 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> batch.offsets("name")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> batch.getInt("age", 5)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("fill should throw IllegalArgumentException if the requested number of rows exceeds the capacity of the batch")
+    void fillShouldThrowIllegalArgumentExceptionIfTheRequestedNumberOfRowsExceedsTheCapacity() {
+        assertThatThrownBy(() -> TABLE_GEN.fill(TABLE_GEN.allocate(10), 1L, 0L, 11))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,155 @@
+package net.mguenther.gen;
+
+import examples.User;
+import examples.UserGen;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UniqueTest {
+
+    private static final int MAX_NUMBER_OF_PROBES = 10_000;
+
+    @Test
+    @DisplayName("unique should never yield the same value twice")
+    void uniqueShouldNeverYieldTheSameValueTwice() {
+        final Gen<Integer> gen = Gen.choose(0, 2 * MAX_NUMBER_OF_PROBES, new Random(1L)).unique();
+        final Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(seen.add(gen.sample())).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("unique should yield every value of a small value space before giving up")
+    void uniqueShouldYieldEveryValueOfASmallValueSpaceBeforeGivingUp() {
+        final Gen<String> gen = Gen.oneOf("a", "b", "c", "d").unique();
+        final Set<String> seen = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            seen.add(gen.sample());
+        }
+        assertThat(seen).containsExactlyInAnyOrder("a", "b", "c", "d");
+        assertThatThrownBy(gen::sample)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("value space of the generator appears to be exhausted");
+    }
+
+    @Test
+    @DisplayName("unique should record discarded duplicates as rejected candidates")
+    void uniqueShouldRecordDiscardedDuplicatesAsRejectedCandidates() {
+        final RejectionStatistics statistics = new RejectionStatistics();
+        final FingerprintSet seen = FingerprintSet.onHeap();
+        final Gen<Integer> gen = Gen.choose(0, MAX_NUMBER_OF_PROBES, new Random(1L)).unique(seen, RejectionPolicy.defaultPolicy(), statistics);
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES / 2; i++) {
+            gen.sample();
+        }
+        assertThat(seen.size()).isEqualTo(MAX_NUMBER_OF_PROBES / 2);
+        assertThat(statistics.accepted()).isEqualTo(MAX_NUMBER_OF_PROBES / 2);
+        assertThat(statistics.rejected()).isGreaterThan(0L);
+        assertThat(statistics.acceptanceRatio()).isLessThan(1.0);
+    }
+
+    @Test
+    @DisplayName("unique should fail if the acceptance ratio drops below the minimum that the policy enforces")
+    void uniqueShouldFailIfTheAcceptanceRatioDropsBelowTheMinimum() {
+        final RejectionPolicy policy = RejectionPolicy.defaultPolicy().failIfAcceptanceRatioBelow(0.5);
+        final Gen<Integer> gen = Gen.choose(0, 1_000, new Random(1L)).unique(FingerprintSet.onHeap(), policy, new RejectionStatistics());
+        assertThatThrownBy(() -> {
+            for (int i = 0; i < 1_000; i++) {
+                gen.sample();
+            }
+        }).isInstanceOf(IllegalStateException.class).hasMessageContaining("acceptance ratio");
+    }
+
+    @Test
+    @DisplayName("unique should make values unique among generators that share a fingerprint set")
+    void uniqueShouldMakeValuesUniqueAmongGeneratorsThatShareAFingerprintSet() {
+        final FingerprintSet seen = FingerprintSet.offHeap();
+        final Gen<Integer> genL = Gen.choose(0, 100, new Random(1L)).unique(seen, RejectionPolicy.defaultPolicy(), new RejectionStatistics());
+        final Gen<Integer> genR = Gen.choose(0, 100, new Random(2L)).unique(seen, RejectionPolicy.defaultPolicy(), new RejectionStatistics());
+        final Set<Integer> values = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            assertThat(values.add(genL.sample())).isTrue();
+            assertThat(values.add(genR.sample())).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("unique should use the given fingerprint function to identify duplicates")
+    void uniqueShouldUseTheGivenFingerprintFunctionToIdentifyDuplicates() {
+        final Gen<User> gen = UserGen.userGen().unique(
+                user -> FingerprintSet.fingerprint(user.getUsername()),
+                FingerprintSet.onHeap(),
+                RejectionPolicy.defaultPolicy(),
+                new RejectionStatistics());
+        final Set<String> usernames = new HashSet<>();
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(usernames.add(gen.sample().getUsername())).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("a fingerprint set should retain its fingerprints while growing, regardless of where it keeps them")
+    void fingerprintSetShouldRetainItsFingerprintsWhileGrowing() {
+        for (FingerprintSet set : new FingerprintSet[] { FingerprintSet.onHeap(0), FingerprintSet.offHeap(0) }) {
+            for (long fingerprint = 0L; fingerprint < MAX_NUMBER_OF_PROBES; fingerprint++) {
+                assertThat(set.add(fingerprint)).isTrue();
+            }
+            for (long fingerprint = 0L; fingerprint < MAX_NUMBER_OF_PROBES; fingerprint++) {
+                assertThat(set.contains(fingerprint)).isTrue();
+                assertThat(set.add(fingerprint)).isFalse();
+            }
+            assertThat(set.contains(-1L)).isFalse();
+            assertThat(set.size()).isEqualTo(MAX_NUMBER_OF_PROBES);
+            set.clear();
+            assertThat(set.size()).isEqualTo(0L);
+            assertThat(set.contains(0L)).isFalse();
+            assertThat(set.contains(1L)).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("a full fingerprint set should reject new fingerprints without adding them and still answer look-ups")
+    void fullFingerprintSetShouldRejectNewFingerprintsWithoutAddingThem() {
+        final FingerprintSet set = new FingerprintSet(false, 0, 16);
+        for (long fingerprint = 1L; fingerprint <= 8L; fingerprint++) {
+            assertThat(set.add(fingerprint)).isTrue();
+        }
+        assertThatThrownBy(() -> set.add(9L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("cannot take more than 8 fingerprints");
+        assertThat(set.contains(9L)).isFalse();
+        assertThat(set.add(8L)).isFalse();
+        assertThat(set.size()).isEqualTo(8L);
+    }
+
+    @Test
+    @DisplayName("an off-heap fingerprint set should accept an expected size at its limit")
+    void offHeapFingerprintSetShouldAcceptAnExpectedSizeAtItsLimit() {
+        final FingerprintSet set = FingerprintSet.offHeap(FingerprintSet.MAX_OFF_HEAP_SLOTS / 2);
+        for (long fingerprint = 1L; fingerprint <= MAX_NUMBER_OF_PROBES; fingerprint++) {
+            assertThat(set.add(fingerprint)).isTrue();
+        }
+        assertThat(set.contains(MAX_NUMBER_OF_PROBES)).isTrue();
+        assertThat(set.contains(-1L)).isFalse();
+        assertThatThrownBy(() -> FingerprintSet.offHeap(FingerprintSet.MAX_OFF_HEAP_SLOTS / 2 + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("distinct values of primitive wrappers should have distinct fingerprints")
+    void distinctValuesOfPrimitiveWrappersShouldHaveDistinctFingerprints() {
+        final Set<Long> fingerprints = new HashSet<>();
+        for (int i = -MAX_NUMBER_OF_PROBES; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(fingerprints.add(FingerprintSet.fingerprint(i))).isTrue();
+        }
+        assertThat(FingerprintSet.fingerprint(42)).isEqualTo(FingerprintSet.fingerprint(42L));
+        assertThat(FingerprintSet.fingerprint("ab")).isNotEqualTo(FingerprintSet.fingerprint("ba"));
+    }
+}
@@ -0,0 +1,53 @@
+package net.mguenther.gen;
+
+import org.assertj.core.data.Percentage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WeightedOneOfTest {
+
+    private static final int MAX_NUMBER_OF_PROBES = 1_000_000;
+
+    @Test
+    @DisplayName("weightedOneOf should generate values with respect to their weights (max. deviation of 1%)")
+    void weightedOneOfShouldGenerateValuesWithRespectToTheirWeights() {
+        final List<String> values = Arrays.asList("A", "B", "C");
+        final double[] weights = { 0.5, 0.25, 0.25 };
+        final Map<String, Integer> sampleCountPerValue = new HashMap<>();
+        final Gen<String> gen = Gen.weightedOneOf(values, weights, new Random(1L));
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            sampleCountPerValue.merge(gen.sample(), 1, Integer::sum);
+        }
+        for (int i = 0; i < values.size(); i++) {
+            assertThat(sampleCountPerValue.get(values.get(i))).isCloseTo((int) (MAX_NUMBER_OF_PROBES * weights[i]), Percentage.withPercentage(1.0));
+        }
+    }
+
+    @Test
+    @DisplayName("two weightedOneOf generators using the same seed should generate the same values in the same order")
+    void twoWeightedOneOfGeneratorsUsingTheSameSeedShouldGenerateTheSameValues() {
+        final List<Integer> values = Arrays.asList(1, 2, 3, 4, 5);
+        final double[] weights = { 5.0, 4.0, 3.0, 2.0, 1.0 };
+        final Gen<Integer> genL = Gen.weightedOneOf(values, weights, RandomSource.xoshiro256(1L));
+        final Gen<Integer> genR = Gen.weightedOneOf(values, weights, RandomSource.xoshiro256(1L));
+        for (int i = 0; i < MAX_NUMBER_OF_PROBES; i++) {
+            assertThat(genL.sample()).isEqualTo(genR.sample());
+        }
+    }
+
+    @Test
+    @DisplayName("weightedOneOf should throw IllegalArgumentException if the number of weights does not match the number of values")
+    void weightedOneOfShouldThrowIllegalArgumentExceptionIfTheNumberOfWeightsDoesNotMatch() {
+        assertThatThrownBy(() -> Gen.weightedOneOf(Arrays.asList("A", "B"), new double[] { 1.0, 2.0, 3.0 }))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}